@@ -0,0 +1,91 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.AcceptanceTable;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the per move cost of simulated annealing, comparing moves evaluated in full and accepted through
+ * Math.exp on boxed fitness differences with moves evaluated by their delta and accepted through the lookup.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AcceptanceBenchmark {
+
+    @Param({"48", "100", "200", "318", "442"})
+    private String sample;
+
+    private XoroshiroRandom random;
+
+    private TSPSolution fullEvaluationSolution;
+
+    private TSPSolution deltaSolution;
+
+    private double temperature;
+
+    @Setup
+    public void setUp() {
+        final Graph graph = BenchmarkInstances.loadGraph(sample);
+        this.random = new XoroshiroRandom(1L);
+        this.fullEvaluationSolution = new TSPSolution(graph.getRandomRoute(random), graph, random);
+        this.deltaSolution = new TSPSolution(graph.getRandomRoute(random), graph, random);
+        this.temperature = deltaSolution.getTourLength() / graph.getNumberOfNodes();
+    }
+
+    /**
+     * A move as simulated annealing made it before delta evaluation, evaluating the proposal and current tour in
+     * full and accepting worse proposals through Math.exp on a boxed difference.
+     */
+    @Benchmark
+    public double fullEvaluationMove() {
+
+        final Vector<Integer> proposal = fullEvaluationSolution.proposeChange();
+        final int comparisonResult = fullEvaluationSolution.comparePerformanceTo(proposal);
+        final Number fitnessDifference = fullEvaluationSolution.getFitnessDifference(
+                proposal,
+                fullEvaluationSolution.getRepresentation()
+        );
+
+        if (comparisonResult <= 0
+                || Math.exp(-(double) fitnessDifference / temperature) > random.nextDouble()) {
+            fullEvaluationSolution.setRepresentation(proposal);
+        }
+        return fullEvaluationSolution.getTourLength();
+    }
+
+    /**
+     * A move as simulated annealing now makes it, evaluating only the change of the proposal and looking up the
+     * probability of accepting worse proposals.
+     */
+    @Benchmark
+    public double deltaMove() {
+
+        final double fitnessDelta = deltaSolution.proposeChangeDelta();
+
+        if (fitnessDelta <= 0 || AcceptanceTable.METROPOLIS.accept(fitnessDelta, temperature, random)) {
+            deltaSolution.acceptProposedChange();
+        }
+        return deltaSolution.getTourLength();
+    }
+}
@@ -0,0 +1,173 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.GreatDelugeAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.IteratedLocalSearchAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.LateAcceptanceHillClimbingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomMutatingHillClimber;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomRestartHillClimbingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.SimulatedAnnealingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.StochasticHillClimbingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.ThresholdAcceptingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.GeometricCooling;
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.TemperatureEstimator;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.InstanceRepository;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the iterations per second of each algorithm, each invocation running a short search from the same
+ * random tour. Iterated local search is counted per perturbation and descent, the rest per move.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmThroughputBenchmark {
+
+    /**
+     * The number of iterations of each move based search per invocation.
+     */
+    private static final int ITERATIONS = 10000;
+
+    /**
+     * The number of restarts of the random restart hill climber per invocation, which share the iterations.
+     */
+    private static final int RESTARTS = 10;
+
+    /**
+     * The number of iterations of iterated local search per invocation.
+     */
+    private static final int ILS_ITERATIONS = 100;
+
+    /**
+     * The history length of late acceptance, as used in its tests.
+     */
+    private static final int LAHC_HISTORY_LENGTH = 500;
+
+    /**
+     * The convergence parameter of the stochastic hill climber, as a fraction of the spanning tree cost, matching
+     * the sample runner.
+     */
+    private static final double SCA_CONVERGENCE_FRACTION = 0.0055;
+
+    @Param({"48", "100", "200", "318", "442"})
+    private String sample;
+
+    private TSPSolution startingSolution;
+
+    private CandidateList candidateList;
+
+    private double mstCost;
+
+    private double startingTemperature;
+
+    private double coolingRate;
+
+    @Setup
+    public void setUp() {
+
+        final Graph graph = BenchmarkInstances.loadGraph(sample);
+        final XoroshiroRandom random = new XoroshiroRandom(1L);
+
+        this.startingSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+        this.candidateList = CandidateList.build(graph, InstanceRepository.DEFAULT_CANDIDATES_PER_NODE);
+        this.mstCost = startingSolution.getMinimumSpanningTreeCost();
+
+        this.startingTemperature = TemperatureEstimator.estimateTemperature(startingSolution.copy(),
+                SolutionType.MINIMISATION, TemperatureEstimator.DEFAULT_SAMPLES, 0.8);
+        final GeometricCooling coolingSchedule = GeometricCooling.toFinalTemperature(
+                TemperatureEstimator.estimateTemperature(startingSolution.copy(), SolutionType.MINIMISATION,
+                        TemperatureEstimator.DEFAULT_SAMPLES, 1e-20)
+        );
+        coolingSchedule.start(startingTemperature, ITERATIONS);
+        this.coolingRate = coolingSchedule.getCoolingRate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public TSPSolution randomMutatingHillClimber() {
+        return new RandomMutatingHillClimber<TSPSolution, Double, Vector<Integer>>(
+                ITERATIONS, startingSolution.copy(), SolutionType.MINIMISATION
+        ).runAlgorithm();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public TSPSolution randomRestartHillClimbing() {
+        return new RandomRestartHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>>(
+                RESTARTS, startingSolution.copy(), SolutionType.MINIMISATION, ITERATIONS / RESTARTS
+        ).runAlgorithm();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public TSPSolution stochasticHillClimbing() {
+        return new StochasticHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>>(
+                ITERATIONS, startingSolution.copy(), SolutionType.MINIMISATION, mstCost * SCA_CONVERGENCE_FRACTION,
+                new XoroshiroRandom(1L)
+        ).runAlgorithm();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public TSPSolution simulatedAnnealing() {
+        return new SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>>(
+                ITERATIONS, startingSolution.copy(), SolutionType.MINIMISATION, startingTemperature, coolingRate,
+                new XoroshiroRandom(1L)
+        ).runAlgorithm();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public TSPSolution lateAcceptanceHillClimbing() {
+        return new LateAcceptanceHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>>(
+                ITERATIONS, startingSolution.copy(), SolutionType.MINIMISATION, LAHC_HISTORY_LENGTH
+        ).runAlgorithm();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public TSPSolution thresholdAccepting() {
+        return new ThresholdAcceptingAlgorithm<TSPSolution, Double, Vector<Integer>>(
+                ITERATIONS, startingSolution.copy(), SolutionType.MINIMISATION, startingTemperature
+        ).runAlgorithm();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public TSPSolution greatDeluge() {
+        return new GreatDelugeAlgorithm<TSPSolution, Double, Vector<Integer>>(
+                ITERATIONS, startingSolution.copy(), SolutionType.MINIMISATION, mstCost
+        ).runAlgorithm();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ILS_ITERATIONS)
+    public TSPSolution iteratedLocalSearch() {
+        return new IteratedLocalSearchAlgorithm<>(
+                ILS_ITERATIONS, startingSolution.copy(), candidateList
+        ).runAlgorithm();
+    }
+}
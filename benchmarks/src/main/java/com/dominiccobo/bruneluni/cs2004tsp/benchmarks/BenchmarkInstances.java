@@ -0,0 +1,61 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Access to the samples bundled with the solver for benchmarks, which run from a jar and so cannot read the
+ * samples in place.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+final class BenchmarkInstances {
+
+    @SuppressWarnings("unused")
+    private BenchmarkInstances() {
+        throw new IllegalArgumentException("No constructor permitted");
+    }
+
+    /**
+     * Extracts a bundled sample to a temporary file, deleted when the benchmark JVM exits.
+     *
+     * @param sample the size of the sample, as in TSP_48.
+     * @return the extracted file.
+     */
+    static File extractSample(String sample) {
+
+        final String resourceName = "data/TSP_" + sample + ".txt";
+
+        try (InputStream inputStream = BenchmarkInstances.class.getClassLoader().getResourceAsStream(resourceName)) {
+
+            if (inputStream == null) {
+                throw new IllegalArgumentException("No bundled sample " + resourceName);
+            }
+
+            final File file = File.createTempFile("TSP_" + sample + "_", ".txt");
+            file.deleteOnExit();
+            Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads the graph of a bundled sample.
+     *
+     * @param sample the size of the sample, as in TSP_48.
+     * @return the graph of the sample.
+     */
+    static Graph loadGraph(String sample) {
+        return new Graph(Utilities.readArrayFile(extractSample(sample).getAbsolutePath(), " "));
+    }
+}
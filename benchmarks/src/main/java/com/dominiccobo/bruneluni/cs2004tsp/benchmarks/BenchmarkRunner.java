@@ -0,0 +1,58 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of the benchmark jar, accepting the usual JMH command line but exporting results as JSON by default,
+ * so that every run leaves a file to track regressions against.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The file results are exported to unless given on the command line.
+     */
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    @SuppressWarnings("unused")
+    private BenchmarkRunner() {
+        throw new IllegalArgumentException("No constructor permitted");
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the JMH command line, for example a benchmark pattern, -p sample=442 or -rff results.json.
+     * @throws CommandLineOptionException if the command line is invalid.
+     * @throws IOException if the help cannot be shown.
+     * @throws RunnerException if the benchmarks fail to run.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException {
+
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
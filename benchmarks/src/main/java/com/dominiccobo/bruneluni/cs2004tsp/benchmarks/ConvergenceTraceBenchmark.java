@@ -0,0 +1,85 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.SimulatedAnnealingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.ConvergenceTracer;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the overhead of tracing convergence, running simulated annealing untraced, traced at a stride and
+ * traced on every improvement.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvergenceTraceBenchmark {
+
+    /**
+     * The number of iterations per invocation.
+     */
+    private static final int ITERATIONS = 100000;
+
+    /**
+     * The number of iterations between traced iterations.
+     */
+    private static final int TRACE_STRIDE = 1000;
+
+    @Param({"48", "442"})
+    private String sample;
+
+    @Param({"NONE", "STRIDE", "IMPROVEMENT"})
+    private String tracing;
+
+    private TSPSolution startingSolution;
+
+    private ConvergenceTracer convergenceTracer;
+
+    @Setup
+    public void setUp() {
+
+        final Graph graph = BenchmarkInstances.loadGraph(sample);
+        final XoroshiroRandom random = new XoroshiroRandom(1L);
+        this.startingSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+
+        if ("STRIDE".equals(tracing)) {
+            this.convergenceTracer = ConvergenceTracer.everyIterations(TRACE_STRIDE);
+        }
+        else if ("IMPROVEMENT".equals(tracing)) {
+            this.convergenceTracer = ConvergenceTracer.onImprovement();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public TSPSolution simulatedAnnealing() {
+
+        final SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> sa =
+                new SimulatedAnnealingAlgorithm<>(ITERATIONS, startingSolution.copy(), SolutionType.MINIMISATION,
+                        startingSolution.getTourLength() * 0.01, 0.9999, new XoroshiroRandom(1L));
+        sa.setConvergenceTracer(convergenceTracer);
+
+        return sa.runAlgorithm();
+    }
+}
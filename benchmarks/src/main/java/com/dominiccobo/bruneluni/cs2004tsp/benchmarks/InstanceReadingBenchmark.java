@@ -0,0 +1,45 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of reading a sample's distance matrix from its text file.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceReadingBenchmark {
+
+    @Param({"48", "100", "200", "318", "442"})
+    private String sample;
+
+    private String filename;
+
+    @Setup
+    public void setUp() {
+        this.filename = BenchmarkInstances.extractSample(sample).getAbsolutePath();
+    }
+
+    @Benchmark
+    public double[][] readArrayFile() {
+        return Utilities.readArrayFile(filename, " ");
+    }
+}
@@ -0,0 +1,54 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.MinimumSpanningTree;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of building the minimum spanning tree, as a matrix and as a parent array.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinimumSpanningTreeBenchmark {
+
+    @Param({"48", "100", "200", "318", "442"})
+    private String sample;
+
+    private Graph graph;
+
+    private double[][] distanceMatrix;
+
+    @Setup
+    public void setUp() {
+        this.graph = BenchmarkInstances.loadGraph(sample);
+        this.distanceMatrix = graph.getDistanceMatrix();
+    }
+
+    @Benchmark
+    public double[][] primsMST() {
+        return MinimumSpanningTree.primsMST(distanceMatrix);
+    }
+
+    @Benchmark
+    public int[] primsMSTParents() {
+        return MinimumSpanningTree.primsMSTParents(graph);
+    }
+}
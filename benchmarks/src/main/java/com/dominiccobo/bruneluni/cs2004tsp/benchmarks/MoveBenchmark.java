@@ -0,0 +1,55 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of proposing and evaluating a single move, as the algorithms did before delta evaluation and as
+ * they do now.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+
+    @Param({"48", "100", "200", "318", "442"})
+    private String sample;
+
+    private TSPSolution tspSolution;
+
+    @Setup
+    public void setUp() {
+        final Graph graph = BenchmarkInstances.loadGraph(sample);
+        final XoroshiroRandom random = new XoroshiroRandom(1L);
+        this.tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+    }
+
+    @Benchmark
+    public int proposeChangeAndCompare() {
+        return tspSolution.comparePerformanceTo(tspSolution.proposeChange());
+    }
+
+    @Benchmark
+    public double proposeChangeDelta() {
+        return tspSolution.proposeChangeDelta();
+    }
+}
@@ -0,0 +1,59 @@
+package com.dominiccobo.bruneluni.cs2004tsp.benchmarks;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Tours;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of evaluating a whole tour, through the vector representation and the primitive one.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TourEvaluationBenchmark {
+
+    @Param({"48", "100", "200", "318", "442"})
+    private String sample;
+
+    private Graph graph;
+
+    private int[] tour;
+
+    private Vector<Integer> route;
+
+    @Setup
+    public void setUp() {
+        this.graph = BenchmarkInstances.loadGraph(sample);
+        this.tour = graph.getRandomTour(new XoroshiroRandom(1L));
+        this.route = Tours.toVector(tour);
+    }
+
+    @Benchmark
+    public double getDistanceGivenRoute() {
+        return graph.getDistanceGivenRoute(route);
+    }
+
+    @Benchmark
+    public double getTourLength() {
+        return graph.getTourLength(tour);
+    }
+}
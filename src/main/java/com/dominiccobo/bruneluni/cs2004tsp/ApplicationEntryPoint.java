@@ -1,31 +1,91 @@
 package com.dominiccobo.bruneluni.cs2004tsp;
 
-import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentCommandLine;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentConfiguration;
 import com.dominiccobo.bruneluni.cs2004tsp.samples.TSPSampleRunner;
+import com.dominiccobo.bruneluni.cs2004tsp.tuning.ParameterTuner;
+
+import java.io.File;
 
 /**
  * Entry point for application.
  */
 public class ApplicationEntryPoint {
 
+    /**
+     * Exit status of a run given invalid arguments or configuration.
+     */
+    private static final int USAGE_ERROR = 2;
+
     /**
      * Application entry point
-     * @param args NOT USED
+     * @param args an optional configuration file and property overrides, see {@link ExperimentCommandLine}.
      */
     public static void main(String[] args) {
 
-        // Easily accessible parameters for demonstration purposes.
-        int resamplesToRun = 25;
-        int algorithmIterations = 500000;
-        int rrhcRMHCRepetitions = 10000;
+        final ExperimentCommandLine commandLine;
+        final ExperimentConfiguration configuration;
+
+        try {
+            commandLine = ExperimentCommandLine.parse(args);
+            if (commandLine.isHelpRequested()) {
+                System.out.print(ExperimentCommandLine.getUsage());
+                return;
+            }
+            configuration = commandLine.getConfiguration();
+        }
+        catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.print(ExperimentCommandLine.getUsage());
+            System.exit(USAGE_ERROR);
+            return;
+        }
 
-        TSPSampleRunner tspSampleRunner = new TSPSampleRunner(
-                resamplesToRun,
-                SolutionType.MINIMISATION,
-                algorithmIterations,
-                rrhcRMHCRepetitions
-        );
+        if (commandLine.isValidateOnly()) {
+            describe(configuration);
+            return;
+        }
 
+        if (commandLine.isTuningRequested()) {
+            final ParameterTuner parameterTuner;
+            try {
+                parameterTuner = new ParameterTuner(configuration);
+            }
+            catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.exit(USAGE_ERROR);
+                return;
+            }
+            parameterTuner.tune();
+            return;
+        }
+
+        // rerunning after an interruption resumes from the checkpoint, which is removed once the tests complete.
+        TSPSampleRunner tspSampleRunner = new TSPSampleRunner(configuration);
         tspSampleRunner.runTests();
     }
+
+    /**
+     * Describes the experiment a valid configuration would run.
+     *
+     * @param configuration the configuration.
+     */
+    private static void describe(ExperimentConfiguration configuration) {
+        System.out.println("Configuration is valid.");
+        System.out.println("Algorithms: " + configuration.getAlgorithms());
+        System.out.println("Resamples: " + configuration.getResamples()
+                + ", iterations: " + configuration.getIterations()
+                + ", threads: " + configuration.getThreads());
+        System.out.println("Output: " + configuration.getOutputDirectory());
+        System.out.println("Tuning evaluations: " + configuration.getTuningEvaluations()
+                + ", bands: " + configuration.getTuningBands()
+                + ", threads: " + configuration.getTuningThreads());
+        System.out.println("Instances (" + configuration.getInstanceFiles().size() + "):");
+        for (File instanceFile : configuration.getInstanceFiles()) {
+            final File optimalTour = ExperimentConfiguration.findOptimalTour(instanceFile);
+            System.out.println("  " + instanceFile.getPath()
+                    + ((optimalTour != null) ? " (optimal tour " + optimalTour.getName() + ")" : ""));
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Precomputed lookup of the probability of accepting a worse proposal, as a function of how much worse the
+ * proposal is relative to the temperature, replacing a call to Math.exp on every test.
+ *
+ * Probabilities are tabulated at a fixed resolution and linearly interpolated, to a relative error below 1e-4.
+ * Proposals so much worse that the probability falls below the resolution of a random double are rejected
+ * outright, without drawing a random number.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public final class AcceptanceTable {
+
+    /**
+     * The ratio of worsening to temperature beyond which exp(-ratio) is below 2^-53, the smallest non zero
+     * random double.
+     */
+    public static final double MAXIMUM_RATIO = 53 * Math.log(2);
+
+    /**
+     * The number of table entries per unit ratio.
+     */
+    private static final int RESOLUTION = 64;
+
+    /**
+     * Metropolis acceptance, exp(-ratio), as used by simulated annealing.
+     */
+    public static final AcceptanceTable METROPOLIS = new AcceptanceTable(ratio -> Math.exp(-ratio));
+
+    /**
+     * Logistic acceptance, 1 / (1 + exp(ratio)), as used by stochastic hill climbing.
+     */
+    public static final AcceptanceTable LOGISTIC = new AcceptanceTable(ratio -> 1 / (1 + Math.exp(ratio)));
+
+    /**
+     * The probability of acceptance at each multiple of the table step, with a trailing entry for interpolation.
+     */
+    private final double[] probabilities;
+
+    private AcceptanceTable(DoubleUnaryOperator acceptanceFunction) {
+
+        final int numberOfEntries = (int) Math.ceil(MAXIMUM_RATIO * RESOLUTION) + 2;
+        this.probabilities = new double[numberOfEntries];
+
+        for (int i = 0; i < numberOfEntries; i++) {
+            probabilities[i] = acceptanceFunction.applyAsDouble((double) i / RESOLUTION);
+        }
+    }
+
+    /**
+     * Retrieves the probability of accepting a worse proposal.
+     *
+     * @param worsening how much worse the proposal is, which must not be negative.
+     * @param temperature the temperature, or convergence parameter, scaling the worsening.
+     * @return the probability of acceptance, zero beyond the maximum ratio.
+     */
+    public double getProbability(double worsening, double temperature) {
+
+        final double ratio = worsening / temperature;
+
+        if (!(ratio < MAXIMUM_RATIO)) {
+            return 0;
+        }
+
+        final double position = ratio * RESOLUTION;
+        final int entry = (int) position;
+        final double fraction = position - entry;
+
+        return probabilities[entry] + (probabilities[entry + 1] - probabilities[entry]) * fraction;
+    }
+
+    /**
+     * Tests whether to accept a worse proposal, drawing a random number only when acceptance is possible.
+     *
+     * @param worsening how much worse the proposal is, which must not be negative.
+     * @param temperature the temperature, or convergence parameter, scaling the worsening.
+     * @param random the source of randomness to draw from.
+     * @return whether the proposal is accepted.
+     */
+    public boolean accept(double worsening, double temperature, Random random) {
+        final double probability = getProbability(worsening, temperature);
+        return probability > 0 && random.nextDouble() < probability;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+/**
+ * Listener notified on the search thread at regular intervals of iterations, so the state of a long running
+ * search may be captured and the search later resumed from it.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public interface CheckpointListener {
+
+    /**
+     * Called between iterations, once the given number of iterations have been performed. The algorithm's
+     * solutions and sources of randomness are left exactly as the next iteration will find them, and continue to
+     * be modified once the call returns, so anything retained must be copied.
+     *
+     * @param iterationsPerformed the number of iterations performed.
+     * @param controlParameter the temperature of the algorithm or its equivalent, or NaN if it has none.
+     */
+    void onCheckpoint(long iterationsPerformed, double controlParameter);
+}
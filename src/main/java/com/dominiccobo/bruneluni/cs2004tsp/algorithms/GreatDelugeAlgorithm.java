@@ -0,0 +1,163 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetrics;
+
+/**
+ * Class representing a Great Deluge algorithm, generified to allow for easy modification of the problem it can
+ * be applied to.
+ *
+ * A proposal is accepted if it is no worse than the current solution, or if its fitness lies within a level which
+ * moves linearly from the fitness of the starting solution to a target fitness over the planned iterations, or
+ * over the time budget when one is given. Acceptance is deterministic, needing no exponential or random number
+ * per move, and the target fitness, an estimate of the quality hoped for, is the only parameter.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ *
+ * @param <T> The type representing the whole solutions details.
+ * @param <T1> The type representing the solution fitness.
+ * @param <T2> The type representing the solution representation.
+ */
+public class GreatDelugeAlgorithm<T extends SolutionAdapter, T1 extends Number, T2>
+        extends HeuristicSearchAlgorithm<T, T1, T2> {
+
+    /**
+     * The cost the level ends at, where cost is the fitness oriented so that lower is better.
+     */
+    private double targetCost;
+
+    /**
+     * The cost the level starts at, that of the starting solution.
+     */
+    private double initialLevel;
+
+    /**
+     * The highest cost currently accepted.
+     */
+    private double level;
+
+    /**
+     * The cost of the current solution, kept up to date from the accepted fitness deltas.
+     */
+    private double currentCost;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private GreatDelugeAlgorithm() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor with required parameters for running the algorithm.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     * @param startingSolution the starting solution representation.
+     * @param solutionType the solution aim.
+     * @param targetFitness the fitness the level reaches once the planned iterations are performed.
+     */
+    public GreatDelugeAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
+                                double targetFitness) {
+        super(iterationsToPerform, startingSolution, solutionType);
+        this.targetCost = toCost(targetFitness);
+    }
+
+    /**
+     * Executes the algorithm, starting the level at the fitness of the starting solution.
+     *
+     * @return the best solution visited during the algorithm's execution.
+     */
+    @Override
+    public T runAlgorithm() {
+        this.currentCost = toCost(this.currentBestSolution.getFitness().doubleValue());
+        this.initialLevel = this.currentCost;
+        this.level = this.currentCost;
+        return super.runAlgorithm();
+    }
+
+    @Override
+    protected boolean acceptsWorseSolutions() {
+        return true;
+    }
+
+    /**
+     * Performs a single iteration of the algorithm, returning the best solution in the case.
+     *
+     * @return the best solution in the case.
+     */
+    @Override
+    protected T performIteration() {
+
+        final double fitnessDelta = this.currentBestSolution.proposeChangeDelta();
+        final double worsening = (solutionType == SolutionType.MINIMISATION) ? fitnessDelta : -fitnessDelta;
+        final double proposedCost = this.currentCost + worsening;
+
+        final boolean accepted = worsening <= 0 || proposedCost <= level;
+
+        if (accepted) {
+            this.currentBestSolution.acceptProposedChange();
+            this.currentCost = proposedCost;
+            if (worsening < 0) {
+                this.recordImprovement();
+            }
+        }
+
+        final SearchMetrics metrics = this.getMetrics();
+        metrics.recordProposal(worsening, accepted);
+        if ((iterationsPerformed & GAUGE_SAMPLING_MASK) == 0) {
+            metrics.recordTemperature(this.level);
+        }
+
+        this.lowerLevel();
+        return this.currentBestSolution;
+    }
+
+    /**
+     * Lowers the level in proportion to the progress through the iterations, or the time budget.
+     */
+    private void lowerLevel() {
+
+        double progress = getTerminationPolicy().getElapsedFraction(iterationsPerformed);
+        if (Double.isNaN(progress)) {
+            progress = (double) (iterationsPerformed + 1) / iterationsToPerform;
+        }
+
+        this.level = initialLevel + (targetCost - initialLevel) * Math.min(1.0, progress);
+    }
+
+    /**
+     * Orients a fitness so that lower is better.
+     *
+     * @param fitness the fitness to orient.
+     * @return the cost.
+     */
+    private double toCost(double fitness) {
+        return (solutionType == SolutionType.MINIMISATION) ? fitness : -fitness;
+    }
+
+    @Override
+    protected double getControlParameter() {
+        return level;
+    }
+
+    /**
+     * Restores the level when resuming a run, recovering the initial level it was lowered from so that it keeps
+     * falling towards the target at the same rate.
+     *
+     * @param controlParameter the level at the checkpoint resumed from.
+     */
+    @Override
+    protected void restoreControlParameter(double controlParameter) {
+        this.level = controlParameter;
+        final double progress = Math.min(1.0, (double) iterationsPerformed / iterationsToPerform);
+        if (progress < 1) {
+            this.initialLevel = (controlParameter - targetCost * progress) / (1 - progress);
+        }
+    }
+
+    public double getLevel() {
+        return (solutionType == SolutionType.MINIMISATION) ? level : -level;
+    }
+}
@@ -0,0 +1,404 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.jfr.NewBestEvent;
+import com.dominiccobo.bruneluni.cs2004tsp.jfr.SearchRunEvent;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.ConvergenceTracer;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.NoOpSearchMetrics;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetrics;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.IterationTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TerminationPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base of the iterative search algorithms, running iterations of the algorithm until its termination policy
+ * decides to stop.
+ *
+ * Algorithms accepting worse solutions keep an elite copy of the best solution visited alongside their current
+ * solution, returning the elite once they finish so that no better solution seen along the way is lost.
+ *
+ * Unless another policy is given, the algorithm terminates after its specified number of iterations. Policies
+ * may instead stop the algorithm at a deadline, on reaching a target fitness, after stagnating or on external
+ * cancellation, or at whichever of these comes first.
+ *
+ * Algorithms record the outcome of every proposed move to their metrics, which discard everything unless enabled.
+ * When given a convergence tracer, the fitness of the current and best solutions is traced as the search runs.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ *
+ * @param <T> The type representing the whole solutions details.
+ * @param <T1> The type representing the solution fitness.
+ * @param <T2> The type representing the solution representation.
+ */
+public abstract class HeuristicSearchAlgorithm<T extends SolutionAdapter, T1 extends Number, T2> {
+
+    /**
+     * Mask of the iterations on which algorithms sample their gauges, once every 1024 iterations.
+     */
+    protected static final long GAUGE_SAMPLING_MASK = 1023;
+
+    /**
+     * The number of iterations to perform the algorithm for.
+     */
+    protected int iterationsToPerform;
+
+    /**
+     * The current iterations performed.
+     */
+    protected long iterationsPerformed;
+
+    /**
+     * The current best solution.
+     */
+    protected T currentBestSolution;
+
+    /**
+     * The best solution visited, kept apart from the current solution by algorithms accepting worse solutions.
+     */
+    private T eliteSolution;
+
+    /**
+     * The fitness of the elite solution.
+     */
+    private double eliteFitness;
+
+    /**
+     * The solution principle to be applied.
+     */
+    protected SolutionType solutionType;
+
+    /**
+     * The policy deciding when the algorithm stops.
+     */
+    private TerminationPolicy terminationPolicy;
+
+    /**
+     * The metrics recording the progress of the algorithm.
+     */
+    private SearchMetrics metrics = NoOpSearchMetrics.INSTANCE;
+
+    /**
+     * The tracer of the convergence of the algorithm, or null if not traced.
+     */
+    private ConvergenceTracer convergenceTracer;
+
+    /**
+     * The listeners notified when the solution improves.
+     */
+    private final List<ImprovementListener<T>> improvementListeners = new ArrayList<>();
+
+    /**
+     * The listener notified at each checkpoint, or null if not checkpointed.
+     */
+    private CheckpointListener checkpointListener;
+
+    /**
+     * The number of iterations between checkpoints.
+     */
+    private long checkpointInterval;
+
+    /**
+     * The number of iterations already performed by the run being resumed, or -1 if starting afresh.
+     */
+    private long resumedIterations = -1;
+
+    /**
+     * The control parameter of the run being resumed.
+     */
+    private double resumedControlParameter;
+
+    /**
+     * The best solution visited by the run being resumed.
+     */
+    private T resumedBestSolution;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    protected HeuristicSearchAlgorithm() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, specifies required parameters for execution.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     * @param startingSolution the starting solution representation.
+     * @param solutionType the aim of the algorithm.
+     */
+    protected HeuristicSearchAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType) {
+        this.iterationsToPerform = iterationsToPerform;
+        this.currentBestSolution = startingSolution;
+        this.solutionType = solutionType;
+        this.terminationPolicy = new IterationTermination(iterationsToPerform);
+    }
+
+    /**
+     * Executes the algorithm until its termination policy decides to stop.
+     *
+     * @return the best solution visited during the algorithm's execution.
+     */
+    @SuppressWarnings("unchecked")
+    public T runAlgorithm() {
+
+        final SearchRunEvent runEvent = new SearchRunEvent();
+        runEvent.begin();
+
+        if (acceptsWorseSolutions()) {
+            this.eliteSolution = (T) currentBestSolution.copy();
+            this.eliteFitness = currentBestSolution.getFitness().doubleValue();
+        }
+
+        terminationPolicy.start();
+        if (convergenceTracer != null) {
+            convergenceTracer.start();
+        }
+
+        if (resumedIterations >= 0) {
+            restoreResumedRun();
+        }
+
+        while(!terminationPolicy.shouldTerminate(iterationsPerformed)) {
+            this.currentBestSolution = performIteration();
+            if (convergenceTracer != null && convergenceTracer.isSampled(iterationsPerformed)) {
+                traceConvergence();
+            }
+            iterationsPerformed++;
+            if (checkpointListener != null && iterationsPerformed % checkpointInterval == 0) {
+                checkpointListener.onCheckpoint(iterationsPerformed, getControlParameter());
+            }
+        }
+
+        final T bestSolution = getBestSolution();
+        runEvent.complete(getClass(), iterationsPerformed, bestSolution.getFitness().doubleValue());
+        return bestSolution;
+    }
+
+    /**
+     * Restores the counters, best solution and control parameter of the run being resumed, once the algorithm
+     * has started afresh.
+     */
+    @SuppressWarnings("unchecked")
+    private void restoreResumedRun() {
+        this.iterationsPerformed = resumedIterations;
+        if (eliteSolution != null) {
+            eliteSolution.copyFrom(resumedBestSolution);
+            eliteFitness = eliteSolution.getFitness().doubleValue();
+        }
+        restoreControlParameter(resumedControlParameter);
+    }
+
+    /**
+     * Performs a single iteration of the algorithm.
+     *
+     * @return the best solution in the case.
+     */
+    protected abstract T performIteration();
+
+    /**
+     * Retrieves the temperature of the algorithm, or its equivalent control parameter, for tracing.
+     *
+     * @return the control parameter, or NaN if the algorithm has none.
+     */
+    protected double getControlParameter() {
+        return Double.NaN;
+    }
+
+    /**
+     * Restores the temperature of the algorithm, or its equivalent control parameter, when resuming a run.
+     *
+     * @param controlParameter the control parameter captured at the checkpoint resumed from.
+     */
+    protected void restoreControlParameter(double controlParameter) {
+    }
+
+    /**
+     * Records the current state of the search to the convergence tracer.
+     */
+    protected void traceConvergence() {
+        convergenceTracer.record(
+                iterationsPerformed,
+                currentBestSolution.getFitness().doubleValue(),
+                getBestSolution().getFitness().doubleValue(),
+                getControlParameter()
+        );
+    }
+
+    /**
+     * Determines whether the algorithm may move to worse solutions, in which case it keeps an elite copy of the
+     * best solution visited.
+     *
+     * @return whether the algorithm accepts worse solutions.
+     */
+    protected boolean acceptsWorseSolutions() {
+        return false;
+    }
+
+    /**
+     * Records that the current solution has improved. Where the algorithm keeps an elite copy, the improvement is
+     * only reported once the current solution surpasses the elite, which is then overwritten with it.
+     *
+     * @return whether the current solution is a new best solution.
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean recordImprovement() {
+
+        if (eliteSolution == null) {
+            notifyImprovement(currentBestSolution);
+            return true;
+        }
+
+        final double fitness = currentBestSolution.getFitness().doubleValue();
+        final boolean surpassesElite = (solutionType == SolutionType.MINIMISATION)
+                ? fitness < eliteFitness
+                : fitness > eliteFitness;
+
+        if (surpassesElite) {
+            eliteSolution.copyFrom(currentBestSolution);
+            eliteFitness = fitness;
+            notifyImprovement(eliteSolution);
+        }
+        return surpassesElite;
+    }
+
+    /**
+     * Notifies the termination policy and any listeners of a new best solution.
+     *
+     * @param bestSolution the new best solution.
+     */
+    private void notifyImprovement(T bestSolution) {
+        final double bestFitness = bestSolution.getFitness().doubleValue();
+        metrics.recordBestFitness(bestFitness);
+        NewBestEvent.emit(getClass(), iterationsPerformed, bestFitness);
+        if (convergenceTracer != null && convergenceTracer.isTracingImprovements()) {
+            traceConvergence();
+        }
+        terminationPolicy.recordImprovement(iterationsPerformed, bestSolution);
+        for (int i = 0; i < improvementListeners.size(); i++) {
+            improvementListeners.get(i).onImprovement(bestSolution, iterationsPerformed);
+        }
+    }
+
+    /**
+     * Registers a listener to be notified when the solution improves, which must be done before the algorithm is
+     * ran.
+     *
+     * @param improvementListener the listener to notify.
+     */
+    public void addImprovementListener(ImprovementListener<T> improvementListener) {
+        improvementListeners.add(improvementListener);
+    }
+
+    /**
+     * Retrieves the best solution visited, which is the current solution unless the algorithm accepts worse
+     * solutions.
+     *
+     * @return the best solution visited.
+     */
+    public T getBestSolution() {
+        return (eliteSolution != null) ? eliteSolution : currentBestSolution;
+    }
+
+    /**
+     * Retrieves the solution the algorithm is currently at, which may be worse than the best solution visited.
+     *
+     * @return the current solution.
+     */
+    public T getCurrentSolution() {
+        return currentBestSolution;
+    }
+
+    public TerminationPolicy getTerminationPolicy() {
+        return terminationPolicy;
+    }
+
+    /**
+     * Replaces the policy deciding when the algorithm stops, which must be set before the algorithm is ran.
+     *
+     * @param terminationPolicy the policy deciding when the algorithm stops.
+     */
+    public void setTerminationPolicy(TerminationPolicy terminationPolicy) {
+
+        if (terminationPolicy == null) {
+            throw new IllegalArgumentException("Termination policy cannot be null");
+        }
+
+        this.terminationPolicy = terminationPolicy;
+    }
+
+    public SearchMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Replaces the metrics recording the progress of the algorithm, which must be set before the algorithm is ran.
+     *
+     * @param metrics the metrics to record to.
+     */
+    public void setMetrics(SearchMetrics metrics) {
+
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null, use NoOpSearchMetrics to disable them");
+        }
+
+        this.metrics = metrics;
+    }
+
+    public ConvergenceTracer getConvergenceTracer() {
+        return convergenceTracer;
+    }
+
+    /**
+     * Sets the tracer of the convergence of the algorithm, which must be set before the algorithm is ran.
+     *
+     * @param convergenceTracer the tracer to record to, or null to stop tracing.
+     */
+    public void setConvergenceTracer(ConvergenceTracer convergenceTracer) {
+        this.convergenceTracer = convergenceTracer;
+    }
+
+    public long getIterationsPerformed() {
+        return iterationsPerformed;
+    }
+
+    /**
+     * Sets the listener notified each time a number of iterations have been performed, which must be set before
+     * the algorithm is ran.
+     *
+     * @param checkpointListener the listener to notify, or null to stop checkpointing.
+     * @param checkpointInterval the number of iterations between checkpoints.
+     */
+    public void setCheckpointListener(CheckpointListener checkpointListener, long checkpointInterval) {
+
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+
+        this.checkpointListener = checkpointListener;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Resumes a run from a checkpoint when the algorithm is next ran, continuing from the iteration and control
+     * parameter captured. The starting solution, and any sources of randomness, must already have been restored
+     * to their state at the checkpoint.
+     *
+     * @param iterationsPerformed the number of iterations performed at the checkpoint.
+     * @param controlParameter the control parameter at the checkpoint.
+     * @param bestSolution the best solution visited up to the checkpoint.
+     */
+    public void resumeFrom(long iterationsPerformed, double controlParameter, T bestSolution) {
+
+        if (iterationsPerformed < 0 || bestSolution == null) {
+            throw new IllegalArgumentException("Iterations cannot be negative and the best solution is required");
+        }
+
+        this.resumedIterations = iterationsPerformed;
+        this.resumedControlParameter = controlParameter;
+        this.resumedBestSolution = bestSolution;
+    }
+}
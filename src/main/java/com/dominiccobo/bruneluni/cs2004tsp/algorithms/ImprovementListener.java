@@ -0,0 +1,22 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * Listener notified on the search thread each time an algorithm improves upon its solution.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ *
+ * @param <T> The type representing the whole solutions details.
+ */
+public interface ImprovementListener<T extends SolutionAdapter> {
+
+    /**
+     * Called when the algorithm improves upon its solution. The solution continues to be modified by the
+     * algorithm once the call returns, so anything retained must be copied.
+     *
+     * @param solution the improved solution.
+     * @param iterationsPerformed the number of iterations performed when the improvement was made.
+     */
+    void onImprovement(T solution, long iterationsPerformed);
+}
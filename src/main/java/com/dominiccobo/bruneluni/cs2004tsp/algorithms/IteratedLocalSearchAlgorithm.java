@@ -0,0 +1,250 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.jfr.RestartEvent;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.AcceptanceCriterion;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.BetterAcceptance;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.LocalSearchTour;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.Perturbation;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * Class representing an Iterated Local Search algorithm over tours, with the variable strength perturbation of
+ * Variable Neighbourhood Search.
+ *
+ * The first iteration descends from the starting tour to a 2-opt local optimum. Each later iteration perturbs the
+ * current local optimum, descends again from the nodes the perturbation disturbed, and lets an acceptance
+ * criterion decide whether to move to the new local optimum or roll back. The perturbation is applied once after
+ * an improvement and once more each iteration without one, up to a maximum strength, before starting over.
+ *
+ * Perturbation, descent and rollback each do work proportional to the region of the tour changed rather than to
+ * the size of the tour. The tour of the solution, which is the best tour found, is only rewritten on finding a
+ * new best tour.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ *
+ * @param <T> The type representing the whole solutions details.
+ */
+public class IteratedLocalSearchAlgorithm<T extends TSPSolution>
+        extends HeuristicSearchAlgorithm<T, Double, Vector<Integer>> {
+
+    /**
+     * The default maximum perturbation strength.
+     */
+    public static final int DEFAULT_MAXIMUM_STRENGTH = 3;
+
+    /**
+     * The nearest neighbours of each node, from which local search moves are drawn.
+     */
+    private CandidateList candidateList;
+
+    /**
+     * The perturbation kicking the search out of each local optimum.
+     */
+    private Perturbation perturbation;
+
+    /**
+     * The most times the perturbation is applied in a single iteration.
+     */
+    private int maximumStrength;
+
+    /**
+     * The criterion deciding whether to move to each new local optimum.
+     */
+    private AcceptanceCriterion acceptanceCriterion;
+
+    /**
+     * The source of randomness used to perturb, accept and restart.
+     */
+    private Random random;
+
+    /**
+     * The current local optimum, built on the first iteration.
+     */
+    private LocalSearchTour localSearchTour;
+
+    /**
+     * The length of the current local optimum.
+     */
+    private double currentLength;
+
+    /**
+     * The length of the best tour found.
+     */
+    private double bestLength;
+
+    /**
+     * The number of times the perturbation is applied in the next iteration.
+     */
+    private int strength;
+
+    /**
+     * The iteration at which the current local optimum last improved.
+     */
+    private long lastImprovementIteration;
+
+    /**
+     * The number of restarts made.
+     */
+    private int restarts;
+
+    /**
+     * Scratch space the best tour is copied through.
+     */
+    private int[] tourBuffer;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private IteratedLocalSearchAlgorithm() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, perturbing by double bridges and accepting only shorter local optima.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     * @param startingSolution the starting solution representation.
+     * @param candidateList the nearest neighbours of each node.
+     */
+    public IteratedLocalSearchAlgorithm(int iterationsToPerform, T startingSolution, CandidateList candidateList) {
+        this(iterationsToPerform, startingSolution, candidateList, Perturbation.DOUBLE_BRIDGE,
+                DEFAULT_MAXIMUM_STRENGTH, new BetterAcceptance(), new XoroshiroRandom());
+    }
+
+    /**
+     * Instantiation constructor with every parameter of the search.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     * @param startingSolution the starting solution representation.
+     * @param candidateList the nearest neighbours of each node.
+     * @param perturbation the perturbation kicking the search out of each local optimum.
+     * @param maximumStrength the most times the perturbation is applied in a single iteration.
+     * @param acceptanceCriterion the criterion deciding whether to move to each new local optimum.
+     * @param random the source of randomness used to perturb, accept and restart.
+     */
+    public IteratedLocalSearchAlgorithm(int iterationsToPerform, T startingSolution, CandidateList candidateList,
+                                        Perturbation perturbation, int maximumStrength,
+                                        AcceptanceCriterion acceptanceCriterion, Random random) {
+        super(iterationsToPerform, startingSolution, SolutionType.MINIMISATION);
+
+        if (candidateList == null || perturbation == null || acceptanceCriterion == null || maximumStrength < 1) {
+            throw new IllegalArgumentException("Candidates, perturbation and acceptance required, strength positive");
+        }
+
+        this.candidateList = candidateList;
+        this.perturbation = perturbation;
+        this.maximumStrength = maximumStrength;
+        this.acceptanceCriterion = acceptanceCriterion;
+        this.random = random;
+    }
+
+    /**
+     * Executes the algorithm, descending from the starting tour on the first iteration.
+     *
+     * @return the best tour found.
+     */
+    @Override
+    public T runAlgorithm() {
+        this.localSearchTour = null;
+        this.strength = 1;
+        this.restarts = 0;
+        this.bestLength = this.currentBestSolution.getTourLength();
+        this.acceptanceCriterion.start(iterationsToPerform);
+        return super.runAlgorithm();
+    }
+
+    /**
+     * Performs a single iteration of the algorithm, returning the best solution in the case.
+     *
+     * @return the best solution in the case.
+     */
+    @Override
+    protected T performIteration() {
+
+        if (localSearchTour == null) {
+            final Graph graph = this.currentBestSolution.getDistanceGraph();
+            this.localSearchTour = new LocalSearchTour(this.currentBestSolution.getTour(), graph, candidateList);
+            this.tourBuffer = new int[graph.getNumberOfNodes()];
+            descendFromScratch();
+            return this.currentBestSolution;
+        }
+
+        if (acceptanceCriterion.shouldRestart(iterationsPerformed - lastImprovementIteration)) {
+            localSearchTour.reset(this.currentBestSolution.getDistanceGraph().getRandomTour(random));
+            descendFromScratch();
+            restarts++;
+            getMetrics().recordRestart();
+            RestartEvent.emit(getClass(), restarts);
+            return this.currentBestSolution;
+        }
+
+        perturbation.perturb(localSearchTour, strength, random);
+        localSearchTour.optimise();
+
+        final double candidateLength = localSearchTour.getLength();
+
+        if (candidateLength < currentLength) {
+            strength = 1;
+            lastImprovementIteration = iterationsPerformed;
+        }
+        else {
+            strength = (strength == maximumStrength) ? 1 : strength + 1;
+        }
+
+        final double elapsedFraction = getTerminationPolicy().getElapsedFraction(iterationsPerformed);
+        final boolean accepted = acceptanceCriterion.accept(candidateLength, currentLength, iterationsPerformed,
+                elapsedFraction, random);
+        getMetrics().recordProposal(candidateLength - currentLength, accepted);
+
+        if (accepted) {
+            localSearchTour.commit();
+            currentLength = candidateLength;
+            offerBest();
+        }
+        else {
+            localSearchTour.rollback();
+        }
+
+        return this.currentBestSolution;
+    }
+
+    /**
+     * Descends from every node of the local search tour, moving to the local optimum reached.
+     */
+    private void descendFromScratch() {
+        localSearchTour.activateAll();
+        localSearchTour.optimise();
+        localSearchTour.commit();
+        currentLength = localSearchTour.getLength();
+        lastImprovementIteration = iterationsPerformed;
+        strength = 1;
+        offerBest();
+    }
+
+    /**
+     * Copies the current local optimum into the solution if it is the best tour found.
+     */
+    private void offerBest() {
+
+        if (currentLength < bestLength) {
+            localSearchTour.copyTour(tourBuffer);
+
+            // the length is recalculated in full, so no rounding accumulated over the deltas is reported.
+            bestLength = this.currentBestSolution.getDistanceGraph().getTourLength(tourBuffer);
+            this.currentBestSolution.setTour(tourBuffer, bestLength);
+            recordImprovement();
+        }
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+}
@@ -0,0 +1,127 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+
+import java.util.Arrays;
+
+/**
+ * Class representing a Late Acceptance Hill Climbing algorithm, generified to allow for easy modification of the
+ * problem it can be applied to.
+ *
+ * A proposal is accepted if it is no worse than the current solution, or no worse than the solution the search
+ * was at a fixed number of iterations ago. The costs of those past solutions are held in a ring buffer of
+ * primitives, so unlike simulated annealing no exponential or random number is needed per move, and the history
+ * length is the only parameter.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ *
+ * @param <T> The type representing the whole solutions details.
+ * @param <T1> The type representing the solution fitness.
+ * @param <T2> The type representing the solution representation.
+ */
+public class LateAcceptanceHillClimbingAlgorithm<T extends SolutionAdapter, T1 extends Number, T2>
+        extends HeuristicSearchAlgorithm<T, T1, T2> {
+
+    /**
+     * The costs of the solutions of past iterations, where cost is the fitness oriented so that lower is better.
+     */
+    private final double[] costHistory;
+
+    /**
+     * The position in the history of the cost to compare the next proposal to.
+     */
+    private int historyIndex;
+
+    /**
+     * The cost of the current solution, kept up to date from the accepted fitness deltas.
+     */
+    private double currentCost;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private LateAcceptanceHillClimbingAlgorithm() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor with required parameters for running the algorithm.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     * @param startingSolution the starting solution representation.
+     * @param solutionType the solution aim.
+     * @param historyLength the number of iterations ago of the solution a proposal is compared to.
+     */
+    public LateAcceptanceHillClimbingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
+                                               int historyLength) {
+        super(iterationsToPerform, startingSolution, solutionType);
+
+        if (historyLength < 1) {
+            throw new IllegalArgumentException("History length must be positive");
+        }
+
+        this.costHistory = new double[historyLength];
+    }
+
+    /**
+     * Executes the algorithm, filling the history with the cost of the starting solution.
+     *
+     * @return the best solution visited during the algorithm's execution.
+     */
+    @Override
+    public T runAlgorithm() {
+        this.currentCost = toCost(this.currentBestSolution.getFitness().doubleValue());
+        Arrays.fill(this.costHistory, this.currentCost);
+        this.historyIndex = 0;
+        return super.runAlgorithm();
+    }
+
+    @Override
+    protected boolean acceptsWorseSolutions() {
+        return true;
+    }
+
+    /**
+     * Performs a single iteration of the algorithm, returning the best solution in the case.
+     *
+     * @return the best solution in the case.
+     */
+    @Override
+    protected T performIteration() {
+
+        final double fitnessDelta = this.currentBestSolution.proposeChangeDelta();
+        final double worsening = (solutionType == SolutionType.MINIMISATION) ? fitnessDelta : -fitnessDelta;
+        final double proposedCost = this.currentCost + worsening;
+
+        final boolean accepted = worsening <= 0 || proposedCost <= this.costHistory[historyIndex];
+
+        if (accepted) {
+            this.currentBestSolution.acceptProposedChange();
+            this.currentCost = proposedCost;
+            if (worsening < 0) {
+                this.recordImprovement();
+            }
+        }
+
+        this.getMetrics().recordProposal(worsening, accepted);
+
+        this.costHistory[historyIndex] = this.currentCost;
+        if (++historyIndex == costHistory.length) {
+            historyIndex = 0;
+        }
+
+        return this.currentBestSolution;
+    }
+
+    /**
+     * Orients a fitness so that lower is better.
+     *
+     * @param fitness the fitness to orient.
+     * @return the cost.
+     */
+    private double toCost(double fitness) {
+        return (solutionType == SolutionType.MINIMISATION) ? fitness : -fitness;
+    }
+}
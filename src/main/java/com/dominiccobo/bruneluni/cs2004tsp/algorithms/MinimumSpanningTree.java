@@ -1,5 +1,6 @@
 package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
 
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.GraphEdge;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.GraphEdgeComparator;
 
@@ -116,4 +117,83 @@ public class MinimumSpanningTree {
     public static double getMSTCost(double[][] minimumSpanningTreeMatrix) {
         return (Arrays.stream(minimumSpanningTreeMatrix).mapToDouble(row -> Arrays.stream(row).sum()).sum())/2;
     }
+
+    /**
+     * Implementation of the dense variant of Prim's algorithm, evaluating distances on demand from the graph.
+     *
+     * Runs in O(n^2) time with O(n) memory, so it remains usable for coordinate backed graphs far too large to
+     * materialise as a matrix.
+     *
+     * @param graph the graph to apply prim's to.
+     * @return the parent of each node in the tree, where the root node has a parent of -1.
+     */
+    public static int[] primsMSTParents(Graph graph) {
+
+        if(graph == null) {
+            throw new IllegalArgumentException("Null input");
+        }
+
+        final int numberOfNodes = graph.getNumberOfNodes();
+        final int[] parents = new int[numberOfNodes];
+        final double[] connectionCosts = new double[numberOfNodes];
+        final boolean[] inTree = new boolean[numberOfNodes];
+
+        Arrays.fill(parents, -1);
+        Arrays.fill(connectionCosts, Double.POSITIVE_INFINITY);
+
+        if(numberOfNodes == 0) {
+            return parents;
+        }
+
+        int currentNode = 0;
+        inTree[currentNode] = true;
+
+        for(int added = 1; added < numberOfNodes; added++) {
+
+            int nearestNode = -1;
+            double nearestCost = Double.POSITIVE_INFINITY;
+
+            for(int node = 0; node < numberOfNodes; node++) {
+
+                if(inTree[node]) {
+                    continue;
+                }
+
+                final double distance = graph.getDistanceBetweenNodes(currentNode, node);
+                if(distance < connectionCosts[node]) {
+                    connectionCosts[node] = distance;
+                    parents[node] = currentNode;
+                }
+                if(connectionCosts[node] < nearestCost) {
+                    nearestCost = connectionCosts[node];
+                    nearestNode = node;
+                }
+            }
+
+            inTree[nearestNode] = true;
+            currentNode = nearestNode;
+        }
+
+        return parents;
+    }
+
+    /**
+     * Calculates the MST cost of a graph using the dense variant of Prim's algorithm.
+     *
+     * @param graph the graph to calculate the minimum spanning tree cost of.
+     * @return the resulting cost.
+     */
+    public static double getMSTCost(Graph graph) {
+
+        final int[] parents = primsMSTParents(graph);
+        double minimumSpanningTreeCost = 0D;
+
+        for(int node = 0; node < parents.length; node++) {
+            if(parents[node] != -1) {
+                minimumSpanningTreeCost += graph.getDistanceBetweenNodes(node, parents[node]);
+            }
+        }
+
+        return minimumSpanningTreeCost;
+    }
 }
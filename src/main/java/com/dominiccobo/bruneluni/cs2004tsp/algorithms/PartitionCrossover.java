@@ -0,0 +1,299 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class implementing generalised partition crossover (GPX), merging tours into a tour no longer than any of them
+ * in time linear in the number of nodes.
+ *
+ * The union of two tours' edges falls apart into components once the edges the tours share are removed. Where a
+ * component is joined to the rest of the union by exactly two paths of shared edges, each tour crosses it in a
+ * single path between the same two nodes, so the shorter tour's path may be taken through it independently of
+ * every other such component. The remaining components are taken together from whichever tour is shorter across
+ * them, so the child never loses to either parent.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class PartitionCrossover {
+
+    @SuppressWarnings("unused")
+    private PartitionCrossover() {
+        throw new IllegalArgumentException("No constructor permitted");
+    }
+
+    /**
+     * Merges a collection of tours, folding each into the result of merging the shorter tours before it.
+     *
+     * @param graph the graph the tours visit.
+     * @param tours the tours to merge, which are left unchanged.
+     * @return the merged tour, no longer than the shortest given.
+     */
+    public static int[] mergeTours(Graph graph, List<int[]> tours) {
+
+        if (tours.isEmpty()) {
+            throw new IllegalArgumentException("At least one tour is required to merge");
+        }
+
+        final double[] lengths = new double[tours.size()];
+        final Integer[] order = new Integer[tours.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            lengths[i] = graph.getTourLength(tours.get(i));
+        }
+        Arrays.sort(order, (first, second) -> Double.compare(lengths[first], lengths[second]));
+
+        int[] mergedTour = tours.get(order[0]).clone();
+        for (int i = 1; i < order.length; i++) {
+            mergedTour = crossover(graph, mergedTour, tours.get(order[i]));
+        }
+
+        return mergedTour;
+    }
+
+    /**
+     * Recombines two tours with partition crossover.
+     *
+     * @param graph the graph the tours visit.
+     * @param firstTour the first parent, left unchanged.
+     * @param secondTour the second parent, left unchanged.
+     * @return the child tour, no longer than either parent.
+     */
+    public static int[] crossover(Graph graph, int[] firstTour, int[] secondTour) {
+
+        final int numberOfNodes = firstTour.length;
+        if (secondTour.length != numberOfNodes) {
+            throw new IllegalArgumentException("Tours must visit the same nodes");
+        }
+        if (numberOfNodes < 4) {
+            return shorterOf(graph, firstTour, secondTour).clone();
+        }
+
+        final int[] firstPositions = getPositions(firstTour);
+        final int[] secondPositions = getPositions(secondTour);
+
+        // components are formed over the edges only one parent has, between the nodes such edges touch.
+        final int[] componentParents = new int[numberOfNodes];
+        for (int node = 0; node < numberOfNodes; node++) {
+            componentParents[node] = node;
+        }
+        final boolean[] partitioned = new boolean[numberOfNodes];
+
+        joinUnsharedEdges(firstTour, secondTour, secondPositions, componentParents, partitioned);
+        joinUnsharedEdges(secondTour, firstTour, firstPositions, componentParents, partitioned);
+
+        int startPosition = -1;
+        for (int position = 0; position < numberOfNodes && startPosition == -1; position++) {
+            if (partitioned[firstTour[position]]) {
+                startPosition = position;
+            }
+        }
+        if (startPosition == -1) {
+            // every edge is shared, so the parents are the same tour.
+            return firstTour.clone();
+        }
+
+        final double[] firstCosts = new double[numberOfNodes];
+        final double[] secondCosts = new double[numberOfNodes];
+        sumUnsharedEdges(graph, firstTour, secondTour, secondPositions, componentParents, firstCosts);
+        sumUnsharedEdges(graph, secondTour, firstTour, firstPositions, componentParents, secondCosts);
+
+        // each maximal path of shared edges runs between two partitioned nodes, joining their components.
+        final int[] cutPaths = new int[numberOfNodes];
+        int pathStart = -1;
+        for (int i = 0; i < numberOfNodes; i++) {
+            final int position = (startPosition + i) % numberOfNodes;
+            final int node = firstTour[position];
+            final int nextNode = firstTour[(position + 1) % numberOfNodes];
+
+            if (!isEdge(secondTour, secondPositions, node, nextNode)) {
+                continue;
+            }
+            if (partitioned[node]) {
+                pathStart = node;
+            }
+            if (partitioned[nextNode]) {
+                final int startComponent = findComponent(componentParents, pathStart);
+                final int endComponent = findComponent(componentParents, nextNode);
+                if (startComponent != endComponent) {
+                    cutPaths[startComponent]++;
+                    cutPaths[endComponent]++;
+                }
+            }
+        }
+
+        // components not separable by two paths are taken together from one parent.
+        double firstRemainder = 0;
+        double secondRemainder = 0;
+        for (int node = 0; node < numberOfNodes; node++) {
+            if (partitioned[node] && componentParents[node] == node && cutPaths[node] != 2) {
+                firstRemainder += firstCosts[node];
+                secondRemainder += secondCosts[node];
+            }
+        }
+        final boolean remainderFromSecond = secondRemainder < firstRemainder;
+
+        final boolean[] fromSecond = new boolean[numberOfNodes];
+        for (int node = 0; node < numberOfNodes; node++) {
+            if (partitioned[node] && componentParents[node] == node) {
+                fromSecond[node] = (cutPaths[node] == 2)
+                        ? secondCosts[node] < firstCosts[node]
+                        : remainderFromSecond;
+            }
+        }
+
+        final int[] shorterParent = shorterOf(graph, firstTour, secondTour);
+
+        // a node of degree above two means the partition was not feasible, so no tour of parent edges exists.
+        final int[] adjacency = new int[numberOfNodes * 2];
+        Arrays.fill(adjacency, -1);
+        if (!addChildEdges(firstTour, secondTour, secondPositions, componentParents, fromSecond, false, adjacency)
+                || !addChildEdges(secondTour, firstTour, firstPositions, componentParents, fromSecond, true,
+                        adjacency)) {
+            return shorterParent.clone();
+        }
+
+        final int[] childTour = walkAdjacency(adjacency, numberOfNodes);
+        if (childTour == null || graph.getTourLength(childTour) > graph.getTourLength(shorterParent)) {
+            return shorterParent.clone();
+        }
+        return childTour;
+    }
+
+    /**
+     * Joins the components of the nodes at either end of each edge of a tour that the other tour lacks.
+     */
+    private static void joinUnsharedEdges(int[] tour, int[] otherTour, int[] otherPositions, int[] componentParents,
+                                          boolean[] partitioned) {
+        for (int position = 0; position < tour.length; position++) {
+            final int node = tour[position];
+            final int nextNode = tour[(position + 1) % tour.length];
+            if (!isEdge(otherTour, otherPositions, node, nextNode)) {
+                partitioned[node] = true;
+                partitioned[nextNode] = true;
+                final int nodeComponent = findComponent(componentParents, node);
+                final int nextComponent = findComponent(componentParents, nextNode);
+                if (nodeComponent != nextComponent) {
+                    componentParents[nodeComponent] = nextComponent;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sums the lengths of the edges of a tour that the other tour lacks, by component.
+     */
+    private static void sumUnsharedEdges(Graph graph, int[] tour, int[] otherTour, int[] otherPositions,
+                                         int[] componentParents, double[] costs) {
+        for (int position = 0; position < tour.length; position++) {
+            final int node = tour[position];
+            final int nextNode = tour[(position + 1) % tour.length];
+            if (!isEdge(otherTour, otherPositions, node, nextNode)) {
+                costs[findComponent(componentParents, node)] += graph.getDistanceBetweenNodes(node, nextNode);
+            }
+        }
+    }
+
+    /**
+     * Adds the edges of a parent to the child: shared edges when adding the first parent, and unshared edges in
+     * the components taken from the parent.
+     *
+     * @return whether every node is left with at most two edges.
+     */
+    private static boolean addChildEdges(int[] tour, int[] otherTour, int[] otherPositions, int[] componentParents,
+                                      boolean[] fromSecond, boolean isSecond, int[] adjacency) {
+        for (int position = 0; position < tour.length; position++) {
+            final int node = tour[position];
+            final int nextNode = tour[(position + 1) % tour.length];
+
+            final boolean include = isEdge(otherTour, otherPositions, node, nextNode)
+                    ? !isSecond
+                    : fromSecond[findComponent(componentParents, node)] == isSecond;
+
+            if (include && (!addAdjacency(adjacency, node, nextNode) || !addAdjacency(adjacency, nextNode, node))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the cycle described by an adjacency array from node zero.
+     *
+     * @return the tour, or null if the adjacency does not describe a single cycle through every node.
+     */
+    private static int[] walkAdjacency(int[] adjacency, int numberOfNodes) {
+
+        final int[] tour = new int[numberOfNodes];
+        final boolean[] visited = new boolean[numberOfNodes];
+
+        int previousNode = -1;
+        int node = 0;
+        for (int position = 0; position < numberOfNodes; position++) {
+            if (visited[node] || adjacency[node * 2 + 1] == -1) {
+                return null;
+            }
+            visited[node] = true;
+            tour[position] = node;
+
+            final int nextNode = (adjacency[node * 2] != previousNode) ? adjacency[node * 2] : adjacency[node * 2 + 1];
+            previousNode = node;
+            node = nextNode;
+        }
+
+        return (node == 0) ? tour : null;
+    }
+
+    /**
+     * Adds a neighbour to the two adjacency slots of a node.
+     *
+     * @return whether a slot was free, false if the node already has two neighbours.
+     */
+    private static boolean addAdjacency(int[] adjacency, int node, int neighbour) {
+        if (adjacency[node * 2] == -1) {
+            adjacency[node * 2] = neighbour;
+        }
+        else if (adjacency[node * 2 + 1] == -1) {
+            adjacency[node * 2 + 1] = neighbour;
+        }
+        else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether two nodes are adjacent in a tour.
+     */
+    private static boolean isEdge(int[] tour, int[] positions, int node, int otherNode) {
+        final int position = positions[node];
+        final int nextPosition = (position + 1 == tour.length) ? 0 : position + 1;
+        final int previousPosition = (position == 0) ? tour.length - 1 : position - 1;
+        return tour[nextPosition] == otherNode || tour[previousPosition] == otherNode;
+    }
+
+    private static int[] getPositions(int[] tour) {
+        final int[] positions = new int[tour.length];
+        for (int position = 0; position < tour.length; position++) {
+            positions[tour[position]] = position;
+        }
+        return positions;
+    }
+
+    private static int[] shorterOf(Graph graph, int[] firstTour, int[] secondTour) {
+        return (graph.getTourLength(secondTour) < graph.getTourLength(firstTour)) ? secondTour : firstTour;
+    }
+
+    /**
+     * Finds the representative of the component containing a node, halving the path as it goes.
+     */
+    private static int findComponent(int[] componentParents, int node) {
+        while (componentParents[node] != node) {
+            componentParents[node] = componentParents[componentParents[node]];
+            node = componentParents[node];
+        }
+        return node;
+    }
+}
@@ -19,27 +19,8 @@ import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
  * @param <T1> The type representing the solution fitness.
  * @param <T2> The type representing the solution representation.
  */
-public class RandomMutatingHillClimber<T extends SolutionAdapter, T1 extends Number, T2> {
-
-    /**
-     * The number of iterations to perform the algorithm for.
-     */
-    private int iterationsToPerform;
-
-    /**
-     * The current iterations performed.
-     */
-    private int iterationsPerformed;
-
-    /**
-     * The current best solution.
-     */
-    private T currentBestSolution;
-
-    /**
-     * The solution principle to be applied.
-     */
-    private SolutionType solutionType;
+public class RandomMutatingHillClimber<T extends SolutionAdapter, T1 extends Number, T2>
+        extends HeuristicSearchAlgorithm<T, T1, T2> {
 
     /**
      * No argument constructor, hidden, to prevent non parameterised instantiation.
@@ -57,45 +38,27 @@ public class RandomMutatingHillClimber<T extends SolutionAdapter, T1 extends Num
      * @param solutionType the aim of the algorithm.
      */
     public RandomMutatingHillClimber(int iterationsToPerform, T startingSolution, SolutionType solutionType) {
-        this.iterationsToPerform = iterationsToPerform;
-        this.currentBestSolution = startingSolution;
-        this.solutionType = solutionType;
-    }
-
-    /**
-     * Executes the algorithm for the specified number of iterations.
-     * @return the result of the algorithm's execution.
-     */
-    public T runAlgorithm() {
-
-        while(iterationsPerformed < iterationsToPerform) {
-            this.currentBestSolution = performIteration();
-            iterationsPerformed++;
-        }
-        return currentBestSolution;
+        super(iterationsToPerform, startingSolution, solutionType);
     }
 
     /**
-     * Performs a single iteration of the RMHC algorithm, evaluating the fitness of the current and possible solution.
+     * Performs a single iteration of the RMHC algorithm, evaluating the change in fitness of a proposed change.
      *
      * @return the best solution in the case.
      */
-    @SuppressWarnings("unchecked")
-    private T performIteration() {
+    @Override
+    protected T performIteration() {
 
-        final T2 proposedSolutionRepresentation = (T2) currentBestSolution.proposeChange();
-        final int comparisonResult = currentBestSolution.comparePerformanceTo(proposedSolutionRepresentation);
+        final double fitnessDelta = currentBestSolution.proposeChangeDelta();
+        final double worsening = (solutionType == SolutionType.MINIMISATION) ? fitnessDelta : -fitnessDelta;
+        final boolean accepted = worsening < 0;
 
-        if(solutionType == SolutionType.MINIMISATION) {
-            if(comparisonResult < 0) {
-                this.currentBestSolution.setRepresentation(proposedSolutionRepresentation);
-            }
-        }
-        if(solutionType == SolutionType.MAXIMISATION) {
-            if(comparisonResult > 0) {
-                this.currentBestSolution.setRepresentation(proposedSolutionRepresentation);
-            }
+        if(accepted) {
+            this.currentBestSolution.acceptProposedChange();
+            this.recordImprovement();
         }
+
+        this.getMetrics().recordProposal(worsening, accepted);
         return this.currentBestSolution;
     }
 }
@@ -2,6 +2,23 @@ package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
 
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.jfr.RestartEvent;
+import com.dominiccobo.bruneluni.cs2004tsp.jfr.SearchRunEvent;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CompositeTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.IterationTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.StagnationTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TerminationPolicy;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
@@ -13,39 +30,55 @@ import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
  *
  * @author Dominic Cobo (contact@dominiccobo.com)
  *
- * Class representing a random mutating hill climber algorithm, generified to allow for easy modification
+ * Class representing a random restart hill climber algorithm, generified to allow for easy modification
  * of the problem it can be applied to.
  *
+ * Each iteration is a restart, climbing from a fresh starting solution with the RMHC algorithm, apart from the
+ * first restart which climbs from the given starting solution. Restarts are independent, so may run concurrently
+ * on several threads, sharing only the best solution found. Each restart derives its randomness from its index,
+ * so the restarts climb the same way however they are scheduled across threads.
+ *
  * @param <T> The type representing the whole solutions details.
  * @param <T1> The type representing the solution fitness.
  * @param <T2> The type representing the solution representation.
  */
-public class RandomRestartHillClimbingAlgorithm<T extends SolutionAdapter, T1 extends Number, T2> {
+public class RandomRestartHillClimbingAlgorithm<T extends SolutionAdapter, T1 extends Number, T2>
+        extends HeuristicSearchAlgorithm<T, T1, T2> {
 
     /**
-     * The number of iterations to perform the algorithm for.
+     * The number of times to run the RMHC algorithm each iteration.
      */
-    private int iterationsToPerform;
+    private int rmhcIterationsToRun;
 
     /**
-     * The current iterations performed.
+     * The given starting solution, climbed by the first restart.
      */
-    private int iterationsPerformed;
+    private T initialSolution;
 
     /**
-     * The current best solution.
+     * The factory of the starting solutions of restarts after the first.
      */
-    private T currentBestSolution;
+    private StartingSolutionFactory<T> startingSolutionFactory;
 
     /**
-     * The solution principle to be applied.
+     * The number of restarts to run concurrently.
      */
-    private SolutionType solutionType;
+    private int parallelism;
 
     /**
-     * The number of times to run the RMHC algorithm each iteration.
+     * The source of randomness from which the restarts derive theirs.
      */
-    private int rmhcIterationsToRun;
+    private Random random;
+
+    /**
+     * The seed the restarts derive their randomness from, drawn when the algorithm is ran.
+     */
+    private long restartSeed;
+
+    /**
+     * The best restart completed so far.
+     */
+    private final AtomicReference<RestartResult<T>> bestRestart = new AtomicReference<>();
 
     /**
      * No argument constructor, hidden, to prevent non parameterised instantiation.
@@ -56,63 +89,254 @@ public class RandomRestartHillClimbingAlgorithm<T extends SolutionAdapter, T1 ex
     }
 
     /**
-     * The default constructor, which specifies the required parameters for execution.
+     * The default constructor, which specifies the required parameters for execution. Restarts climb from random
+     * solutions, one at a time.
+     *
      * @param iterationsToPerform the number of iterations to perform.
      * @param startingSolution the starting solution representation.
      * @param solutionType the aim of the solution algorithm.
      * @param rmhcIterationsToRun the number of internal rmnhc iterations to run.
      */
+    @SuppressWarnings("unchecked")
     public RandomRestartHillClimbingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
                                               int rmhcIterationsToRun) {
+        this(iterationsToPerform, startingSolution, solutionType, rmhcIterationsToRun,
+                random -> (T) startingSolution.createRandomSolution(random), 1, 0, new XoroshiroRandom());
+    }
+
+    /**
+     * Constructor for restarts climbing from solutions of a factory, running concurrently.
+     *
+     * @param iterationsToPerform the number of restarts to perform.
+     * @param startingSolution the starting solution of the first restart.
+     * @param solutionType the aim of the solution algorithm.
+     * @param rmhcIterationsToRun the number of internal rmnhc iterations to run.
+     * @param startingSolutionFactory the factory of the starting solutions of restarts after the first.
+     * @param parallelism the number of restarts to run concurrently.
+     * @param restartPatience the number of restarts without improvement after which the algorithm stops early,
+     *                        or zero to always perform every restart.
+     * @param random the source of randomness from which the restarts derive theirs.
+     */
+    public RandomRestartHillClimbingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
+                                              int rmhcIterationsToRun,
+                                              StartingSolutionFactory<T> startingSolutionFactory,
+                                              int parallelism, int restartPatience, Random random) {
+        super(iterationsToPerform, startingSolution, solutionType);
+
+        if (parallelism < 1 || restartPatience < 0) {
+            throw new IllegalArgumentException("Parallelism must be positive and patience cannot be negative");
+        }
 
-        this.iterationsToPerform = iterationsToPerform;
-        this.currentBestSolution = startingSolution;
-        this.solutionType = solutionType;
         this.rmhcIterationsToRun = rmhcIterationsToRun;
+        this.initialSolution = startingSolution;
+        this.startingSolutionFactory = startingSolutionFactory;
+        this.parallelism = parallelism;
+        this.random = random;
+
+        if (restartPatience > 0) {
+            setTerminationPolicy(CompositeTermination.anyOf(
+                    getTerminationPolicy(),
+                    new StagnationTermination(restartPatience)
+            ));
+        }
     }
 
     /**
-     * Executes the algorithm for the specified number of iterations.
-     * @return the result of the algorithm's execution.
+     * Executes restarts until the termination policy decides to stop, spreading them across a pool of threads
+     * when ran with parallelism.
+     *
+     * @return the best solution of all restarts.
      */
+    @Override
     public T runAlgorithm() {
 
-        while(iterationsPerformed < iterationsToPerform) {
-            this.currentBestSolution = performIteration();
-            iterationsPerformed++;
+        final SearchRunEvent runEvent = new SearchRunEvent();
+        runEvent.begin();
+
+        final TerminationPolicy terminationPolicy = getTerminationPolicy();
+        terminationPolicy.start();
+        if (getConvergenceTracer() != null) {
+            getConvergenceTracer().start();
         }
-        return currentBestSolution;
+
+        this.restartSeed = random.nextLong();
+
+        final AtomicLong nextRestart = new AtomicLong();
+        final AtomicLong restartsPerformed = new AtomicLong();
+
+        final Runnable restartWorker = () -> {
+            long restart = nextRestart.getAndIncrement();
+            while (!shouldStopRestarting(restart)) {
+                offerRestartResult(runRestart(restart));
+                restartsPerformed.incrementAndGet();
+                restart = nextRestart.getAndIncrement();
+            }
+        };
+
+        if (parallelism == 1) {
+            restartWorker.run();
+        }
+        else {
+            runConcurrently(restartWorker);
+        }
+
+        final T bestSolution;
+        synchronized (this) {
+            this.iterationsPerformed = restartsPerformed.get();
+            bestSolution = getBestSolution();
+        }
+
+        runEvent.complete(getClass(), restartsPerformed.get(), bestSolution.getFitness().doubleValue());
+        return bestSolution;
     }
 
     /**
-     * Performs a single iteration of the RMHC algorithm, evaluating the fitness of the current and possible solution.
+     * Performs a single restart on the calling thread.
      *
      * @return the best solution in the case.
      */
+    @Override
+    protected T performIteration() {
+        offerRestartResult(runRestart(iterationsPerformed));
+        return this.currentBestSolution;
+    }
+
+    /**
+     * Runs copies of a worker on a pool of threads, one per degree of parallelism, waiting for all to finish.
+     *
+     * @param restartWorker the worker to run.
+     */
+    private void runConcurrently(Runnable restartWorker) {
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            final List<Future<?>> workers = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(executorService.submit(restartWorker));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Restart failed", e.getCause());
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Determines whether to stop before a restart. Budgets shared with the climbs, such as deadlines, are checked
+     * afresh, as a restart spans far more iterations than the interval at which such budgets are sampled.
+     *
+     * @param restart the index of the restart about to be performed.
+     * @return whether to stop.
+     */
+    private boolean shouldStopRestarting(long restart) {
+        final TerminationPolicy terminationPolicy = getTerminationPolicy();
+        return terminationPolicy.shouldTerminate(restart) || terminationPolicy.forNestedSearch().shouldTerminate(0);
+    }
+
+    /**
+     * Climbs from the starting solution of a restart.
+     *
+     * @param restart the index of the restart.
+     * @return the result of the restart.
+     */
     @SuppressWarnings("unchecked")
-    private T performIteration() {
+    private RestartResult<T> runRestart(long restart) {
+
+        final XoroshiroRandom restartRandom = XoroshiroRandom.forTask(restartSeed, restart);
+
+        if (restart > 0) {
+            getMetrics().recordRestart();
+            RestartEvent.emit(getClass(), restart);
+        }
+
+        // the given starting solution is only ever climbed by the first restart, so needs no copy.
+        final T startingSolution = (restart == 0)
+                ? this.initialSolution
+                : startingSolutionFactory.createStartingSolution(restartRandom);
 
-        RandomMutatingHillClimber<T, T1, T2> rhmc = new RandomMutatingHillClimber<>(
+        final RandomMutatingHillClimber<T, T1, T2> rmhc = new RandomMutatingHillClimber<>(
                 rmhcIterationsToRun,
-                currentBestSolution,
+                startingSolution,
                 solutionType
         );
+        rmhc.setMetrics(getMetrics().forNestedSearch());
+        // restarts stop early when the budgets they share with this algorithm run out.
+        rmhc.setTerminationPolicy(CompositeTermination.anyOf(
+                new IterationTermination(rmhcIterationsToRun),
+                getTerminationPolicy().forNestedSearch()
+        ));
 
-        T proposedSolution = rhmc.runAlgorithm();
-        T2 proposedSolutionRepresentation = (T2) proposedSolution.getRepresentation();
+        final T restartSolution = rmhc.runAlgorithm();
+        return new RestartResult<>(restart, restartSolution, restartSolution.getFitness().doubleValue());
+    }
 
-        int comparisonResult = this.currentBestSolution.comparePerformanceTo(proposedSolutionRepresentation);
+    /**
+     * Offers the result of a restart as the new best, recording the improvement if it is.
+     *
+     * @param restartResult the result of the restart.
+     */
+    private void offerRestartResult(RestartResult<T> restartResult) {
 
-        if(solutionType == SolutionType.MINIMISATION) {
-            if(comparisonResult < 0) {
-                this.currentBestSolution.setRepresentation(proposedSolution);
+        RestartResult<T> currentBest = bestRestart.get();
+
+        while (currentBest == null || restartResult.isBetterThan(currentBest, solutionType)) {
+
+            if (bestRestart.compareAndSet(currentBest, restartResult)) {
+                synchronized (this) {
+                    // a better restart may have been published in the meantime.
+                    if (bestRestart.get() == restartResult) {
+                        this.currentBestSolution = restartResult.solution;
+                        this.iterationsPerformed = restartResult.restart;
+                        recordImprovement();
+                    }
+                }
+                return;
             }
+            currentBest = bestRestart.get();
         }
-        if(solutionType == SolutionType.MAXIMISATION) {
-            if(comparisonResult > 0) {
-                this.currentBestSolution.setRepresentation(proposedSolution);
-            }
+    }
+
+    /**
+     * The outcome of a single restart.
+     *
+     * @param <T> The type representing the whole solutions details.
+     */
+    private static final class RestartResult<T extends SolutionAdapter> {
+
+        private final long restart;
+
+        private final T solution;
+
+        private final double fitness;
+
+        private RestartResult(long restart, T solution, double fitness) {
+            this.restart = restart;
+            this.solution = solution;
+            this.fitness = fitness;
+        }
+
+        /**
+         * Determines whether this result beats another, breaking ties by the earlier restart so the outcome does
+         * not depend on the order in which concurrent restarts finish.
+         *
+         * @param other the result to compare to.
+         * @param solutionType the aim of the solution algorithm.
+         * @return whether this result is better.
+         */
+        private boolean isBetterThan(RestartResult<T> other, SolutionType solutionType) {
+            final int comparison = (solutionType == SolutionType.MINIMISATION)
+                    ? Double.compare(other.fitness, fitness)
+                    : Double.compare(fitness, other.fitness);
+            return comparison > 0 || (comparison == 0 && restart < other.restart);
         }
-        return this.currentBestSolution;
     }
 }
@@ -1,9 +1,13 @@
 package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
 
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.CoolingSchedule;
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.GeometricCooling;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetrics;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
 
 /**
  *  Lab 15 - Simulated Annealing Algorithm Implementation
@@ -17,43 +21,36 @@ import java.util.concurrent.ThreadLocalRandom;
  * Class representing a Simulated Annealing Optimisation algorithm, generified to allow for easy modification
  * of the problem it can be applied to.
  *
+ * The temperature follows a pluggable cooling schedule, geometric unless another is given, which is told of the
+ * worse proposals and new best solutions met so that adaptive and reheating schedules may react to the search.
+ *
  * @param <T> The type representing the whole solutions details.
  * @param <T1> The type representing the solution fitness.
  * @param <T2> The type representing the solution representation.
  */
-public class SimulatedAnnealingAlgorithm<T extends SolutionAdapter, T1 extends Number, T2> {
-    /**
-     * The number of iterations to perform the algorithm for.
-     */
-    private int iterationsToPerform;
-
+public class SimulatedAnnealingAlgorithm<T extends SolutionAdapter, T1 extends Number, T2>
+        extends HeuristicSearchAlgorithm<T, T1, T2> {
     /**
-     * The current iterations performed.
-     */
-    private int iterationsPerformed;
-
-    /**
-     * The current best solution.
+     * The temperature at which the search feels that it is not likely to find more answers.
+     *
+     * Directly affected by the cooling schedule.
      */
-    private T currentBestSolution;
+    private double searchTemperature;
 
     /**
-     * The solution principle to be applied.
+     * The starting search temperature, from which the cooling schedule starts.
      */
-    private SolutionType solutionType;
+    private double initialTemperature;
 
     /**
-     * The temperature at which the search feels that it is not likely to find more answers.
-     *
-     * Directly affected by the cooling rate.
+     * The schedule the search temperature follows.
      */
-    private double searchTemperature;
-
+    private CoolingSchedule coolingSchedule;
 
     /**
-     * The rate at which the search temperature decays.
+     * The source of randomness used to accept worse proposals.
      */
-    private double coolingRate;
+    private Random random;
 
     /**
      * No argument constructor, hidden, to prevent non parameterised instantiation.
@@ -74,84 +71,144 @@ public class SimulatedAnnealingAlgorithm<T extends SolutionAdapter, T1 extends N
      */
     public SimulatedAnnealingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
                                        double searchTemperature, double coolingRate) {
-        this.iterationsToPerform = iterationsToPerform;
-        this.currentBestSolution = startingSolution;
-        this.solutionType = solutionType;
+        this(iterationsToPerform, startingSolution, solutionType, searchTemperature, coolingRate,
+                new XoroshiroRandom());
+    }
+
+    /**
+     * Instantiation constructor accepting worse proposals from an injected source of randomness, so that a seeded
+     * source reproduces the same run.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     * @param startingSolution the starting solution representation.
+     * @param solutionType the solution aim
+     * @param searchTemperature the starting search temperature.
+     * @param coolingRate the cooling rate at which the temperature decays
+     * @param random the source of randomness used to accept worse proposals.
+     */
+    public SimulatedAnnealingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
+                                       double searchTemperature, double coolingRate, Random random) {
+        this(iterationsToPerform, startingSolution, solutionType, searchTemperature,
+                GeometricCooling.withCoolingRate(coolingRate), random);
+    }
+
+    /**
+     * Instantiation constructor for a search following the given cooling schedule.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     * @param startingSolution the starting solution representation.
+     * @param solutionType the solution aim
+     * @param searchTemperature the starting search temperature.
+     * @param coolingSchedule the schedule the search temperature follows.
+     * @param random the source of randomness used to accept worse proposals.
+     */
+    public SimulatedAnnealingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
+                                       double searchTemperature, CoolingSchedule coolingSchedule, Random random) {
+        super(iterationsToPerform, startingSolution, solutionType);
+
+        if (coolingSchedule == null) {
+            throw new IllegalArgumentException("Cooling schedule cannot be null");
+        }
+
+        this.random = random;
         this.searchTemperature = searchTemperature;
-        this.coolingRate = coolingRate;
+        this.initialTemperature = searchTemperature;
+        this.coolingSchedule = coolingSchedule;
     }
 
     /**
-     * Executes the algorithm for the specified number of iterations.
+     * Executes the algorithm, starting the cooling schedule from the starting search temperature.
      *
-     * @return the result of the algorithm's execution.
+     * @return the best solution visited during the algorithm's execution.
      */
+    @Override
     public T runAlgorithm() {
+        this.coolingSchedule.start(initialTemperature, iterationsToPerform);
+        this.searchTemperature = initialTemperature;
+        return super.runAlgorithm();
+    }
 
-        while (iterationsPerformed < iterationsToPerform) {
-            this.currentBestSolution = performIteration();
-            iterationsPerformed++;
-        }
-        return currentBestSolution;
+    @Override
+    protected boolean acceptsWorseSolutions() {
+        return true;
     }
 
     /**
      * Performs a single iteration of the algorithm, returning the best solution in the case.
      *
+     * The proposal is evaluated by its change in fitness alone, as a primitive, so no full evaluation or boxing
+     * takes place on each iteration.
+     *
      * @return the best solution in the case.
      */
-    @SuppressWarnings("unchecked")
-    private T performIteration() {
-        final T2 proposedSolutionRepresentation = (T2) this.currentBestSolution.proposeChange();
-        final int comparisonResult = currentBestSolution.comparePerformanceTo(proposedSolutionRepresentation);
-        T1 fitnessDifference = null;
-
-        if(solutionType == SolutionType.MINIMISATION) {
-            fitnessDifference = (T1) this.currentBestSolution.getFitnessDifference(
-                    proposedSolutionRepresentation,
-                    currentBestSolution.getRepresentation()
-            );
-        }
-        if(solutionType == SolutionType.MAXIMISATION) {
-            fitnessDifference = (T1) this.currentBestSolution.getFitnessDifference(
-                    currentBestSolution.getRepresentation(),
-                    proposedSolutionRepresentation
-            );
-        }
+    @Override
+    protected T performIteration() {
+
+        final double fitnessDelta = this.currentBestSolution.proposeChangeDelta();
+        final double worsening = (solutionType == SolutionType.MINIMISATION) ? fitnessDelta : -fitnessDelta;
+
+        final boolean accepted;
 
         // if worse
-        if(comparisonResult > 0) {
-            if(this.acceptProposal(fitnessDifference)) {
-                this.currentBestSolution.setRepresentation(proposedSolutionRepresentation);
+        if(worsening > 0) {
+            accepted = this.acceptProposal(worsening);
+            if(accepted) {
+                this.currentBestSolution.acceptProposedChange();
             }
+            this.coolingSchedule.recordWorseProposal(accepted);
         }
         else {
-            this.currentBestSolution.setRepresentation(proposedSolutionRepresentation);
+            accepted = true;
+            this.currentBestSolution.acceptProposedChange();
+            if(worsening < 0 && this.recordImprovement()) {
+                this.coolingSchedule.recordImprovement(iterationsPerformed);
+            }
+        }
+
+        final SearchMetrics metrics = this.getMetrics();
+        metrics.recordProposal(worsening, accepted);
+        if((iterationsPerformed & GAUGE_SAMPLING_MASK) == 0) {
+            metrics.recordTemperature(this.searchTemperature);
         }
+
         this.setDecay();
         return this.currentBestSolution;
     }
 
     /**
-     * Evaluates whether the proposed worser fitness change is to be accepted.
+     * Evaluates whether the proposed worser fitness change is to be accepted, looking up the probability of
+     * acceptance rather than calculating it.
      *
-     * @param fitnessDelta the calculated fitness difference to evaluate.
+     * @param worsening how much worse the proposal is.
      * @return whether it is to be accepted or not.
      */
-    private boolean acceptProposal(Number fitnessDelta) {
-
-        final double variableChance = ThreadLocalRandom.current().nextDouble(0, 1);
-        final double convergenceParameter = this.searchTemperature;
-
-        final double probabilityOfAcceptance = Math.exp(-(double) fitnessDelta / convergenceParameter);
-
-        return (probabilityOfAcceptance > variableChance);
+    private boolean acceptProposal(double worsening) {
+        return AcceptanceTable.METROPOLIS.accept(worsening, this.searchTemperature, random);
     }
 
     /**
-     * Applies the temperature decay method given the current parameters.
+     * Applies the temperature decay of the cooling schedule for the next iteration.
+     *
+     * Under a time budget the schedule is rescaled to the time elapsed, so the temperature planned for the final
+     * iteration is reached as the budget runs out, however many iterations that turns out to be.
      */
     private void setDecay() {
-        this.searchTemperature *= this.coolingRate;
+        final double elapsedFraction = getTerminationPolicy().getElapsedFraction(iterationsPerformed);
+        this.searchTemperature = this.coolingSchedule.getTemperature(iterationsPerformed + 1, elapsedFraction);
+    }
+
+    @Override
+    protected double getControlParameter() {
+        return searchTemperature;
+    }
+
+    @Override
+    protected void restoreControlParameter(double controlParameter) {
+        this.searchTemperature = controlParameter;
+        this.coolingSchedule.resume(controlParameter, iterationsPerformed);
+    }
+
+    public double getSearchTemperature() {
+        return searchTemperature;
     }
 }
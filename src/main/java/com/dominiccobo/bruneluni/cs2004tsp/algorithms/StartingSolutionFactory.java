@@ -0,0 +1,24 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+import java.util.Random;
+
+/**
+ * Factory of the fresh starting solutions of restarting algorithms, such as random or constructed tours.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ *
+ * @param <T> The type representing the whole solutions details.
+ */
+public interface StartingSolutionFactory<T extends SolutionAdapter> {
+
+    /**
+     * Creates a fresh starting solution. May be called concurrently from several threads.
+     *
+     * @param random the source of randomness of the restart, owned by the calling thread, which the solution may
+     *               keep to propose changes with.
+     * @return the starting solution.
+     */
+    T createStartingSolution(Random random);
+}
@@ -3,7 +3,9 @@ package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
 
-import java.util.concurrent.ThreadLocalRandom;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+
+import java.util.Random;
 
 /**
  *  Lab 15 - Stochastic Hill Climbing Algorithm Implementation
@@ -21,32 +23,18 @@ import java.util.concurrent.ThreadLocalRandom;
  * @param <T1> The type representing the solution fitness.
  * @param <T2> The type representing the solution representation.
  */
-public class StochasticHillClimbingAlgorithm<T extends SolutionAdapter, T1 extends Number, T2> {
+public class StochasticHillClimbingAlgorithm<T extends SolutionAdapter, T1 extends Number, T2>
+        extends HeuristicSearchAlgorithm<T, T1, T2> {
 
     /**
-     * The number of iterations to perform the algorithm for.
-     */
-    private int iterationsToPerform;
-
-    /**
-     * The current iterations performed.
-     */
-    private int iterationsPerformed;
-
-    /**
-     * The current best solution.
-     */
-    private T currentBestSolution;
-
-    /**
-     * The solution principle to be applied.
+     * The optimisation convergence parameter
      */
-    private SolutionType solutionType;
+    private double convergenceParameter;
 
     /**
-     * The optimisation convergence parameter
+     * The source of randomness used to accept worse proposals.
      */
-    private double convergenceParameter;
+    private Random random;
 
     /**
      * No argument constructor, hidden, to prevent non parameterised instantiation.
@@ -65,79 +53,74 @@ public class StochasticHillClimbingAlgorithm<T extends SolutionAdapter, T1 exten
      * @param convergenceParameter the convergence parameter, that modifies the acceptance of proposed worse solutions.
      */
     public StochasticHillClimbingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType, double convergenceParameter) {
-        this.iterationsToPerform = iterationsToPerform;
-        this.currentBestSolution = startingSolution;
-        this.solutionType = solutionType;
-        this.convergenceParameter = convergenceParameter;
+        this(iterationsToPerform, startingSolution, solutionType, convergenceParameter, new XoroshiroRandom());
     }
 
     /**
-     * Executes the algorithm for the specified number of iterations.
-     * @return the result of the algorithm's execution.
+     * Constructor accepting worse proposals from an injected source of randomness, so that a seeded source
+     * reproduces the same run.
+     *
+     * @param iterationsToPerform the number of iterations to perform within the algorithm.
+     * @param startingSolution the starting solution representation.
+     * @param solutionType the aim of the solution, that is whether we aim to maximise or minimise.
+     * @param convergenceParameter the convergence parameter, that modifies the acceptance of proposed worse solutions.
+     * @param random the source of randomness used to accept worse proposals.
      */
-    public T runAlgorithm() {
+    public StochasticHillClimbingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
+                                           double convergenceParameter, Random random) {
+        super(iterationsToPerform, startingSolution, solutionType);
+        this.random = random;
+        this.convergenceParameter = convergenceParameter;
+    }
 
-        while(iterationsPerformed < iterationsToPerform) {
-            this.currentBestSolution = performIteration();
-            iterationsPerformed++;
-        }
-        return currentBestSolution;
+    @Override
+    protected boolean acceptsWorseSolutions() {
+        return true;
     }
 
     /**
      * Performs a single iteration of the SHC algorithm, evaluating the fitness of the current and possible solution.
      *
+     * The proposal is evaluated by its change in fitness alone, as a primitive, so no full evaluation or boxing
+     * takes place on each iteration.
+     *
      * @return the best solution in the case.
      */
-    @SuppressWarnings("unchecked")
-    private T performIteration() {
-
-        final T2 proposedSolutionRepresentation = (T2) currentBestSolution.proposeChange();
-        final int comparisonResult = currentBestSolution.comparePerformanceTo(proposedSolutionRepresentation);
+    @Override
+    protected T performIteration() {
 
-        T1 fitnessDifference = null;
+        final double fitnessDelta = this.currentBestSolution.proposeChangeDelta();
+        final double worsening = (solutionType == SolutionType.MINIMISATION) ? fitnessDelta : -fitnessDelta;
 
-        if(solutionType == SolutionType.MINIMISATION) {
-            fitnessDifference = (T1) this.currentBestSolution.getFitnessDifference(
-                    proposedSolutionRepresentation,
-                    currentBestSolution.getRepresentation()
-            );
-        }
-        if(solutionType == SolutionType.MAXIMISATION) {
-            fitnessDifference = (T1) this.currentBestSolution.getFitnessDifference(
-                    currentBestSolution.getRepresentation(),
-                    proposedSolutionRepresentation
-            );
-        }
+        final boolean accepted;
 
         // if worse
-        if(comparisonResult > 0) {
-
-            if(this.acceptProposal(fitnessDifference)) {
-                this.currentBestSolution.setRepresentation(proposedSolutionRepresentation);
+        if(worsening > 0) {
+            accepted = this.acceptProposal(worsening);
+            if(accepted) {
+                this.currentBestSolution.acceptProposedChange();
             }
         }
         else {
-            this.currentBestSolution.setRepresentation(proposedSolutionRepresentation);
+            accepted = true;
+            this.currentBestSolution.acceptProposedChange();
+            if(worsening < 0) {
+                this.recordImprovement();
+            }
         }
+
+        this.getMetrics().recordProposal(worsening, accepted);
         return this.currentBestSolution;
     }
 
     /**
-     * Determines whether the proposed fitness difference can be accepted or not based on a
-     * variable random chance and a convergence parameter that will increase or decrease the
-     * possibility.
+     * Evaluates whether the proposed worser fitness change is to be accepted, looking up the probability of
+     * acceptance rather than calculating it.
      *
-     * @param fitnessDelta the difference between the two fitnesses.
-     * @return the evaluation of acceptance.
+     * @param worsening how much worse the proposal is.
+     * @return whether it is to be accepted or not.
      */
-    private boolean acceptProposal(Number fitnessDelta) {
-
-        final double variableChance = ThreadLocalRandom.current().nextDouble(0, 1);
-        final double convergenceParameter = this.convergenceParameter;
-
-        final double probabilityOfAcceptance = (1 / (1 + Math.exp((double) fitnessDelta / convergenceParameter)));
-
-        return (probabilityOfAcceptance > variableChance);
+    private boolean acceptProposal(double worsening) {
+        return AcceptanceTable.LOGISTIC.accept(worsening, this.convergenceParameter, random);
     }
 }
@@ -0,0 +1,130 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetrics;
+
+/**
+ * Class representing a Threshold Accepting algorithm, generified to allow for easy modification of the problem
+ * it can be applied to.
+ *
+ * A proposal is accepted if it worsens the current solution by less than a threshold, which falls linearly from
+ * its initial value to zero over the planned iterations, or over the time budget when one is given. Acceptance
+ * is therefore deterministic, needing no exponential or random number per move, and the initial threshold is the
+ * only parameter.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ *
+ * @param <T> The type representing the whole solutions details.
+ * @param <T1> The type representing the solution fitness.
+ * @param <T2> The type representing the solution representation.
+ */
+public class ThresholdAcceptingAlgorithm<T extends SolutionAdapter, T1 extends Number, T2>
+        extends HeuristicSearchAlgorithm<T, T1, T2> {
+
+    /**
+     * The worsening accepted at the start of the search.
+     */
+    private double initialThreshold;
+
+    /**
+     * The worsening currently accepted.
+     */
+    private double threshold;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ThresholdAcceptingAlgorithm() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor with required parameters for running the algorithm.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     * @param startingSolution the starting solution representation.
+     * @param solutionType the solution aim.
+     * @param initialThreshold the worsening accepted at the start of the search.
+     */
+    public ThresholdAcceptingAlgorithm(int iterationsToPerform, T startingSolution, SolutionType solutionType,
+                                       double initialThreshold) {
+        super(iterationsToPerform, startingSolution, solutionType);
+
+        if (initialThreshold < 0) {
+            throw new IllegalArgumentException("Initial threshold cannot be negative");
+        }
+
+        this.initialThreshold = initialThreshold;
+        this.threshold = initialThreshold;
+    }
+
+    @Override
+    public T runAlgorithm() {
+        this.threshold = initialThreshold;
+        return super.runAlgorithm();
+    }
+
+    @Override
+    protected boolean acceptsWorseSolutions() {
+        return true;
+    }
+
+    /**
+     * Performs a single iteration of the algorithm, returning the best solution in the case.
+     *
+     * @return the best solution in the case.
+     */
+    @Override
+    protected T performIteration() {
+
+        final double fitnessDelta = this.currentBestSolution.proposeChangeDelta();
+        final double worsening = (solutionType == SolutionType.MINIMISATION) ? fitnessDelta : -fitnessDelta;
+
+        final boolean accepted = worsening <= 0 || worsening < threshold;
+
+        if (accepted) {
+            this.currentBestSolution.acceptProposedChange();
+            if (worsening < 0) {
+                this.recordImprovement();
+            }
+        }
+
+        final SearchMetrics metrics = this.getMetrics();
+        metrics.recordProposal(worsening, accepted);
+        if ((iterationsPerformed & GAUGE_SAMPLING_MASK) == 0) {
+            metrics.recordTemperature(this.threshold);
+        }
+
+        this.lowerThreshold();
+        return this.currentBestSolution;
+    }
+
+    /**
+     * Lowers the threshold in proportion to the progress through the iterations, or the time budget.
+     */
+    private void lowerThreshold() {
+
+        double progress = getTerminationPolicy().getElapsedFraction(iterationsPerformed);
+        if (Double.isNaN(progress)) {
+            progress = (double) (iterationsPerformed + 1) / iterationsToPerform;
+        }
+
+        this.threshold = initialThreshold * Math.max(0.0, 1.0 - progress);
+    }
+
+    @Override
+    protected double getControlParameter() {
+        return threshold;
+    }
+
+    @Override
+    protected void restoreControlParameter(double controlParameter) {
+        this.threshold = controlParameter;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+}
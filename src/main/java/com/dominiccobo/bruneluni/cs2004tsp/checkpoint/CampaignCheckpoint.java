@@ -0,0 +1,430 @@
+package com.dominiccobo.bruneluni.cs2004tsp.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Progress of a campaign of solver runs, saved periodically to a compact binary file so that a campaign
+ * interrupted part way may be resumed, skipping the instances and tasks it already completed and continuing each
+ * task in flight from its latest snapshot.
+ *
+ * A task is a single resample of an algorithm against an instance. Once every task of an instance completes and
+ * its results are written, the instance is completed and the results of its tasks are dropped. The summary each
+ * algorithm logs of an instance is recorded as published once written, so that an instance resumed after some of
+ * its summaries were logged does not log them twice. The file holds the
+ * master seed of the campaign, which a resumed campaign adopts so that every task derives the same randomness,
+ * a fingerprint of the campaign's parameters, which must match for the file to be resumed, and the length of the
+ * result store when saved, past which a resumed campaign discards the results of tasks it is to run again.
+ *
+ * The file is replaced atomically on each save, by writing a temporary file alongside and moving it over the
+ * previous file, so an interruption while saving leaves the previous checkpoint intact. Checkpoints are safe to
+ * update from the threads of concurrent tasks.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class CampaignCheckpoint {
+
+    /**
+     * The default minimum time between saves.
+     */
+    public static final long DEFAULT_SAVE_INTERVAL_MILLIS = 30_000;
+
+    static final int MAGIC = 0x43504b54;
+
+    static final int VERSION = 4;
+
+    /**
+     * The file the checkpoint is saved to.
+     */
+    private final File checkpointFile;
+
+    /**
+     * The seed from which every task of the campaign derives its randomness.
+     */
+    private final long masterSeed;
+
+    /**
+     * Description of the parameters of the campaign, which a resumed campaign must share.
+     */
+    private final String fingerprint;
+
+    /**
+     * The minimum time between saves, in nanoseconds.
+     */
+    private final long saveIntervalNanos;
+
+    /**
+     * Whether the checkpoint was loaded from an existing file.
+     */
+    private final boolean resumed;
+
+    /**
+     * The length of the result store holding the results of every completed task, as recorded before saving.
+     */
+    private long resultStoreLength;
+
+    private final Set<String> completedInstances = new LinkedHashSet<>();
+
+    /**
+     * The result of each completed task of the instances not yet completed, keyed by the task.
+     */
+    private final Map<String, TaskResult> completedTasks = new HashMap<>();
+
+    /**
+     * The summaries written of the instances not yet completed, keyed by instance and algorithm.
+     */
+    private final Set<String> publishedSummaries = new LinkedHashSet<>();
+
+    /**
+     * The latest snapshot of each task in flight, keyed by the task.
+     */
+    private final Map<String, SearchSnapshot> inFlightTasks = new HashMap<>();
+
+    /**
+     * The time of the last save.
+     */
+    private long lastSaveTime;
+
+    /**
+     * Whether there is progress since the last save.
+     */
+    private boolean dirty;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private CampaignCheckpoint() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    private CampaignCheckpoint(File checkpointFile, long masterSeed, String fingerprint, long saveIntervalMillis,
+                               boolean resumed) {
+
+        if (checkpointFile == null || fingerprint == null || saveIntervalMillis < 0) {
+            throw new IllegalArgumentException("File and fingerprint required, save interval cannot be negative");
+        }
+
+        this.checkpointFile = checkpointFile;
+        this.masterSeed = masterSeed;
+        this.fingerprint = fingerprint;
+        this.saveIntervalNanos = saveIntervalMillis * 1_000_000L;
+        this.resumed = resumed;
+        this.lastSaveTime = System.nanoTime();
+    }
+
+    /**
+     * Resumes the campaign saved to a file, or starts a new campaign saving to it if the file does not exist.
+     *
+     * @param checkpointFile the file the checkpoint is saved to.
+     * @param masterSeed the master seed of a new campaign, ignored if resumed in favour of the saved seed.
+     * @param fingerprint description of the parameters of the campaign.
+     * @param saveIntervalMillis the minimum time between saves.
+     * @return the checkpoint of the campaign.
+     * @throws IOException if the file exists but cannot be read, or is not a checkpoint.
+     */
+    public static CampaignCheckpoint resumeOrCreate(File checkpointFile, long masterSeed, String fingerprint,
+                                                    long saveIntervalMillis) throws IOException {
+
+        if (!checkpointFile.isFile()) {
+            return new CampaignCheckpoint(checkpointFile, masterSeed, fingerprint, saveIntervalMillis, false);
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(checkpointFile)))) {
+
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Not a campaign checkpoint " + checkpointFile);
+            }
+
+            final long savedSeed = input.readLong();
+            final String savedFingerprint = readLongString(input);
+            if (!savedFingerprint.equals(fingerprint)) {
+                throw new IllegalArgumentException("Checkpoint " + checkpointFile + " is of a campaign ran with "
+                        + describeDifference(savedFingerprint, fingerprint));
+            }
+
+            final CampaignCheckpoint checkpoint = new CampaignCheckpoint(
+                    checkpointFile, savedSeed, fingerprint, saveIntervalMillis, true
+            );
+
+            checkpoint.resultStoreLength = input.readLong();
+            for (int i = input.readInt(); i > 0; i--) {
+                checkpoint.completedInstances.add(input.readUTF());
+            }
+            for (int i = input.readInt(); i > 0; i--) {
+                checkpoint.completedTasks.put(input.readUTF(), TaskResult.read(input));
+            }
+            for (int i = input.readInt(); i > 0; i--) {
+                checkpoint.publishedSummaries.add(input.readUTF());
+            }
+            for (int i = input.readInt(); i > 0; i--) {
+                checkpoint.inFlightTasks.put(input.readUTF(), SearchSnapshot.read(input));
+            }
+            return checkpoint;
+        }
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    public synchronized long getResultStoreLength() {
+        return resultStoreLength;
+    }
+
+    /**
+     * Records the length of the result store once the results of every task completed so far are written to it,
+     * to be saved with the next save.
+     *
+     * @param resultStoreLength the length of the result store, in bytes.
+     */
+    public synchronized void recordResultStoreLength(long resultStoreLength) {
+        this.resultStoreLength = resultStoreLength;
+    }
+
+    public synchronized boolean isInstanceComplete(String instance) {
+        return completedInstances.contains(instance);
+    }
+
+    /**
+     * Records that every task of an instance has completed and its results have been written, dropping the
+     * results of its tasks.
+     *
+     * @param instance the name of the instance.
+     */
+    public synchronized void completeInstance(String instance) {
+        completedInstances.add(instance);
+        removeKeysOf(completedTasks.keySet(), instance);
+        removeKeysOf(inFlightTasks.keySet(), instance);
+        removeKeysOf(publishedSummaries, instance);
+        dirty = true;
+    }
+
+    public synchronized boolean isSummaryPublished(String instance, String algorithm) {
+        return completedInstances.contains(instance) || publishedSummaries.contains(instance + '/' + algorithm);
+    }
+
+    /**
+     * Records that the summary an algorithm logs of an instance has been written.
+     *
+     * @param instance the name of the instance.
+     * @param algorithm the name of the algorithm.
+     */
+    public synchronized void publishSummary(String instance, String algorithm) {
+        publishedSummaries.add(instance + '/' + algorithm);
+        dirty = true;
+    }
+
+    /**
+     * Retrieves the result of a completed task.
+     *
+     * @param instance the name of the instance.
+     * @param algorithm the name of the algorithm.
+     * @param resample the index of the resample.
+     * @return the result, or null if the task has not completed.
+     */
+    public synchronized TaskResult getTaskResult(String instance, String algorithm, int resample) {
+        return completedTasks.get(getTaskKey(instance, algorithm, resample));
+    }
+
+    /**
+     * Records the result of a completed task, discarding its snapshot.
+     *
+     * @param instance the name of the instance.
+     * @param algorithm the name of the algorithm.
+     * @param resample the index of the resample.
+     * @param taskResult the result of the task.
+     */
+    public synchronized void completeTask(String instance, String algorithm, int resample, TaskResult taskResult) {
+        final String taskKey = getTaskKey(instance, algorithm, resample);
+        completedTasks.put(taskKey, taskResult);
+        inFlightTasks.remove(taskKey);
+        dirty = true;
+    }
+
+    /**
+     * Retrieves the latest snapshot of a task in flight.
+     *
+     * @param instance the name of the instance.
+     * @param algorithm the name of the algorithm.
+     * @param resample the index of the resample.
+     * @return the snapshot, or null if the task has not been snapshot.
+     */
+    public synchronized SearchSnapshot getSnapshot(String instance, String algorithm, int resample) {
+        return inFlightTasks.get(getTaskKey(instance, algorithm, resample));
+    }
+
+    /**
+     * Records the latest snapshot of a task in flight, replacing any earlier snapshot.
+     *
+     * @param instance the name of the instance.
+     * @param algorithm the name of the algorithm.
+     * @param resample the index of the resample.
+     * @param searchSnapshot the snapshot of the task.
+     */
+    public synchronized void recordSnapshot(String instance, String algorithm, int resample,
+                                            SearchSnapshot searchSnapshot) {
+        inFlightTasks.put(getTaskKey(instance, algorithm, resample), searchSnapshot);
+        dirty = true;
+    }
+
+    /**
+     * Determines whether there is progress to save and the save interval has passed since the last save.
+     *
+     * @return whether a save is due.
+     */
+    public synchronized boolean isSaveDue() {
+        return dirty && System.nanoTime() - lastSaveTime >= saveIntervalNanos;
+    }
+
+    /**
+     * Saves the checkpoint, atomically replacing the previous file.
+     *
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    public synchronized void save() throws IOException {
+
+        final File parentDirectory = checkpointFile.getAbsoluteFile().getParentFile();
+        if (!parentDirectory.isDirectory() && !parentDirectory.mkdirs()) {
+            throw new IOException("Unable to create checkpoint directory " + parentDirectory);
+        }
+
+        final File temporaryFile = new File(parentDirectory, checkpointFile.getName() + ".tmp");
+
+        try (FileOutputStream fileOutput = new FileOutputStream(temporaryFile);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(masterSeed);
+            writeLongString(output, fingerprint);
+            output.writeLong(resultStoreLength);
+
+            output.writeInt(completedInstances.size());
+            for (String instance : completedInstances) {
+                output.writeUTF(instance);
+            }
+            output.writeInt(completedTasks.size());
+            for (Map.Entry<String, TaskResult> completedTask : completedTasks.entrySet()) {
+                output.writeUTF(completedTask.getKey());
+                completedTask.getValue().write(output);
+            }
+            output.writeInt(publishedSummaries.size());
+            for (String summaryKey : publishedSummaries) {
+                output.writeUTF(summaryKey);
+            }
+            output.writeInt(inFlightTasks.size());
+            for (Map.Entry<String, SearchSnapshot> inFlightTask : inFlightTasks.entrySet()) {
+                output.writeUTF(inFlightTask.getKey());
+                inFlightTask.getValue().write(output);
+            }
+
+            output.flush();
+            fileOutput.getFD().sync();
+        }
+
+        Files.move(temporaryFile.toPath(), checkpointFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        lastSaveTime = System.nanoTime();
+        dirty = false;
+    }
+
+    /**
+     * Saves the checkpoint if a save is due.
+     *
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    public synchronized void saveIfDue() throws IOException {
+        if (isSaveDue()) {
+            save();
+        }
+    }
+
+    static void writeTour(DataOutput output, int[] tour) throws IOException {
+        output.writeInt(tour.length);
+        for (int city : tour) {
+            output.writeInt(city);
+        }
+    }
+
+    static int[] readTour(DataInput input) throws IOException {
+        final int[] tour = new int[input.readInt()];
+        for (int i = 0; i < tour.length; i++) {
+            tour[i] = input.readInt();
+        }
+        return tour;
+    }
+
+    /**
+     * Writes a string of any length as its length prefixed UTF-8 bytes, where writeUTF is limited to 64KB.
+     */
+    private static void writeLongString(DataOutput output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readLongString(DataInput input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String getTaskKey(String instance, String algorithm, int resample) {
+        return instance + '/' + algorithm + '/' + resample;
+    }
+
+    private static void removeKeysOf(Collection<String> keys, String instance) {
+        final String instancePrefix = instance + '/';
+        final Iterator<String> instanceKeys = keys.iterator();
+        while (instanceKeys.hasNext()) {
+            if (instanceKeys.next().startsWith(instancePrefix)) {
+                instanceKeys.remove();
+            }
+        }
+    }
+
+    /**
+     * Describes the lines of a saved fingerprint missing from the current one, the parameters that differ.
+     *
+     * @param savedFingerprint the fingerprint of the saved campaign.
+     * @param fingerprint the fingerprint of the campaign resuming it.
+     * @return the differing lines, or the whole saved fingerprint should no line differ.
+     */
+    private static String describeDifference(String savedFingerprint, String fingerprint) {
+        final List<String> currentLines = Arrays.asList(fingerprint.split("\n"));
+        final List<String> differingLines = new ArrayList<>();
+        for (String savedLine : savedFingerprint.split("\n")) {
+            if (!currentLines.contains(savedLine)) {
+                differingLines.add(savedLine);
+            }
+        }
+        return differingLines.isEmpty() ? savedFingerprint : String.join(", ", differingLines);
+    }
+}
@@ -0,0 +1,119 @@
+package com.dominiccobo.bruneluni.cs2004tsp.checkpoint;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * State of a search captured at a checkpoint, from which the search may be resumed exactly: the iteration
+ * reached, the current and best tours, the control parameter and the state of each source of randomness.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public final class SearchSnapshot {
+
+    private final long iterationsPerformed;
+
+    /**
+     * The time the search had ran for when captured, so that its duration may be carried over.
+     */
+    private final long elapsedNanos;
+
+    private final double controlParameter;
+
+    private final int[] currentTour;
+
+    private final int[] bestTour;
+
+    /**
+     * The two halves of the state of each source of randomness, in the order the search uses them.
+     */
+    private final long[] randomStates;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private SearchSnapshot() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, taking ownership of the arrays given.
+     *
+     * @param iterationsPerformed the number of iterations performed.
+     * @param elapsedNanos the time the search had ran for in nanoseconds.
+     * @param controlParameter the temperature of the search or its equivalent, or NaN if it has none.
+     * @param currentTour the tour the search is at.
+     * @param bestTour the best tour visited.
+     * @param randomStates the two halves of the state of each source of randomness.
+     */
+    public SearchSnapshot(long iterationsPerformed, long elapsedNanos, double controlParameter, int[] currentTour,
+                          int[] bestTour, long[] randomStates) {
+
+        if (currentTour.length != bestTour.length || randomStates.length % 2 != 0) {
+            throw new IllegalArgumentException("Tours must be of equal length and random states come in pairs");
+        }
+
+        this.iterationsPerformed = iterationsPerformed;
+        this.elapsedNanos = elapsedNanos;
+        this.controlParameter = controlParameter;
+        this.currentTour = currentTour;
+        this.bestTour = bestTour;
+        this.randomStates = randomStates;
+    }
+
+    void write(DataOutput output) throws IOException {
+        output.writeLong(iterationsPerformed);
+        output.writeLong(elapsedNanos);
+        output.writeDouble(controlParameter);
+        CampaignCheckpoint.writeTour(output, currentTour);
+        CampaignCheckpoint.writeTour(output, bestTour);
+        output.writeInt(randomStates.length);
+        for (long randomState : randomStates) {
+            output.writeLong(randomState);
+        }
+    }
+
+    static SearchSnapshot read(DataInput input) throws IOException {
+        final long iterationsPerformed = input.readLong();
+        final long elapsedNanos = input.readLong();
+        final double controlParameter = input.readDouble();
+        final int[] currentTour = CampaignCheckpoint.readTour(input);
+        final int[] bestTour = CampaignCheckpoint.readTour(input);
+        final long[] randomStates = new long[input.readInt()];
+        for (int i = 0; i < randomStates.length; i++) {
+            randomStates[i] = input.readLong();
+        }
+        return new SearchSnapshot(iterationsPerformed, elapsedNanos, controlParameter, currentTour, bestTour,
+                randomStates);
+    }
+
+    public long getIterationsPerformed() {
+        return iterationsPerformed;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getControlParameter() {
+        return controlParameter;
+    }
+
+    public int[] getCurrentTour() {
+        return currentTour.clone();
+    }
+
+    public int[] getBestTour() {
+        return bestTour.clone();
+    }
+
+    public long getRandomState0(int random) {
+        return randomStates[random * 2];
+    }
+
+    public long getRandomState1(int random) {
+        return randomStates[random * 2 + 1];
+    }
+}
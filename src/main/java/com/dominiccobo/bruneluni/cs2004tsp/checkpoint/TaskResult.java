@@ -0,0 +1,99 @@
+package com.dominiccobo.bruneluni.cs2004tsp.checkpoint;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Outcome of a completed task of a campaign, holding all a resumed campaign needs to report the task without
+ * running it again.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public final class TaskResult {
+
+    private final double fitness;
+
+    private final double solutionQuality;
+
+    private final long executionNanos;
+
+    private final long constructionNanos;
+
+    /**
+     * The statistic specific to the algorithm accumulated across resamples, such as its final fitness or number
+     * of restarts.
+     */
+    private final double algorithmStatistic;
+
+    /**
+     * The best tour found, merged with those of the other tasks of the instance.
+     */
+    private final int[] bestTour;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private TaskResult() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, taking ownership of the tour given.
+     *
+     * @param fitness the fitness of the best solution found.
+     * @param solutionQuality the quality of the best solution found.
+     * @param executionNanos the time taken by the task in nanoseconds.
+     * @param constructionNanos the time taken to construct the starting solution in nanoseconds.
+     * @param algorithmStatistic the statistic specific to the algorithm, or NaN if it has none.
+     * @param bestTour the best tour found.
+     */
+    public TaskResult(double fitness, double solutionQuality, long executionNanos, long constructionNanos,
+                      double algorithmStatistic, int[] bestTour) {
+        this.fitness = fitness;
+        this.solutionQuality = solutionQuality;
+        this.executionNanos = executionNanos;
+        this.constructionNanos = constructionNanos;
+        this.algorithmStatistic = algorithmStatistic;
+        this.bestTour = bestTour;
+    }
+
+    void write(DataOutput output) throws IOException {
+        output.writeDouble(fitness);
+        output.writeDouble(solutionQuality);
+        output.writeLong(executionNanos);
+        output.writeLong(constructionNanos);
+        output.writeDouble(algorithmStatistic);
+        CampaignCheckpoint.writeTour(output, bestTour);
+    }
+
+    static TaskResult read(DataInput input) throws IOException {
+        return new TaskResult(input.readDouble(), input.readDouble(), input.readLong(), input.readLong(),
+                input.readDouble(), CampaignCheckpoint.readTour(input));
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public double getSolutionQuality() {
+        return solutionQuality;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    public long getConstructionNanos() {
+        return constructionNanos;
+    }
+
+    public double getAlgorithmStatistic() {
+        return algorithmStatistic;
+    }
+
+    public int[] getBestTour() {
+        return bestTour.clone();
+    }
+}
@@ -0,0 +1,163 @@
+package com.dominiccobo.bruneluni.cs2004tsp.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * Command line of the application, reading an optional configuration file and overriding any of its properties
+ * with key=value arguments, so that a run may be sized to the machine it is launched on without recompiling.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ExperimentCommandLine {
+
+    private final Properties properties;
+
+    /**
+     * Whether to validate the configuration and describe the experiment without running it.
+     */
+    private final boolean validateOnly;
+
+    /**
+     * Whether to tune the parameters of the algorithms rather than run the experiment.
+     */
+    private final boolean tuningRequested;
+
+    private final boolean helpRequested;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ExperimentCommandLine() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    private ExperimentCommandLine(Properties properties, boolean validateOnly, boolean tuningRequested,
+                                  boolean helpRequested) {
+        this.properties = properties;
+        this.validateOnly = validateOnly;
+        this.tuningRequested = tuningRequested;
+        this.helpRequested = helpRequested;
+    }
+
+    /**
+     * Parses the arguments of the application. Properties given as arguments override those of the configuration
+     * file, wherever they appear.
+     *
+     * @param args the arguments.
+     * @return the parsed command line.
+     * @throws IllegalArgumentException if an argument is not recognised or the configuration file cannot be read.
+     */
+    public static ExperimentCommandLine parse(String[] args) {
+
+        final Properties overrides = new Properties();
+        File configurationFile = null;
+        boolean validateOnly = false;
+        boolean tuningRequested = false;
+        boolean helpRequested = false;
+
+        for (int i = 0; i < args.length; i++) {
+            final String arg = args[i];
+
+            if (arg.equals("--config") || arg.equals("-c")) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException(arg + " requires a file");
+                }
+                configurationFile = new File(args[++i]);
+            }
+            else if (arg.equals("--validate")) {
+                validateOnly = true;
+            }
+            else if (arg.equals("--tune")) {
+                tuningRequested = true;
+            }
+            else if (arg.equals("--help") || arg.equals("-h")) {
+                helpRequested = true;
+            }
+            else if (arg.indexOf('=') > 0 && !arg.startsWith("-")) {
+                overrides.setProperty(arg.substring(0, arg.indexOf('=')).trim(), arg.substring(arg.indexOf('=') + 1));
+            }
+            else {
+                throw new IllegalArgumentException("Unrecognised argument " + arg);
+            }
+        }
+
+        final Properties properties = (configurationFile != null)
+                ? readConfigurationFile(configurationFile)
+                : new Properties();
+        properties.putAll(overrides);
+
+        return new ExperimentCommandLine(properties, validateOnly, tuningRequested, helpRequested);
+    }
+
+    /**
+     * Describes the arguments of the application and every property with its default.
+     *
+     * @return the usage.
+     */
+    public static String getUsage() {
+
+        final StringBuilder usage = new StringBuilder()
+                .append("Usage: ApplicationEntryPoint [--config <file>] [--validate] [--tune] [--help] [<key>=<value> ...]\n")
+                .append("\n")
+                .append("  --config <file>  properties file configuring the experiment\n")
+                .append("  --validate       validate the configuration and list the instances without running\n")
+                .append("  --tune           race the parameters of the algorithms over the instances and write the\n")
+                .append("                   winners of each size band to the output directory\n")
+                .append("  --help           print this usage\n")
+                .append("  <key>=<value>    override a property of the configuration file\n")
+                .append("\n")
+                .append("Properties:\n");
+
+        for (ExperimentProperty property : ExperimentProperty.values()) {
+            usage.append(String.format("  %-24s %s (default: %s)%n",
+                    property.getKey(), property.getDescription(), property.getDefaultValue()));
+        }
+        return usage.toString();
+    }
+
+    /**
+     * Parses and validates the configuration of the experiment.
+     *
+     * @return the configuration.
+     * @throws IllegalArgumentException listing every problem found, if the configuration is invalid.
+     */
+    public ExperimentConfiguration getConfiguration() {
+        return ExperimentConfiguration.fromProperties(properties);
+    }
+
+    public Properties getProperties() {
+        return properties;
+    }
+
+    public boolean isValidateOnly() {
+        return validateOnly;
+    }
+
+    public boolean isTuningRequested() {
+        return tuningRequested;
+    }
+
+    public boolean isHelpRequested() {
+        return helpRequested;
+    }
+
+    private static Properties readConfigurationFile(File configurationFile) {
+        final Properties properties = new Properties();
+        try (InputStream input = new FileInputStream(configurationFile);
+             Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read configuration " + configurationFile, e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,781 @@
+package com.dominiccobo.bruneluni.cs2004tsp.config;
+
+import com.dominiccobo.bruneluni.cs2004tsp.construction.ConstructionHeuristic;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.samples.SampleAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.TSPLibReader;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Configuration of an experiment ran by the sample runner, parsed from properties and validated in full up front,
+ * so that a misconfigured experiment fails before running anything, reporting every problem at once.
+ *
+ * Instances are found by globbing the file names of a directory, the bundled instances unless another directory
+ * is given, and ran in order of their name. Where an instance has an optimal tour alongside it, named as the
+ * instance with an _OPT suffix or a TSPLIB .opt.tour extension, the optimal tour is also evaluated, but never
+ * ran as an instance itself.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ExperimentConfiguration {
+
+    /**
+     * The directory of the bundled instances on the class path.
+     */
+    private static final String BUNDLED_INSTANCES = "data";
+
+    /**
+     * The properties that only decide where and how results are kept, how many threads run the experiment, whose
+     * defaults follow the machine, or configure the tuner, which resumed experiments may change freely.
+     */
+    private static final Set<ExperimentProperty> UNFINGERPRINTED_PROPERTIES = Collections.unmodifiableSet(EnumSet.of(
+            ExperimentProperty.INSTANCES_SIDECARS,
+            ExperimentProperty.SEED,
+            ExperimentProperty.THREADS,
+            ExperimentProperty.RRHC_PARALLELISM,
+            ExperimentProperty.DECOMPOSITION_PARALLELISM,
+            ExperimentProperty.OUTPUT_DIRECTORY,
+            ExperimentProperty.OUTPUT_SINKS,
+            ExperimentProperty.CHECKPOINT,
+            ExperimentProperty.TUNING_EVALUATIONS,
+            ExperimentProperty.TUNING_BANDS,
+            ExperimentProperty.TUNING_THREADS
+    ));
+
+    private final List<File> instanceFiles;
+
+    /**
+     * The instance directory and globs as given, kept to describe the configuration.
+     */
+    private final String instancesDirectory;
+
+    private final String instancesInclude;
+
+    private final String instancesExclude;
+
+    private final boolean persistSidecars;
+
+    private final Set<SampleAlgorithm> algorithms;
+
+    private final SolutionType solutionType;
+
+    private final ConstructionHeuristic construction;
+
+    private final long masterSeed;
+
+    private final int resamples;
+
+    private final int iterations;
+
+    /**
+     * The wall-clock budget of each run in milliseconds, or zero for no time budget.
+     */
+    private final long budgetMillis;
+
+    /**
+     * The fitness at which each run stops early, or NaN to never stop on fitness.
+     */
+    private final double budgetTargetFitness;
+
+    private final int rrhcClimbIterations;
+
+    private final int rrhcRestartPatience;
+
+    private final double scaConvergenceFactor;
+
+    private final double saInitialAcceptance;
+
+    private final double saFinalAcceptance;
+
+    private final int ilsRestartPatience;
+
+    private final int threads;
+
+    private final int rrhcParallelism;
+
+    private final int decompositionParallelism;
+
+    private final File outputDirectory;
+
+    private final boolean csvOutput;
+
+    private final boolean resultStoreOutput;
+
+    private final boolean checkpointed;
+
+    private final int tuningEvaluations;
+
+    /**
+     * The node counts dividing the instances into size bands, ascending.
+     */
+    private final List<Integer> tuningBands;
+
+    private final int tuningThreads;
+
+    /**
+     * The problems found while parsing, reported together once parsing finishes.
+     */
+    private final List<String> problems = new ArrayList<>();
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ExperimentConfiguration() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    private ExperimentConfiguration(Properties properties) {
+
+        for (String key : properties.stringPropertyNames()) {
+            if (ExperimentProperty.forKey(key) == null) {
+                problems.add("Unknown property " + key);
+            }
+        }
+
+        this.persistSidecars = parseBoolean(properties, ExperimentProperty.INSTANCES_SIDECARS);
+        this.algorithms = parseAlgorithms(get(properties, ExperimentProperty.ALGORITHMS));
+        this.solutionType = parseEnum(properties, ExperimentProperty.SOLUTION_TYPE, SolutionType.class);
+        this.construction = parseEnum(properties, ExperimentProperty.CONSTRUCTION, ConstructionHeuristic.class);
+        this.masterSeed = parseSeed(get(properties, ExperimentProperty.SEED));
+        this.resamples = parsePositiveInt(properties, ExperimentProperty.RESAMPLES);
+        this.iterations = parsePositiveInt(properties, ExperimentProperty.ITERATIONS);
+        this.budgetMillis = parseNonNegativeInt(properties, ExperimentProperty.BUDGET_MILLIS);
+        this.budgetTargetFitness = parseOptionalDouble(properties, ExperimentProperty.BUDGET_TARGET_FITNESS);
+        this.rrhcClimbIterations = parsePositiveInt(properties, ExperimentProperty.RRHC_CLIMB_ITERATIONS);
+        this.rrhcRestartPatience = parseNonNegativeInt(properties, ExperimentProperty.RRHC_RESTART_PATIENCE);
+        this.scaConvergenceFactor = parsePositiveDouble(properties, ExperimentProperty.SCA_CONVERGENCE_FACTOR);
+        this.saInitialAcceptance = parseProbability(properties, ExperimentProperty.SA_INITIAL_ACCEPTANCE);
+        this.saFinalAcceptance = parseProbability(properties, ExperimentProperty.SA_FINAL_ACCEPTANCE);
+        this.ilsRestartPatience = parseNonNegativeInt(properties, ExperimentProperty.ILS_RESTART_PATIENCE);
+        this.threads = parsePositiveInt(properties, ExperimentProperty.THREADS);
+        this.rrhcParallelism = parsePositiveInt(properties, ExperimentProperty.RRHC_PARALLELISM);
+        this.decompositionParallelism = parsePositiveInt(properties, ExperimentProperty.DECOMPOSITION_PARALLELISM);
+        this.checkpointed = parseBoolean(properties, ExperimentProperty.CHECKPOINT);
+        this.tuningEvaluations = parsePositiveInt(properties, ExperimentProperty.TUNING_EVALUATIONS);
+        this.tuningBands = parseTuningBands(get(properties, ExperimentProperty.TUNING_BANDS));
+        this.tuningThreads = parsePositiveInt(properties, ExperimentProperty.TUNING_THREADS);
+
+        if (rrhcClimbIterations > iterations && iterations > 0) {
+            problems.add(ExperimentProperty.RRHC_CLIMB_ITERATIONS.getKey() + " cannot exceed "
+                    + ExperimentProperty.ITERATIONS.getKey());
+        }
+        if (saFinalAcceptance >= saInitialAcceptance && saInitialAcceptance > 0) {
+            problems.add(ExperimentProperty.SA_FINAL_ACCEPTANCE.getKey() + " must be below "
+                    + ExperimentProperty.SA_INITIAL_ACCEPTANCE.getKey());
+        }
+
+        final List<String> sinks = splitList(get(properties, ExperimentProperty.OUTPUT_SINKS));
+        this.csvOutput = sinks.remove("csv");
+        this.resultStoreOutput = sinks.remove("store");
+        if (!sinks.isEmpty()) {
+            problems.add(ExperimentProperty.OUTPUT_SINKS.getKey() + " has unknown sinks " + sinks);
+        }
+        else if (!csvOutput && !resultStoreOutput) {
+            problems.add(ExperimentProperty.OUTPUT_SINKS.getKey() + " must name at least one sink");
+        }
+        if (checkpointed && !resultStoreOutput) {
+            problems.add(ExperimentProperty.CHECKPOINT.getKey() + " requires the store sink, which resumed"
+                    + " experiments rely on for the results of completed runs");
+        }
+
+        this.outputDirectory = parseOutputDirectory(get(properties, ExperimentProperty.OUTPUT_DIRECTORY));
+        this.instancesDirectory = get(properties, ExperimentProperty.INSTANCES_DIRECTORY);
+        this.instancesInclude = get(properties, ExperimentProperty.INSTANCES_INCLUDE);
+        this.instancesExclude = get(properties, ExperimentProperty.INSTANCES_EXCLUDE);
+        this.instanceFiles = findInstanceFiles(properties);
+
+        if (construction == ConstructionHeuristic.SPACE_FILLING_CURVE) {
+            for (File instanceFile : instanceFiles) {
+                if (!hasCoordinates(instanceFile)) {
+                    problems.add(ExperimentProperty.CONSTRUCTION.getKey() + " " + construction
+                            + " requires node coordinates, which instance " + instanceFile + " does not have");
+                }
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid experiment configuration:\n  - "
+                    + String.join("\n  - ", problems));
+        }
+    }
+
+    /**
+     * Parses and validates the configuration of an experiment, any property not given taking its default.
+     *
+     * @param properties the properties of the experiment.
+     * @return the configuration.
+     * @throws IllegalArgumentException listing every problem found, if the configuration is invalid.
+     */
+    public static ExperimentConfiguration fromProperties(Properties properties) {
+        return new ExperimentConfiguration(properties);
+    }
+
+    /**
+     * Retrieves the default of every property.
+     *
+     * @return the defaults.
+     */
+    public static Properties getDefaults() {
+        final Properties defaults = new Properties();
+        for (ExperimentProperty property : ExperimentProperty.values()) {
+            defaults.setProperty(property.getKey(), property.getDefaultValue());
+        }
+        return defaults;
+    }
+
+    /**
+     * Describes the configuration as properties, with the seed resolved, so the experiment may be repeated.
+     *
+     * @return the properties of the configuration.
+     */
+    public Properties toProperties() {
+
+        final List<String> sinks = new ArrayList<>();
+        if (csvOutput) {
+            sinks.add("csv");
+        }
+        if (resultStoreOutput) {
+            sinks.add("store");
+        }
+
+        final List<String> algorithmNames = new ArrayList<>();
+        for (SampleAlgorithm algorithm : algorithms) {
+            algorithmNames.add(algorithm.name());
+        }
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.INSTANCES_DIRECTORY.getKey(), instancesDirectory);
+        properties.setProperty(ExperimentProperty.INSTANCES_INCLUDE.getKey(), instancesInclude);
+        properties.setProperty(ExperimentProperty.INSTANCES_EXCLUDE.getKey(), instancesExclude);
+        properties.setProperty(ExperimentProperty.INSTANCES_SIDECARS.getKey(), String.valueOf(persistSidecars));
+        properties.setProperty(ExperimentProperty.ALGORITHMS.getKey(), String.join(",", algorithmNames));
+        properties.setProperty(ExperimentProperty.SOLUTION_TYPE.getKey(), solutionType.name());
+        properties.setProperty(ExperimentProperty.CONSTRUCTION.getKey(), construction.name());
+        properties.setProperty(ExperimentProperty.SEED.getKey(), String.valueOf(masterSeed));
+        properties.setProperty(ExperimentProperty.RESAMPLES.getKey(), String.valueOf(resamples));
+        properties.setProperty(ExperimentProperty.ITERATIONS.getKey(), String.valueOf(iterations));
+        properties.setProperty(ExperimentProperty.BUDGET_MILLIS.getKey(), String.valueOf(budgetMillis));
+        properties.setProperty(ExperimentProperty.BUDGET_TARGET_FITNESS.getKey(),
+                Double.isNaN(budgetTargetFitness) ? "" : String.valueOf(budgetTargetFitness));
+        properties.setProperty(ExperimentProperty.RRHC_CLIMB_ITERATIONS.getKey(), String.valueOf(rrhcClimbIterations));
+        properties.setProperty(ExperimentProperty.RRHC_RESTART_PATIENCE.getKey(), String.valueOf(rrhcRestartPatience));
+        properties.setProperty(ExperimentProperty.SCA_CONVERGENCE_FACTOR.getKey(),
+                String.valueOf(scaConvergenceFactor));
+        properties.setProperty(ExperimentProperty.SA_INITIAL_ACCEPTANCE.getKey(), String.valueOf(saInitialAcceptance));
+        properties.setProperty(ExperimentProperty.SA_FINAL_ACCEPTANCE.getKey(), String.valueOf(saFinalAcceptance));
+        properties.setProperty(ExperimentProperty.ILS_RESTART_PATIENCE.getKey(), String.valueOf(ilsRestartPatience));
+        properties.setProperty(ExperimentProperty.THREADS.getKey(), String.valueOf(threads));
+        properties.setProperty(ExperimentProperty.RRHC_PARALLELISM.getKey(), String.valueOf(rrhcParallelism));
+        properties.setProperty(ExperimentProperty.DECOMPOSITION_PARALLELISM.getKey(),
+                String.valueOf(decompositionParallelism));
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), outputDirectory.getPath());
+        properties.setProperty(ExperimentProperty.OUTPUT_SINKS.getKey(), String.join(",", sinks));
+        properties.setProperty(ExperimentProperty.CHECKPOINT.getKey(), String.valueOf(checkpointed));
+        properties.setProperty(ExperimentProperty.TUNING_EVALUATIONS.getKey(), String.valueOf(tuningEvaluations));
+        properties.setProperty(ExperimentProperty.TUNING_BANDS.getKey(), joinBands(tuningBands));
+        properties.setProperty(ExperimentProperty.TUNING_THREADS.getKey(), String.valueOf(tuningThreads));
+        return properties;
+    }
+
+    /**
+     * Describes every property deciding the results of the experiment, sorted by key, along with the instances
+     * the globs found, so that an experiment is only resumed under the configuration it was started with.
+     *
+     * @return the description of the configuration.
+     */
+    public String getFingerprint() {
+
+        final Properties properties = toProperties();
+        final Map<String, String> fingerprinted = new TreeMap<>();
+        for (ExperimentProperty property : ExperimentProperty.values()) {
+            if (!UNFINGERPRINTED_PROPERTIES.contains(property)) {
+                fingerprinted.put(property.getKey(), properties.getProperty(property.getKey()));
+            }
+        }
+
+        final List<String> instanceNames = new ArrayList<>();
+        for (File instanceFile : instanceFiles) {
+            instanceNames.add(instanceFile.getName());
+        }
+
+        final StringBuilder fingerprint = new StringBuilder();
+        for (Map.Entry<String, String> property : fingerprinted.entrySet()) {
+            fingerprint.append(property.getKey()).append('=').append(property.getValue()).append('\n');
+        }
+        return fingerprint.append("instances=").append(String.join(",", instanceNames)).toString();
+    }
+
+    /**
+     * Retrieves the name an instance is logged under, its file name without the extension or a TSP_ prefix.
+     *
+     * @param instanceFile the file of the instance.
+     * @return the name of the instance.
+     */
+    public static String getInstanceName(File instanceFile) {
+        String name = instanceFile.getName();
+        final int extension = name.indexOf('.');
+        if (extension > 0) {
+            name = name.substring(0, extension);
+        }
+        return name.startsWith("TSP_") ? name.substring(4) : name;
+    }
+
+    /**
+     * Finds the optimal tour alongside an instance.
+     *
+     * @param instanceFile the file of the instance.
+     * @return the file of the optimal tour, or null if there is none.
+     */
+    public static File findOptimalTour(File instanceFile) {
+
+        final String fileName = instanceFile.getName();
+        final int extension = fileName.lastIndexOf('.');
+        final String baseName = (extension > 0) ? fileName.substring(0, extension) : fileName;
+
+        final File matrixTour = new File(instanceFile.getParentFile(), baseName + "_OPT.txt");
+        if (matrixTour.isFile()) {
+            return matrixTour;
+        }
+        final File tspLibTour = new File(instanceFile.getParentFile(), baseName + ".opt.tour");
+        return tspLibTour.isFile() ? tspLibTour : null;
+    }
+
+    /**
+     * Determines whether a file is the optimal tour of an instance, which is never ran as an instance itself.
+     *
+     * @param file the file.
+     * @return whether the file is an optimal tour.
+     */
+    public static boolean isOptimalTour(File file) {
+        return file.getName().endsWith("_OPT.txt") || file.getName().endsWith(".tour");
+    }
+
+    public List<File> getInstanceFiles() {
+        return instanceFiles;
+    }
+
+    public boolean isPersistSidecars() {
+        return persistSidecars;
+    }
+
+    public Set<SampleAlgorithm> getAlgorithms() {
+        return algorithms;
+    }
+
+    public SolutionType getSolutionType() {
+        return solutionType;
+    }
+
+    public ConstructionHeuristic getConstruction() {
+        return construction;
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public int getResamples() {
+        return resamples;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public double getBudgetTargetFitness() {
+        return budgetTargetFitness;
+    }
+
+    public int getRrhcClimbIterations() {
+        return rrhcClimbIterations;
+    }
+
+    public int getRrhcRestartPatience() {
+        return rrhcRestartPatience;
+    }
+
+    public double getScaConvergenceFactor() {
+        return scaConvergenceFactor;
+    }
+
+    public double getSaInitialAcceptance() {
+        return saInitialAcceptance;
+    }
+
+    public double getSaFinalAcceptance() {
+        return saFinalAcceptance;
+    }
+
+    public int getIlsRestartPatience() {
+        return ilsRestartPatience;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getRrhcParallelism() {
+        return rrhcParallelism;
+    }
+
+    public int getDecompositionParallelism() {
+        return decompositionParallelism;
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public boolean isCsvOutput() {
+        return csvOutput;
+    }
+
+    public boolean isResultStoreOutput() {
+        return resultStoreOutput;
+    }
+
+    public boolean isCheckpointed() {
+        return checkpointed;
+    }
+
+    public int getTuningEvaluations() {
+        return tuningEvaluations;
+    }
+
+    public List<Integer> getTuningBands() {
+        return tuningBands;
+    }
+
+    public int getTuningThreads() {
+        return tuningThreads;
+    }
+
+    /**
+     * Finds the instance files matched by the globs, checking each may be read.
+     *
+     * @param properties the properties of the experiment.
+     * @return the instance files, in order of their name.
+     */
+    private List<File> findInstanceFiles(Properties properties) {
+
+        final String directoryName = get(properties, ExperimentProperty.INSTANCES_DIRECTORY);
+        final File instanceDirectory = directoryName.isEmpty()
+                ? new File(Utilities.getResourcePath(BUNDLED_INSTANCES))
+                : expandHome(directoryName);
+
+        if (!instanceDirectory.isDirectory()) {
+            problems.add("Instance directory " + instanceDirectory + " does not exist");
+            return Collections.emptyList();
+        }
+
+        final List<PathMatcher> includes = parseGlobs(properties, ExperimentProperty.INSTANCES_INCLUDE);
+        final List<PathMatcher> excludes = parseGlobs(properties, ExperimentProperty.INSTANCES_EXCLUDE);
+
+        final File[] directoryFiles = instanceDirectory.listFiles();
+        final List<File> instances = new ArrayList<>();
+
+        for (File file : (directoryFiles != null) ? directoryFiles : new File[0]) {
+            if (file.isFile() && !isOptimalTour(file) && matchesAny(includes, file.getName())
+                    && !matchesAny(excludes, file.getName())) {
+                if (!file.canRead() || file.length() == 0) {
+                    problems.add("Instance " + file + " is empty or cannot be read");
+                }
+                instances.add(file);
+            }
+        }
+
+        if (instances.isEmpty()) {
+            problems.add("No instances in " + instanceDirectory + " match "
+                    + get(properties, ExperimentProperty.INSTANCES_INCLUDE));
+        }
+
+        instances.sort(ExperimentConfiguration::compareInstances);
+        return Collections.unmodifiableList(instances);
+    }
+
+    private Set<SampleAlgorithm> parseAlgorithms(String value) {
+
+        final Set<SampleAlgorithm> parsed = EnumSet.noneOf(SampleAlgorithm.class);
+        for (String name : splitList(value)) {
+            try {
+                parsed.add(SampleAlgorithm.valueOf(name.toUpperCase()));
+            }
+            catch (IllegalArgumentException e) {
+                problems.add(ExperimentProperty.ALGORITHMS.getKey() + " has unknown algorithm " + name
+                        + ", expected any of " + Arrays.toString(SampleAlgorithm.values()));
+            }
+        }
+
+        if (parsed.isEmpty()) {
+            problems.add(ExperimentProperty.ALGORITHMS.getKey() + " must name at least one algorithm");
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+
+    private List<Integer> parseTuningBands(String value) {
+
+        final List<Integer> bands = new ArrayList<>();
+        for (String bound : splitList(value)) {
+            try {
+                final int parsed = Integer.parseInt(bound);
+                if (parsed > 0 && (bands.isEmpty() || parsed > bands.get(bands.size() - 1))) {
+                    bands.add(parsed);
+                    continue;
+                }
+            }
+            catch (NumberFormatException ignored) {
+                // reported below.
+            }
+            problems.add(ExperimentProperty.TUNING_BANDS.getKey()
+                    + " must be ascending positive whole numbers, was " + value);
+            break;
+        }
+        return Collections.unmodifiableList(bands);
+    }
+
+    private <E extends Enum<E>> E parseEnum(Properties properties, ExperimentProperty property, Class<E> type) {
+        final String value = get(properties, property);
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        }
+        catch (IllegalArgumentException e) {
+            problems.add(property.getKey() + " must be one of " + Arrays.toString(type.getEnumConstants())
+                    + ", was " + value);
+            return type.getEnumConstants()[0];
+        }
+    }
+
+    private long parseSeed(String value) {
+        if (value.isEmpty()) {
+            return System.nanoTime();
+        }
+        try {
+            return Long.parseLong(value);
+        }
+        catch (NumberFormatException e) {
+            problems.add(ExperimentProperty.SEED.getKey() + " must be a whole number, was " + value);
+            return 0;
+        }
+    }
+
+    private int parsePositiveInt(Properties properties, ExperimentProperty property) {
+        final String value = get(properties, property);
+        try {
+            final int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        }
+        catch (NumberFormatException ignored) {
+            // reported below.
+        }
+        problems.add(property.getKey() + " must be a positive whole number, was " + value);
+        return 0;
+    }
+
+    private int parseNonNegativeInt(Properties properties, ExperimentProperty property) {
+        final String value = get(properties, property);
+        try {
+            final int parsed = Integer.parseInt(value);
+            if (parsed >= 0) {
+                return parsed;
+            }
+        }
+        catch (NumberFormatException ignored) {
+            // reported below.
+        }
+        problems.add(property.getKey() + " must be a non-negative whole number, was " + value);
+        return 0;
+    }
+
+    private double parsePositiveDouble(Properties properties, ExperimentProperty property) {
+        final String value = get(properties, property);
+        try {
+            final double parsed = Double.parseDouble(value);
+            if (parsed > 0 && !Double.isInfinite(parsed)) {
+                return parsed;
+            }
+        }
+        catch (NumberFormatException ignored) {
+            // reported below.
+        }
+        problems.add(property.getKey() + " must be a positive number, was " + value);
+        return 0;
+    }
+
+    /**
+     * Parses a number that may be left blank.
+     *
+     * @return the number, or NaN if blank.
+     */
+    private double parseOptionalDouble(Properties properties, ExperimentProperty property) {
+        final String value = get(properties, property);
+        if (value.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            final double parsed = Double.parseDouble(value);
+            if (!Double.isNaN(parsed) && !Double.isInfinite(parsed)) {
+                return parsed;
+            }
+        }
+        catch (NumberFormatException ignored) {
+            // reported below.
+        }
+        problems.add(property.getKey() + " must be a number or blank, was " + value);
+        return Double.NaN;
+    }
+
+    private double parseProbability(Properties properties, ExperimentProperty property) {
+        final String value = get(properties, property);
+        try {
+            final double parsed = Double.parseDouble(value);
+            if (parsed > 0 && parsed < 1) {
+                return parsed;
+            }
+        }
+        catch (NumberFormatException ignored) {
+            // reported below.
+        }
+        problems.add(property.getKey() + " must be a probability between 0 and 1 exclusive, was " + value);
+        return 0;
+    }
+
+    private boolean parseBoolean(Properties properties, ExperimentProperty property) {
+        final String value = get(properties, property);
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            problems.add(property.getKey() + " must be true or false, was " + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Parses the output directory, which must exist or be creatable within a writable directory.
+     *
+     * @param value the path of the directory.
+     * @return the directory.
+     */
+    private File parseOutputDirectory(String value) {
+
+        final File directory = expandHome(value);
+
+        File existing = directory.getAbsoluteFile();
+        while (existing != null && !existing.exists()) {
+            existing = existing.getParentFile();
+        }
+
+        if (existing == null || !existing.isDirectory() || !existing.canWrite()) {
+            problems.add(ExperimentProperty.OUTPUT_DIRECTORY.getKey() + " " + directory + " cannot be written to");
+        }
+        return directory;
+    }
+
+    /**
+     * Determines whether an instance is given by node coordinates, reading only the specification of TSPLIB
+     * problems, as distance matrix instances never are.
+     *
+     * @param instanceFile the file of the instance.
+     * @return whether the instance has coordinates, false if it cannot be read, which is reported already.
+     */
+    private static boolean hasCoordinates(File instanceFile) {
+
+        if (!instanceFile.getName().endsWith(".tsp")) {
+            return false;
+        }
+        try (Reader reader = new BufferedReader(new FileReader(instanceFile))) {
+            return TSPLibReader.isCoordinateProblem(reader);
+        }
+        catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private List<PathMatcher> parseGlobs(Properties properties, ExperimentProperty property) {
+        final List<PathMatcher> matchers = new ArrayList<>();
+        for (String glob : splitList(get(properties, property))) {
+            try {
+                matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+            }
+            catch (IllegalArgumentException e) {
+                problems.add(property.getKey() + " has invalid glob " + glob);
+            }
+        }
+        return matchers;
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, String fileName) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(Paths.get(fileName))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Orders instances by name, comparing names that are both numbers, such as instance sizes, numerically.
+     */
+    private static int compareInstances(File first, File second) {
+        final String firstName = getInstanceName(first);
+        final String secondName = getInstanceName(second);
+        if (firstName.matches("\\d{1,9}") && secondName.matches("\\d{1,9}")) {
+            final int comparison = Integer.compare(Integer.parseInt(firstName), Integer.parseInt(secondName));
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return first.getName().compareTo(second.getName());
+    }
+
+    private static String get(Properties properties, ExperimentProperty property) {
+        return properties.getProperty(property.getKey(), property.getDefaultValue()).trim();
+    }
+
+    private static String joinBands(List<Integer> bands) {
+        final List<String> bounds = new ArrayList<>();
+        for (Integer bound : bands) {
+            bounds.add(String.valueOf(bound));
+        }
+        return String.join(",", bounds);
+    }
+
+    private static List<String> splitList(String value) {
+        final List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+
+    private static File expandHome(String path) {
+        if (path.equals("~") || path.startsWith("~/")) {
+            return new File(System.getProperty("user.home") + path.substring(1));
+        }
+        return new File(path);
+    }
+}
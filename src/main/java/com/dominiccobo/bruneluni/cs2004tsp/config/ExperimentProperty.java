@@ -0,0 +1,103 @@
+package com.dominiccobo.bruneluni.cs2004tsp.config;
+
+/**
+ * Representation of the properties an experiment is configured by, with their defaults.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public enum ExperimentProperty {
+
+    INSTANCES_DIRECTORY("instances.directory", "",
+            "directory searched for instances, blank for the bundled instances"),
+    INSTANCES_INCLUDE("instances.include", "TSP_*.txt,*.tsp",
+            "comma separated globs of the instance file names to run"),
+    INSTANCES_EXCLUDE("instances.exclude", "",
+            "comma separated globs of the file names to skip, optimal tours always being skipped"),
+    INSTANCES_SIDECARS("instances.sidecars", "false",
+            "whether parsed instances are kept in binary .bin sidecars beside their files, to load faster"),
+    ALGORITHMS("algorithms", "RMHC,RRHC,SCA,SA,ILS",
+            "comma separated algorithms to run against each instance"),
+    SOLUTION_TYPE("solution.type", "MINIMISATION",
+            "MINIMISATION or MAXIMISATION"),
+    CONSTRUCTION("construction", "RANDOM",
+            "heuristic constructing each starting tour"),
+    SEED("seed", "",
+            "master seed of the experiment, blank for a new seed"),
+    RESAMPLES("resamples", "25",
+            "number of times each algorithm is ran against each instance"),
+    ITERATIONS("iterations", "500000",
+            "iteration budget of each run"),
+    BUDGET_MILLIS("budget.millis", "0",
+            "wall-clock budget of each run in milliseconds, stopping it early once spent, 0 for no time budget"),
+    BUDGET_TARGET_FITNESS("budget.targetFitness", "",
+            "fitness at which each run stops early once a tour reaches it, blank to never stop on fitness"),
+    RRHC_CLIMB_ITERATIONS("rrhc.climbIterations", "10000",
+            "iterations of each RRHC hill climb, each run dividing its budget into as many climbs as it allows"),
+    RRHC_RESTART_PATIENCE("rrhc.restartPatience", "0",
+            "RRHC climbs without improvement before the run stops early, 0 to perform every climb"),
+    SCA_CONVERGENCE_FACTOR("sca.convergenceFactor", "0.0055",
+            "SCA convergence parameter, as a fraction of the instance's MST cost"),
+    SA_INITIAL_ACCEPTANCE("sa.initialAcceptance", "0.8",
+            "probability SA initially accepts an average worsening move"),
+    SA_FINAL_ACCEPTANCE("sa.finalAcceptance", "1e-20",
+            "probability SA finally accepts an average worsening move"),
+    ILS_RESTART_PATIENCE("ils.restartPatience", "1000",
+            "ILS iterations without improvement before restarting, 0 to never restart"),
+    THREADS("threads", "5",
+            "number of algorithms ran concurrently against each instance"),
+    RRHC_PARALLELISM("rrhc.parallelism", String.valueOf(Runtime.getRuntime().availableProcessors()),
+            "number of RRHC hill climbs ran concurrently"),
+    DECOMPOSITION_PARALLELISM("decomposition.parallelism", String.valueOf(Runtime.getRuntime().availableProcessors()),
+            "number of DECOMPOSITION segments solved concurrently"),
+    OUTPUT_DIRECTORY("output.directory", "results",
+            "directory results are written to, relative to the working directory unless absolute, created if missing"),
+    OUTPUT_SINKS("output.sinks", "csv,store",
+            "comma separated sinks of the results, csv for summary logs and store for the raw result store"),
+    CHECKPOINT("checkpoint", "true",
+            "whether to checkpoint progress to the output directory and resume from it"),
+    TUNING_EVALUATIONS("tuning.evaluations", "1000",
+            "runs the tuner may spend racing the configurations of each algorithm and size band"),
+    TUNING_BANDS("tuning.bands", "100,200",
+            "ascending node counts dividing the instances into size bands tuned separately"),
+    TUNING_THREADS("tuning.threads", String.valueOf(Runtime.getRuntime().availableProcessors()),
+            "number of tuning runs evaluated concurrently");
+
+    private final String key;
+
+    private final String defaultValue;
+
+    private final String description;
+
+    ExperimentProperty(String key, String defaultValue, String description) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+        this.description = description;
+    }
+
+    /**
+     * Retrieves the property of a key.
+     *
+     * @param key the key of the property.
+     * @return the property, or null if no property has the key.
+     */
+    public static ExperimentProperty forKey(String key) {
+        for (ExperimentProperty property : values()) {
+            if (property.key.equals(key)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,215 @@
+package com.dominiccobo.bruneluni.cs2004tsp.construction;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.MinimumSpanningTree;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+
+import java.util.Random;
+
+/**
+ * Christofides style construction, combining the minimum spanning tree with a matching of its odd degree nodes,
+ * then shortcutting an Euler tour of the combined multigraph.
+ *
+ * A minimum weight perfect matching is replaced with a greedy matching heuristic, first over candidate list edges
+ * and then by nearest unmatched node, so the approximation guarantee no longer holds but the construction
+ * remains quick on large instances.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ChristofidesConstruction implements TourConstruction {
+
+    @Override
+    public int[] constructTour(TSPInstance instance, Random random) {
+
+        final Graph graph = instance.getGraph();
+        final int numberOfNodes = graph.getNumberOfNodes();
+
+        if (numberOfNodes < 3) {
+            return graph.getRandomTour(random);
+        }
+
+        final int[] treeParents = MinimumSpanningTree.primsMSTParents(graph);
+
+        // the multigraph holds the n - 1 tree edges followed by the matching edges.
+        final int[] edgeNodesA = new int[numberOfNodes * 2];
+        final int[] edgeNodesB = new int[numberOfNodes * 2];
+        final int[] degrees = new int[numberOfNodes];
+        int numberOfEdges = 0;
+
+        for (int node = 0; node < numberOfNodes; node++) {
+            if (treeParents[node] != -1) {
+                edgeNodesA[numberOfEdges] = node;
+                edgeNodesB[numberOfEdges] = treeParents[node];
+                degrees[node]++;
+                degrees[treeParents[node]]++;
+                numberOfEdges++;
+            }
+        }
+
+        final boolean[] unmatched = new boolean[numberOfNodes];
+        for (int node = 0; node < numberOfNodes; node++) {
+            unmatched[node] = (degrees[node] % 2) == 1;
+        }
+
+        numberOfEdges = matchOddNodes(instance, unmatched, edgeNodesA, edgeNodesB, degrees, numberOfEdges);
+
+        final int startNode = random.nextInt(numberOfNodes);
+        return shortcutEulerTour(numberOfNodes, edgeNodesA, edgeNodesB, degrees, numberOfEdges, startNode);
+    }
+
+    /**
+     * Greedily matches the odd degree nodes, first along candidate list edges in order of weight, then by pairing
+     * each remaining node with its nearest unmatched node.
+     *
+     * @param instance the instance being constructed.
+     * @param unmatched whether each node still requires a matching edge, cleared as nodes are matched.
+     * @param edgeNodesA the first node of each multigraph edge, appended to.
+     * @param edgeNodesB the second node of each multigraph edge, appended to.
+     * @param degrees the degree of each node in the multigraph, updated.
+     * @param numberOfEdges the number of edges currently in the multigraph.
+     * @return the number of edges in the multigraph once matched.
+     */
+    private static int matchOddNodes(TSPInstance instance, boolean[] unmatched, int[] edgeNodesA, int[] edgeNodesB,
+                                     int[] degrees, int numberOfEdges) {
+
+        final Graph graph = instance.getGraph();
+        final CandidateList candidateList = instance.getCandidateList();
+        final int numberOfNodes = graph.getNumberOfNodes();
+        final int candidatesPerNode = candidateList.getCandidatesPerNode();
+
+        final int[] pairNodesA = new int[numberOfNodes * candidatesPerNode];
+        final int[] pairNodesB = new int[numberOfNodes * candidatesPerNode];
+        final double[] pairWeights = new double[numberOfNodes * candidatesPerNode];
+        int numberOfPairs = 0;
+
+        for (int node = 0; node < numberOfNodes; node++) {
+            if (!unmatched[node]) {
+                continue;
+            }
+            for (int rank = 0; rank < candidatesPerNode; rank++) {
+                final int neighbour = candidateList.getNeighbour(node, rank);
+                if (unmatched[neighbour]) {
+                    pairNodesA[numberOfPairs] = node;
+                    pairNodesB[numberOfPairs] = neighbour;
+                    pairWeights[numberOfPairs] = graph.getDistanceBetweenNodes(node, neighbour);
+                    numberOfPairs++;
+                }
+            }
+        }
+
+        final int[] pairOrder = new int[numberOfPairs];
+        for (int i = 0; i < numberOfPairs; i++) {
+            pairOrder[i] = i;
+        }
+        GreedyEdgeConstruction.sortByWeight(pairOrder, pairWeights, 0, numberOfPairs - 1);
+
+        for (int i = 0; i < numberOfPairs; i++) {
+            final int nodeA = pairNodesA[pairOrder[i]];
+            final int nodeB = pairNodesB[pairOrder[i]];
+            if (unmatched[nodeA] && unmatched[nodeB]) {
+                numberOfEdges = addMatchingEdge(unmatched, edgeNodesA, edgeNodesB, degrees, numberOfEdges,
+                        nodeA, nodeB);
+            }
+        }
+
+        // the handshake lemma guarantees the remaining odd nodes pair up exactly.
+        for (int node = 0; node < numberOfNodes; node++) {
+            if (!unmatched[node]) {
+                continue;
+            }
+
+            // every unmatched node before this one has already been paired, so only later nodes are searched.
+            int nearestNode = -1;
+            double nearestDistance = Double.POSITIVE_INFINITY;
+            for (int other = node + 1; other < numberOfNodes; other++) {
+                if (unmatched[other]) {
+                    final double distance = graph.getDistanceBetweenNodes(node, other);
+                    if (distance < nearestDistance) {
+                        nearestDistance = distance;
+                        nearestNode = other;
+                    }
+                }
+            }
+            numberOfEdges = addMatchingEdge(unmatched, edgeNodesA, edgeNodesB, degrees, numberOfEdges,
+                    node, nearestNode);
+        }
+
+        return numberOfEdges;
+    }
+
+    private static int addMatchingEdge(boolean[] unmatched, int[] edgeNodesA, int[] edgeNodesB, int[] degrees,
+                                       int numberOfEdges, int nodeA, int nodeB) {
+        unmatched[nodeA] = false;
+        unmatched[nodeB] = false;
+        edgeNodesA[numberOfEdges] = nodeA;
+        edgeNodesB[numberOfEdges] = nodeB;
+        degrees[nodeA]++;
+        degrees[nodeB]++;
+        return numberOfEdges + 1;
+    }
+
+    /**
+     * Walks an Euler tour of a connected multigraph with even degrees using Hierholzer's algorithm, skipping
+     * nodes already visited so the result is a tour visiting each node once.
+     *
+     * @param numberOfNodes the number of nodes in the multigraph.
+     * @param edgeNodesA the first node of each edge.
+     * @param edgeNodesB the second node of each edge.
+     * @param degrees the degree of each node.
+     * @param numberOfEdges the number of edges.
+     * @param startNode the node to start the tour from.
+     * @return the shortcut tour.
+     */
+    private static int[] shortcutEulerTour(int numberOfNodes, int[] edgeNodesA, int[] edgeNodesB, int[] degrees,
+                                           int numberOfEdges, int startNode) {
+
+        // compressed adjacency, where the incident edges of node i occupy [offsets[i], offsets[i + 1]).
+        final int[] offsets = new int[numberOfNodes + 1];
+        for (int node = 0; node < numberOfNodes; node++) {
+            offsets[node + 1] = offsets[node] + degrees[node];
+        }
+        final int[] incidentEdges = new int[offsets[numberOfNodes]];
+        final int[] nextIncident = new int[numberOfNodes];
+        System.arraycopy(offsets, 0, nextIncident, 0, numberOfNodes);
+        for (int edge = 0; edge < numberOfEdges; edge++) {
+            incidentEdges[nextIncident[edgeNodesA[edge]]++] = edge;
+            incidentEdges[nextIncident[edgeNodesB[edge]]++] = edge;
+        }
+        System.arraycopy(offsets, 0, nextIncident, 0, numberOfNodes);
+
+        final boolean[] edgeUsed = new boolean[numberOfEdges];
+        final boolean[] visited = new boolean[numberOfNodes];
+        final int[] tour = new int[numberOfNodes];
+        int position = 0;
+
+        final int[] stack = new int[numberOfEdges + 1];
+        int stackSize = 0;
+        stack[stackSize++] = startNode;
+
+        while (stackSize > 0) {
+
+            final int node = stack[stackSize - 1];
+
+            while (nextIncident[node] < offsets[node + 1] && edgeUsed[incidentEdges[nextIncident[node]]]) {
+                nextIncident[node]++;
+            }
+
+            if (nextIncident[node] == offsets[node + 1]) {
+                // the node is finished, its position in the circuit is fixed so it may be emitted.
+                stackSize--;
+                if (!visited[node]) {
+                    visited[node] = true;
+                    tour[position++] = node;
+                }
+            }
+            else {
+                final int edge = incidentEdges[nextIncident[node]++];
+                edgeUsed[edge] = true;
+                stack[stackSize++] = (edgeNodesA[edge] == node) ? edgeNodesB[edge] : edgeNodesA[edge];
+            }
+        }
+
+        return tour;
+    }
+}
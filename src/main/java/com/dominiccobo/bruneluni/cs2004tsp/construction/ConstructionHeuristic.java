@@ -0,0 +1,28 @@
+package com.dominiccobo.bruneluni.cs2004tsp.construction;
+
+/**
+ * Representation of the constructive heuristics that may be selected to produce starting solutions.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public enum ConstructionHeuristic {
+
+    RANDOM(new RandomConstruction()),
+    NEAREST_NEIGHBOUR(new NearestNeighbourConstruction()),
+    GREEDY_EDGE(new GreedyEdgeConstruction()),
+    SPACE_FILLING_CURVE(new SpaceFillingCurveConstruction()),
+    CHRISTOFIDES(new ChristofidesConstruction());
+
+    /**
+     * The stateless construction implementing the heuristic.
+     */
+    private final TourConstruction construction;
+
+    ConstructionHeuristic(TourConstruction construction) {
+        this.construction = construction;
+    }
+
+    public TourConstruction getConstruction() {
+        return construction;
+    }
+}
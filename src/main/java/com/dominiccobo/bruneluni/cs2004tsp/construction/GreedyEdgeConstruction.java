@@ -0,0 +1,268 @@
+package com.dominiccobo.bruneluni.cs2004tsp.construction;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Greedy edge construction, repeatedly adding the shortest remaining edge that neither gives a node a degree
+ * above two nor closes a cycle early.
+ *
+ * Edges are taken from the candidate lists and held in primitive parallel arrays, sorted by an index sort on
+ * their weights rather than as edge objects. The path fragments left once the candidate edges are exhausted are
+ * joined by repeatedly travelling to the nearest free fragment end.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class GreedyEdgeConstruction implements TourConstruction {
+
+    /**
+     * Ranges shorter than this are sorted by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    @Override
+    public int[] constructTour(TSPInstance instance, Random random) {
+
+        final Graph graph = instance.getGraph();
+        final CandidateList candidateList = instance.getCandidateList();
+        final int numberOfNodes = graph.getNumberOfNodes();
+        final int candidatesPerNode = candidateList.getCandidatesPerNode();
+
+        if (numberOfNodes < 3) {
+            return instance.getGraph().getRandomTour(random);
+        }
+
+        // collect each candidate edge once, from its lower indexed node, unless only the higher lists it.
+        final int maximumEdges = numberOfNodes * candidatesPerNode;
+        final int[] edgeNodesA = new int[maximumEdges];
+        final int[] edgeNodesB = new int[maximumEdges];
+        final double[] edgeWeights = new double[maximumEdges];
+        int numberOfEdges = 0;
+
+        for (int node = 0; node < numberOfNodes; node++) {
+            for (int rank = 0; rank < candidatesPerNode; rank++) {
+                final int neighbour = candidateList.getNeighbour(node, rank);
+                if (node < neighbour || !isCandidate(candidateList, neighbour, node)) {
+                    edgeNodesA[numberOfEdges] = node;
+                    edgeNodesB[numberOfEdges] = neighbour;
+                    edgeWeights[numberOfEdges] = graph.getDistanceBetweenNodes(node, neighbour);
+                    numberOfEdges++;
+                }
+            }
+        }
+
+        final int[] edgeOrder = new int[numberOfEdges];
+        for (int i = 0; i < numberOfEdges; i++) {
+            edgeOrder[i] = i;
+        }
+        sortByWeight(edgeOrder, edgeWeights, 0, numberOfEdges - 1);
+
+        final int[] adjacency = new int[numberOfNodes * 2];
+        Arrays.fill(adjacency, -1);
+        final int[] fragmentParents = new int[numberOfNodes];
+        for (int node = 0; node < numberOfNodes; node++) {
+            fragmentParents[node] = node;
+        }
+
+        int edgesAdded = 0;
+        for (int i = 0; i < numberOfEdges && edgesAdded < numberOfNodes - 1; i++) {
+
+            final int edge = edgeOrder[i];
+            final int nodeA = edgeNodesA[edge];
+            final int nodeB = edgeNodesB[edge];
+
+            if (adjacency[nodeA * 2 + 1] != -1 || adjacency[nodeB * 2 + 1] != -1) {
+                continue;
+            }
+
+            final int fragmentA = findFragment(fragmentParents, nodeA);
+            final int fragmentB = findFragment(fragmentParents, nodeB);
+            if (fragmentA == fragmentB) {
+                continue;
+            }
+
+            fragmentParents[fragmentA] = fragmentB;
+            addAdjacency(adjacency, nodeA, nodeB);
+            addAdjacency(adjacency, nodeB, nodeA);
+            edgesAdded++;
+        }
+
+        return joinFragments(graph, adjacency);
+    }
+
+    /**
+     * Walks the path fragments described by an adjacency array into a tour, travelling from the end of each
+     * fragment to the nearest end of a fragment not yet walked.
+     *
+     * @param graph the graph the fragments belong to.
+     * @param adjacency the up to two neighbours of each node, where node i occupies [2i, 2i + 1] and -1 is empty.
+     * @return the joined tour.
+     */
+    static int[] joinFragments(Graph graph, int[] adjacency) {
+
+        final int numberOfNodes = graph.getNumberOfNodes();
+        final int[] tour = new int[numberOfNodes];
+        final boolean[] visited = new boolean[numberOfNodes];
+
+        // fragment ends are the nodes of degree below two, isolated nodes are both ends of their own fragment.
+        final int[] fragmentEnds = new int[numberOfNodes];
+        int numberOfEnds = 0;
+        for (int node = 0; node < numberOfNodes; node++) {
+            if (adjacency[node * 2 + 1] == -1) {
+                fragmentEnds[numberOfEnds++] = node;
+            }
+        }
+
+        int position = 0;
+        int currentNode = (numberOfEnds > 0) ? fragmentEnds[0] : 0;
+
+        while (position < numberOfNodes) {
+
+            // walk the fragment from its end.
+            int previousNode = -1;
+            while (currentNode != -1 && !visited[currentNode]) {
+                visited[currentNode] = true;
+                tour[position++] = currentNode;
+
+                final int firstNeighbour = adjacency[currentNode * 2];
+                final int secondNeighbour = adjacency[currentNode * 2 + 1];
+                final int nextNode = (firstNeighbour != previousNode) ? firstNeighbour : secondNeighbour;
+                previousNode = currentNode;
+                currentNode = nextNode;
+            }
+
+            if (position == numberOfNodes) {
+                break;
+            }
+
+            // travel to the nearest fragment end not yet walked, discarding walked ends as they are met.
+            double nearestDistance = Double.POSITIVE_INFINITY;
+            int nearestEnd = -1;
+            for (int i = 0; i < numberOfEnds; i++) {
+                final int end = fragmentEnds[i];
+                if (visited[end]) {
+                    fragmentEnds[i--] = fragmentEnds[--numberOfEnds];
+                    continue;
+                }
+                final double distance = graph.getDistanceBetweenNodes(previousNode, end);
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearestEnd = end;
+                }
+            }
+            currentNode = nearestEnd;
+        }
+
+        return tour;
+    }
+
+    /**
+     * Determines whether a node appears in the candidate list of another.
+     *
+     * @param candidateList the candidate list to search.
+     * @param node the node whose candidates are searched.
+     * @param candidate the candidate to search for.
+     * @return whether the candidate was found.
+     */
+    private static boolean isCandidate(CandidateList candidateList, int node, int candidate) {
+        for (int rank = 0; rank < candidateList.getCandidatesPerNode(); rank++) {
+            if (candidateList.getNeighbour(node, rank) == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a neighbour in the first free slot of a node in an adjacency array.
+     *
+     * @param adjacency the adjacency array.
+     * @param node the node to record the neighbour of.
+     * @param neighbour the neighbour to record.
+     */
+    private static void addAdjacency(int[] adjacency, int node, int neighbour) {
+        if (adjacency[node * 2] == -1) {
+            adjacency[node * 2] = neighbour;
+        }
+        else {
+            adjacency[node * 2 + 1] = neighbour;
+        }
+    }
+
+    /**
+     * Finds the representative of the fragment containing a node, halving the path as it goes.
+     *
+     * @param fragmentParents the union-find parent of each node.
+     * @param node the node to find the fragment of.
+     * @return the representative node of the fragment.
+     */
+    private static int findFragment(int[] fragmentParents, int node) {
+        while (fragmentParents[node] != node) {
+            fragmentParents[node] = fragmentParents[fragmentParents[node]];
+            node = fragmentParents[node];
+        }
+        return node;
+    }
+
+    /**
+     * Sorts a range of edge indices by the weights of the edges they refer to, using quicksort with a median of
+     * three pivot, finishing small ranges with insertion sort.
+     *
+     * @param edgeOrder the edge indices to sort.
+     * @param edgeWeights the weight of each edge.
+     * @param low the first index of the range, inclusive.
+     * @param high the last index of the range, inclusive.
+     */
+    static void sortByWeight(int[] edgeOrder, double[] edgeWeights, int low, int high) {
+
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+
+            final int middle = (low + high) >>> 1;
+            if (edgeWeights[edgeOrder[middle]] < edgeWeights[edgeOrder[low]]) swap(edgeOrder, middle, low);
+            if (edgeWeights[edgeOrder[high]] < edgeWeights[edgeOrder[low]]) swap(edgeOrder, high, low);
+            if (edgeWeights[edgeOrder[high]] < edgeWeights[edgeOrder[middle]]) swap(edgeOrder, high, middle);
+            final double pivot = edgeWeights[edgeOrder[middle]];
+
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (edgeWeights[edgeOrder[i]] < pivot) i++;
+                while (edgeWeights[edgeOrder[j]] > pivot) j--;
+                if (i <= j) {
+                    swap(edgeOrder, i++, j--);
+                }
+            }
+
+            // recurse into the smaller partition, iterating over the larger to bound the stack depth.
+            if (j - low < high - i) {
+                sortByWeight(edgeOrder, edgeWeights, low, j);
+                low = i;
+            }
+            else {
+                sortByWeight(edgeOrder, edgeWeights, i, high);
+                high = j;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            final int edge = edgeOrder[i];
+            final double weight = edgeWeights[edge];
+            int j = i - 1;
+            while (j >= low && edgeWeights[edgeOrder[j]] > weight) {
+                edgeOrder[j + 1] = edgeOrder[j];
+                j--;
+            }
+            edgeOrder[j + 1] = edge;
+        }
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        final int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
@@ -0,0 +1,81 @@
+package com.dominiccobo.bruneluni.cs2004tsp.construction;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+
+import java.util.Random;
+
+/**
+ * Nearest neighbour construction, repeatedly travelling from the current node to the nearest unvisited node.
+ *
+ * The nearest unvisited node is looked up in the candidate list of the current node, only falling back to a scan
+ * of every unvisited node once all of its candidates have been visited.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class NearestNeighbourConstruction implements TourConstruction {
+
+    @Override
+    public int[] constructTour(TSPInstance instance, Random random) {
+
+        final Graph graph = instance.getGraph();
+        final CandidateList candidateList = instance.getCandidateList();
+        final int numberOfNodes = graph.getNumberOfNodes();
+        final int candidatesPerNode = candidateList.getCandidatesPerNode();
+
+        final int[] tour = new int[numberOfNodes];
+
+        // unvisited nodes are held densely, with the position of each, so a node is removed in O(1).
+        final int[] unvisitedNodes = new int[numberOfNodes];
+        final int[] unvisitedPositions = new int[numberOfNodes];
+        for (int node = 0; node < numberOfNodes; node++) {
+            unvisitedNodes[node] = node;
+            unvisitedPositions[node] = node;
+        }
+        int unvisitedCount = numberOfNodes;
+
+        int currentNode = random.nextInt(numberOfNodes);
+
+        for (int position = 0; position < numberOfNodes; position++) {
+
+            tour[position] = currentNode;
+
+            // remove the current node by swapping it with the last unvisited node.
+            final int removedPosition = unvisitedPositions[currentNode];
+            final int lastNode = unvisitedNodes[--unvisitedCount];
+            unvisitedNodes[removedPosition] = lastNode;
+            unvisitedPositions[lastNode] = removedPosition;
+            unvisitedPositions[currentNode] = -1;
+
+            if (unvisitedCount == 0) {
+                break;
+            }
+
+            int nextNode = -1;
+            for (int rank = 0; rank < candidatesPerNode; rank++) {
+                final int candidate = candidateList.getNeighbour(currentNode, rank);
+                if (unvisitedPositions[candidate] != -1) {
+                    nextNode = candidate;
+                    break;
+                }
+            }
+
+            if (nextNode == -1) {
+                double nearestDistance = Double.POSITIVE_INFINITY;
+                for (int i = 0; i < unvisitedCount; i++) {
+                    final int candidate = unvisitedNodes[i];
+                    final double distance = graph.getDistanceBetweenNodes(currentNode, candidate);
+                    if (distance < nearestDistance) {
+                        nearestDistance = distance;
+                        nextNode = candidate;
+                    }
+                }
+            }
+
+            currentNode = nextNode;
+        }
+
+        return tour;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dominiccobo.bruneluni.cs2004tsp.construction;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+
+import java.util.Random;
+
+/**
+ * Construction producing a uniformly random tour, the baseline against which the other heuristics are compared.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class RandomConstruction implements TourConstruction {
+
+    @Override
+    public int[] constructTour(TSPInstance instance, Random random) {
+        return instance.getGraph().getRandomTour(random);
+    }
+}
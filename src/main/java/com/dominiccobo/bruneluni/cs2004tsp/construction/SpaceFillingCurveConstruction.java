@@ -0,0 +1,102 @@
+package com.dominiccobo.bruneluni.cs2004tsp.construction;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Space filling curve construction, visiting the nodes in the order in which a Hilbert curve passes through them.
+ *
+ * The construction runs in O(n log n) time and never evaluates a distance, so it is the cheapest start for very
+ * large coordinate instances, but it requires the graph to be backed by coordinates.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class SpaceFillingCurveConstruction implements TourConstruction {
+
+    /**
+     * The order of the Hilbert curve, giving a grid of 2^order cells along each axis.
+     */
+    private static final int CURVE_ORDER = 15;
+
+    @Override
+    public int[] constructTour(TSPInstance instance, Random random) {
+
+        final Graph graph = instance.getGraph();
+
+        if (!graph.hasCoordinates()) {
+            throw new IllegalArgumentException("Space filling curve construction requires a coordinate backed graph");
+        }
+
+        final double[] xCoordinates = graph.getXCoordinates();
+        final double[] yCoordinates = graph.getYCoordinates();
+        final int numberOfNodes = graph.getNumberOfNodes();
+
+        double minimumX = Double.POSITIVE_INFINITY;
+        double minimumY = Double.POSITIVE_INFINITY;
+        double maximumX = Double.NEGATIVE_INFINITY;
+        double maximumY = Double.NEGATIVE_INFINITY;
+        for (int node = 0; node < numberOfNodes; node++) {
+            minimumX = Math.min(minimumX, xCoordinates[node]);
+            minimumY = Math.min(minimumY, yCoordinates[node]);
+            maximumX = Math.max(maximumX, xCoordinates[node]);
+            maximumY = Math.max(maximumY, yCoordinates[node]);
+        }
+
+        // scale both axes equally, so the curve does not distort elongated instances.
+        final int gridSize = 1 << CURVE_ORDER;
+        final double extent = Math.max(maximumX - minimumX, maximumY - minimumY);
+        final double scale = (extent > 0) ? (gridSize - 1) / extent : 0;
+
+        // the curve index occupies the upper bits and the node the lower bits, so a primitive sort orders both.
+        final long[] curveKeys = new long[numberOfNodes];
+        for (int node = 0; node < numberOfNodes; node++) {
+            final int x = (int) ((xCoordinates[node] - minimumX) * scale);
+            final int y = (int) ((yCoordinates[node] - minimumY) * scale);
+            curveKeys[node] = (getHilbertIndex(gridSize, x, y) << 32) | node;
+        }
+        Arrays.sort(curveKeys);
+
+        final int[] tour = new int[numberOfNodes];
+        for (int position = 0; position < numberOfNodes; position++) {
+            tour[position] = (int) curveKeys[position];
+        }
+
+        return tour;
+    }
+
+    /**
+     * Computes the distance along a Hilbert curve of a cell in a square grid.
+     *
+     * @param gridSize the number of cells along each axis, a power of two.
+     * @param x the column of the cell.
+     * @param y the row of the cell.
+     * @return the distance of the cell along the curve.
+     */
+    static long getHilbertIndex(int gridSize, int x, int y) {
+
+        long index = 0;
+
+        for (int size = gridSize / 2; size > 0; size /= 2) {
+
+            final int regionX = (x & size) > 0 ? 1 : 0;
+            final int regionY = (y & size) > 0 ? 1 : 0;
+            index += (long) size * size * ((3 * regionX) ^ regionY);
+
+            // rotate the quadrant so the curve continues in the correct orientation.
+            if (regionY == 0) {
+                if (regionX == 1) {
+                    x = gridSize - 1 - x;
+                    y = gridSize - 1 - y;
+                }
+                final int swap = x;
+                x = y;
+                y = swap;
+            }
+        }
+
+        return index;
+    }
+}
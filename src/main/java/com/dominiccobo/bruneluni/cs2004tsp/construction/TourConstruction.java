@@ -0,0 +1,23 @@
+package com.dominiccobo.bruneluni.cs2004tsp.construction;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+
+import java.util.Random;
+
+/**
+ * Constructive heuristic producing a complete tour of a problem instance, used as the starting solution of the
+ * search algorithms in place of a purely random route.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public interface TourConstruction {
+
+    /**
+     * Constructs a tour visiting every node of the instance exactly once.
+     *
+     * @param instance the instance to construct a tour of.
+     * @param random the source of randomness, used by heuristics to pick a starting node or break ties.
+     * @return the constructed tour, as the zero indexed nodes in order of visit.
+     */
+    int[] constructTour(TSPInstance instance, Random random);
+}
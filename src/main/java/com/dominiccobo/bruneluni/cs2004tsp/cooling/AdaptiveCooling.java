@@ -0,0 +1,152 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+/**
+ * Adaptive cooling, steering the temperature so the rate at which worse proposals are accepted follows a target
+ * falling geometrically from an initial to a final acceptance rate over the planned iterations.
+ *
+ * The acceptance rate is observed over windows of worse proposals; after each window the temperature is lowered
+ * if more proposals were accepted than targeted, and raised if fewer were. The schedule therefore adjusts itself
+ * to the scale of the instance's fitness differences rather than relying on a tuned final temperature.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class AdaptiveCooling implements CoolingSchedule {
+
+    /**
+     * The default number of worse proposals observed between adjustments.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1000;
+
+    /**
+     * The relative change made to the temperature by each adjustment.
+     */
+    private static final double ADJUSTMENT = 0.05;
+
+    /**
+     * The acceptance rate targeted at the start.
+     */
+    private final double initialAcceptanceRate;
+
+    /**
+     * The acceptance rate targeted once the planned iterations are performed.
+     */
+    private final double finalAcceptanceRate;
+
+    /**
+     * The number of worse proposals observed between adjustments.
+     */
+    private final int windowSize;
+
+    /**
+     * The number of iterations the schedule is planned over.
+     */
+    private long plannedIterations;
+
+    /**
+     * The current temperature.
+     */
+    private double temperature;
+
+    /**
+     * The fraction of the schedule completed, by iterations or by time.
+     */
+    private double progress;
+
+    /**
+     * The number of worse proposals observed in the current window.
+     */
+    private int windowProposals;
+
+    /**
+     * The number of worse proposals accepted in the current window.
+     */
+    private int windowAcceptances;
+
+    /**
+     * Constructor for a schedule adjusting after the default number of worse proposals.
+     *
+     * @param initialAcceptanceRate the acceptance rate targeted at the start.
+     * @param finalAcceptanceRate the acceptance rate targeted once the planned iterations are performed.
+     */
+    public AdaptiveCooling(double initialAcceptanceRate, double finalAcceptanceRate) {
+        this(initialAcceptanceRate, finalAcceptanceRate, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param initialAcceptanceRate the acceptance rate targeted at the start.
+     * @param finalAcceptanceRate the acceptance rate targeted once the planned iterations are performed.
+     * @param windowSize the number of worse proposals observed between adjustments.
+     */
+    public AdaptiveCooling(double initialAcceptanceRate, double finalAcceptanceRate, int windowSize) {
+
+        if (!(initialAcceptanceRate > 0 && initialAcceptanceRate < 1)
+                || !(finalAcceptanceRate > 0 && finalAcceptanceRate < 1) || windowSize < 1) {
+            throw new IllegalArgumentException("Acceptance rates must be in (0, 1) and the window positive");
+        }
+
+        this.initialAcceptanceRate = initialAcceptanceRate;
+        this.finalAcceptanceRate = finalAcceptanceRate;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public void start(double initialTemperature, long plannedIterations) {
+
+        if (!(initialTemperature > 0) || plannedIterations < 1) {
+            throw new IllegalArgumentException("Initial temperature and planned iterations must be positive");
+        }
+
+        this.temperature = initialTemperature;
+        this.plannedIterations = plannedIterations;
+        this.progress = 0;
+        this.windowProposals = 0;
+        this.windowAcceptances = 0;
+    }
+
+    @Override
+    public double getTemperature(long iterationsPerformed, double elapsedFraction) {
+        progress = Double.isNaN(elapsedFraction)
+                ? Math.min(1.0, (double) iterationsPerformed / plannedIterations)
+                : elapsedFraction;
+        return temperature;
+    }
+
+    @Override
+    public void recordWorseProposal(boolean accepted) {
+
+        windowProposals++;
+        if (accepted) {
+            windowAcceptances++;
+        }
+
+        if (windowProposals == windowSize) {
+
+            final double acceptanceRate = (double) windowAcceptances / windowProposals;
+            final double targetRate = initialAcceptanceRate
+                    * Math.pow(finalAcceptanceRate / initialAcceptanceRate, progress);
+
+            temperature *= (acceptanceRate > targetRate) ? 1 - ADJUSTMENT : 1 + ADJUSTMENT;
+
+            windowProposals = 0;
+            windowAcceptances = 0;
+        }
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed) {
+    }
+
+    /**
+     * Continues from the temperature at a checkpoint, with a fresh window of proposals.
+     *
+     * @param temperature the temperature at the checkpoint.
+     * @param iterationsPerformed the number of iterations performed at the checkpoint.
+     */
+    @Override
+    public void resume(double temperature, long iterationsPerformed) {
+        this.temperature = temperature;
+        this.progress = Math.min(1.0, (double) iterationsPerformed / plannedIterations);
+    }
+}
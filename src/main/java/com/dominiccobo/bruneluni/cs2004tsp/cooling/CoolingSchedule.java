@@ -0,0 +1,52 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+/**
+ * Schedule by which simulated annealing lowers its temperature, consulted once per iteration.
+ *
+ * Schedules follow either the iterations performed or, under a time budget, the fraction of the budget elapsed,
+ * so that the schedule planned over the iterations is instead spread over the time available. Schedules are
+ * stateful, so a new schedule should be created for each run.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public interface CoolingSchedule {
+
+    /**
+     * Prepares the schedule to cool from an initial temperature over a planned number of iterations.
+     *
+     * @param initialTemperature the temperature to cool from.
+     * @param plannedIterations the number of iterations the schedule is planned over.
+     */
+    void start(double initialTemperature, long plannedIterations);
+
+    /**
+     * Retrieves the temperature following an iteration.
+     *
+     * @param iterationsPerformed the number of iterations performed, including the one just finished.
+     * @param elapsedFraction the fraction of the time budget elapsed, or NaN when not time budgeted.
+     * @return the temperature.
+     */
+    double getTemperature(long iterationsPerformed, double elapsedFraction);
+
+    /**
+     * Notifies the schedule of the outcome of a worse proposal, for schedules adapting to the acceptance rate.
+     *
+     * @param accepted whether the proposal was accepted.
+     */
+    void recordWorseProposal(boolean accepted);
+
+    /**
+     * Notifies the schedule that a new best solution was found, for schedules reacting to stagnation.
+     *
+     * @param iterationsPerformed the number of iterations performed when the solution was found.
+     */
+    void recordImprovement(long iterationsPerformed);
+
+    /**
+     * Continues the schedule, once started, from the temperature reached at a checkpoint of a resumed run.
+     *
+     * @param temperature the temperature at the checkpoint.
+     * @param iterationsPerformed the number of iterations performed at the checkpoint.
+     */
+    void resume(double temperature, long iterationsPerformed);
+}
@@ -0,0 +1,79 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+/**
+ * Geometric cooling, multiplying the temperature by a constant cooling rate each iteration.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class GeometricCooling extends PlannedCoolingSchedule {
+
+    /**
+     * The given final temperature, or NaN when given a cooling rate instead.
+     */
+    private final double givenFinalTemperature;
+
+    /**
+     * The factor the temperature is multiplied by each iteration.
+     */
+    private double coolingRate;
+
+    private GeometricCooling(double givenFinalTemperature, double coolingRate) {
+        this.givenFinalTemperature = givenFinalTemperature;
+        this.coolingRate = coolingRate;
+    }
+
+    /**
+     * Creates a schedule reaching a final temperature once the planned iterations are performed.
+     *
+     * @param finalTemperature the temperature to reach.
+     * @return the schedule.
+     */
+    public static GeometricCooling toFinalTemperature(double finalTemperature) {
+        return new GeometricCooling(finalTemperature, Double.NaN);
+    }
+
+    /**
+     * Creates a schedule cooling at a fixed rate.
+     *
+     * @param coolingRate the factor the temperature is multiplied by each iteration.
+     * @return the schedule.
+     */
+    public static GeometricCooling withCoolingRate(double coolingRate) {
+
+        if (!(coolingRate > 0) || coolingRate > 1) {
+            throw new IllegalArgumentException("Cooling rate must be in (0, 1]");
+        }
+
+        return new GeometricCooling(Double.NaN, coolingRate);
+    }
+
+    @Override
+    protected double resolveFinalTemperature(double initialTemperature, long plannedIterations) {
+        if (Double.isNaN(givenFinalTemperature)) {
+            // underflows to zero for the steepest rates over long plans, so is kept to the smallest double.
+            return Math.max(Double.MIN_VALUE, initialTemperature * Math.pow(coolingRate, plannedIterations));
+        }
+        return givenFinalTemperature;
+    }
+
+    @Override
+    protected void prepare() {
+        if (!Double.isNaN(givenFinalTemperature)) {
+            coolingRate = Math.pow(finalTemperature / initialTemperature, 1.0 / plannedIterations);
+        }
+    }
+
+    @Override
+    protected double coolOneIteration(double temperature, long iterationsPerformed) {
+        return temperature * coolingRate;
+    }
+
+    @Override
+    protected double getTemperatureAtIteration(double iteration) {
+        return initialTemperature * Math.pow(coolingRate, iteration);
+    }
+
+    public double getCoolingRate() {
+        return coolingRate;
+    }
+}
@@ -0,0 +1,48 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+/**
+ * Linear cooling, lowering the temperature by a constant step each iteration.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class LinearCooling extends PlannedCoolingSchedule {
+
+    /**
+     * The temperature to reach once the planned iterations are performed.
+     */
+    private final double givenFinalTemperature;
+
+    /**
+     * The amount the temperature is lowered by each iteration.
+     */
+    private double step;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param finalTemperature the temperature to reach once the planned iterations are performed.
+     */
+    public LinearCooling(double finalTemperature) {
+        this.givenFinalTemperature = finalTemperature;
+    }
+
+    @Override
+    protected double resolveFinalTemperature(double initialTemperature, long plannedIterations) {
+        return givenFinalTemperature;
+    }
+
+    @Override
+    protected void prepare() {
+        step = (initialTemperature - finalTemperature) / plannedIterations;
+    }
+
+    @Override
+    protected double coolOneIteration(double temperature, long iterationsPerformed) {
+        return Math.max(finalTemperature, temperature - step);
+    }
+
+    @Override
+    protected double getTemperatureAtIteration(double iteration) {
+        return Math.max(finalTemperature, initialTemperature - step * iteration);
+    }
+}
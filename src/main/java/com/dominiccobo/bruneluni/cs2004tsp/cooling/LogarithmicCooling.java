@@ -0,0 +1,48 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+/**
+ * Logarithmic cooling, T(k) = T0 / (1 + a ln(1 + k)), cooling quickly at first and ever more slowly after.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class LogarithmicCooling extends PlannedCoolingSchedule {
+
+    /**
+     * The temperature to reach once the planned iterations are performed.
+     */
+    private final double givenFinalTemperature;
+
+    /**
+     * The coefficient of the logarithm, chosen so the final temperature is reached as planned.
+     */
+    private double coefficient;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param finalTemperature the temperature to reach once the planned iterations are performed.
+     */
+    public LogarithmicCooling(double finalTemperature) {
+        this.givenFinalTemperature = finalTemperature;
+    }
+
+    @Override
+    protected double resolveFinalTemperature(double initialTemperature, long plannedIterations) {
+        return givenFinalTemperature;
+    }
+
+    @Override
+    protected void prepare() {
+        coefficient = (initialTemperature / finalTemperature - 1) / Math.log1p(plannedIterations);
+    }
+
+    @Override
+    protected double coolOneIteration(double temperature, long iterationsPerformed) {
+        return getTemperatureAtIteration(iterationsPerformed);
+    }
+
+    @Override
+    protected double getTemperatureAtIteration(double iteration) {
+        return initialTemperature / (1 + coefficient * Math.log1p(iteration));
+    }
+}
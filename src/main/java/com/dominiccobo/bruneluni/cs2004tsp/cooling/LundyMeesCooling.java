@@ -0,0 +1,50 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+/**
+ * Lundy and Mees cooling, T(k + 1) = T(k) / (1 + b T(k)), cooling hot temperatures quickly and cold ones slowly
+ * for the cost of a single division each iteration.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class LundyMeesCooling extends PlannedCoolingSchedule {
+
+    /**
+     * The temperature to reach once the planned iterations are performed.
+     */
+    private final double givenFinalTemperature;
+
+    /**
+     * The coefficient b, chosen so the final temperature is reached as planned.
+     */
+    private double coefficient;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param finalTemperature the temperature to reach once the planned iterations are performed.
+     */
+    public LundyMeesCooling(double finalTemperature) {
+        this.givenFinalTemperature = finalTemperature;
+    }
+
+    @Override
+    protected double resolveFinalTemperature(double initialTemperature, long plannedIterations) {
+        return givenFinalTemperature;
+    }
+
+    @Override
+    protected void prepare() {
+        coefficient = (initialTemperature - finalTemperature) / (plannedIterations * initialTemperature * finalTemperature);
+    }
+
+    @Override
+    protected double coolOneIteration(double temperature, long iterationsPerformed) {
+        return temperature / (1 + coefficient * temperature);
+    }
+
+    @Override
+    protected double getTemperatureAtIteration(double iteration) {
+        // the recurrence sums to 1 / T(k) = 1 / T0 + b k.
+        return 1 / (1 / initialTemperature + coefficient * iteration);
+    }
+}
@@ -0,0 +1,116 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+/**
+ * Base of the schedules cooling from the initial to a final temperature over the planned iterations, along a
+ * fixed curve.
+ *
+ * Following iterations, the temperature is updated incrementally, which is cheaper than evaluating the curve.
+ * Under a time budget, the curve is evaluated at the elapsed fraction only when the fraction changes.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public abstract class PlannedCoolingSchedule implements CoolingSchedule {
+
+    /**
+     * The temperature cooled from.
+     */
+    protected double initialTemperature;
+
+    /**
+     * The temperature reached once the planned iterations are performed.
+     */
+    protected double finalTemperature;
+
+    /**
+     * The number of iterations the schedule is planned over.
+     */
+    protected long plannedIterations;
+
+    /**
+     * The current temperature.
+     */
+    protected double temperature;
+
+    /**
+     * The elapsed fraction the temperature was last evaluated at.
+     */
+    private double lastElapsedFraction;
+
+    @Override
+    public void start(double initialTemperature, long plannedIterations) {
+
+        if (!(initialTemperature > 0) || plannedIterations < 1) {
+            throw new IllegalArgumentException("Initial temperature and planned iterations must be positive");
+        }
+
+        this.initialTemperature = initialTemperature;
+        this.plannedIterations = plannedIterations;
+        this.finalTemperature = resolveFinalTemperature(initialTemperature, plannedIterations);
+        this.temperature = initialTemperature;
+        this.lastElapsedFraction = 0;
+
+        if (!(finalTemperature > 0) || finalTemperature > initialTemperature) {
+            throw new IllegalArgumentException("Final temperature must be positive and no hotter than initial");
+        }
+
+        prepare();
+    }
+
+    @Override
+    public double getTemperature(long iterationsPerformed, double elapsedFraction) {
+
+        if (Double.isNaN(elapsedFraction)) {
+            temperature = coolOneIteration(temperature, iterationsPerformed);
+        }
+        else if (elapsedFraction != lastElapsedFraction) {
+            lastElapsedFraction = elapsedFraction;
+            temperature = getTemperatureAtIteration(elapsedFraction * plannedIterations);
+        }
+
+        return temperature;
+    }
+
+    @Override
+    public void recordWorseProposal(boolean accepted) {
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed) {
+    }
+
+    @Override
+    public void resume(double temperature, long iterationsPerformed) {
+        this.temperature = temperature;
+    }
+
+    /**
+     * Determines the temperature the schedule reaches once the planned iterations are performed.
+     *
+     * @param initialTemperature the temperature to cool from.
+     * @param plannedIterations the number of iterations the schedule is planned over.
+     * @return the final temperature.
+     */
+    protected abstract double resolveFinalTemperature(double initialTemperature, long plannedIterations);
+
+    /**
+     * Derives any parameters of the curve once the temperatures and planned iterations are known.
+     */
+    protected abstract void prepare();
+
+    /**
+     * Cools the temperature by a single iteration.
+     *
+     * @param temperature the temperature before the iteration.
+     * @param iterationsPerformed the number of iterations performed, including the one just finished.
+     * @return the temperature after the iteration.
+     */
+    protected abstract double coolOneIteration(double temperature, long iterationsPerformed);
+
+    /**
+     * Evaluates the curve at a possibly fractional number of iterations.
+     *
+     * @param iteration the number of iterations performed.
+     * @return the temperature after the iterations.
+     */
+    protected abstract double getTemperatureAtIteration(double iteration);
+}
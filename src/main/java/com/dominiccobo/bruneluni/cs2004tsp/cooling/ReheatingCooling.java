@@ -0,0 +1,149 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+import com.dominiccobo.bruneluni.cs2004tsp.jfr.ReheatEvent;
+
+/**
+ * Cooling that reheats on stagnation, wrapping another schedule. Once a window of iterations passes without a
+ * new best solution, the temperature is raised back to that at which the best solution was found and the
+ * wrapped schedule restarted from it over the remainder of the plan.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ReheatingCooling implements CoolingSchedule {
+
+    /**
+     * The schedule followed between reheats.
+     */
+    private final CoolingSchedule coolingSchedule;
+
+    /**
+     * The number of iterations without a new best solution after which the temperature is reheated.
+     */
+    private final long stagnationWindow;
+
+    /**
+     * The number of iterations the schedule is planned over.
+     */
+    private long plannedIterations;
+
+    /**
+     * The current temperature.
+     */
+    private double temperature;
+
+    /**
+     * The temperature at which the last best solution was found.
+     */
+    private double improvementTemperature;
+
+    /**
+     * The iteration at which the last best solution was found, or the last reheat took place.
+     */
+    private long lastImprovementIteration;
+
+    /**
+     * The iteration at which the wrapped schedule was last started.
+     */
+    private long reheatIteration;
+
+    /**
+     * The elapsed fraction at which the wrapped schedule was last started.
+     */
+    private double reheatFraction;
+
+    /**
+     * The number of reheats made.
+     */
+    private int reheats;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param coolingSchedule the schedule followed between reheats.
+     * @param stagnationWindow the number of iterations without a new best after which to reheat.
+     */
+    public ReheatingCooling(CoolingSchedule coolingSchedule, long stagnationWindow) {
+
+        if (stagnationWindow < 1) {
+            throw new IllegalArgumentException("Stagnation window must be positive");
+        }
+
+        this.coolingSchedule = coolingSchedule;
+        this.stagnationWindow = stagnationWindow;
+    }
+
+    @Override
+    public void start(double initialTemperature, long plannedIterations) {
+        coolingSchedule.start(initialTemperature, plannedIterations);
+        this.plannedIterations = plannedIterations;
+        this.temperature = initialTemperature;
+        this.improvementTemperature = initialTemperature;
+        this.lastImprovementIteration = 0;
+        this.reheatIteration = 0;
+        this.reheatFraction = 0;
+        this.reheats = 0;
+    }
+
+    @Override
+    public double getTemperature(long iterationsPerformed, double elapsedFraction) {
+
+        final boolean timeBudgeted = !Double.isNaN(elapsedFraction);
+        final boolean planRemaining = timeBudgeted ? elapsedFraction < 1 : iterationsPerformed < plannedIterations;
+
+        if (iterationsPerformed - lastImprovementIteration >= stagnationWindow && planRemaining) {
+
+            // under a time budget the restarted schedule is planned over the same number of iterations, and
+            // spread over the remaining time by rescaling the elapsed fraction.
+            coolingSchedule.start(improvementTemperature, timeBudgeted
+                    ? plannedIterations
+                    : plannedIterations - iterationsPerformed);
+
+            reheatIteration = iterationsPerformed;
+            reheatFraction = timeBudgeted ? elapsedFraction : 0;
+            lastImprovementIteration = iterationsPerformed;
+            temperature = improvementTemperature;
+            reheats++;
+            ReheatEvent.emit(iterationsPerformed, temperature, reheats);
+
+            return temperature;
+        }
+
+        final double scheduleFraction = timeBudgeted
+                ? (elapsedFraction - reheatFraction) / (1 - reheatFraction)
+                : Double.NaN;
+        temperature = coolingSchedule.getTemperature(iterationsPerformed - reheatIteration, scheduleFraction);
+
+        return temperature;
+    }
+
+    @Override
+    public void recordWorseProposal(boolean accepted) {
+        coolingSchedule.recordWorseProposal(accepted);
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed) {
+        coolingSchedule.recordImprovement(iterationsPerformed);
+        lastImprovementIteration = iterationsPerformed;
+        improvementTemperature = temperature;
+    }
+
+    /**
+     * Continues from the temperature at a checkpoint as though the search had just improved, so that the
+     * stagnation window restarts from the checkpoint.
+     *
+     * @param temperature the temperature at the checkpoint.
+     * @param iterationsPerformed the number of iterations performed at the checkpoint.
+     */
+    @Override
+    public void resume(double temperature, long iterationsPerformed) {
+        coolingSchedule.resume(temperature, iterationsPerformed);
+        this.temperature = temperature;
+        this.improvementTemperature = temperature;
+        this.lastImprovementIteration = iterationsPerformed;
+    }
+
+    public int getReheats() {
+        return reheats;
+    }
+}
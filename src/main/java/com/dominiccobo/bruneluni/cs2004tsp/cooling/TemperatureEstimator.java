@@ -0,0 +1,59 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+
+/**
+ * Class estimating annealing temperatures from a short sample of the moves available to a solution, so that
+ * temperatures need not be hand tuned to the scale of each instance's fitness.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class TemperatureEstimator {
+
+    /**
+     * The default number of proposals sampled.
+     */
+    public static final int DEFAULT_SAMPLES = 1000;
+
+    @SuppressWarnings("unused")
+    private TemperatureEstimator() {
+        throw new IllegalArgumentException("No constructor permitted");
+    }
+
+    /**
+     * Estimates the temperature at which a worse proposal of average worsening is accepted with a given
+     * probability, T = -mean / ln(p), by sampling proposals without accepting them.
+     *
+     * @param solution the solution to sample proposals of, which is left unchanged.
+     * @param solutionType the aim of the solution, deciding which proposals are worse.
+     * @param samples the number of proposals to sample.
+     * @param acceptanceProbability the probability of accepting a worse proposal of average worsening.
+     * @return the estimated temperature, or the smallest positive temperature if no worse proposal was sampled.
+     */
+    public static double estimateTemperature(SolutionAdapter<?, ?> solution, SolutionType solutionType, int samples,
+                                             double acceptanceProbability) {
+
+        if (!(acceptanceProbability > 0 && acceptanceProbability < 1) || samples < 1) {
+            throw new IllegalArgumentException("Acceptance probability must be in (0, 1) and samples positive");
+        }
+
+        double totalWorsening = 0;
+        int worseProposals = 0;
+
+        for (int i = 0; i < samples; i++) {
+            final double fitnessDelta = solution.proposeChangeDelta();
+            final double worsening = (solutionType == SolutionType.MINIMISATION) ? fitnessDelta : -fitnessDelta;
+            if (worsening > 0) {
+                totalWorsening += worsening;
+                worseProposals++;
+            }
+        }
+
+        if (worseProposals == 0) {
+            return Double.MIN_NORMAL;
+        }
+
+        return -(totalWorsening / worseProposals) / Math.log(acceptanceProbability);
+    }
+}
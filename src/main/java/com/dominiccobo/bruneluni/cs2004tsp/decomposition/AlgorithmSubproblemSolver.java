@@ -0,0 +1,96 @@
+package com.dominiccobo.bruneluni.cs2004tsp.decomposition;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.HeuristicSearchAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.IteratedLocalSearchAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.BetterAcceptance;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.Perturbation;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetrics;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CompositeTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TerminationPolicy;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * Sub-problem solver running any of the search algorithms over the sub-problem, stopping at whichever comes first
+ * of the algorithm's own termination and the budget of the whole decomposition.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class AlgorithmSubproblemSolver implements SubproblemSolver {
+
+    /**
+     * The number of candidate neighbours per node built for sub-problems solved by local search.
+     */
+    private static final int CANDIDATES_PER_NODE = 8;
+
+    /**
+     * The factory of the algorithm ran over each sub-problem.
+     */
+    private final AlgorithmFactory algorithmFactory;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param algorithmFactory the factory of the algorithm ran over each sub-problem.
+     */
+    public AlgorithmSubproblemSolver(AlgorithmFactory algorithmFactory) {
+        this.algorithmFactory = algorithmFactory;
+    }
+
+    /**
+     * Creates a solver running iterated local search over each sub-problem, building its candidate lists afresh.
+     *
+     * @param iterationsToPerform the number of iterated local search iterations per sub-problem.
+     * @return the solver.
+     */
+    public static AlgorithmSubproblemSolver iteratedLocalSearch(int iterationsToPerform) {
+        return new AlgorithmSubproblemSolver((startingSolution, random) -> new IteratedLocalSearchAlgorithm<>(
+                iterationsToPerform,
+                startingSolution,
+                CandidateList.build(startingSolution.getDistanceGraph(), CANDIDATES_PER_NODE),
+                Perturbation.DOUBLE_BRIDGE,
+                IteratedLocalSearchAlgorithm.DEFAULT_MAXIMUM_STRENGTH,
+                new BetterAcceptance(),
+                random
+        ));
+    }
+
+    @Override
+    public int[] solve(Graph subGraph, int[] startingTour, Random random, TerminationPolicy terminationPolicy,
+                       SearchMetrics metrics) {
+
+        final TSPSolution startingSolution = new TSPSolution(startingTour, subGraph, random);
+        final HeuristicSearchAlgorithm<TSPSolution, Double, Vector<Integer>> algorithm =
+                algorithmFactory.createAlgorithm(startingSolution, new XoroshiroRandom(random.nextLong()));
+
+        algorithm.setMetrics(metrics);
+        algorithm.setTerminationPolicy(CompositeTermination.anyOf(
+                algorithm.getTerminationPolicy(),
+                terminationPolicy
+        ));
+
+        return algorithm.runAlgorithm().getTour();
+    }
+
+    /**
+     * Factory of the algorithm ran over a sub-problem.
+     */
+    @FunctionalInterface
+    public interface AlgorithmFactory {
+
+        /**
+         * Creates the algorithm to run over a sub-problem.
+         *
+         * @param startingSolution the starting solution of the sub-problem.
+         * @param random the source of randomness of the algorithm.
+         * @return the algorithm.
+         */
+        HeuristicSearchAlgorithm<TSPSolution, Double, Vector<Integer>> createAlgorithm(TSPSolution startingSolution,
+                                                                                        Random random);
+    }
+}
@@ -0,0 +1,296 @@
+package com.dominiccobo.bruneluni.cs2004tsp.decomposition;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.HeuristicSearchAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetrics;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.SubproblemTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TerminationPolicy;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Vector;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class representing a decomposition solver for instances too large to search as a whole, partitioning the tour
+ * into segments of consecutive nodes, solving each segment as a sub-problem of its own and stitching the solved
+ * segments back into the tour.
+ *
+ * Each segment is solved as a path whose two ends stay fixed, so a solved segment slots back into the tour in
+ * place of the original without touching its neighbours, and segments may be solved concurrently with no
+ * coordination. Each iteration is a round over every segment, with the segment boundaries shifted by a random
+ * offset so the edges across one round's boundaries are inside a segment in the next. Starting from a tour
+ * following a space filling curve, the segments are spatially compact clusters of the instance.
+ *
+ * Each segment derives its randomness from the round and its index, so rounds give the same tour however the
+ * segments are scheduled across threads.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ *
+ * @param <T> The type representing the whole solutions details.
+ */
+public class DecompositionAlgorithm<T extends TSPSolution> extends HeuristicSearchAlgorithm<T, Double, Vector<Integer>> {
+
+    /**
+     * The default number of nodes in each sub-problem.
+     */
+    public static final int DEFAULT_SUBPROBLEM_SIZE = 100;
+
+    /**
+     * The fewest nodes in a sub-problem, below which a path with fixed ends has nothing left to rearrange.
+     */
+    private static final int MINIMUM_SUBPROBLEM_SIZE = 4;
+
+    /**
+     * The solver of each sub-problem.
+     */
+    private final SubproblemSolver subproblemSolver;
+
+    /**
+     * The number of nodes in each sub-problem.
+     */
+    private final int subproblemSize;
+
+    /**
+     * The number of sub-problems to solve concurrently.
+     */
+    private final int parallelism;
+
+    /**
+     * The source of randomness from which the rounds derive theirs.
+     */
+    private final Random random;
+
+    /**
+     * The pool solving sub-problems, present only while ran with parallelism.
+     */
+    private ExecutorService executorService;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private DecompositionAlgorithm() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, solving sub-problems of the default size one at a time.
+     *
+     * @param iterationsToPerform the number of rounds to perform.
+     * @param startingSolution the starting solution representation.
+     * @param subproblemSolver the solver of each sub-problem.
+     */
+    public DecompositionAlgorithm(int iterationsToPerform, T startingSolution, SubproblemSolver subproblemSolver) {
+        this(iterationsToPerform, startingSolution, subproblemSolver, DEFAULT_SUBPROBLEM_SIZE, 1,
+                new XoroshiroRandom());
+    }
+
+    /**
+     * Instantiation constructor with every parameter of the decomposition.
+     *
+     * @param iterationsToPerform the number of rounds to perform.
+     * @param startingSolution the starting solution representation.
+     * @param subproblemSolver the solver of each sub-problem.
+     * @param subproblemSize the number of nodes in each sub-problem.
+     * @param parallelism the number of sub-problems to solve concurrently.
+     * @param random the source of randomness from which the rounds derive theirs.
+     */
+    public DecompositionAlgorithm(int iterationsToPerform, T startingSolution, SubproblemSolver subproblemSolver,
+                                  int subproblemSize, int parallelism, Random random) {
+        super(iterationsToPerform, startingSolution, SolutionType.MINIMISATION);
+
+        if (subproblemSolver == null || subproblemSize < MINIMUM_SUBPROBLEM_SIZE || parallelism < 1) {
+            throw new IllegalArgumentException("Solver required, sub-problems of four nodes or more, "
+                    + "parallelism positive");
+        }
+
+        this.subproblemSolver = subproblemSolver;
+        this.subproblemSize = subproblemSize;
+        this.parallelism = parallelism;
+        this.random = random;
+    }
+
+    /**
+     * Executes rounds until the termination policy decides to stop, solving sub-problems on a pool of threads
+     * when ran with parallelism.
+     *
+     * @return the best tour found.
+     */
+    @Override
+    public T runAlgorithm() {
+
+        if (parallelism > 1) {
+            this.executorService = Executors.newFixedThreadPool(parallelism);
+        }
+
+        try {
+            return super.runAlgorithm();
+        }
+        finally {
+            if (executorService != null) {
+                executorService.shutdownNow();
+                executorService = null;
+            }
+        }
+    }
+
+    /**
+     * Performs a single round, solving every segment of the tour once.
+     *
+     * @return the best solution in the case.
+     */
+    @Override
+    protected T performIteration() {
+
+        final Graph graph = this.currentBestSolution.getDistanceGraph();
+        final int[] tour = this.currentBestSolution.getTour();
+        final int numberOfNodes = tour.length;
+        final long roundSeed = random.nextLong();
+        final TerminationPolicy nestedPolicy = new SubproblemTermination(getTerminationPolicy());
+        final SearchMetrics nestedMetrics = getMetrics().forNestedSearch();
+
+        // instances no larger than a sub-problem are solved whole, as there are no boundaries to hold fixed.
+        if (numberOfNodes <= subproblemSize) {
+            offerTour(graph, subproblemSolver.solve(graph, tour, XoroshiroRandom.forTask(roundSeed), nestedPolicy,
+                    nestedMetrics));
+            return this.currentBestSolution;
+        }
+
+        final int numberOfSegments = (numberOfNodes + subproblemSize - 1) / subproblemSize;
+        final int offset = random.nextInt(numberOfNodes);
+
+        // segments share their end nodes with their neighbours, so each covers its share of edges.
+        final int[] segmentStarts = new int[numberOfSegments + 1];
+        for (int segment = 0; segment <= numberOfSegments; segment++) {
+            segmentStarts[segment] = (int) ((long) segment * numberOfNodes / numberOfSegments);
+        }
+
+        final List<Future<int[]>> solvedSegments = new ArrayList<>(numberOfSegments);
+        final int[][] segmentPaths = new int[numberOfSegments][];
+
+        for (int segment = 0; segment < numberOfSegments; segment++) {
+
+            final int pathLength = segmentStarts[segment + 1] - segmentStarts[segment] + 1;
+            final int[] path = new int[pathLength];
+            for (int i = 0; i < pathLength; i++) {
+                path[i] = tour[(offset + segmentStarts[segment] + i) % numberOfNodes];
+            }
+
+            final XoroshiroRandom segmentRandom = XoroshiroRandom.forTask(roundSeed, segment);
+
+            if (executorService == null) {
+                segmentPaths[segment] = solveSegment(graph, path, segmentRandom, nestedPolicy, nestedMetrics);
+            }
+            else {
+                solvedSegments.add(executorService.submit(
+                        () -> solveSegment(graph, path, segmentRandom, nestedPolicy, nestedMetrics)
+                ));
+            }
+        }
+
+        if (executorService != null) {
+            awaitSegments(solvedSegments, segmentPaths);
+        }
+
+        // each solved path keeps its ends, so is written back over the interior of its segment.
+        for (int segment = 0; segment < numberOfSegments; segment++) {
+            final int[] path = segmentPaths[segment];
+            for (int i = 1; i < path.length - 1; i++) {
+                tour[(offset + segmentStarts[segment] + i) % numberOfNodes] = path[i];
+            }
+        }
+
+        offerTour(graph, tour);
+        return this.currentBestSolution;
+    }
+
+    /**
+     * Solves a segment of the tour as a path with fixed ends.
+     *
+     * @param graph the graph of the instance.
+     * @param path the nodes of the segment, in tour order.
+     * @param segmentRandom the source of randomness of the segment.
+     * @param nestedPolicy the budget shared with the whole decomposition.
+     * @param nestedMetrics the metrics of the whole decomposition, as seen by a sub-problem.
+     * @return the shortest path found between the ends of the segment, which may be the original.
+     */
+    private int[] solveSegment(Graph graph, int[] path, Random segmentRandom, TerminationPolicy nestedPolicy,
+                               SearchMetrics nestedMetrics) {
+
+        double pathLength = 0;
+        for (int i = 0; i < path.length - 1; i++) {
+            pathLength += graph.getDistanceBetweenNodes(path[i], path[i + 1]);
+        }
+
+        final PathSubGraph subGraph = new PathSubGraph(graph, path, pathLength);
+
+        final int[] startingTour = new int[path.length];
+        for (int i = 0; i < startingTour.length; i++) {
+            startingTour[i] = i;
+        }
+
+        // the solver may reuse the starting tour, so its length is taken beforehand.
+        final double startingLength = subGraph.getTourLength(startingTour);
+
+        final int[] solvedPath = subGraph.openAtClosingEdge(
+                subproblemSolver.solve(subGraph, startingTour, segmentRandom, nestedPolicy, nestedMetrics)
+        );
+
+        // solutions dropping the closing edge are longer than the original path, so are discarded.
+        if (solvedPath == null || subGraph.getTourLength(solvedPath) >= startingLength) {
+            return path;
+        }
+
+        final int[] parentPath = new int[path.length];
+        for (int i = 0; i < parentPath.length; i++) {
+            parentPath[i] = subGraph.getParentNode(solvedPath[i]);
+        }
+        return parentPath;
+    }
+
+    /**
+     * Waits for the segments being solved on the pool.
+     *
+     * @param solvedSegments the segments being solved, in segment order.
+     * @param segmentPaths the solved path of each segment, filled in.
+     */
+    private static void awaitSegments(List<Future<int[]>> solvedSegments, int[][] segmentPaths) {
+        try {
+            for (int segment = 0; segment < segmentPaths.length; segment++) {
+                segmentPaths[segment] = solvedSegments.get(segment).get();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving sub-problems", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Sub-problem failed", e.getCause());
+        }
+    }
+
+    /**
+     * Moves to a tour if it is shorter than the best, recording the improvement.
+     *
+     * @param graph the graph of the instance.
+     * @param tour the tour to offer.
+     */
+    private void offerTour(Graph graph, int[] tour) {
+
+        // the length is recalculated in full, so no rounding accumulated over the sub-problems is reported.
+        final double tourLength = graph.getTourLength(tour);
+
+        if (tourLength < this.currentBestSolution.getTourLength()) {
+            this.currentBestSolution.setTour(tour, tourLength);
+            recordImprovement();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.dominiccobo.bruneluni.cs2004tsp.decomposition;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SubGraph;
+
+/**
+ * View onto the nodes of a path, in which the edge closing the path between its two ends is given a negative
+ * length of more than the length of the path. Every tour without the closing edge is then longer than the path
+ * closed by it, so a tour of the view no longer than that closed path is a path between the same two ends.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+class PathSubGraph extends SubGraph {
+
+    /**
+     * The length given to the closing edge.
+     */
+    private final double closingEdgeLength;
+
+    /**
+     * The last node of the view, at the other end of the path to node zero.
+     */
+    private final int lastNode;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param parentGraph the graph viewed.
+     * @param pathNodes the nodes of the parent graph along the path, in order.
+     * @param pathLength the length of the path, which must not be negative.
+     */
+    PathSubGraph(Graph parentGraph, int[] pathNodes, double pathLength) {
+        super(parentGraph, pathNodes);
+        this.closingEdgeLength = -(pathLength + 1);
+        this.lastNode = pathNodes.length - 1;
+    }
+
+    @Override
+    public double getDistanceBetweenNodes(int nodeAIndex, int nodeBIndex) {
+        if ((nodeAIndex == 0 && nodeBIndex == lastNode) || (nodeAIndex == lastNode && nodeBIndex == 0)) {
+            return closingEdgeLength;
+        }
+        return super.getDistanceBetweenNodes(nodeAIndex, nodeBIndex);
+    }
+
+    /**
+     * Opens a tour of the view at the closing edge, giving the path from node zero to the last node.
+     *
+     * @param tour a tour of the view.
+     * @return the path, or null if the tour lacks the closing edge.
+     */
+    int[] openAtClosingEdge(int[] tour) {
+
+        final int numberOfNodes = tour.length;
+
+        int startPosition = 0;
+        while (tour[startPosition] != 0) {
+            startPosition++;
+        }
+
+        final int nextNode = tour[(startPosition + 1) % numberOfNodes];
+        final int previousNode = tour[(startPosition + numberOfNodes - 1) % numberOfNodes];
+        if (nextNode != lastNode && previousNode != lastNode) {
+            return null;
+        }
+
+        // walk away from the last node, so the path ends on it.
+        final int step = (nextNode == lastNode) ? numberOfNodes - 1 : 1;
+        final int[] path = new int[numberOfNodes];
+        for (int i = 0, position = startPosition; i < numberOfNodes; i++, position = (position + step) % numberOfNodes) {
+            path[i] = tour[position];
+        }
+
+        return path;
+    }
+}
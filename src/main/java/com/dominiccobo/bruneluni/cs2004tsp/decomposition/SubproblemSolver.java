@@ -0,0 +1,29 @@
+package com.dominiccobo.bruneluni.cs2004tsp.decomposition;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetrics;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TerminationPolicy;
+
+import java.util.Random;
+
+/**
+ * Solver of the sub-problems a decomposed instance is split into.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@FunctionalInterface
+public interface SubproblemSolver {
+
+    /**
+     * Improves a tour of a sub-problem.
+     *
+     * @param subGraph the graph of the sub-problem.
+     * @param startingTour the tour to start from, which may be modified.
+     * @param random the source of randomness, which belongs to this sub-problem alone.
+     * @param terminationPolicy the budget shared with the whole decomposition, to stop early on.
+     * @param metrics the metrics of the whole decomposition, to count the moves of the sub-problem towards.
+     * @return the best tour found, no longer than the starting tour.
+     */
+    int[] solve(Graph subGraph, int[] startingTour, Random random, TerminationPolicy terminationPolicy,
+                SearchMetrics metrics);
+}
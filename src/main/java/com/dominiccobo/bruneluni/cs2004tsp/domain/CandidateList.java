@@ -0,0 +1,126 @@
+package com.dominiccobo.bruneluni.cs2004tsp.domain;
+
+/**
+ * Representation of the nearest neighbours of every node in a graph, ordered from nearest to furthest.
+ *
+ * Neighbours are held in a single flat array, so that looking up the candidates of a node does not require
+ * any boxing or pointer chasing.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class CandidateList {
+
+    /**
+     * The neighbours of each node, where the neighbours of node i occupy [i * k, (i + 1) * k).
+     */
+    private int[] neighbours;
+
+    /**
+     * The number of candidates held per node, k.
+     */
+    private int candidatesPerNode;
+
+    /**
+     * Validator constructor, preventing candidate lists from being instantiated without any data.
+     */
+    @SuppressWarnings("unused")
+    private CandidateList() {
+        throw new IllegalArgumentException("No null constructor permitted");
+    }
+
+    /**
+     * Constructor instantiating a candidate list from previously computed neighbours.
+     *
+     * @param neighbours the flat array of neighbours of each node.
+     * @param candidatesPerNode the number of candidates held per node.
+     */
+    public CandidateList(int[] neighbours, int candidatesPerNode) {
+
+        if(neighbours == null || candidatesPerNode < 0 ||
+                (candidatesPerNode > 0 && neighbours.length % candidatesPerNode != 0)) {
+            throw new IllegalArgumentException("Invalid candidate list, must hold k neighbours for every node");
+        }
+
+        this.neighbours = neighbours;
+        this.candidatesPerNode = candidatesPerNode;
+    }
+
+    /**
+     * Computes the k nearest neighbours of every node in a graph.
+     *
+     * Each node keeps a bounded insertion sorted list of its nearest neighbours, so the computation is
+     * O(n^2 k) in the worst case with no additional memory beyond the result.
+     *
+     * @param graph the graph to compute the neighbours of.
+     * @param candidatesPerNode the maximum number of neighbours to keep per node.
+     * @return the computed candidate list.
+     */
+    public static CandidateList build(Graph graph, int candidatesPerNode) {
+
+        final int numberOfNodes = graph.getNumberOfNodes();
+        final int k = Math.min(candidatesPerNode, numberOfNodes - 1);
+
+        final int[] neighbours = new int[numberOfNodes * Math.max(k, 0)];
+        final double[] nearestDistances = new double[Math.max(k, 0)];
+
+        for(int node = 0; node < numberOfNodes && k > 0; node++) {
+
+            final int offset = node * k;
+            int found = 0;
+
+            for(int other = 0; other < numberOfNodes; other++) {
+
+                if(other == node) {
+                    continue;
+                }
+
+                final double distance = graph.getDistanceBetweenNodes(node, other);
+
+                if(found == k && distance >= nearestDistances[k - 1]) {
+                    continue;
+                }
+
+                // shift further neighbours along to make room, dropping the furthest when full.
+                int position = (found < k) ? found++ : k - 1;
+                while(position > 0 && nearestDistances[position - 1] > distance) {
+                    nearestDistances[position] = nearestDistances[position - 1];
+                    neighbours[offset + position] = neighbours[offset + position - 1];
+                    position--;
+                }
+                nearestDistances[position] = distance;
+                neighbours[offset + position] = other;
+            }
+        }
+
+        return new CandidateList(neighbours, Math.max(k, 0));
+    }
+
+    /**
+     * Retrieves a neighbour of a node by its rank.
+     *
+     * @param node the node to retrieve the neighbour of.
+     * @param rank the zero indexed rank of the neighbour, where zero is the nearest.
+     * @return the neighbour.
+     */
+    public int getNeighbour(int node, int rank) {
+        return neighbours[node * candidatesPerNode + rank];
+    }
+
+    /**
+     * Getter for the number of candidates held per node.
+     *
+     * @return the number of candidates per node.
+     */
+    public int getCandidatesPerNode() {
+        return candidatesPerNode;
+    }
+
+    /**
+     * Getter for the flat array of neighbours.
+     *
+     * @return the neighbours of each node, where the neighbours of node i occupy [i * k, (i + 1) * k).
+     */
+    public int[] getNeighbours() {
+        return neighbours;
+    }
+}
@@ -0,0 +1,21 @@
+package com.dominiccobo.bruneluni.cs2004tsp.domain;
+
+/**
+ * Method of computing the distance between two nodes from their coordinates.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@FunctionalInterface
+public interface CoordinateDistance {
+
+    /**
+     * Computes the distance between two nodes given their coordinates.
+     *
+     * @param xA the x coordinate of the first node.
+     * @param yA the y coordinate of the first node.
+     * @param xB the x coordinate of the second node.
+     * @param yB the y coordinate of the second node.
+     * @return the distance between both nodes.
+     */
+    double getDistance(double xA, double yA, double xB, double yB);
+}
@@ -0,0 +1,113 @@
+package com.dominiccobo.bruneluni.cs2004tsp.domain;
+
+/**
+ * Representation of the TSPLIB edge weight types supported for computing distances between two nodes.
+ *
+ * Coordinate based types compute their distances on demand, following the rounding conventions described in the
+ * TSPLIB documentation so that tour lengths match the published optima. Explicit weights are given as a matrix
+ * instead, so have no {@link CoordinateDistance} at all.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public enum EdgeWeightType {
+
+    /**
+     * Euclidean distance rounded to the nearest integer.
+     */
+    EUC_2D((xA, yA, xB, yB) -> {
+        final double xDelta = xA - xB;
+        final double yDelta = yA - yB;
+        return (int) (Math.sqrt(xDelta * xDelta + yDelta * yDelta) + 0.5);
+    }),
+
+    /**
+     * Euclidean distance rounded up to the next integer.
+     */
+    CEIL_2D((xA, yA, xB, yB) -> {
+        final double xDelta = xA - xB;
+        final double yDelta = yA - yB;
+        return Math.ceil(Math.sqrt(xDelta * xDelta + yDelta * yDelta));
+    }),
+
+    /**
+     * Geographical distance, where coordinates are given as DDD.MM latitude and longitude.
+     */
+    GEO((xA, yA, xB, yB) -> {
+        final double latitudeA = toRadians(xA);
+        final double longitudeA = toRadians(yA);
+        final double latitudeB = toRadians(xB);
+        final double longitudeB = toRadians(yB);
+
+        final double q1 = Math.cos(longitudeA - longitudeB);
+        final double q2 = Math.cos(latitudeA - latitudeB);
+        final double q3 = Math.cos(latitudeA + latitudeB);
+
+        return (int) (EdgeWeightType.EARTH_RADIUS * Math.acos(0.5 * ((1.0 + q1) * q2 - (1.0 - q1) * q3)) + 1.0);
+    }),
+
+    /**
+     * Pseudo-Euclidean distance used by the att48 and att532 instances.
+     */
+    ATT((xA, yA, xB, yB) -> {
+        final double xDelta = xA - xB;
+        final double yDelta = yA - yB;
+        final double pseudoDistance = Math.sqrt((xDelta * xDelta + yDelta * yDelta) / 10.0);
+        final int roundedDistance = (int) (pseudoDistance + 0.5);
+
+        return (roundedDistance < pseudoDistance) ? roundedDistance + 1 : roundedDistance;
+    }),
+
+    /**
+     * Distances given explicitly as a matrix, there are no coordinates to compute them from.
+     */
+    EXPLICIT(null);
+
+    /**
+     * The value of PI as truncated by the TSPLIB reference implementation.
+     */
+    private static final double TSPLIB_PI = 3.141592;
+
+    /**
+     * The earth radius, in kilometres, used by the TSPLIB reference implementation.
+     */
+    private static final double EARTH_RADIUS = 6378.388;
+
+    /**
+     * The method of computing distances from coordinates, null for explicit weights.
+     */
+    private final CoordinateDistance coordinateDistance;
+
+    EdgeWeightType(CoordinateDistance coordinateDistance) {
+        this.coordinateDistance = coordinateDistance;
+    }
+
+    /**
+     * Determines whether distances of this type are computed from node coordinates.
+     *
+     * @return whether the type has a coordinate distance.
+     */
+    public boolean isCoordinateBased() {
+        return coordinateDistance != null;
+    }
+
+    /**
+     * Getter for the method of computing distances from coordinates.
+     *
+     * @return the coordinate distance, or null if the distances are given explicitly.
+     */
+    public CoordinateDistance getCoordinateDistance() {
+        return coordinateDistance;
+    }
+
+    /**
+     * Converts a TSPLIB DDD.MM geographical coordinate into radians.
+     *
+     * @param coordinate the coordinate to convert.
+     * @return the coordinate in radians.
+     */
+    private static double toRadians(double coordinate) {
+        final int degrees = (int) coordinate;
+        final double minutes = coordinate - degrees;
+        return TSPLIB_PI * (degrees + 5.0 * minutes / 3.0) / 180.0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.dominiccobo.bruneluni.cs2004tsp.domain;
 
+import java.util.Random;
 import java.util.Vector;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -13,9 +14,35 @@ import java.util.concurrent.ThreadLocalRandom;
 public class Graph {
 
     /**
-     * Square matrix representing the distance between two
+     * Square matrix representing the distance between two nodes, materialised lazily for coordinate backed
+     * graphs, so volatile to publish it fully built to threads reading it without the lock.
      */
-    private double[][] distanceMatrix;
+    private volatile double[][] distanceMatrix;
+
+    /**
+     * The number of nodes described by the graph.
+     */
+    private int numberOfNodes;
+
+    /**
+     * The x coordinates of each node, null when the graph is described by an explicit matrix.
+     */
+    private double[] xCoordinates;
+
+    /**
+     * The y coordinates of each node, null when the graph is described by an explicit matrix.
+     */
+    private double[] yCoordinates;
+
+    /**
+     * The method by which distances between nodes are evaluated.
+     */
+    private EdgeWeightType edgeWeightType;
+
+    /**
+     * The method by which distances are computed from the coordinates, null when the graph has no coordinates.
+     */
+    private CoordinateDistance coordinateDistance;
 
     /**
      * Validator constructor preventing Graphs from being instantiated without any data.
@@ -32,6 +59,34 @@ public class Graph {
      */
     public Graph(double[][] distanceMatrix) {
         this.setDistanceMatrix(distanceMatrix);
+        this.edgeWeightType = EdgeWeightType.EXPLICIT;
+    }
+
+    /**
+     * Constructor instantiating a coordinate backed graph, whose distances are computed on demand rather than
+     * stored, permitting graphs too large to hold as a matrix.
+     *
+     * @param xCoordinates the x coordinates of each node.
+     * @param yCoordinates the y coordinates of each node.
+     * @param edgeWeightType the method by which distances are computed from the coordinates.
+     */
+    public Graph(double[] xCoordinates, double[] yCoordinates, EdgeWeightType edgeWeightType) {
+        this.setCoordinates(xCoordinates, yCoordinates, edgeWeightType);
+    }
+
+    /**
+     * Constructor for graphs whose distances are evaluated by a subclass, such as views onto part of another graph.
+     *
+     * @param numberOfNodes the number of nodes described by the graph.
+     */
+    protected Graph(int numberOfNodes) {
+
+        if(numberOfNodes < 0) {
+            throw new IllegalArgumentException("Invalid number of nodes, cannot be negative");
+        }
+
+        this.numberOfNodes = numberOfNodes;
+        this.edgeWeightType = EdgeWeightType.EXPLICIT;
     }
 
     /**
@@ -44,11 +99,19 @@ public class Graph {
     @SuppressWarnings("all")
     public double getDistanceBetweenNodes(int nodeAIndex, int nodeBIndex) {
 
-        if(nodeAIndex >= distanceMatrix.length || nodeBIndex >= distanceMatrix[0].length) {
+        if(nodeAIndex >= numberOfNodes || nodeBIndex >= numberOfNodes) {
             throw new IllegalArgumentException("Provided invalid matrix indices");
         }
 
-        double distance = distanceMatrix[nodeAIndex][nodeBIndex];
+        final double[][] matrix = distanceMatrix;
+        if(matrix != null) {
+            return matrix[nodeAIndex][nodeBIndex];
+        }
+
+        double distance = coordinateDistance.getDistance(
+                xCoordinates[nodeAIndex], yCoordinates[nodeAIndex],
+                xCoordinates[nodeBIndex], yCoordinates[nodeBIndex]
+        );
 
         return distance;
 
@@ -82,6 +145,30 @@ public class Graph {
         return traversedDistanceTotal;
     }
 
+    /**
+     * Calculates the length of a tour held as a primitive array of node indices, including the edge returning
+     * from the last node to the first.
+     *
+     * @param tour the nodes in the tour.
+     * @return the length of the tour.
+     */
+    public double getTourLength(int[] tour) {
+
+        if(tour == null || tour.length < 1) {
+            throw new IllegalArgumentException("Provided invalid list of nodes describing tour.");
+        }
+
+        double traversedDistanceTotal = 0D;
+
+        for(int i = 0; i < tour.length - 1; i++) {
+            traversedDistanceTotal += getDistanceBetweenNodes(tour[i], tour[i + 1]);
+        }
+
+        traversedDistanceTotal += getDistanceBetweenNodes(tour[tour.length - 1], tour[0]);
+
+        return traversedDistanceTotal;
+    }
+
     /**
      * Validated setter for distance matrix attribute, prevents illegal values being used.
      *
@@ -104,39 +191,150 @@ public class Graph {
         }
 
         this.distanceMatrix = distanceMatrix;
+        this.numberOfNodes = distanceMatrix.length;
     }
 
     /**
-     * Produces a random permutation of the route based on the presented graph.
+     * Validated setter for the coordinate attributes, prevents illegal values being used.
      *
-     * @return the random permutation.
+     * Prevents:
+     *      - Null coordinates
+     *      - Coordinate arrays of differing lengths
+     *      - Explicit edge weight types, which cannot be computed from coordinates
+     *
+     * @param xCoordinates the x coordinates to verify and set.
+     * @param yCoordinates the y coordinates to verify and set.
+     * @param edgeWeightType the edge weight type to verify and set.
      */
-    public Vector<Integer> getRandomRoute() {
+    private void setCoordinates(double[] xCoordinates, double[] yCoordinates, EdgeWeightType edgeWeightType) {
 
-        final int lengthOfRoute = distanceMatrix.length;
-        final Vector<Integer> nodesToChoseFrom = new Vector<>();
-        final Vector<Integer> randomRoute = new Vector<>();
+        if(xCoordinates == null || yCoordinates == null || edgeWeightType == null) {
+            throw new IllegalArgumentException("Invalid coordinates, cannot be null");
+        }
 
-        for (int i = 0; i < lengthOfRoute; i++) {
-            nodesToChoseFrom.add(i);
+        if(xCoordinates.length != yCoordinates.length) {
+            throw new IllegalArgumentException("Invalid coordinates, must describe the same number of nodes.");
         }
 
-        while(nodesToChoseFrom.size() > 0) {
-            final int randomIndexToChange = ThreadLocalRandom.current().nextInt(0, nodesToChoseFrom.size());
-            final int randomNodeToSwap = nodesToChoseFrom.get(randomIndexToChange);
-            nodesToChoseFrom.remove(randomIndexToChange);
-            randomRoute.add(randomNodeToSwap);
+        if(!edgeWeightType.isCoordinateBased()) {
+            throw new IllegalArgumentException("Invalid edge weight type, explicit weights require a matrix.");
         }
 
-        return randomRoute;
+        this.xCoordinates = xCoordinates;
+        this.yCoordinates = yCoordinates;
+        this.edgeWeightType = edgeWeightType;
+        this.coordinateDistance = edgeWeightType.getCoordinateDistance();
+        this.numberOfNodes = xCoordinates.length;
+    }
+
+    /**
+     * Produces a random permutation of the route based on the presented graph.
+     *
+     * Draws from the thread's own random source, so the result cannot be reproduced; use
+     * {@link #getRandomRoute(Random)} with a seeded source where reproducibility matters.
+     *
+     * @return the random permutation.
+     */
+    public Vector<Integer> getRandomRoute() {
+        return getRandomRoute(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Produces a random permutation of the route based on the presented graph.
+     *
+     * @param random the source of randomness, which may be seeded to reproduce the route.
+     * @return the random permutation.
+     */
+    public Vector<Integer> getRandomRoute(Random random) {
+        return Tours.toVector(getRandomTour(random));
+    }
+
+    /**
+     * Produces a random permutation of the route as a primitive tour, using an in-place Fisher-Yates shuffle.
+     *
+     * @param random the source of randomness, which may be seeded to reproduce the tour.
+     * @return the random permutation.
+     */
+    public int[] getRandomTour(Random random) {
+        return Tours.shuffle(Tours.fillIdentity(new int[numberOfNodes]), random);
     }
 
     /**
      * Getter for the distance matrix.
      *
+     * Coordinate backed graphs materialise their matrix on the first call, which requires quadratic memory, so
+     * prefer {@link #getDistanceBetweenNodes(int, int)} for large graphs.
+     *
      * @return the current value of the distance matrix.
      */
     public double[][] getDistanceMatrix() {
-        return distanceMatrix;
+
+        double[][] matrix = distanceMatrix;
+        if(matrix != null) {
+            return matrix;
+        }
+
+        synchronized (this) {
+            matrix = distanceMatrix;
+            if(matrix == null) {
+                matrix = new double[numberOfNodes][numberOfNodes];
+
+                for(int rowIdx = 0; rowIdx < numberOfNodes; rowIdx++) {
+                    for(int colIdx = rowIdx + 1; colIdx < numberOfNodes; colIdx++) {
+                        final double distance = getDistanceBetweenNodes(rowIdx, colIdx);
+                        matrix[rowIdx][colIdx] = distance;
+                        matrix[colIdx][rowIdx] = distance;
+                    }
+                }
+                distanceMatrix = matrix;
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Getter for the number of nodes in the graph.
+     *
+     * @return the number of nodes.
+     */
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    /**
+     * Determines whether the graph is described by node coordinates.
+     *
+     * @return true when coordinates are available.
+     */
+    public boolean hasCoordinates() {
+        return xCoordinates != null;
+    }
+
+    /**
+     * Getter for the x coordinates of the nodes.
+     *
+     * @return the x coordinates, or null for graphs described by an explicit matrix.
+     */
+    public double[] getXCoordinates() {
+        return xCoordinates;
+    }
+
+    /**
+     * Getter for the y coordinates of the nodes.
+     *
+     * @return the y coordinates, or null for graphs described by an explicit matrix.
+     */
+    public double[] getYCoordinates() {
+        return yCoordinates;
+    }
+
+    /**
+     * Getter for the edge weight type.
+     *
+     * @return the method by which distances between nodes are evaluated.
+     */
+    public EdgeWeightType getEdgeWeightType() {
+        return edgeWeightType;
     }
 }
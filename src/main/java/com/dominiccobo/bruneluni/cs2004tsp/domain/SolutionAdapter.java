@@ -1,5 +1,7 @@
 package com.dominiccobo.bruneluni.cs2004tsp.domain;
 
+import java.util.Random;
+
 /**
  * Adapter for permitting different implementations of solutions for
  * problems of varying solution representation and solution evaluation.
@@ -49,12 +51,45 @@ public interface SolutionAdapter<T1 extends Number, T2> {
      */
     T1 getFitnessDifference(T2 representationA, T2 representationB);
 
+    /**
+     * Create an independent copy of the solution, unaffected by later changes to either solution.
+     * @return the copy of the solution.
+     */
+    SolutionAdapter<T1, T2> copy();
+
+    /**
+     * Create a new, uniformly random solution to the same problem, which proposes changes using the given source
+     * of randomness.
+     * @param random the source of randomness of the new solution.
+     * @return the random solution.
+     */
+    SolutionAdapter<T1, T2> createRandomSolution(Random random);
+
+    /**
+     * Overwrite the solution with the state of another solution to the same problem, reusing the storage of this
+     * solution rather than allocating where possible.
+     * @param solution the solution to copy.
+     */
+    void copyFrom(SolutionAdapter<T1, T2> solution);
+
     /**
      * Propose a change to the representation, in order to improve the suitability.
      * @return the proposed change to be evaluated.
      */
     T2 proposeChange();
 
+    /**
+     * Propose a change to the solution without applying it, held until accepted or replaced by another proposal.
+     * Implementations should evaluate only the part of the fitness the change affects.
+     * @return the fitness of the solution with the change applied, less its current fitness.
+     */
+    double proposeChangeDelta();
+
+    /**
+     * Apply the change last proposed by {@link #proposeChangeDelta()}.
+     */
+    void acceptProposedChange();
+
     /**
      * Propose another representatio
      *
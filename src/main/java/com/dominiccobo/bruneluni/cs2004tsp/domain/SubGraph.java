@@ -0,0 +1,58 @@
+package com.dominiccobo.bruneluni.cs2004tsp.domain;
+
+/**
+ * View onto a subset of the nodes of another graph, renumbered from zero, whose distances are looked up in the
+ * parent graph on demand so that no part of its matrix or coordinates is copied.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class SubGraph extends Graph {
+
+    /**
+     * The graph viewed.
+     */
+    private final Graph parentGraph;
+
+    /**
+     * The node of the parent graph each node of the view stands for.
+     */
+    private final int[] parentNodes;
+
+    /**
+     * Constructor for a view onto the given nodes of a graph.
+     *
+     * @param parentGraph the graph viewed.
+     * @param parentNodes the nodes of the parent graph to view, in the order they are numbered in the view.
+     */
+    public SubGraph(Graph parentGraph, int[] parentNodes) {
+        super(parentNodes.length);
+
+        for (int parentNode : parentNodes) {
+            if (parentNode < 0 || parentNode >= parentGraph.getNumberOfNodes()) {
+                throw new IllegalArgumentException("Invalid sub graph, nodes must belong to the parent graph");
+            }
+        }
+
+        this.parentGraph = parentGraph;
+        this.parentNodes = parentNodes.clone();
+    }
+
+    @Override
+    public double getDistanceBetweenNodes(int nodeAIndex, int nodeBIndex) {
+        return parentGraph.getDistanceBetweenNodes(parentNodes[nodeAIndex], parentNodes[nodeBIndex]);
+    }
+
+    /**
+     * Retrieves the node of the parent graph a node of the view stands for.
+     *
+     * @param node the node of the view.
+     * @return the node of the parent graph.
+     */
+    public int getParentNode(int node) {
+        return parentNodes[node];
+    }
+
+    public Graph getParentGraph() {
+        return parentGraph;
+    }
+}
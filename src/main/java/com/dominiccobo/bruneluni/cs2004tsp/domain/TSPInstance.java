@@ -0,0 +1,88 @@
+package com.dominiccobo.bruneluni.cs2004tsp.domain;
+
+/**
+ * Representation of a loaded Travelling Salesman problem instance, alongside the data derived from it that is
+ * expensive to recompute and is shared by every algorithm ran against the instance.
+ *
+ * Instances are immutable, so may be shared freely between threads.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class TSPInstance {
+
+    /**
+     * Identifying name of the instance.
+     */
+    private final String name;
+
+    /**
+     * The distance graph of the instance.
+     */
+    private final Graph graph;
+
+    /**
+     * The cost of the minimum spanning tree of the graph.
+     */
+    private final double minimumSpanningTreeCost;
+
+    /**
+     * The nearest neighbours of each node in the graph.
+     */
+    private final CandidateList candidateList;
+
+    /**
+     * Constructor instantiating an instance from its already derived data.
+     *
+     * @param name identifying name of the instance.
+     * @param graph the distance graph of the instance.
+     * @param minimumSpanningTreeCost the cost of the minimum spanning tree of the graph.
+     * @param candidateList the nearest neighbours of each node in the graph.
+     */
+    public TSPInstance(String name, Graph graph, double minimumSpanningTreeCost, CandidateList candidateList) {
+
+        if(graph == null || candidateList == null) {
+            throw new IllegalArgumentException("Invalid instance, graph and candidate list cannot be null");
+        }
+
+        this.name = name;
+        this.graph = graph;
+        this.minimumSpanningTreeCost = minimumSpanningTreeCost;
+        this.candidateList = candidateList;
+    }
+
+    /**
+     * Estimates the number of bytes of heap retained by the instance, used to bound caches of instances.
+     *
+     * @return the estimated size in bytes.
+     */
+    public long getEstimatedSizeInBytes() {
+
+        final long numberOfNodes = graph.getNumberOfNodes();
+        long estimatedSize = (long) candidateList.getNeighbours().length * Integer.BYTES;
+
+        if(graph.hasCoordinates()) {
+            estimatedSize += 2 * numberOfNodes * Double.BYTES;
+        }
+        else {
+            estimatedSize += numberOfNodes * numberOfNodes * Double.BYTES;
+        }
+
+        return estimatedSize;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public double getMinimumSpanningTreeCost() {
+        return minimumSpanningTreeCost;
+    }
+
+    public CandidateList getCandidateList() {
+        return candidateList;
+    }
+}
@@ -1,9 +1,10 @@
 package com.dominiccobo.bruneluni.cs2004tsp.domain;
 
 import com.dominiccobo.bruneluni.cs2004tsp.algorithms.MinimumSpanningTree;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
 
+import java.util.Random;
 import java.util.Vector;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Implementation of the SolutionAdapter interface, specific to the requirements and idiosyncracies of the
@@ -16,16 +17,46 @@ import java.util.concurrent.ThreadLocalRandom;
 public class TSPSolution implements SolutionAdapter<Double, Vector<Integer>> {
 
     /**
-     * A representation of the sorted nodes indices toured, where the node is a zero indexed representation
-     * of its position in the distance matrix.
+     * The sorted node indices toured, where the node is a zero indexed representation of its position in the
+     * distance matrix.
+     */
+    private int[] tour;
+
+    /**
+     * The vector representation of the tour, materialised on request and discarded when the tour changes.
      */
     private Vector<Integer> representation;
 
+    /**
+     * The length of the tour, maintained incrementally as changes are accepted, or NaN until calculated.
+     */
+    private double tourLength = Double.NaN;
+
     /**
      * A representation of the graph to solve for the problem.
      */
     private Graph distanceGraph;
 
+    /**
+     * The source of randomness used to propose changes.
+     */
+    private Random random;
+
+    /**
+     * The first position swapped by the pending proposal, or -1 when no change is pending.
+     */
+    private int proposedFirstIndex = -1;
+
+    /**
+     * The second position swapped by the pending proposal.
+     */
+    private int proposedSecondIndex;
+
+    /**
+     * The change in tour length the pending proposal would make.
+     */
+    private double proposedDelta;
+
     /**
      * Validator constructor, preventing TSP solution object from being instantiated without parameters.
      */
@@ -41,24 +72,99 @@ public class TSPSolution implements SolutionAdapter<Double, Vector<Integer>> {
      * @param distanceGraph distance matrix of doubles representing routes.
      */
     public TSPSolution(Vector<Integer> representation, Graph distanceGraph) {
-        this.representation = representation;
+        this(representation, distanceGraph, new XoroshiroRandom());
+    }
+
+    /**
+     * Parameterised constructor for a solution proposing changes from an injected source of randomness, so that
+     * a seeded source reproduces the same sequence of proposals.
+     *
+     * @param representation representation of the solution in terms of a series of weights.
+     * @param distanceGraph distance matrix of doubles representing routes.
+     * @param random the source of randomness used to propose changes.
+     */
+    public TSPSolution(Vector<Integer> representation, Graph distanceGraph, Random random) {
         this.distanceGraph = distanceGraph;
+        this.random = random;
+        setRepresentation(representation);
+    }
+
+    /**
+     * Parameterised constructor for a solution held as a primitive tour, which is not copied.
+     *
+     * @param tour the node indices toured.
+     * @param distanceGraph distance matrix of doubles representing routes.
+     * @param random the source of randomness used to propose changes.
+     */
+    public TSPSolution(int[] tour, Graph distanceGraph, Random random) {
+        this.tour = tour;
+        this.distanceGraph = distanceGraph;
+        this.random = random;
     }
 
 
     @Override
     public void setRepresentation(Vector<Integer> representation) {
         this.representation = representation;
+        this.tour = Tours.toArray(representation);
+        this.tourLength = Double.NaN;
+        this.proposedFirstIndex = -1;
     }
 
     @Override
     public Vector<Integer> getRepresentation() {
+        if (representation == null) {
+            representation = Tours.toVector(tour);
+        }
         return this.representation;
     }
 
     @Override
     public Double getFitness() {
-        return this.distanceGraph.getDistanceGivenRoute(representation);
+        return getTourLength();
+    }
+
+    /**
+     * Retrieves the length of the tour without boxing, calculating it only if it is not already known.
+     *
+     * @return the length of the tour.
+     */
+    public double getTourLength() {
+        if (Double.isNaN(tourLength)) {
+            tourLength = distanceGraph.getTourLength(tour);
+        }
+        return tourLength;
+    }
+
+    /**
+     * Retrieves a copy of the node indices toured.
+     *
+     * @return the copied tour.
+     */
+    public int[] getTour() {
+        return tour.clone();
+    }
+
+    /**
+     * Overwrites the tour with one of known length, copying it into the existing array without any boxing.
+     *
+     * @param tour the node indices to tour.
+     * @param tourLength the length of the tour.
+     */
+    public void setTour(int[] tour, double tourLength) {
+
+        if (tour.length != this.tour.length) {
+            this.tour = new int[tour.length];
+        }
+        System.arraycopy(tour, 0, this.tour, 0, tour.length);
+
+        this.tourLength = tourLength;
+        this.representation = null;
+        this.proposedFirstIndex = -1;
+    }
+
+    public Graph getDistanceGraph() {
+        return distanceGraph;
     }
 
     @Override
@@ -72,26 +178,145 @@ public class TSPSolution implements SolutionAdapter<Double, Vector<Integer>> {
     }
 
     @Override
-    public Vector<Integer> proposeChange() {
+    public TSPSolution copy() {
+        final TSPSolution copy = new TSPSolution(tour.clone(), distanceGraph, random);
+        copy.tourLength = this.tourLength;
+        return copy;
+    }
+
+    @Override
+    public TSPSolution createRandomSolution(Random random) {
+        return new TSPSolution(distanceGraph.getRandomTour(random), distanceGraph, random);
+    }
+
+    @Override
+    public void copyFrom(SolutionAdapter<Double, Vector<Integer>> solution) {
 
-        int firstRandomIndex = 0;
-        int secondRandomIndex = 0;
+        if (!(solution instanceof TSPSolution)) {
+            setRepresentation(new Vector<>(solution.getRepresentation()));
+            return;
+        }
+
+        final TSPSolution source = (TSPSolution) solution;
 
-        while (firstRandomIndex == secondRandomIndex) {
-            firstRandomIndex = ThreadLocalRandom.current().nextInt(0, getRepresentation().size()-1);
-            secondRandomIndex = ThreadLocalRandom.current().nextInt(0, getRepresentation().size()-1);
+        if (tour.length != source.tour.length) {
+            tour = new int[source.tour.length];
         }
+        System.arraycopy(source.tour, 0, tour, 0, tour.length);
 
-        final int valueOfFirstIndex = getRepresentation().get(firstRandomIndex);
-        final int valueOfSecondIndex = getRepresentation().get(secondRandomIndex);
+        this.tourLength = source.tourLength;
+        this.representation = null;
+        this.proposedFirstIndex = -1;
+    }
+
+    @Override
+    public Vector<Integer> proposeChange() {
+
+        final int firstRandomIndex = random.nextInt(tour.length);
+        int secondRandomIndex = random.nextInt(tour.length - 1);
+        if (secondRandomIndex >= firstRandomIndex) {
+            secondRandomIndex++;
+        }
 
         // NB. pointing it directly to getRepresentation will return a soft-copy.. this is a better solution.
-        Vector<Integer> representationCopy = new Vector<>();
-        representationCopy.addAll(getRepresentation());
-        representationCopy.set(firstRandomIndex, valueOfSecondIndex);
-        representationCopy.set(secondRandomIndex, valueOfFirstIndex);
+        Vector<Integer> representationCopy = Tours.toVector(tour);
+        representationCopy.set(firstRandomIndex, tour[secondRandomIndex]);
+        representationCopy.set(secondRandomIndex, tour[firstRandomIndex]);
+
+        return representationCopy;
+    }
+
+    /**
+     * Proposes swapping two random nodes of the tour, evaluating only the at most four edges the swap changes.
+     *
+     * @return the change in tour length the swap would make.
+     */
+    @Override
+    public double proposeChangeDelta() {
+
+        final int numberOfNodes = tour.length;
+        final int firstIndex = random.nextInt(numberOfNodes);
+        int secondIndex = random.nextInt(numberOfNodes - 1);
+        if (secondIndex >= firstIndex) {
+            secondIndex++;
+        }
+
+        this.proposedFirstIndex = firstIndex;
+        this.proposedSecondIndex = secondIndex;
+        this.proposedDelta = getSwapDelta(firstIndex, secondIndex);
+
+        return proposedDelta;
+    }
 
-        return new Vector<>(representationCopy);
+    @Override
+    public void acceptProposedChange() {
+
+        if (proposedFirstIndex == -1) {
+            throw new IllegalStateException("No proposed change to accept");
+        }
+
+        final int node = tour[proposedFirstIndex];
+        tour[proposedFirstIndex] = tour[proposedSecondIndex];
+        tour[proposedSecondIndex] = node;
+
+        // a NaN length stays unknown, to be calculated in full when next needed.
+        this.tourLength += proposedDelta;
+        this.representation = null;
+        this.proposedFirstIndex = -1;
+    }
+
+    /**
+     * Calculates the change in tour length made by swapping the nodes at two positions. Only the edges starting
+     * at the positions before and at each swapped node change, and adjacent positions share edges, so each
+     * distinct edge is counted once.
+     *
+     * @param firstIndex the first position to swap.
+     * @param secondIndex the second position to swap.
+     * @return the change in tour length.
+     */
+    private double getSwapDelta(int firstIndex, int secondIndex) {
+
+        final int numberOfNodes = tour.length;
+        final int beforeFirst = (firstIndex == 0) ? numberOfNodes - 1 : firstIndex - 1;
+        final int beforeSecond = (secondIndex == 0) ? numberOfNodes - 1 : secondIndex - 1;
+
+        double delta = getEdgeDelta(beforeFirst, firstIndex, secondIndex)
+                + getEdgeDelta(firstIndex, firstIndex, secondIndex);
+
+        if (beforeSecond != beforeFirst && beforeSecond != firstIndex) {
+            delta += getEdgeDelta(beforeSecond, firstIndex, secondIndex);
+        }
+        if (secondIndex != beforeFirst) {
+            delta += getEdgeDelta(secondIndex, firstIndex, secondIndex);
+        }
+
+        return delta;
+    }
+
+    /**
+     * Calculates the change in length of the edge starting at a position made by swapping two positions.
+     *
+     * @param edgeStart the position the edge starts at.
+     * @param firstIndex the first position to swap.
+     * @param secondIndex the second position to swap.
+     * @return the change in length of the edge.
+     */
+    private double getEdgeDelta(int edgeStart, int firstIndex, int secondIndex) {
+        final int edgeEnd = (edgeStart == tour.length - 1) ? 0 : edgeStart + 1;
+        return distanceGraph.getDistanceBetweenNodes(
+                getNodeAfterSwap(edgeStart, firstIndex, secondIndex),
+                getNodeAfterSwap(edgeEnd, firstIndex, secondIndex)
+        ) - distanceGraph.getDistanceBetweenNodes(tour[edgeStart], tour[edgeEnd]);
+    }
+
+    private int getNodeAfterSwap(int position, int firstIndex, int secondIndex) {
+        if (position == firstIndex) {
+            return tour[secondIndex];
+        }
+        if (position == secondIndex) {
+            return tour[firstIndex];
+        }
+        return tour[position];
     }
 
     @Override
@@ -104,18 +329,12 @@ public class TSPSolution implements SolutionAdapter<Double, Vector<Integer>> {
     }
 
     /**
-     * Calculates the minimum spanning tree of the distance current distance graph and then calculates its cost.
+     * Calculates the minimum spanning tree of the current distance graph and then calculates its cost, evaluating
+     * distances on demand rather than materialising the distance matrix.
      * @return the cost of the current MST.
      */
     public double getMinimumSpanningTreeCost() {
-        final double[][] mstResult = MinimumSpanningTree.primsMST(
-                distanceGraph.getDistanceMatrix()
-        );
-
-        // functional programming -> takes 2D array and sums up values to generate MST.
-        final double minimumSpanningTreeCost = MinimumSpanningTree.getMSTCost(mstResult);
-
-        return minimumSpanningTreeCost;
+        return MinimumSpanningTree.getMSTCost(distanceGraph);
     }
 
     /**
@@ -0,0 +1,76 @@
+package com.dominiccobo.bruneluni.cs2004tsp.domain;
+
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * Class containing a series of utilities for handling tours held as primitive arrays of node indices.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class Tours {
+
+    @SuppressWarnings("unused")
+    private Tours() {
+        throw new IllegalArgumentException("No constructor permitted");
+    }
+
+    /**
+     * Fills a tour with the nodes in ascending order.
+     *
+     * @param tour the tour to fill.
+     * @return the filled tour.
+     */
+    public static int[] fillIdentity(int[] tour) {
+        for (int i = 0; i < tour.length; i++) {
+            tour[i] = i;
+        }
+        return tour;
+    }
+
+    /**
+     * Shuffles a tour in place using the Fisher-Yates algorithm, giving a uniformly random permutation of
+     * its nodes in O(n) time.
+     *
+     * @param tour the tour to shuffle.
+     * @param random the source of randomness.
+     * @return the shuffled tour.
+     */
+    public static int[] shuffle(int[] tour, Random random) {
+        for (int i = tour.length - 1; i > 0; i--) {
+            final int swapIdx = random.nextInt(i + 1);
+            final int node = tour[i];
+            tour[i] = tour[swapIdx];
+            tour[swapIdx] = node;
+        }
+        return tour;
+    }
+
+    /**
+     * Converts a primitive tour into its vector representation.
+     *
+     * @param tour the tour to convert.
+     * @return the vector of nodes.
+     */
+    public static Vector<Integer> toVector(int[] tour) {
+        final Vector<Integer> nodesInTour = new Vector<>(tour.length);
+        for (int node : tour) {
+            nodesInTour.add(node);
+        }
+        return nodesInTour;
+    }
+
+    /**
+     * Converts the vector representation of a tour into a primitive tour.
+     *
+     * @param nodesInTour the vector of nodes to convert.
+     * @return the primitive tour.
+     */
+    public static int[] toArray(Vector<Integer> nodesInTour) {
+        final int[] tour = new int[nodesInTour.size()];
+        for (int i = 0; i < tour.length; i++) {
+            tour[i] = nodesInTour.get(i);
+        }
+        return tour;
+    }
+}
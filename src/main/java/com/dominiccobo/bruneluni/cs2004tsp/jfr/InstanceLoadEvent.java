@@ -0,0 +1,46 @@
+package com.dominiccobo.bruneluni.cs2004tsp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning the loading of an instance, from reading its file or sidecar to holding its
+ * precomputed bound and candidate lists.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@Name("com.dominiccobo.bruneluni.cs2004tsp.InstanceLoad")
+@Label("Instance Load")
+@Category({"CS2004 TSP", "Instances"})
+@Description("Loading of an instance and its precomputed data")
+public class InstanceLoadEvent extends jdk.jfr.Event {
+
+    @Label("Instance")
+    private String instance;
+
+    @Label("Nodes")
+    private int nodes;
+
+    @Label("From Sidecar")
+    @Description("Whether the instance was read from its precomputed binary sidecar")
+    private boolean fromSidecar;
+
+    /**
+     * Ends the event, committing it if it is being recorded.
+     *
+     * @param instance the file name of the instance.
+     * @param nodes the number of nodes of the instance.
+     * @param fromSidecar whether the instance was read from its sidecar.
+     */
+    public void complete(String instance, int nodes, boolean fromSidecar) {
+        end();
+        if (shouldCommit()) {
+            this.instance = instance;
+            this.nodes = nodes;
+            this.fromSidecar = fromSidecar;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dominiccobo.bruneluni.cs2004tsp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event marking a search algorithm finding a new best solution.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@Name("com.dominiccobo.bruneluni.cs2004tsp.NewBest")
+@Label("New Best Solution")
+@Category({"CS2004 TSP", "Search"})
+@Description("A search algorithm improving on its best solution")
+@StackTrace(false)
+public class NewBestEvent extends jdk.jfr.Event {
+
+    @Label("Algorithm")
+    private Class<?> algorithm;
+
+    @Label("Iteration")
+    private long iteration;
+
+    @Label("Fitness")
+    private double fitness;
+
+    /**
+     * Commits an event if new best solutions are being recorded.
+     *
+     * @param algorithm the class of the algorithm improving.
+     * @param iteration the iteration the improvement was found in.
+     * @param fitness the fitness of the new best solution.
+     */
+    public static void emit(Class<?> algorithm, long iteration, double fitness) {
+        final NewBestEvent event = new NewBestEvent();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.iteration = iteration;
+            event.fitness = fitness;
+            event.commit();
+        }
+    }
+}
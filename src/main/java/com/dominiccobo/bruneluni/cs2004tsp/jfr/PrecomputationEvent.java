@@ -0,0 +1,50 @@
+package com.dominiccobo.bruneluni.cs2004tsp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning the precomputation of an instance's minimum spanning tree bound and candidate
+ * lists, which is skipped when the instance is read from its sidecar.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@Name("com.dominiccobo.bruneluni.cs2004tsp.Precomputation")
+@Label("Precomputation")
+@Category({"CS2004 TSP", "Instances"})
+@Description("Precomputation of the minimum spanning tree bound and candidate lists of an instance")
+public class PrecomputationEvent extends jdk.jfr.Event {
+
+    @Label("Instance")
+    private String instance;
+
+    @Label("Nodes")
+    private int nodes;
+
+    @Label("MST Cost")
+    private double mstCost;
+
+    @Label("Candidates Per Node")
+    private int candidatesPerNode;
+
+    /**
+     * Ends the event, committing it if it is being recorded.
+     *
+     * @param instance the file name of the instance.
+     * @param nodes the number of nodes of the instance.
+     * @param mstCost the cost of the minimum spanning tree.
+     * @param candidatesPerNode the number of candidates listed per node.
+     */
+    public void complete(String instance, int nodes, double mstCost, int candidatesPerNode) {
+        end();
+        if (shouldCommit()) {
+            this.instance = instance;
+            this.nodes = nodes;
+            this.mstCost = mstCost;
+            this.candidatesPerNode = candidatesPerNode;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dominiccobo.bruneluni.cs2004tsp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event marking a cooling schedule reheating after the search stagnated.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@Name("com.dominiccobo.bruneluni.cs2004tsp.Reheat")
+@Label("Reheat")
+@Category({"CS2004 TSP", "Search"})
+@Description("A cooling schedule raising its temperature")
+@StackTrace(false)
+public class ReheatEvent extends jdk.jfr.Event {
+
+    @Label("Iteration")
+    private long iteration;
+
+    @Label("Temperature")
+    private double temperature;
+
+    @Label("Reheats")
+    private int reheats;
+
+    /**
+     * Commits an event if reheats are being recorded.
+     *
+     * @param iteration the iteration the schedule reheated at.
+     * @param temperature the temperature reheated to.
+     * @param reheats the number of reheats so far, including this one.
+     */
+    public static void emit(long iteration, double temperature, int reheats) {
+        final ReheatEvent event = new ReheatEvent();
+        if (event.shouldCommit()) {
+            event.iteration = iteration;
+            event.temperature = temperature;
+            event.reheats = reheats;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.dominiccobo.bruneluni.cs2004tsp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event marking a search algorithm restarting from a fresh or perturbed solution.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@Name("com.dominiccobo.bruneluni.cs2004tsp.Restart")
+@Label("Restart")
+@Category({"CS2004 TSP", "Search"})
+@Description("A search algorithm restarting")
+@StackTrace(false)
+public class RestartEvent extends jdk.jfr.Event {
+
+    @Label("Algorithm")
+    private Class<?> algorithm;
+
+    @Label("Restart")
+    private long restart;
+
+    /**
+     * Commits an event if restarts are being recorded.
+     *
+     * @param algorithm the class of the algorithm restarting.
+     * @param restart the index of the restart.
+     */
+    public static void emit(Class<?> algorithm, long restart) {
+        final RestartEvent event = new RestartEvent();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.restart = restart;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.dominiccobo.bruneluni.cs2004tsp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning a single run of a search algorithm, from its start to the return of its best
+ * solution.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@Name("com.dominiccobo.bruneluni.cs2004tsp.SearchRun")
+@Label("Search Run")
+@Category({"CS2004 TSP", "Search"})
+@Description("A run of a search algorithm")
+public class SearchRunEvent extends jdk.jfr.Event {
+
+    @Label("Algorithm")
+    private Class<?> algorithm;
+
+    @Label("Iterations")
+    private long iterations;
+
+    @Label("Best Fitness")
+    private double bestFitness;
+
+    /**
+     * Ends the event, committing it if it is being recorded.
+     *
+     * @param algorithm the class of the algorithm ran.
+     * @param iterations the number of iterations performed.
+     * @param bestFitness the fitness of the best solution found.
+     */
+    public void complete(Class<?> algorithm, long iterations, double bestFitness) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            this.iterations = iterations;
+            this.bestFitness = bestFitness;
+            commit();
+        }
+    }
+}
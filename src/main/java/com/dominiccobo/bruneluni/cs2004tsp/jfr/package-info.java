@@ -0,0 +1,8 @@
+/**
+ * Java Flight Recorder events emitted by the solver, letting its phases, runs and improvements be correlated with
+ * garbage collection, safepoints and CPU contention using standard JFR tooling. Each event checks whether it is
+ * enabled before filling in its fields, so nothing is computed while recording is off.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+package com.dominiccobo.bruneluni.cs2004tsp.jfr;
@@ -0,0 +1,39 @@
+package com.dominiccobo.bruneluni.cs2004tsp.localsearch;
+
+import java.util.Random;
+
+/**
+ * Criterion deciding whether iterated local search moves from its current local optimum to a new one.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public interface AcceptanceCriterion {
+
+    /**
+     * Prepares the criterion for a new search.
+     *
+     * @param plannedIterations the number of iterations the search is planned to perform.
+     */
+    void start(long plannedIterations);
+
+    /**
+     * Decides whether to move to a new local optimum.
+     *
+     * @param candidateLength the length of the new local optimum.
+     * @param currentLength the length of the current local optimum.
+     * @param iterationsPerformed the number of iterations performed so far.
+     * @param elapsedFraction the fraction of the time budget elapsed, or NaN when the search is not time budgeted.
+     * @param random the source of randomness.
+     * @return whether to move.
+     */
+    boolean accept(double candidateLength, double currentLength, long iterationsPerformed, double elapsedFraction,
+                   Random random);
+
+    /**
+     * Decides whether to abandon the current local optimum for a fresh tour.
+     *
+     * @param iterationsWithoutImprovement the number of iterations since the current local optimum last improved.
+     * @return whether to restart.
+     */
+    boolean shouldRestart(long iterationsWithoutImprovement);
+}
@@ -0,0 +1,68 @@
+package com.dominiccobo.bruneluni.cs2004tsp.localsearch;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.AcceptanceTable;
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.CoolingSchedule;
+
+import java.util.Random;
+
+/**
+ * Acceptance of longer local optima with the Metropolis probability of simulated annealing, at a temperature
+ * following a cooling schedule over the iterations of the search.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class AnnealingAcceptance implements AcceptanceCriterion {
+
+    /**
+     * The temperature at the start of the search.
+     */
+    private final double initialTemperature;
+
+    /**
+     * The schedule the temperature follows.
+     */
+    private final CoolingSchedule coolingSchedule;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param initialTemperature the temperature at the start of the search.
+     * @param coolingSchedule the schedule the temperature follows.
+     */
+    public AnnealingAcceptance(double initialTemperature, CoolingSchedule coolingSchedule) {
+
+        if (!(initialTemperature > 0) || coolingSchedule == null) {
+            throw new IllegalArgumentException("Initial temperature must be positive and schedule given");
+        }
+
+        this.initialTemperature = initialTemperature;
+        this.coolingSchedule = coolingSchedule;
+    }
+
+    @Override
+    public void start(long plannedIterations) {
+        coolingSchedule.start(initialTemperature, plannedIterations);
+    }
+
+    @Override
+    public boolean accept(double candidateLength, double currentLength, long iterationsPerformed,
+                          double elapsedFraction, Random random) {
+
+        final double temperature = coolingSchedule.getTemperature(iterationsPerformed + 1, elapsedFraction);
+        final double worsening = candidateLength - currentLength;
+
+        if (worsening < 0) {
+            coolingSchedule.recordImprovement(iterationsPerformed);
+            return true;
+        }
+
+        final boolean accepted = AcceptanceTable.METROPOLIS.accept(worsening, temperature, random);
+        coolingSchedule.recordWorseProposal(accepted);
+        return accepted;
+    }
+
+    @Override
+    public boolean shouldRestart(long iterationsWithoutImprovement) {
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package com.dominiccobo.bruneluni.cs2004tsp.localsearch;
+
+import java.util.Random;
+
+/**
+ * Acceptance of a new local optimum only when it is shorter than the current one, optionally restarting from a
+ * fresh tour once the current local optimum stops improving.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class BetterAcceptance implements AcceptanceCriterion {
+
+    /**
+     * The number of iterations without improvement after which to restart, or zero to never restart.
+     */
+    private final long restartPatience;
+
+    /**
+     * Constructor for a criterion that never restarts.
+     */
+    public BetterAcceptance() {
+        this(0);
+    }
+
+    /**
+     * Constructor for a criterion that restarts once the current local optimum stops improving.
+     *
+     * @param restartPatience the number of iterations without improvement after which to restart, or zero to
+     *                        never restart.
+     */
+    public BetterAcceptance(long restartPatience) {
+
+        if (restartPatience < 0) {
+            throw new IllegalArgumentException("Restart patience cannot be negative");
+        }
+
+        this.restartPatience = restartPatience;
+    }
+
+    @Override
+    public void start(long plannedIterations) {
+    }
+
+    @Override
+    public boolean accept(double candidateLength, double currentLength, long iterationsPerformed,
+                          double elapsedFraction, Random random) {
+        return candidateLength < currentLength;
+    }
+
+    @Override
+    public boolean shouldRestart(long iterationsWithoutImprovement) {
+        return restartPatience > 0 && iterationsWithoutImprovement >= restartPatience;
+    }
+}
@@ -0,0 +1,515 @@
+package com.dominiccobo.bruneluni.cs2004tsp.localsearch;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+
+/**
+ * Tour held as a primitive array alongside the position of each node, supporting 2-opt local search over candidate
+ * lists and the localised perturbations of iterated local search.
+ *
+ * Only the nodes queued as active are searched from, and nodes are queued only when an edge at them changes, so a
+ * local search following a perturbation does work proportional to the region the perturbation changed rather than
+ * to the size of the tour. Changes are journaled by position against the last committed tour, so they may be
+ * committed or rolled back in time proportional to the number of positions changed.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class LocalSearchTour {
+
+    /**
+     * Changes in length smaller than this are treated as no change, so rounding cannot cause endless moves.
+     */
+    private static final double IMPROVEMENT_EPSILON = 1e-9;
+
+    /**
+     * The graph the tour visits.
+     */
+    private final Graph graph;
+
+    /**
+     * The nearest neighbours of each node, from which 2-opt moves are drawn.
+     */
+    private final CandidateList candidateList;
+
+    /**
+     * The node at each position of the tour.
+     */
+    private final int[] tour;
+
+    /**
+     * The position of each node in the tour.
+     */
+    private final int[] positions;
+
+    /**
+     * The node at each position of the last committed tour.
+     */
+    private final int[] committedTour;
+
+    /**
+     * The positions changed since the last commit or rollback.
+     */
+    private final int[] journal;
+
+    /**
+     * Whether each position is already in the journal.
+     */
+    private final boolean[] journaled;
+
+    /**
+     * The number of positions in the journal.
+     */
+    private int journalSize;
+
+    /**
+     * Scratch space for rewriting paths.
+     */
+    private final int[] pathBuffer;
+
+    /**
+     * Ring buffer of the nodes queued to be searched from.
+     */
+    private final int[] activeQueue;
+
+    /**
+     * Whether each node is already queued.
+     */
+    private final boolean[] active;
+
+    /**
+     * The position in the queue of the next node to be searched from.
+     */
+    private int queueHead;
+
+    /**
+     * The number of nodes queued.
+     */
+    private int queueSize;
+
+    /**
+     * The length of the tour.
+     */
+    private double length;
+
+    /**
+     * The length of the last committed tour.
+     */
+    private double committedLength;
+
+    /**
+     * Constructor for a tour, which is committed as given and has no nodes queued.
+     *
+     * @param tour the node indices toured, which are copied.
+     * @param graph the graph the tour visits.
+     * @param candidateList the nearest neighbours of each node.
+     */
+    public LocalSearchTour(int[] tour, Graph graph, CandidateList candidateList) {
+
+        if (tour.length != graph.getNumberOfNodes()) {
+            throw new IllegalArgumentException("Tour must visit every node of the graph");
+        }
+
+        final int numberOfNodes = tour.length;
+
+        this.graph = graph;
+        this.candidateList = candidateList;
+        this.tour = new int[numberOfNodes];
+        this.positions = new int[numberOfNodes];
+        this.committedTour = new int[numberOfNodes];
+        this.journal = new int[numberOfNodes];
+        this.journaled = new boolean[numberOfNodes];
+        this.activeQueue = new int[numberOfNodes];
+        this.active = new boolean[numberOfNodes];
+        this.pathBuffer = new int[numberOfNodes];
+
+        reset(tour);
+    }
+
+    /**
+     * Replaces the whole tour, committing it and emptying the queue.
+     *
+     * @param tour the node indices toured, which are copied.
+     */
+    public void reset(int[] tour) {
+
+        System.arraycopy(tour, 0, this.tour, 0, tour.length);
+        System.arraycopy(tour, 0, this.committedTour, 0, tour.length);
+        for (int position = 0; position < tour.length; position++) {
+            positions[tour[position]] = position;
+            journaled[position] = false;
+            active[position] = false;
+        }
+
+        this.journalSize = 0;
+        this.queueHead = 0;
+        this.queueSize = 0;
+        this.length = graph.getTourLength(this.tour);
+        this.committedLength = this.length;
+    }
+
+    /**
+     * Queues every node to be searched from, so the next local search descends from scratch.
+     */
+    public void activateAll() {
+        for (int position = 0; position < tour.length; position++) {
+            activate(tour[position]);
+        }
+    }
+
+    /**
+     * Queues a node to be searched from, unless it already is.
+     *
+     * @param node the node to queue.
+     */
+    public void activate(int node) {
+        if (!active[node]) {
+            active[node] = true;
+            activeQueue[(queueHead + queueSize) % activeQueue.length] = node;
+            queueSize++;
+        }
+    }
+
+    /**
+     * Applies improving 2-opt moves from the queued nodes until none remain, leaving the tour 2-optimal with
+     * respect to the candidate lists around the nodes that were queued.
+     *
+     * Each queued node is tried as the end of an edge to its successor and to its predecessor, against each
+     * candidate neighbour nearer to it than the other end of that edge. The four ends of each applied move are
+     * queued again, and a node is dropped from the queue once no move improves on it.
+     */
+    public void optimise() {
+
+        if (tour.length < 4) {
+            while (queueSize > 0) {
+                active[pollActive()] = false;
+            }
+            return;
+        }
+
+        while (queueSize > 0) {
+
+            final int node = pollActive();
+            active[node] = false;
+
+            // repeat from the node while moves keep improving it.
+            boolean improved = true;
+            while (improved) {
+                improved = improveFrom(node, true) || improveFrom(node, false);
+            }
+        }
+    }
+
+    /**
+     * Tries to apply an improving 2-opt move removing the edge between a node and one of its neighbours in the
+     * tour.
+     *
+     * @param nodeA the node to improve from.
+     * @param towardsSuccessor whether the removed edge leads to the successor, rather than the predecessor.
+     * @return whether a move was applied.
+     */
+    private boolean improveFrom(int nodeA, boolean towardsSuccessor) {
+
+        final int positionA = positions[nodeA];
+        final int nodeB = towardsSuccessor ? tour[next(positionA)] : tour[previous(positionA)];
+        final double edgeAB = graph.getDistanceBetweenNodes(nodeA, nodeB);
+
+        for (int rank = 0; rank < candidateList.getCandidatesPerNode(); rank++) {
+
+            final int nodeC = candidateList.getNeighbour(nodeA, rank);
+            final double edgeAC = graph.getDistanceBetweenNodes(nodeA, nodeC);
+
+            // candidates are ordered by distance, so no later candidate can gain on the removed edge either.
+            if (edgeAC >= edgeAB) {
+                return false;
+            }
+
+            final int positionC = positions[nodeC];
+            final int nodeD = towardsSuccessor ? tour[next(positionC)] : tour[previous(positionC)];
+            if (nodeC == nodeB || nodeD == nodeA) {
+                continue;
+            }
+
+            final double delta = edgeAC + graph.getDistanceBetweenNodes(nodeB, nodeD)
+                    - edgeAB - graph.getDistanceBetweenNodes(nodeC, nodeD);
+
+            if (delta < -IMPROVEMENT_EPSILON) {
+                // replacing (a, b) and (c, d) with (a, c) and (b, d) reverses the path between them.
+                if (towardsSuccessor) {
+                    reverse(positions[nodeB], positionC);
+                }
+                else {
+                    reverse(positionA, positions[nodeD]);
+                }
+                length += delta;
+                activate(nodeB);
+                activate(nodeC);
+                activate(nodeD);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reverses the nodes between two positions, inclusive, running forwards from the first and wrapping around the
+     * end of the tour. The complement is reversed instead when shorter, which gives the same cycle, so at most half
+     * of the tour is rewritten. The length of the tour is left to the caller.
+     *
+     * @param fromPosition the first position of the path.
+     * @param toPosition the last position of the path.
+     */
+    private void reverse(int fromPosition, int toPosition) {
+
+        final int numberOfNodes = tour.length;
+        int pathLength = toPosition - fromPosition;
+        if (pathLength < 0) {
+            pathLength += numberOfNodes;
+        }
+        pathLength++;
+
+        if (pathLength * 2 > numberOfNodes) {
+            final int complementFrom = next(toPosition);
+            toPosition = previous(fromPosition);
+            fromPosition = complementFrom;
+            pathLength = numberOfNodes - pathLength;
+        }
+
+        int left = fromPosition;
+        int right = toPosition;
+        for (int i = 0; i < pathLength / 2; i++) {
+            final int leftNode = tour[left];
+            setNode(left, tour[right]);
+            setNode(right, leftNode);
+            left = next(left);
+            right = previous(right);
+        }
+    }
+
+    /**
+     * Swaps the nodes at two distinct positions, queueing the nodes whose edges change.
+     *
+     * @param firstPosition the first position to swap.
+     * @param secondPosition the second position to swap.
+     */
+    public void swap(int firstPosition, int secondPosition) {
+
+        final double removed = getAdjacentEdges(firstPosition, secondPosition);
+
+        final int firstNode = tour[firstPosition];
+        setNode(firstPosition, tour[secondPosition]);
+        setNode(secondPosition, firstNode);
+
+        length += getAdjacentEdges(firstPosition, secondPosition) - removed;
+
+        activateAround(firstPosition);
+        activateAround(secondPosition);
+    }
+
+    /**
+     * Reverses the path between two positions, inclusive, queueing the nodes whose edges change.
+     *
+     * @param fromPosition the first position of the path.
+     * @param toPosition the last position of the path.
+     */
+    public void reversePath(int fromPosition, int toPosition) {
+
+        final int before = tour[previous(fromPosition)];
+        final int first = tour[fromPosition];
+        final int last = tour[toPosition];
+        final int after = tour[next(toPosition)];
+
+        if (before == last || after == first) {
+            return;
+        }
+
+        length += graph.getDistanceBetweenNodes(before, last) + graph.getDistanceBetweenNodes(first, after)
+                - graph.getDistanceBetweenNodes(before, first) - graph.getDistanceBetweenNodes(last, after);
+
+        reverse(fromPosition, toPosition);
+
+        activate(before);
+        activate(first);
+        activate(last);
+        activate(after);
+    }
+
+    /**
+     * Exchanges two consecutive paths, a segment double bridge, turning ... a | b ... | c ... | d ... into
+     * ... a | c ... | b ... | d ..., queueing the nodes whose edges change. Only the two paths are rewritten.
+     *
+     * @param startPosition the position of the node before the first path.
+     * @param firstPathLength the number of nodes in the first path.
+     * @param secondPathLength the number of nodes in the second path.
+     */
+    public void exchangePaths(int startPosition, int firstPathLength, int secondPathLength) {
+
+        final int numberOfNodes = tour.length;
+        if (firstPathLength < 1 || secondPathLength < 1 || firstPathLength + secondPathLength + 2 > numberOfNodes) {
+            throw new IllegalArgumentException("Paths must be non empty and leave two nodes outside them");
+        }
+
+        final int firstStart = next(startPosition);
+        final int secondStart = (firstStart + firstPathLength) % numberOfNodes;
+        final int secondEnd = (secondStart + secondPathLength - 1) % numberOfNodes;
+
+        final int nodeA = tour[startPosition];
+        final int firstHead = tour[firstStart];
+        final int firstTail = tour[previous(secondStart)];
+        final int secondHead = tour[secondStart];
+        final int secondTail = tour[secondEnd];
+        final int nodeD = tour[next(secondEnd)];
+
+        length += graph.getDistanceBetweenNodes(nodeA, secondHead)
+                + graph.getDistanceBetweenNodes(secondTail, firstHead)
+                + graph.getDistanceBetweenNodes(firstTail, nodeD)
+                - graph.getDistanceBetweenNodes(nodeA, firstHead)
+                - graph.getDistanceBetweenNodes(firstTail, secondHead)
+                - graph.getDistanceBetweenNodes(secondTail, nodeD);
+
+        int position = firstStart;
+        for (int i = 0; i < firstPathLength + secondPathLength; i++) {
+            pathBuffer[i] = tour[position];
+            position = next(position);
+        }
+
+        position = firstStart;
+        for (int i = 0; i < secondPathLength; i++) {
+            setNode(position, pathBuffer[firstPathLength + i]);
+            position = next(position);
+        }
+        for (int i = 0; i < firstPathLength; i++) {
+            setNode(position, pathBuffer[i]);
+            position = next(position);
+        }
+
+        activate(nodeA);
+        activate(firstHead);
+        activate(firstTail);
+        activate(secondHead);
+        activate(secondTail);
+        activate(nodeD);
+    }
+
+    /**
+     * Accepts every change since the last commit or rollback.
+     */
+    public void commit() {
+        for (int i = 0; i < journalSize; i++) {
+            final int position = journal[i];
+            committedTour[position] = tour[position];
+            journaled[position] = false;
+        }
+        journalSize = 0;
+        committedLength = length;
+    }
+
+    /**
+     * Undoes every change since the last commit or rollback.
+     */
+    public void rollback() {
+        for (int i = 0; i < journalSize; i++) {
+            final int position = journal[i];
+            tour[position] = committedTour[position];
+            positions[tour[position]] = position;
+            journaled[position] = false;
+        }
+        journalSize = 0;
+        length = committedLength;
+    }
+
+    /**
+     * Writes a node to a position, journaling the position if it has not changed since the last commit.
+     *
+     * @param position the position to write.
+     * @param node the node to write.
+     */
+    private void setNode(int position, int node) {
+        if (!journaled[position]) {
+            journaled[position] = true;
+            journal[journalSize++] = position;
+        }
+        tour[position] = node;
+        positions[node] = position;
+    }
+
+    /**
+     * Sums the lengths of the distinct edges at either side of two positions.
+     *
+     * @param firstPosition the first position.
+     * @param secondPosition the second position.
+     * @return the summed length.
+     */
+    private double getAdjacentEdges(int firstPosition, int secondPosition) {
+
+        final int beforeFirst = previous(firstPosition);
+        final int beforeSecond = previous(secondPosition);
+
+        double edges = getEdge(beforeFirst) + getEdge(firstPosition);
+        if (beforeSecond != beforeFirst && beforeSecond != firstPosition) {
+            edges += getEdge(beforeSecond);
+        }
+        if (secondPosition != beforeFirst) {
+            edges += getEdge(secondPosition);
+        }
+        return edges;
+    }
+
+    /**
+     * Retrieves the length of the edge starting at a position.
+     *
+     * @param position the position the edge starts at.
+     * @return the length of the edge.
+     */
+    private double getEdge(int position) {
+        return graph.getDistanceBetweenNodes(tour[position], tour[next(position)]);
+    }
+
+    private void activateAround(int position) {
+        activate(tour[previous(position)]);
+        activate(tour[position]);
+        activate(tour[next(position)]);
+    }
+
+    private int pollActive() {
+        final int node = activeQueue[queueHead];
+        queueHead = (queueHead + 1 == activeQueue.length) ? 0 : queueHead + 1;
+        queueSize--;
+        return node;
+    }
+
+    public int next(int position) {
+        return (position + 1 == tour.length) ? 0 : position + 1;
+    }
+
+    public int previous(int position) {
+        return (position == 0) ? tour.length - 1 : position - 1;
+    }
+
+    public int getNode(int position) {
+        return tour[position];
+    }
+
+    public int getPosition(int node) {
+        return positions[node];
+    }
+
+    public int getNumberOfNodes() {
+        return tour.length;
+    }
+
+    public double getLength() {
+        return length;
+    }
+
+    /**
+     * Copies the tour into an array.
+     *
+     * @param destination the array to copy into.
+     * @return the array copied into.
+     */
+    public int[] copyTour(int[] destination) {
+        System.arraycopy(tour, 0, destination, 0, tour.length);
+        return destination;
+    }
+}
@@ -0,0 +1,95 @@
+package com.dominiccobo.bruneluni.cs2004tsp.localsearch;
+
+import java.util.Random;
+
+/**
+ * Representation of the perturbations that may kick an iterated local search out of its local optimum. Each is
+ * applied as many times as its strength, and each application changes a bounded region of the tour, so its cost
+ * does not grow with the size of the tour.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public enum Perturbation {
+
+    /**
+     * Exchanges two consecutive random paths, a double bridge confined to a window of the tour, which 2-opt moves
+     * cannot easily undo.
+     */
+    DOUBLE_BRIDGE {
+        @Override
+        protected void perturbOnce(LocalSearchTour tour, Random random) {
+
+            final int numberOfNodes = tour.getNumberOfNodes();
+            final int maximumPathLength = Math.min(MAXIMUM_PATH_LENGTH, (numberOfNodes - 2) / 2);
+            if (maximumPathLength < 1) {
+                return;
+            }
+
+            tour.exchangePaths(
+                    random.nextInt(numberOfNodes),
+                    1 + random.nextInt(maximumPathLength),
+                    1 + random.nextInt(maximumPathLength)
+            );
+        }
+    },
+
+    /**
+     * Reverses a random path.
+     */
+    SEGMENT_REVERSAL {
+        @Override
+        protected void perturbOnce(LocalSearchTour tour, Random random) {
+
+            final int numberOfNodes = tour.getNumberOfNodes();
+            final int maximumPathLength = Math.min(MAXIMUM_PATH_LENGTH, numberOfNodes - 2);
+            if (maximumPathLength < 2) {
+                return;
+            }
+
+            final int fromPosition = random.nextInt(numberOfNodes);
+            final int pathLength = 2 + random.nextInt(maximumPathLength - 1);
+            tour.reversePath(fromPosition, (fromPosition + pathLength - 1) % numberOfNodes);
+        }
+    },
+
+    /**
+     * Swaps two random nodes.
+     */
+    RANDOM_SWAPS {
+        @Override
+        protected void perturbOnce(LocalSearchTour tour, Random random) {
+
+            final int numberOfNodes = tour.getNumberOfNodes();
+            if (numberOfNodes < 2) {
+                return;
+            }
+
+            final int firstPosition = random.nextInt(numberOfNodes);
+            int secondPosition = random.nextInt(numberOfNodes - 1);
+            if (secondPosition >= firstPosition) {
+                secondPosition++;
+            }
+            tour.swap(firstPosition, secondPosition);
+        }
+    };
+
+    /**
+     * The most nodes a single application moves as one path.
+     */
+    private static final int MAXIMUM_PATH_LENGTH = 50;
+
+    /**
+     * Perturbs a tour, queueing the nodes whose edges change.
+     *
+     * @param tour the tour to perturb.
+     * @param strength the number of times to apply the perturbation.
+     * @param random the source of randomness.
+     */
+    public void perturb(LocalSearchTour tour, int strength, Random random) {
+        for (int i = 0; i < strength; i++) {
+            perturbOnce(tour, random);
+        }
+    }
+
+    protected abstract void perturbOnce(LocalSearchTour tour, Random random);
+}
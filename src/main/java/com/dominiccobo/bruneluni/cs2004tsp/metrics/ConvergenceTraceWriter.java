@@ -0,0 +1,151 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writer draining a convergence tracer to a file on a background thread, periodically while the search runs and
+ * once more when closed, so the search never waits on the file system.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ConvergenceTraceWriter implements Closeable {
+
+    /**
+     * The tracer drained.
+     */
+    private final ConvergenceTracer convergenceTracer;
+
+    /**
+     * The format records are written in.
+     */
+    private final TraceFormat traceFormat;
+
+    /**
+     * The stream of the trace file.
+     */
+    private final DataOutputStream outputStream;
+
+    /**
+     * The thread draining the tracer periodically, or null if only drained on close.
+     */
+    private final ScheduledExecutorService drainScheduler;
+
+    /**
+     * The first failure to write, reported on close.
+     */
+    private volatile IOException writeFailure;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ConvergenceTraceWriter() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, opening the trace file and writing its header.
+     *
+     * @param convergenceTracer the tracer to drain.
+     * @param traceFile the file to write, replaced if it exists.
+     * @param traceFormat the format to write records in.
+     * @param drainIntervalMillis the milliseconds between drains while the search runs, or zero to drain on close
+     *                            only.
+     * @throws IOException if the trace file cannot be opened.
+     */
+    public ConvergenceTraceWriter(ConvergenceTracer convergenceTracer, File traceFile, TraceFormat traceFormat,
+                                  long drainIntervalMillis) throws IOException {
+
+        if (convergenceTracer == null || traceFormat == null || drainIntervalMillis < 0) {
+            throw new IllegalArgumentException("Tracer and format required, interval cannot be negative");
+        }
+
+        this.convergenceTracer = convergenceTracer;
+        this.traceFormat = traceFormat;
+        this.outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(traceFile)));
+        this.traceFormat.writeHeader(outputStream);
+
+        if (drainIntervalMillis > 0) {
+            this.drainScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "convergence-trace-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.drainScheduler.scheduleWithFixedDelay(this::drainQuietly, drainIntervalMillis, drainIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        else {
+            this.drainScheduler = null;
+        }
+    }
+
+    /**
+     * Writes every record not yet written.
+     *
+     * @return the number of records written.
+     * @throws IOException if a record cannot be written.
+     */
+    public synchronized int drain() throws IOException {
+        final int drained = convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness,
+                                                     temperature) ->
+                traceFormat.writeRecord(outputStream, iteration, elapsedNanos, currentFitness, bestFitness,
+                        temperature)
+        );
+        outputStream.flush();
+        return drained;
+    }
+
+    /**
+     * Stops draining in the background, writes the remaining records and closes the file.
+     *
+     * @throws IOException if a record could not be written at any point.
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (drainScheduler != null) {
+            drainScheduler.shutdown();
+            try {
+                drainScheduler.awaitTermination(1, TimeUnit.MINUTES);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            drain();
+        }
+        finally {
+            synchronized (this) {
+                outputStream.close();
+            }
+        }
+
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+    }
+
+    /**
+     * Drains in the background, keeping the first failure for close rather than killing the schedule.
+     */
+    private void drainQuietly() {
+        try {
+            drain();
+        }
+        catch (IOException e) {
+            if (writeFailure == null) {
+                writeFailure = e;
+            }
+        }
+    }
+}
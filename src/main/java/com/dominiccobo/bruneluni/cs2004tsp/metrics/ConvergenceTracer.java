@@ -0,0 +1,259 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recorder of the convergence of a search, holding the iteration, elapsed time, current fitness, best fitness
+ * and temperature of sampled iterations in a preallocated ring buffer of primitive arrays, so recording allocates
+ * nothing and never blocks the search.
+ *
+ * Iterations are sampled at a fixed stride, on each improvement, or both. Records are drained by a single
+ * consumer, during or after the run, while the search keeps recording. When the consumer falls a whole buffer
+ * behind, the oldest records are overwritten and counted as dropped rather than slowing the search down.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ConvergenceTracer {
+
+    /**
+     * The default number of records held before the oldest are overwritten.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final long[] iterations;
+
+    private final long[] elapsedNanos;
+
+    private final double[] currentFitnesses;
+
+    private final double[] bestFitnesses;
+
+    private final double[] temperatures;
+
+    /**
+     * Mask mapping a record's sequence number to its slot, the capacity being a power of two.
+     */
+    private final int mask;
+
+    /**
+     * The number of iterations between sampled iterations, or zero to sample none.
+     */
+    private final long stride;
+
+    /**
+     * Whether every improvement is recorded.
+     */
+    private final boolean tracingImprovements;
+
+    /**
+     * The next iteration to sample.
+     */
+    private long nextSampledIteration;
+
+    /**
+     * The time the elapsed time of each record is measured from.
+     */
+    private long startNanos;
+
+    /**
+     * The number of records published by the search, released after each record is written.
+     */
+    private final AtomicLong published = new AtomicLong();
+
+    /**
+     * The number of records drained or dropped, read and written by the consumer alone.
+     */
+    private long consumed;
+
+    /**
+     * The number of records overwritten before they were drained.
+     */
+    private long dropped;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ConvergenceTracer() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param capacity the number of records held before the oldest are overwritten, rounded up to a power of two.
+     * @param stride the number of iterations between sampled iterations, or zero to sample none.
+     * @param tracingImprovements whether every improvement is recorded.
+     */
+    public ConvergenceTracer(int capacity, long stride, boolean tracingImprovements) {
+
+        if (capacity < 1 || capacity > (1 << 30) || stride < 0 || (stride == 0 && !tracingImprovements)) {
+            throw new IllegalArgumentException("Capacity must be positive, and something must be sampled");
+        }
+
+        final int slots = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.iterations = new long[slots];
+        this.elapsedNanos = new long[slots];
+        this.currentFitnesses = new double[slots];
+        this.bestFitnesses = new double[slots];
+        this.temperatures = new double[slots];
+        this.mask = slots - 1;
+        this.stride = stride;
+        this.tracingImprovements = tracingImprovements;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates a tracer sampling every stride iterations.
+     *
+     * @param stride the number of iterations between sampled iterations.
+     * @return the tracer.
+     */
+    public static ConvergenceTracer everyIterations(long stride) {
+        return new ConvergenceTracer(DEFAULT_CAPACITY, stride, false);
+    }
+
+    /**
+     * Creates a tracer recording improvements only.
+     *
+     * @return the tracer.
+     */
+    public static ConvergenceTracer onImprovement() {
+        return new ConvergenceTracer(DEFAULT_CAPACITY, 0, true);
+    }
+
+    /**
+     * Restarts the clock and the sampling stride, as an algorithm does when it is ran.
+     */
+    public void start() {
+        this.startNanos = System.nanoTime();
+        this.nextSampledIteration = 0;
+    }
+
+    /**
+     * Determines whether an iteration is sampled, advancing to the next sampled iteration if it is. Iterations
+     * must be asked about in ascending order.
+     *
+     * @param iteration the iteration just performed.
+     * @return whether to record the iteration.
+     */
+    public boolean isSampled(long iteration) {
+
+        if (stride == 0 || iteration < nextSampledIteration) {
+            return false;
+        }
+
+        nextSampledIteration = iteration + stride;
+        return true;
+    }
+
+    public boolean isTracingImprovements() {
+        return tracingImprovements;
+    }
+
+    /**
+     * Records the state of the search, overwriting the oldest record if the buffer is full. Only one thread may
+     * record at a time.
+     *
+     * @param iteration the iteration of the search.
+     * @param currentFitness the fitness of the current solution.
+     * @param bestFitness the fitness of the best solution.
+     * @param temperature the temperature, or the algorithm's equivalent control parameter, or NaN if none.
+     */
+    public void record(long iteration, double currentFitness, double bestFitness, double temperature) {
+
+        final long sequence = published.get();
+        final int slot = (int) sequence & mask;
+
+        iterations[slot] = iteration;
+        elapsedNanos[slot] = System.nanoTime() - startNanos;
+        currentFitnesses[slot] = currentFitness;
+        bestFitnesses[slot] = bestFitness;
+        temperatures[slot] = temperature;
+
+        published.lazySet(sequence + 1);
+    }
+
+    /**
+     * Passes every record not yet drained to a consumer, in the order recorded. Once the search has lapped the
+     * consumer, at most one fewer than the capacity survive, and records overwritten while being read are
+     * dropped rather than passed on torn.
+     *
+     * @param consumer the consumer of the records.
+     * @return the number of records passed on.
+     * @throws IOException if the consumer fails.
+     */
+    public synchronized int drain(RecordConsumer consumer) throws IOException {
+
+        final long end = published.get();
+        final long capacity = mask + 1L;
+
+        // the oldest slot is the next to be written, so may be mid write and is skipped along with older records.
+        if (end - consumed >= capacity) {
+            dropped += end - capacity + 1 - consumed;
+            consumed = end - capacity + 1;
+        }
+
+        int drained = 0;
+
+        for (; consumed < end; consumed++) {
+
+            final int slot = (int) consumed & mask;
+            final long iteration = iterations[slot];
+            final long nanos = elapsedNanos[slot];
+            final double currentFitness = currentFitnesses[slot];
+            final double bestFitness = bestFitnesses[slot];
+            final double temperature = temperatures[slot];
+
+            // the slot is reused by the record a whole buffer later, which may have begun once this one is passed.
+            if (published.get() - consumed >= capacity) {
+                dropped++;
+                continue;
+            }
+
+            consumer.accept(iteration, nanos, currentFitness, bestFitness, temperature);
+            drained++;
+        }
+
+        return drained;
+    }
+
+    /**
+     * Retrieves the number of records made so far, drained or not.
+     *
+     * @return the number of records.
+     */
+    public long getRecorded() {
+        return published.get();
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Consumer of drained records.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+
+        /**
+         * Consumes a single record.
+         *
+         * @param iteration the iteration of the search.
+         * @param elapsedNanos the nanoseconds since the search started.
+         * @param currentFitness the fitness of the current solution.
+         * @param bestFitness the fitness of the best solution.
+         * @param temperature the temperature, or NaN if the algorithm has none.
+         * @throws IOException if the record cannot be written.
+         */
+        void accept(long iteration, long elapsedNanos, double currentFitness, double bestFitness, double temperature)
+                throws IOException;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+/**
+ * Metrics discarding everything recorded, used when metrics are disabled. Its methods are empty, so once inlined
+ * the JIT eliminates the calls entirely.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public final class NoOpSearchMetrics implements SearchMetrics {
+
+    /**
+     * The single stateless instance.
+     */
+    public static final NoOpSearchMetrics INSTANCE = new NoOpSearchMetrics();
+
+    private NoOpSearchMetrics() {
+    }
+
+    @Override
+    public void recordProposal(double worsening, boolean accepted) {
+    }
+
+    @Override
+    public void recordRestart() {
+    }
+
+    @Override
+    public void recordTemperature(double temperature) {
+    }
+
+    @Override
+    public void recordBestFitness(double bestFitness) {
+    }
+
+    @Override
+    public SearchMetrics forNestedSearch() {
+        return this;
+    }
+}
@@ -0,0 +1,46 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+/**
+ * Sink for the counters and gauges of a running search, updated on the search thread. Implementations must be
+ * cheap enough to call on every iteration, and must be safe to share between the threads of one search.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public interface SearchMetrics {
+
+    /**
+     * Records the outcome of a proposed move.
+     *
+     * @param worsening how much the move worsens the solution, negative for improving moves.
+     * @param accepted whether the move was accepted.
+     */
+    void recordProposal(double worsening, boolean accepted);
+
+    /**
+     * Records that the search restarted from a fresh solution.
+     */
+    void recordRestart();
+
+    /**
+     * Records the current temperature, or the algorithm's equivalent control parameter. Algorithms sample this
+     * gauge rather than recording it every iteration.
+     *
+     * @param temperature the current temperature.
+     */
+    void recordTemperature(double temperature);
+
+    /**
+     * Records the fitness of a new best solution.
+     *
+     * @param bestFitness the fitness of the new best solution.
+     */
+    void recordBestFitness(double bestFitness);
+
+    /**
+     * Derives the metrics of a search nested within this one, such as a restart, whose moves and restarts count
+     * towards this search but whose best solutions are not necessarily the best of this search.
+     *
+     * @return the metrics of the nested search.
+     */
+    SearchMetrics forNestedSearch();
+}
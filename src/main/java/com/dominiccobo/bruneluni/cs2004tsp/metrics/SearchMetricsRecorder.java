@@ -0,0 +1,233 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics accumulating what is recorded, readable while the search runs either directly or over JMX once
+ * registered.
+ *
+ * Counters are striped, so the threads of a parallel search update them without contending, and are only summed
+ * when read. Gauges hold the last value recorded.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class SearchMetricsRecorder implements SearchMetrics, SearchMetricsRecorderMBean {
+
+    /**
+     * The domain recorders are registered under over JMX.
+     */
+    public static final String JMX_DOMAIN = "com.dominiccobo.bruneluni.cs2004tsp";
+
+    private final LongAdder proposals = new LongAdder();
+
+    private final LongAdder improvingAcceptances = new LongAdder();
+
+    private final LongAdder worseningAcceptances = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final LongAdder restarts = new LongAdder();
+
+    private volatile double temperature = Double.NaN;
+
+    private volatile double bestFitness = Double.NaN;
+
+    /**
+     * The time from which iterations per second are measured.
+     */
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * The name the recorder is registered under, or null while unregistered.
+     */
+    private ObjectName objectName;
+
+    /**
+     * The view of the recorder given to nested searches.
+     */
+    private final SearchMetrics nestedView = new NestedView();
+
+    @Override
+    public void recordProposal(double worsening, boolean accepted) {
+        proposals.increment();
+        if (!accepted) {
+            rejections.increment();
+        }
+        else if (worsening < 0) {
+            improvingAcceptances.increment();
+        }
+        else if (worsening > 0) {
+            worseningAcceptances.increment();
+        }
+    }
+
+    @Override
+    public void recordRestart() {
+        restarts.increment();
+    }
+
+    @Override
+    public void recordTemperature(double temperature) {
+        this.temperature = temperature;
+    }
+
+    @Override
+    public void recordBestFitness(double bestFitness) {
+        this.bestFitness = bestFitness;
+    }
+
+    @Override
+    public SearchMetrics forNestedSearch() {
+        return nestedView;
+    }
+
+    /**
+     * Registers the recorder with the platform MBean server, replacing any recorder already registered under the
+     * same name.
+     *
+     * @param name the name distinguishing the recorder, such as the algorithm it records.
+     */
+    public synchronized void register(String name) {
+
+        unregister();
+
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName newObjectName = new ObjectName(JMX_DOMAIN + ":type=SearchMetrics,name="
+                    + ObjectName.quote(name));
+
+            if (mBeanServer.isRegistered(newObjectName)) {
+                mBeanServer.unregisterMBean(newObjectName);
+            }
+            mBeanServer.registerMBean(this, newObjectName);
+            this.objectName = newObjectName;
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics " + name, e);
+        }
+    }
+
+    /**
+     * Removes the recorder from the platform MBean server, if registered.
+     */
+    public synchronized void unregister() {
+
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Could not unregister metrics " + objectName, e);
+        }
+        finally {
+            objectName = null;
+        }
+    }
+
+    @Override
+    public long getProposals() {
+        return proposals.sum();
+    }
+
+    @Override
+    public long getImprovingAcceptances() {
+        return improvingAcceptances.sum();
+    }
+
+    @Override
+    public long getWorseningAcceptances() {
+        return worseningAcceptances.sum();
+    }
+
+    @Override
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    @Override
+    public long getRestarts() {
+        return restarts.sum();
+    }
+
+    @Override
+    public double getTemperature() {
+        return temperature;
+    }
+
+    @Override
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    @Override
+    public double getAcceptanceRate() {
+        final long proposed = proposals.sum();
+        return (proposed == 0) ? Double.NaN : (double) (proposed - rejections.sum()) / proposed;
+    }
+
+    @Override
+    public double getIterationsPerSecond() {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        return (elapsedNanos <= 0) ? 0 : proposals.sum() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public void reset() {
+        proposals.reset();
+        improvingAcceptances.reset();
+        worseningAcceptances.reset();
+        rejections.reset();
+        restarts.reset();
+        temperature = Double.NaN;
+        bestFitness = Double.NaN;
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("proposals=%d, improving=%d, worsening=%d, rejected=%d, restarts=%d, "
+                        + "acceptance=%.4f, iterations/s=%.0f, temperature=%s, best=%s",
+                getProposals(), getImprovingAcceptances(), getWorseningAcceptances(), getRejections(),
+                getRestarts(), getAcceptanceRate(), getIterationsPerSecond(), temperature, bestFitness);
+    }
+
+    /**
+     * View of the recorder counting the moves and restarts of a nested search, ignoring its best solutions.
+     */
+    private final class NestedView implements SearchMetrics {
+
+        @Override
+        public void recordProposal(double worsening, boolean accepted) {
+            SearchMetricsRecorder.this.recordProposal(worsening, accepted);
+        }
+
+        @Override
+        public void recordRestart() {
+            SearchMetricsRecorder.this.recordRestart();
+        }
+
+        @Override
+        public void recordTemperature(double temperature) {
+            SearchMetricsRecorder.this.recordTemperature(temperature);
+        }
+
+        @Override
+        public void recordBestFitness(double bestFitness) {
+        }
+
+        @Override
+        public SearchMetrics forNestedSearch() {
+            return this;
+        }
+    }
+}
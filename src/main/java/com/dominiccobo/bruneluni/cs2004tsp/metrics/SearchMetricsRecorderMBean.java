@@ -0,0 +1,42 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+/**
+ * Management interface of {@link SearchMetricsRecorder}, exposing its counters and gauges over JMX.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public interface SearchMetricsRecorderMBean {
+
+    long getProposals();
+
+    long getImprovingAcceptances();
+
+    long getWorseningAcceptances();
+
+    long getRejections();
+
+    long getRestarts();
+
+    double getTemperature();
+
+    double getBestFitness();
+
+    /**
+     * Retrieves the fraction of proposed moves accepted.
+     *
+     * @return the acceptance rate, or NaN before any move is proposed.
+     */
+    double getAcceptanceRate();
+
+    /**
+     * Retrieves the proposals per second since the recorder was created or last reset.
+     *
+     * @return the iterations per second.
+     */
+    double getIterationsPerSecond();
+
+    /**
+     * Zeroes every counter and gauge and restarts the clock of the iterations per second.
+     */
+    void reset();
+}
@@ -0,0 +1,88 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats in which convergence traces are written.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public enum TraceFormat {
+
+    /**
+     * Comma separated text, one record per line beneath a header.
+     */
+    CSV {
+        @Override
+        void writeHeader(DataOutputStream outputStream) throws IOException {
+            writeText(outputStream, "Iteration,Elapsed Nanos,Current Fitness,Best Fitness,Temperature\n");
+        }
+
+        @Override
+        void writeRecord(DataOutputStream outputStream, long iteration, long elapsedNanos, double currentFitness,
+                         double bestFitness, double temperature) throws IOException {
+            writeText(outputStream, iteration + "," + elapsedNanos + "," + currentFitness + "," + bestFitness + ","
+                    + temperature + "\n");
+        }
+    },
+
+    /**
+     * Big endian binary, a magic number and version followed by fixed width records of two longs and three
+     * doubles.
+     */
+    BINARY {
+        @Override
+        void writeHeader(DataOutputStream outputStream) throws IOException {
+            outputStream.writeInt(BINARY_MAGIC);
+            outputStream.writeInt(BINARY_VERSION);
+        }
+
+        @Override
+        void writeRecord(DataOutputStream outputStream, long iteration, long elapsedNanos, double currentFitness,
+                         double bestFitness, double temperature) throws IOException {
+            outputStream.writeLong(iteration);
+            outputStream.writeLong(elapsedNanos);
+            outputStream.writeDouble(currentFitness);
+            outputStream.writeDouble(bestFitness);
+            outputStream.writeDouble(temperature);
+        }
+    };
+
+    /**
+     * Identifying header of binary traces.
+     */
+    public static final int BINARY_MAGIC = 0x43545243;
+
+    /**
+     * Version of the binary record layout, incremented whenever the layout changes.
+     */
+    public static final int BINARY_VERSION = 1;
+
+    /**
+     * Writes the header preceding the records.
+     *
+     * @param outputStream the stream to write to.
+     * @throws IOException if the header cannot be written.
+     */
+    abstract void writeHeader(DataOutputStream outputStream) throws IOException;
+
+    /**
+     * Writes a single record.
+     *
+     * @param outputStream the stream to write to.
+     * @param iteration the iteration of the search.
+     * @param elapsedNanos the nanoseconds since the search started.
+     * @param currentFitness the fitness of the current solution.
+     * @param bestFitness the fitness of the best solution.
+     * @param temperature the temperature, or NaN if the algorithm has none.
+     * @throws IOException if the record cannot be written.
+     */
+    abstract void writeRecord(DataOutputStream outputStream, long iteration, long elapsedNanos, double currentFitness,
+                              double bestFitness, double temperature) throws IOException;
+
+    private static void writeText(DataOutputStream outputStream, String text) throws IOException {
+        outputStream.write(text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
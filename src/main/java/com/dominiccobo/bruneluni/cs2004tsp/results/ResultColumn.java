@@ -0,0 +1,45 @@
+package com.dominiccobo.bruneluni.cs2004tsp.results;
+
+/**
+ * The measured columns of a result store, each held contiguously within a block of runs.
+ *
+ * A block of n runs holds its columns in the order instance, algorithm and resample as ints, followed by the
+ * columns below, so each column starts at a fixed multiple of n bytes into the block.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public enum ResultColumn {
+
+    FITNESS(12, false),
+    SOLUTION_QUALITY(20, false),
+    EXECUTION_NANOS(28, true),
+    CONSTRUCTION_NANOS(36, true);
+
+    /**
+     * The bytes each run occupies across every column of a block.
+     */
+    static final int BYTES_PER_RUN = 44;
+
+    /**
+     * The multiple of the number of runs in a block at which the column starts.
+     */
+    private final int offsetPerRun;
+
+    /**
+     * Whether the column holds longs rather than doubles.
+     */
+    private final boolean longValued;
+
+    ResultColumn(int offsetPerRun, boolean longValued) {
+        this.offsetPerRun = offsetPerRun;
+        this.longValued = longValued;
+    }
+
+    int getOffsetPerRun() {
+        return offsetPerRun;
+    }
+
+    boolean isLongValued() {
+        return longValued;
+    }
+}
@@ -0,0 +1,323 @@
+package com.dominiccobo.bruneluni.cs2004tsp.results;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append only store of the raw result of every run of a campaign, buffering runs in a primitive array per column
+ * and appending them to a compact binary file a block at a time, to be queried with {@link ResultStoreReader}.
+ *
+ * The file starts with a magic number and version, followed by blocks each headed by their type and entry count.
+ * Dictionary blocks assign the next ids to the instance and algorithm names first used by the runs after them,
+ * and run blocks hold each column of their runs contiguously, as laid out by {@link ResultColumn}. Opening an
+ * existing file appends to it, discarding any block left incomplete by a process that did not close its store, or
+ * anything past a given length, such as the length a resumed checkpoint recorded the store at.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ResultStore implements Closeable {
+
+    /**
+     * The default number of runs buffered before a block is appended.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    static final int MAGIC = 0x43525354;
+
+    static final int VERSION = 1;
+
+    static final int FILE_HEADER_BYTES = 8;
+
+    static final int BLOCK_HEADER_BYTES = 8;
+
+    static final int DICTIONARY_BLOCK = 1;
+
+    static final int RUNS_BLOCK = 2;
+
+    /**
+     * The channel of the store file, positioned at its end.
+     */
+    private final FileChannel fileChannel;
+
+    /**
+     * The id of each instance and algorithm name, in the order they were first used.
+     */
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    /**
+     * The names first used since the last block was appended.
+     */
+    private final List<String> pendingNames = new ArrayList<>();
+
+    private final int[] instances;
+
+    private final int[] algorithms;
+
+    private final int[] resamples;
+
+    private final double[] fitnesses;
+
+    private final double[] solutionQualities;
+
+    private final long[] executionNanos;
+
+    private final long[] constructionNanos;
+
+    /**
+     * The number of runs buffered.
+     */
+    private int bufferedRuns;
+
+    /**
+     * Whether the store has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ResultStore() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, with the default block size.
+     *
+     * @param storeFile the file to append to, created if missing.
+     * @throws IOException if the file cannot be opened or is not a result store.
+     */
+    public ResultStore(File storeFile) throws IOException {
+        this(storeFile, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructor specifying the number of runs buffered before a block is appended.
+     *
+     * @param storeFile the file to append to, created if missing.
+     * @param blockSize the number of runs buffered before a block is appended.
+     * @throws IOException if the file cannot be opened or is not a result store.
+     */
+    public ResultStore(File storeFile, int blockSize) throws IOException {
+        this(storeFile, blockSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor specifying the length of an existing file to keep, discarding the blocks appended after it.
+     *
+     * @param storeFile the file to append to, created if missing.
+     * @param blockSize the number of runs buffered before a block is appended.
+     * @param maximumLength the length of the file to keep, as reported by {@link #getLength()}.
+     * @throws IOException if the file cannot be opened or is not a result store.
+     */
+    public ResultStore(File storeFile, int blockSize, long maximumLength) throws IOException {
+
+        if (blockSize < 1 || maximumLength < 0) {
+            throw new IllegalArgumentException("Block size must be positive, maximum length cannot be negative");
+        }
+
+        if (storeFile.length() > maximumLength) {
+            try (FileChannel truncatedChannel = FileChannel.open(storeFile.toPath(), StandardOpenOption.WRITE)) {
+                truncatedChannel.truncate(maximumLength);
+            }
+        }
+
+        this.instances = new int[blockSize];
+        this.algorithms = new int[blockSize];
+        this.resamples = new int[blockSize];
+        this.fitnesses = new double[blockSize];
+        this.solutionQualities = new double[blockSize];
+        this.executionNanos = new long[blockSize];
+        this.constructionNanos = new long[blockSize];
+
+        long validLength = 0;
+        if (storeFile.length() > 0) {
+            try (ResultStoreReader reader = new ResultStoreReader(storeFile)) {
+                for (String name : reader.getDictionary()) {
+                    dictionary.put(name, dictionary.size());
+                }
+                validLength = reader.getValidLength();
+            }
+        }
+
+        this.fileChannel = FileChannel.open(storeFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        if (validLength == 0) {
+            final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            fileChannel.truncate(0);
+            writeFully(header);
+        }
+        else {
+            fileChannel.truncate(validLength);
+            fileChannel.position(validLength);
+        }
+    }
+
+    /**
+     * Appends the result of a run, writing the buffered block to the file once it fills.
+     *
+     * @param instance the name of the instance ran against.
+     * @param algorithm the name of the algorithm ran.
+     * @param resample the index of the resample.
+     * @param fitness the fitness of the best solution found.
+     * @param solutionQuality the quality of the best solution found.
+     * @param executionNanos the time taken by the run in nanoseconds.
+     * @param constructionNanos the time taken to construct the starting solution in nanoseconds.
+     * @throws IOException if a full block cannot be written.
+     */
+    public synchronized void append(String instance, String algorithm, int resample, double fitness,
+                                    double solutionQuality, long executionNanos, long constructionNanos)
+            throws IOException {
+
+        if (closed) {
+            throw new IllegalStateException("Result store already closed");
+        }
+
+        instances[bufferedRuns] = getId(instance);
+        algorithms[bufferedRuns] = getId(algorithm);
+        resamples[bufferedRuns] = resample;
+        fitnesses[bufferedRuns] = fitness;
+        solutionQualities[bufferedRuns] = solutionQuality;
+        this.executionNanos[bufferedRuns] = executionNanos;
+        this.constructionNanos[bufferedRuns] = constructionNanos;
+        bufferedRuns++;
+
+        if (bufferedRuns == instances.length) {
+            flush();
+        }
+    }
+
+    /**
+     * Appends the buffered runs to the file as a block, preceded by any names they are the first to use.
+     *
+     * @throws IOException if the block cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+
+        if (!pendingNames.isEmpty()) {
+            writeDictionaryBlock();
+        }
+
+        if (bufferedRuns == 0) {
+            return;
+        }
+
+        final int runs = bufferedRuns;
+        final ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_BYTES + runs * ResultColumn.BYTES_PER_RUN);
+        block.putInt(RUNS_BLOCK).putInt(runs);
+        block.asIntBuffer().put(instances, 0, runs);
+        block.position(block.position() + runs * 4);
+        block.asIntBuffer().put(algorithms, 0, runs);
+        block.position(block.position() + runs * 4);
+        block.asIntBuffer().put(resamples, 0, runs);
+        block.position(block.position() + runs * 4);
+        block.asDoubleBuffer().put(fitnesses, 0, runs);
+        block.position(block.position() + runs * 8);
+        block.asDoubleBuffer().put(solutionQualities, 0, runs);
+        block.position(block.position() + runs * 8);
+        block.asLongBuffer().put(executionNanos, 0, runs);
+        block.position(block.position() + runs * 8);
+        block.asLongBuffer().put(constructionNanos, 0, runs);
+        block.position(block.position() + runs * 8);
+        block.flip();
+
+        writeFully(block);
+        bufferedRuns = 0;
+    }
+
+    /**
+     * Appends the buffered runs and forces the file to the storage device, so that every run written so far
+     * survives a crash, as must be the case before its length is recorded as durable anywhere else.
+     *
+     * @throws IOException if the runs cannot be written or forced.
+     */
+    public synchronized void force() throws IOException {
+        flush();
+        fileChannel.force(false);
+    }
+
+    /**
+     * Retrieves the length of the file written so far, which excludes the runs still buffered.
+     *
+     * @return the length of the file, in bytes.
+     * @throws IOException if the length cannot be determined.
+     */
+    public synchronized long getLength() throws IOException {
+        return fileChannel.position();
+    }
+
+    /**
+     * Appends the buffered runs and closes the file.
+     *
+     * @throws IOException if the buffered runs cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            flush();
+            fileChannel.force(false);
+        }
+        finally {
+            fileChannel.close();
+        }
+    }
+
+    /**
+     * Retrieves the id of a name, assigning the next id if it has not been used before.
+     *
+     * @param name the instance or algorithm name.
+     * @return the id of the name.
+     */
+    private int getId(String name) {
+        Integer id = dictionary.get(name);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(name, id);
+            pendingNames.add(name);
+        }
+        return id;
+    }
+
+    private void writeDictionaryBlock() throws IOException {
+
+        final List<byte[]> encodedNames = new ArrayList<>(pendingNames.size());
+        int blockBytes = BLOCK_HEADER_BYTES;
+        for (String name : pendingNames) {
+            final byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+            encodedNames.add(encodedName);
+            blockBytes += 4 + encodedName.length;
+        }
+
+        final ByteBuffer block = ByteBuffer.allocate(blockBytes);
+        block.putInt(DICTIONARY_BLOCK).putInt(encodedNames.size());
+        for (byte[] encodedName : encodedNames) {
+            block.putInt(encodedName.length).put(encodedName);
+        }
+        block.flip();
+
+        writeFully(block);
+        pendingNames.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+}
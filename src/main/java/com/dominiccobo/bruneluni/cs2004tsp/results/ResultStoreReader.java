@@ -0,0 +1,310 @@
+package com.dominiccobo.bruneluni.cs2004tsp.results;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader of a file written by {@link ResultStore}, mapping the file into memory once and aggregating columns
+ * straight from the mapping, so that only the values a query selects are ever copied onto the heap. Block headers
+ * are walked within the mapping too, so the many small blocks a store forced at every checkpoint leaves behind cost
+ * a view of the mapping each rather than a read and a mapping of the file.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ResultStoreReader implements Closeable {
+
+    /**
+     * The channel of the store file.
+     */
+    private final FileChannel fileChannel;
+
+    /**
+     * The instance and algorithm names, indexed by their id.
+     */
+    private final List<String> dictionary = new ArrayList<>();
+
+    /**
+     * The view of the mapping of each block of runs, starting at its first column.
+     */
+    private final List<ByteBuffer> runBlocks = new ArrayList<>();
+
+    /**
+     * The number of runs in each block.
+     */
+    private final List<Integer> runBlockSizes = new ArrayList<>();
+
+    /**
+     * The length of the file up to the end of its last complete block.
+     */
+    private final long validLength;
+
+    /**
+     * The number of runs across every block.
+     */
+    private final long runCount;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ResultStoreReader() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, scanning the blocks of the file.
+     *
+     * @param storeFile the file to read.
+     * @throws IOException if the file cannot be read or is not a result store.
+     */
+    public ResultStoreReader(File storeFile) throws IOException {
+
+        this.fileChannel = FileChannel.open(storeFile.toPath(), StandardOpenOption.READ);
+
+        try {
+            final long fileLength = fileChannel.size();
+            if (fileLength > Integer.MAX_VALUE) {
+                throw new IOException("Result store " + storeFile + " is too large to map");
+            }
+
+            final ByteBuffer mapping = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileLength);
+
+            if (fileLength < ResultStore.FILE_HEADER_BYTES || mapping.getInt(0) != ResultStore.MAGIC
+                    || mapping.getInt(4) != ResultStore.VERSION) {
+                throw new IOException("Not a result store " + storeFile);
+            }
+
+            long position = ResultStore.FILE_HEADER_BYTES;
+            long runs = 0;
+
+            // blocks are walked until one is found incomplete, as left by a store that was never closed.
+            while (position + ResultStore.BLOCK_HEADER_BYTES <= fileLength) {
+
+                final int blockType = mapping.getInt((int) position);
+                final int entries = mapping.getInt((int) position + 4);
+                final long contentPosition = position + ResultStore.BLOCK_HEADER_BYTES;
+
+                if (blockType == ResultStore.RUNS_BLOCK) {
+                    final long contentBytes = (long) entries * ResultColumn.BYTES_PER_RUN;
+                    if (entries < 0 || contentPosition + contentBytes > fileLength) {
+                        break;
+                    }
+                    runBlocks.add(view(mapping, contentPosition, contentBytes));
+                    runBlockSizes.add(entries);
+                    runs += entries;
+                    position = contentPosition + contentBytes;
+                }
+                else if (blockType == ResultStore.DICTIONARY_BLOCK) {
+                    final long endPosition = readDictionaryBlock(mapping, contentPosition, entries);
+                    if (endPosition < 0) {
+                        break;
+                    }
+                    position = endPosition;
+                }
+                else {
+                    break;
+                }
+            }
+
+            this.validLength = position;
+            this.runCount = runs;
+        }
+        catch (IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Selects the values of a column for the runs of an instance and algorithm, in the order they were appended.
+     *
+     * @param column the column to select.
+     * @param instance the instance to select runs of, or null for every instance.
+     * @param algorithm the algorithm to select runs of, or null for every algorithm.
+     * @return the selected values.
+     */
+    public double[] select(ResultColumn column, String instance, String algorithm) {
+
+        final int instanceId = getIdOrMissing(instance);
+        final int algorithmId = getIdOrMissing(algorithm);
+
+        double[] values = new double[16];
+        int selected = 0;
+
+        for (int block = 0; block < runBlocks.size(); block++) {
+            final ByteBuffer runBlock = runBlocks.get(block);
+            final int runs = runBlockSizes.get(block);
+
+            for (int run = 0; run < runs; run++) {
+                if (matches(runBlock, runs, run, instanceId, algorithmId)) {
+                    if (selected == values.length) {
+                        values = Arrays.copyOf(values, selected * 2);
+                    }
+                    values[selected++] = readValue(runBlock, runs, run, column);
+                }
+            }
+        }
+
+        return Arrays.copyOf(values, selected);
+    }
+
+    /**
+     * Summarises a column over the runs of an instance and algorithm.
+     *
+     * @param column the column to summarise.
+     * @param instance the instance to summarise runs of, or null for every instance.
+     * @param algorithm the algorithm to summarise runs of, or null for every algorithm.
+     * @return the summary of the selected values.
+     */
+    public ResultSummary summarise(ResultColumn column, String instance, String algorithm) {
+        return new ResultSummary(select(column, instance, algorithm));
+    }
+
+    /**
+     * Summarises a column over the runs of an algorithm separately for each instance, in a single pass over the
+     * store.
+     *
+     * @param column the column to summarise.
+     * @param algorithm the algorithm to summarise runs of, or null for every algorithm.
+     * @return the summary of each instance with selected runs, in the order the instances were first used.
+     */
+    public Map<String, ResultSummary> summariseByInstance(ResultColumn column, String algorithm) {
+
+        final int algorithmId = getIdOrMissing(algorithm);
+
+        final double[][] values = new double[dictionary.size()][];
+        final int[] selected = new int[dictionary.size()];
+
+        for (int block = 0; block < runBlocks.size(); block++) {
+            final ByteBuffer runBlock = runBlocks.get(block);
+            final int runs = runBlockSizes.get(block);
+
+            for (int run = 0; run < runs; run++) {
+                if (!matches(runBlock, runs, run, -1, algorithmId)) {
+                    continue;
+                }
+                final int instanceId = runBlock.getInt(run * 4);
+                if (values[instanceId] == null) {
+                    values[instanceId] = new double[16];
+                }
+                else if (selected[instanceId] == values[instanceId].length) {
+                    values[instanceId] = Arrays.copyOf(values[instanceId], selected[instanceId] * 2);
+                }
+                values[instanceId][selected[instanceId]++] = readValue(runBlock, runs, run, column);
+            }
+        }
+
+        final Map<String, ResultSummary> summaries = new LinkedHashMap<>();
+        for (int id = 0; id < values.length; id++) {
+            if (values[id] != null) {
+                summaries.put(dictionary.get(id), new ResultSummary(Arrays.copyOf(values[id], selected[id])));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Retrieves the instance and algorithm names, indexed by their id.
+     *
+     * @return the names.
+     */
+    public List<String> getDictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    public long getRunCount() {
+        return runCount;
+    }
+
+    long getValidLength() {
+        return validLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+        runBlocks.clear();
+        fileChannel.close();
+    }
+
+    /**
+     * Reads the names of a dictionary block.
+     *
+     * @param mapping the mapping of the file.
+     * @param position the position of the first name.
+     * @param entries the number of names.
+     * @return the position after the block, or -1 if the block is incomplete.
+     */
+    private long readDictionaryBlock(ByteBuffer mapping, long position, int entries) {
+
+        final List<String> names = new ArrayList<>(Math.max(entries, 0));
+
+        for (int entry = 0; entry < entries; entry++) {
+            if (position + 4 > mapping.limit()) {
+                return -1;
+            }
+            final int length = mapping.getInt((int) position);
+            if (length < 0 || position + 4 + length > mapping.limit()) {
+                return -1;
+            }
+            final byte[] encodedName = new byte[length];
+            view(mapping, position + 4, length).get(encodedName);
+            names.add(new String(encodedName, StandardCharsets.UTF_8));
+            position += 4 + length;
+        }
+
+        dictionary.addAll(names);
+        return position;
+    }
+
+    /**
+     * Creates a view of part of the mapping, sharing its contents.
+     *
+     * @param mapping the mapping of the file.
+     * @param position the position the view starts at.
+     * @param length the number of bytes in the view.
+     * @return the view, starting at position zero.
+     */
+    private static ByteBuffer view(ByteBuffer mapping, long position, long length) {
+        final ByteBuffer view = mapping.duplicate();
+        view.position((int) position);
+        view.limit((int) (position + length));
+        return view.slice();
+    }
+
+    /**
+     * Retrieves the id of a name to filter by, where -1 selects every id and an unknown name selects none.
+     *
+     * @param name the name to filter by, or null.
+     * @return the id to filter by.
+     */
+    private int getIdOrMissing(String name) {
+        if (name == null) {
+            return -1;
+        }
+        final int id = dictionary.indexOf(name);
+        return (id >= 0) ? id : Integer.MIN_VALUE;
+    }
+
+    private static boolean matches(ByteBuffer runBlock, int runs, int run, int instanceId, int algorithmId) {
+        return (instanceId == -1 || runBlock.getInt(run * 4) == instanceId)
+                && (algorithmId == -1 || runBlock.getInt((runs + run) * 4) == algorithmId);
+    }
+
+    private static double readValue(ByteBuffer runBlock, int runs, int run, ResultColumn column) {
+        final int offset = column.getOffsetPerRun() * runs;
+        return column.isLongValued()
+                ? runBlock.getLong(offset + run * 8)
+                : runBlock.getDouble(offset + run * 8);
+    }
+}
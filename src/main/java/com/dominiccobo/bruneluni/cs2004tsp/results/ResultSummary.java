@@ -0,0 +1,166 @@
+package com.dominiccobo.bruneluni.cs2004tsp.results;
+
+import java.util.Arrays;
+
+/**
+ * Summary of the values of a column selected from a result store, giving their moments, quantiles and a
+ * confidence interval for their mean.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ResultSummary {
+
+    /**
+     * The two sided 95% quantile of the standard normal distribution.
+     */
+    private static final double NORMAL_QUANTILE_95 = 1.959963984540054;
+
+    /**
+     * The two sided 95% quantiles of Student's t distribution for one to ten degrees of freedom, where the
+     * expansion about the normal quantile is least accurate.
+     */
+    private static final double[] STUDENT_QUANTILES_95 = new double[]{
+            12.706204736, 4.302652730, 3.182446305, 2.776445105, 2.570581836,
+            2.446911851, 2.364624252, 2.306004135, 2.262157163, 2.228138852
+    };
+
+    /**
+     * The summarised values, in ascending order.
+     */
+    private final double[] sortedValues;
+
+    private final double mean;
+
+    private final double variance;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ResultSummary() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, taking ownership of the values.
+     *
+     * @param values the values to summarise, sorted in place.
+     */
+    ResultSummary(double[] values) {
+
+        Arrays.sort(values);
+        this.sortedValues = values;
+
+        double mean = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < values.length; i++) {
+            final double delta = values[i] - mean;
+            mean += delta / (i + 1);
+            sumOfSquares += delta * (values[i] - mean);
+        }
+
+        this.mean = (values.length > 0) ? mean : Double.NaN;
+        this.variance = (values.length > 1) ? sumOfSquares / (values.length - 1) : Double.NaN;
+    }
+
+    /**
+     * Retrieves a quantile of the values, interpolating linearly between the closest ranks.
+     *
+     * @param probability the probability of the quantile, between 0 and 1.
+     * @return the quantile, or NaN if there are no values.
+     */
+    public double getQuantile(double probability) {
+
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1");
+        }
+
+        if (sortedValues.length == 0) {
+            return Double.NaN;
+        }
+
+        final double rank = probability * (sortedValues.length - 1);
+        final int lowerRank = (int) rank;
+        if (lowerRank == sortedValues.length - 1) {
+            return sortedValues[lowerRank];
+        }
+        final double lowerValue = sortedValues[lowerRank];
+        return lowerValue + (rank - lowerRank) * (sortedValues[lowerRank + 1] - lowerValue);
+    }
+
+    /**
+     * Retrieves the half width of the 95% confidence interval of the mean, from Student's t distribution.
+     *
+     * @return the half width, or NaN if there are fewer than two values.
+     */
+    public double getConfidenceHalfWidth() {
+        final int count = sortedValues.length;
+        return getStudentQuantile95(count - 1) * getStandardDeviation() / Math.sqrt(count);
+    }
+
+    public int getCount() {
+        return sortedValues.length;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(variance);
+    }
+
+    public double getMinimum() {
+        return (sortedValues.length > 0) ? sortedValues[0] : Double.NaN;
+    }
+
+    public double getMaximum() {
+        return (sortedValues.length > 0) ? sortedValues[sortedValues.length - 1] : Double.NaN;
+    }
+
+    public double getMedian() {
+        return getQuantile(0.5);
+    }
+
+    @Override
+    public String toString() {
+        return "ResultSummary{" +
+                "count=" + getCount() +
+                ", mean=" + mean +
+                ", ci95=" + getConfidenceHalfWidth() +
+                ", min=" + getMinimum() +
+                ", median=" + getMedian() +
+                ", p95=" + getQuantile(0.95) +
+                ", max=" + getMaximum() +
+                '}';
+    }
+
+    /**
+     * Retrieves the two sided 95% quantile of Student's t distribution, tabulated up to ten degrees of freedom
+     * and approximated beyond with the Cornish-Fisher expansion about the normal quantile, which is then accurate
+     * to within 0.1%.
+     *
+     * @param degreesOfFreedom the degrees of freedom.
+     * @return the quantile, or NaN without any degree of freedom.
+     */
+    public static double getStudentQuantile95(int degreesOfFreedom) {
+
+        if (degreesOfFreedom < 1) {
+            return Double.NaN;
+        }
+        if (degreesOfFreedom <= STUDENT_QUANTILES_95.length) {
+            return STUDENT_QUANTILES_95[degreesOfFreedom - 1];
+        }
+
+        final double z = NORMAL_QUANTILE_95;
+        final double z3 = z * z * z;
+        final double z5 = z3 * z * z;
+        final double z7 = z5 * z * z;
+        final double v = degreesOfFreedom;
+
+        return z
+                + (z3 + z) / (4 * v)
+                + (5 * z5 + 16 * z3 + 3 * z) / (96 * v * v)
+                + (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / (384 * v * v * v);
+    }
+}
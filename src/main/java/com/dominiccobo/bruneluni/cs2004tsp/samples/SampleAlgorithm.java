@@ -0,0 +1,39 @@
+package com.dominiccobo.bruneluni.cs2004tsp.samples;
+
+/**
+ * Representation of the algorithms the sample runner may resample against each instance.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public enum SampleAlgorithm {
+
+    /**
+     * Random mutating hill climber.
+     */
+    RMHC,
+
+    /**
+     * Random restart hill climber.
+     */
+    RRHC,
+
+    /**
+     * Stochastic hill climber.
+     */
+    SCA,
+
+    /**
+     * Simulated annealing.
+     */
+    SA,
+
+    /**
+     * Iterated local search.
+     */
+    ILS,
+
+    /**
+     * Decomposition, solving segments of the tour concurrently with iterated local search.
+     */
+    DECOMPOSITION
+}
@@ -1,40 +1,119 @@
 package com.dominiccobo.bruneluni.cs2004tsp.samples;
 
 import com.dominiccobo.bruneluni.cs2004tsp.algorithms.*;
+import com.dominiccobo.bruneluni.cs2004tsp.checkpoint.CampaignCheckpoint;
+import com.dominiccobo.bruneluni.cs2004tsp.checkpoint.SearchSnapshot;
+import com.dominiccobo.bruneluni.cs2004tsp.checkpoint.TaskResult;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentConfiguration;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentProperty;
+import com.dominiccobo.bruneluni.cs2004tsp.construction.ConstructionHeuristic;
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.GeometricCooling;
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.TemperatureEstimator;
+import com.dominiccobo.bruneluni.cs2004tsp.decomposition.AlgorithmSubproblemSolver;
+import com.dominiccobo.bruneluni.cs2004tsp.decomposition.DecompositionAlgorithm;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
-import com.dominiccobo.bruneluni.cs2004tsp.utils.AlgorithmAnalysisLogger;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Tours;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.BetterAcceptance;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.LocalSearchTour;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.Perturbation;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetricsRecorder;
+import com.dominiccobo.bruneluni.cs2004tsp.results.ResultStore;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CompositeTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.DeadlineTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TargetFitnessTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TerminationPolicy;
 import com.dominiccobo.bruneluni.cs2004tsp.utils.AlgorithmTimer;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.InstanceRepository;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.ResultWriter;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.TSPLibReader;
 import com.dominiccobo.bruneluni.cs2004tsp.utils.TSPReportUtility;
 import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class running all the hill climber implementations for a given list of solutions and evaluating their performance.
  *
+ * The instances, algorithms, budgets, thread counts and outputs are described by an experiment configuration,
+ * validated before anything is ran.
+ *
  * @author Dominic Cobo (contact@dominiccobo.com)
  */
 public class TSPSampleRunner {
 
-    private final static String[] SOLUTIONS = new String[]{
-            "48", "51", "52", "70", "76", "100", "101", "105", "107", "124", "125", "130", "136", "144", "150",
-            "152", "159", "198", "200", "226", "262", "264", "299", "318", "400", "417", "439", "442",
-            "493", "532", "574"
-    };
+    /**
+     * The number of algorithm iterations each ILS iteration counts as, since each perturbation is followed by a
+     * local search evaluating in the order of a hundred moves.
+     */
+    public final static int ILS_MOVES_PER_ITERATION = 100;
+
+    /**
+     * The ILS iterations spent on each segment of a decomposition round.
+     */
+    private final static int DECOMPOSITION_SEGMENT_ITERATIONS = 50;
+
+    /**
+     * The number of iterations between snapshots of the resamples in flight, when checkpointing.
+     */
+    private final static long CHECKPOINT_INTERVAL_ITERATIONS = 50_000;
+
+    /**
+     * The directory results are written to when none is given, relative to the working directory.
+     */
+    public final static File DEFAULT_OUTPUT_DIRECTORY = new File("results");
+
+    /**
+     * The name of the file within the output directory storing the raw result of every resample.
+     */
+    public final static String RESULT_STORE_NAME = "RESULTS.crs";
+
+    /**
+     * The name of the file within the output directory progress is checkpointed to, when checkpointing.
+     */
+    public final static String CHECKPOINT_NAME = "CAMPAIGN.ckpt";
+
+    /**
+     * The name of the file within the output directory the configuration of the tests is written to.
+     */
+    public final static String CONFIGURATION_NAME = "EXPERIMENT.properties";
 
-    private final static String[] OPTIMAL_SOLUTIONS = new String[]{
-            "48", "51", "52", "70", "76", "100", "105", "442"
-    };
+    /**
+     * The configuration of the tests.
+     */
+    private final ExperimentConfiguration configuration;
+
+    /**
+     * The instance files ran, in order.
+     */
+    private final List<File> instanceFiles;
+
+    /**
+     * The algorithms ran against each instance.
+     */
+    private final Set<SampleAlgorithm> algorithms;
 
     /**
      * Current text file identifying name of distances being evaluated.
@@ -42,9 +121,24 @@ public class TSPSampleRunner {
     private String currentSample;
 
     /**
-     * Current text matrix being ran.
+     * Current instance being ran.
+     */
+    private TSPInstance currentInstance;
+
+    /**
+     * Repository sharing each loaded instance, and its derived MST cost, between both phases of the tests.
+     */
+    private InstanceRepository instanceRepository;
+
+    /**
+     * The best tour of every resample of every algorithm ran against the current instance, merged once all finish.
+     */
+    private final List<int[]> eliteTours = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The metrics of each algorithm across every sample, registered over JMX as each algorithm first runs.
      */
-    private double[][] testMatrix;
+    private final ConcurrentMap<String, SearchMetricsRecorder> algorithmMetrics = new ConcurrentHashMap<>();
 
     /**
      * Optional test representation, useful for evaluating samples against a known representation.
@@ -67,15 +161,68 @@ public class TSPSampleRunner {
     private int algorithmIterations;
 
     /**
-     * The number of times to rerun the RRHC RMHC internal algorithm for.
+     * The wall-clock budget of each resample in milliseconds, or zero for no time budget.
+     */
+    private final long budgetMillis;
+
+    /**
+     * The fitness at which each resample stops early, or NaN to never stop on fitness.
+     */
+    private final double budgetTargetFitness;
+
+    /**
+     * The number of iterations of each RRHC hill climb, the budget of each resample being divided between as many
+     * climbs as it allows.
+     */
+    private int rrhcClimbIterations;
+
+    /**
+     * The number of RRHC climbs without improvement after which a resample stops early, or zero to never stop early.
      */
-    private int rrhcRMHCRepetitions;
+    private final int rrhcRestartPatience;
 
     /**
      * The Stochastic HC convergence parameter, defined as T, in the lab worksheets.
      */
     private double scaConvergenceParameter;
 
+    /**
+     * The Stochastic HC convergence parameter as a fraction of the MST cost of the instance.
+     */
+    private final double scaConvergenceFactor;
+
+    /**
+     * The probability with which SA initially accepts a move of average worsening on a random tour.
+     */
+    private final double saInitialAcceptance;
+
+    /**
+     * The probability with which SA finally accepts a move of average worsening on a random tour. Moves near a
+     * local optimum worsen the tour far less than moves on a random tour, so this is set far below the
+     * probability at which the search actually freezes.
+     */
+    private final double saFinalAcceptance;
+
+    /**
+     * The number of ILS iterations without improvement after which the search restarts.
+     */
+    private final int ilsRestartPatience;
+
+    /**
+     * The number of algorithms ran concurrently against each instance.
+     */
+    private final int algorithmThreads;
+
+    /**
+     * The number of RRHC restarts ran concurrently.
+     */
+    private final int rrhcParallelism;
+
+    /**
+     * The number of decomposition segments solved concurrently.
+     */
+    private final int decompositionParallelism;
+
     /**
      * The Simulated Annealing starting temperature.
      */
@@ -86,20 +233,234 @@ public class TSPSampleRunner {
      */
     private double saCoolingRate;
 
+    /**
+     * The heuristic used to construct the starting solution of each resample.
+     */
+    private ConstructionHeuristic startingTourHeuristic;
+
+    /**
+     * The seed from which the source of randomness of every resample is derived.
+     */
+    private long masterSeed;
+
+    /**
+     * The directory results are written to.
+     */
+    private File outputDirectory;
+
+    /**
+     * Sink every algorithm publishes its results to while the tests run, or null if not logged.
+     */
+    private ResultWriter resultWriter;
+
+    /**
+     * Store every algorithm appends the raw result of each resample to while the tests run, or null if not stored.
+     */
+    private ResultStore resultStore;
+
+    /**
+     * The file the progress of the tests is checkpointed to, or null if not checkpointed.
+     */
+    private File checkpointFile;
+
+    /**
+     * Checkpoint of the progress of the tests while they run, or null if not checkpointed.
+     */
+    private CampaignCheckpoint campaignCheckpoint;
+
+
+    public TSPSampleRunner(int resamplesToRun, SolutionType solutionType, int algorithmIterations,
+                           int rrhcClimbIterations) {
+        this(resamplesToRun, solutionType, algorithmIterations, rrhcClimbIterations, ConstructionHeuristic.RANDOM,
+                System.nanoTime());
+    }
+
+    /**
+     * Constructor additionally selecting the heuristic used to construct the starting solution of each resample,
+     * whose construction is timed separately from the algorithm itself, and the master seed from which every
+     * resample derives its randomness, so that any run may be replayed exactly.
+     *
+     * @param resamplesToRun the number of times to resample each algorithm.
+     * @param solutionType the solution type to run.
+     * @param algorithmIterations the number of times to iterate within each algorithm.
+     * @param rrhcClimbIterations the number of iterations of each RRHC hill climb.
+     * @param startingTourHeuristic the heuristic constructing starting solutions.
+     * @param masterSeed the seed from which every resample's source of randomness is derived.
+     */
+    public TSPSampleRunner(int resamplesToRun, SolutionType solutionType, int algorithmIterations,
+                           int rrhcClimbIterations, ConstructionHeuristic startingTourHeuristic, long masterSeed) {
+        this(resamplesToRun, solutionType, algorithmIterations, rrhcClimbIterations, startingTourHeuristic,
+                masterSeed, DEFAULT_OUTPUT_DIRECTORY);
+    }
+
+    /**
+     * Constructor additionally selecting the directory the result logs are written to.
+     *
+     * @param resamplesToRun the number of times to resample each algorithm.
+     * @param solutionType the solution type to run.
+     * @param algorithmIterations the number of times to iterate within each algorithm.
+     * @param rrhcClimbIterations the number of iterations of each RRHC hill climb.
+     * @param startingTourHeuristic the heuristic constructing starting solutions.
+     * @param masterSeed the seed from which every resample's source of randomness is derived.
+     * @param outputDirectory the directory to write the result logs to, created if missing.
+     */
+    public TSPSampleRunner(int resamplesToRun, SolutionType solutionType, int algorithmIterations,
+                           int rrhcClimbIterations, ConstructionHeuristic startingTourHeuristic, long masterSeed,
+                           File outputDirectory) {
+        this(toConfiguration(resamplesToRun, solutionType, algorithmIterations, rrhcClimbIterations,
+                startingTourHeuristic, masterSeed, outputDirectory));
+    }
+
+    /**
+     * Constructor for the tests described by an experiment configuration, checkpointed to the output directory
+     * if the configuration says so.
+     *
+     * @param configuration the validated configuration of the tests.
+     */
+    public TSPSampleRunner(ExperimentConfiguration configuration) {
+        this.configuration = configuration;
+        this.instanceFiles = configuration.getInstanceFiles();
+        this.algorithms = configuration.getAlgorithms();
+        this.outputDirectory = configuration.getOutputDirectory();
+        this.startingTourHeuristic = configuration.getConstruction();
+        this.masterSeed = configuration.getMasterSeed();
+        this.resamplesToRun = configuration.getResamples();
+        this.solutionType = configuration.getSolutionType();
+        this.algorithmIterations = configuration.getIterations();
+        this.budgetMillis = configuration.getBudgetMillis();
+        this.budgetTargetFitness = configuration.getBudgetTargetFitness();
+        this.rrhcClimbIterations = configuration.getRrhcClimbIterations();
+        this.rrhcRestartPatience = configuration.getRrhcRestartPatience();
+        this.scaConvergenceFactor = configuration.getScaConvergenceFactor();
+        this.saInitialAcceptance = configuration.getSaInitialAcceptance();
+        this.saFinalAcceptance = configuration.getSaFinalAcceptance();
+        this.ilsRestartPatience = configuration.getIlsRestartPatience();
+        this.algorithmThreads = configuration.getThreads();
+        this.rrhcParallelism = configuration.getRrhcParallelism();
+        this.decompositionParallelism = configuration.getDecompositionParallelism();
+        if (configuration.isCheckpointed()) {
+            this.checkpointFile = new File(outputDirectory, CHECKPOINT_NAME);
+        }
+        this.instanceRepository = new InstanceRepository(
+                InstanceRepository.DEFAULT_MAXIMUM_CACHED_BYTES,
+                configuration.isPersistSidecars(),
+                InstanceRepository.DEFAULT_CANDIDATES_PER_NODE
+        );
+    }
 
-    public TSPSampleRunner(int resamplesToRun, SolutionType solutionType, int algorithmIterations, int rrhcRMHCRepetitions) {
-        this.resamplesToRun = resamplesToRun;
-        this.solutionType = solutionType;
-        this.algorithmIterations = algorithmIterations;
-        this.rrhcRMHCRepetitions = rrhcRMHCRepetitions;
+    /**
+     * Describes the parameters of the original constructors as a configuration, running every bundled instance
+     * and algorithm with the default constants, without checkpointing.
+     */
+    private static ExperimentConfiguration toConfiguration(int resamplesToRun, SolutionType solutionType,
+                                                           int algorithmIterations, int rrhcClimbIterations,
+                                                           ConstructionHeuristic startingTourHeuristic,
+                                                           long masterSeed, File outputDirectory) {
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.RESAMPLES.getKey(), String.valueOf(resamplesToRun));
+        properties.setProperty(ExperimentProperty.SOLUTION_TYPE.getKey(), solutionType.name());
+        properties.setProperty(ExperimentProperty.ITERATIONS.getKey(), String.valueOf(algorithmIterations));
+        properties.setProperty(ExperimentProperty.RRHC_CLIMB_ITERATIONS.getKey(), String.valueOf(rrhcClimbIterations));
+        properties.setProperty(ExperimentProperty.CONSTRUCTION.getKey(), startingTourHeuristic.name());
+        properties.setProperty(ExperimentProperty.SEED.getKey(), String.valueOf(masterSeed));
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), outputDirectory.getPath());
+        properties.setProperty(ExperimentProperty.CHECKPOINT.getKey(), "false");
+        return ExperimentConfiguration.fromProperties(properties);
     }
 
     /**
-     * Execute all the tests.
+     * Checkpoints the progress of the tests to a file, which must be set before the tests are ran. If the file
+     * already holds the checkpoint of tests ran with the same parameters, the tests resume from it, adopting its
+     * master seed, skipping the samples and resamples already completed and continuing resamples in flight.
+     *
+     * @param checkpointFile the file to checkpoint to, or null to stop checkpointing.
+     */
+    public void setCheckpointFile(File checkpointFile) {
+
+        // resumed tests rely on the result store for the results of the resamples already completed.
+        if (checkpointFile != null && !configuration.isResultStoreOutput()) {
+            throw new IllegalArgumentException("Checkpointing requires the result store to be written");
+        }
+
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Execute all the tests, returning once every result has been written.
      */
     public void runTests() {
-        iterateThroughDataSet();
-        iterateThroughOptimalDataSet();
+
+        if (checkpointFile != null) {
+            try {
+                campaignCheckpoint = CampaignCheckpoint.resumeOrCreate(
+                        checkpointFile,
+                        masterSeed,
+                        configuration.getFingerprint(),
+                        CampaignCheckpoint.DEFAULT_SAVE_INTERVAL_MILLIS
+                );
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("Unable to read checkpoint " + checkpointFile, e);
+            }
+            masterSeed = campaignCheckpoint.getMasterSeed();
+            if (campaignCheckpoint.isResumed()) {
+                System.out.println("Resuming from checkpoint: " + checkpointFile);
+            }
+        }
+
+        System.out.println("Master seed: " + masterSeed);
+
+        try (ResultWriter resultWriter = configuration.isCsvOutput() ? new ResultWriter(outputDirectory) : null;
+             ResultStore resultStore = configuration.isResultStoreOutput() ? openResultStore() : null) {
+            this.resultWriter = resultWriter;
+            this.resultStore = resultStore;
+            writeConfiguration();
+            iterateThroughDataSet();
+            iterateThroughOptimalDataSet();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to write results to " + outputDirectory, e);
+        }
+        finally {
+            this.resultWriter = null;
+            this.resultStore = null;
+            this.campaignCheckpoint = null;
+        }
+
+        // the tests completed, so there is nothing left to resume.
+        if (checkpointFile != null && checkpointFile.exists() && !checkpointFile.delete()) {
+            System.err.println("Unable to remove checkpoint " + checkpointFile);
+        }
+    }
+
+    /**
+     * Opens the result store in the output directory, discarding the results appended after the checkpoint being
+     * resumed was saved, whose resamples are ran again.
+     *
+     * @return the result store.
+     * @throws IOException if the store cannot be opened.
+     */
+    private ResultStore openResultStore() throws IOException {
+        final File storeFile = new File(outputDirectory, RESULT_STORE_NAME);
+        return (campaignCheckpoint != null && campaignCheckpoint.isResumed())
+                ? new ResultStore(storeFile, ResultStore.DEFAULT_BLOCK_SIZE, campaignCheckpoint.getResultStoreLength())
+                : new ResultStore(storeFile);
+    }
+
+    /**
+     * Writes the configuration of the tests, with the master seed they ran under, to the output directory so the
+     * tests may be repeated.
+     *
+     * @throws IOException if the configuration cannot be written.
+     */
+    private void writeConfiguration() throws IOException {
+
+        final Properties properties = configuration.toProperties();
+        properties.setProperty(ExperimentProperty.SEED.getKey(), String.valueOf(masterSeed));
+
+        try (OutputStream output = new FileOutputStream(new File(outputDirectory, CONFIGURATION_NAME))) {
+            properties.store(output, "Configuration of the tests, which may be passed back with --config");
+        }
     }
 
     /**
@@ -111,13 +472,15 @@ public class TSPSampleRunner {
 
         testRepresentation = null;
 
-        for (int i = 0; i < SOLUTIONS.length; i++) {
-            String sample = SOLUTIONS[i];
-            currentSample = sample;
-            testMatrix = Utilities.readArrayFile(
-                    Utilities.getResourcePath("data/TSP_" + currentSample + ".txt"),
-                    " "
-            );
+        for (int i = 0; i < instanceFiles.size(); i++) {
+            File instanceFile = instanceFiles.get(i);
+            currentSample = ExperimentConfiguration.getInstanceName(instanceFile);
+
+            if (isSampleComplete()) {
+                continue;
+            }
+
+            currentInstance = instanceRepository.getInstance(instanceFile.getPath());
 
             // progress bar, so you don't feel like nothing is happening.
             String update;
@@ -125,39 +488,136 @@ public class TSPSampleRunner {
                     "\rNon Optimal: %s [%s%s] %d/%d",
                     currentSample,
                     StringUtils.repeat("=", i+1),
-                    StringUtils.repeat(" ", SOLUTIONS.length - i - 1),
+                    StringUtils.repeat(" ", instanceFiles.size() - i - 1),
                     i + 1,
-                    SOLUTIONS.length
+                    instanceFiles.size()
             );
 
-            try {
-                System.out.write(update.getBytes());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            System.out.print(update);
 
-            ExecutorService executorService = Executors.newFixedThreadPool(4);
+            eliteTours.clear();
+
+            ExecutorService executorService = Executors.newFixedThreadPool(algorithmThreads);
             List<Future<?>> futureList = new ArrayList<>();
 
-            Runnable t1 = this::runRMHC;
-            Runnable t2 = this::runRRHC;
-            Runnable t3 = this::runSCA;
-            Runnable t4 = this::runSA;
-
-            futureList.add(executorService.submit(t1));
-            futureList.add(executorService.submit(t2));
-            futureList.add(executorService.submit(t3));
-            futureList.add(executorService.submit(t4));
-
-            for(Future<?> future: futureList) {
-                try {
-                    future.get();
-                } catch (InterruptedException | ExecutionException e) {
-                    e.printStackTrace();
-                }
+            for (SampleAlgorithm algorithm : algorithms) {
+                futureList.add(executorService.submit(getAlgorithmRunner(algorithm)));
             }
+
             executorService.shutdown();
+            awaitAlgorithms(futureList);
+
+            publishSummary("MERGE", this::mergeEliteTours);
+            completeSample();
+        }
+    }
+
+    /**
+     * Waits for every algorithm ran against the current instance to finish, failing should any of them have, so
+     * that a sample missing any of its resamples is never checkpointed as complete and is ran again on resume.
+     *
+     * @param futureList the algorithms ran against the current instance.
+     */
+    private void awaitAlgorithms(List<Future<?>> futureList) {
+
+        IllegalStateException failure = null;
+
+        for (Future<?> future : futureList) {
+            try {
+                future.get();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running " + currentSample, e);
+            }
+            catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IllegalStateException("Algorithm failed on " + currentSample, e.getCause());
+                }
+                else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Retrieves the task resampling an algorithm against the current instance.
+     *
+     * @param algorithm the algorithm to resample.
+     * @return the task.
+     */
+    private Runnable getAlgorithmRunner(SampleAlgorithm algorithm) {
+        switch (algorithm) {
+            case RMHC:
+                return this::runRMHC;
+            case RRHC:
+                return this::runRRHC;
+            case SCA:
+                return this::runSCA;
+            case SA:
+                return this::runSA;
+            case ILS:
+                return this::runILS;
+            case DECOMPOSITION:
+                return this::runDecomposition;
+            default:
+                throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        }
+    }
+
+    /**
+     * Merges the elite tours of every algorithm ran against the current instance with partition crossover, then
+     * polishes the merged tour with a 2-opt descent, logging how each step compares to the best elite tour.
+     */
+    private void mergeEliteTours() {
+
+        if (eliteTours.isEmpty()) {
+            return;
+        }
+
+        final Graph graph = currentInstance.getGraph();
+
+        double bestEliteLength = Double.POSITIVE_INFINITY;
+        for (int[] eliteTour : eliteTours) {
+            bestEliteLength = Math.min(bestEliteLength, graph.getTourLength(eliteTour));
         }
+
+        AlgorithmTimer mergeTimer = new AlgorithmTimer();
+        mergeTimer.start();
+
+        final int[] mergedTour = PartitionCrossover.mergeTours(graph, eliteTours);
+        final double mergedLength = graph.getTourLength(mergedTour);
+
+        final LocalSearchTour polishedTour = new LocalSearchTour(
+                mergedTour,
+                graph,
+                currentInstance.getCandidateList()
+        );
+        polishedTour.activateAll();
+        polishedTour.optimise();
+        final double polishedLength = graph.getTourLength(polishedTour.copyTour(mergedTour));
+
+        mergeTimer.end();
+
+        writeResult(
+                "MERGE_SUMMARY",
+                new String[]{"Sample", "Elite Tours", "Best Elite Fitness", "Merged Fitness", "Polished Fitness",
+                        "Merge Time", "MST Cost"},
+                new String[] {
+                        currentSample,
+                        String.valueOf(eliteTours.size()),
+                        String.valueOf(bestEliteLength),
+                        String.valueOf(mergedLength),
+                        String.valueOf(polishedLength),
+                        String.valueOf(mergeTimer.getDuration()),
+                        String.valueOf(currentInstance.getMinimumSpanningTreeCost())
+                }
+        );
     }
 
     /**
@@ -166,17 +626,27 @@ public class TSPSampleRunner {
      */
     private void iterateThroughOptimalDataSet() {
 
-        for (int i = 0; i < OPTIMAL_SOLUTIONS.length; i++) {
-            String sample = OPTIMAL_SOLUTIONS[i];
-            currentSample = sample;
-            testMatrix = Utilities.readArrayFile(
-                    Utilities.getResourcePath("data/TSP_" + currentSample + ".txt"),
-                    " "
-            );
-            currentSample = sample + "_OPT";
-            testRepresentation = Utilities.readIntegerFile(
-                    Utilities.getResourcePath("data/TSP_" + currentSample + ".txt")
-            );
+        final List<File> optimalInstanceFiles = new ArrayList<>();
+        for (File instanceFile : instanceFiles) {
+            if (ExperimentConfiguration.findOptimalTour(instanceFile) != null) {
+                optimalInstanceFiles.add(instanceFile);
+            }
+        }
+
+        for (int i = 0; i < optimalInstanceFiles.size(); i++) {
+            File instanceFile = optimalInstanceFiles.get(i);
+            currentSample = ExperimentConfiguration.getInstanceName(instanceFile) + "_OPT";
+
+            if (isSampleComplete()) {
+                continue;
+            }
+
+            currentInstance = instanceRepository.getInstance(instanceFile.getPath());
+
+            final String optimalTourFile = ExperimentConfiguration.findOptimalTour(instanceFile).getPath();
+            testRepresentation = optimalTourFile.endsWith(".tour")
+                    ? TSPLibReader.readTour(optimalTourFile)
+                    : Utilities.readIntegerFile(optimalTourFile);
 
             // progress bar, so you don't feel like nothing is happening.
             String update;
@@ -184,18 +654,15 @@ public class TSPSampleRunner {
                     "\r %s [%s%s] %d/%d",
                     currentSample,
                     StringUtils.repeat("=", i+1),
-                    StringUtils.repeat(" ", OPTIMAL_SOLUTIONS.length - i - 1),
+                    StringUtils.repeat(" ", optimalInstanceFiles.size() - i - 1),
                     i + 1,
-                    OPTIMAL_SOLUTIONS.length
+                    optimalInstanceFiles.size()
             );
 
-            try {
-                System.out.write(update.getBytes());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            System.out.print(update);
 
-            getOptimal();
+            publishSummary("OPTIMAL", this::getOptimal);
+            completeSample();
         }
     }
 
@@ -204,31 +671,46 @@ public class TSPSampleRunner {
      */
     private void runRMHC() {
 
-        Graph graph = new Graph(testMatrix);
+        Graph graph = currentInstance.getGraph();
 
         TSPReportUtility tspReportUtility = new TSPReportUtility(
                 currentSample,
                 resamplesToRun,
                 algorithmIterations,
-                "RMHC_SUMMARY"
+                "RMHC_SUMMARY",
+                startingTourHeuristic.name(),
+                resultWriter
         );
 
-        final double mstCost = MinimumSpanningTree.getMSTCost(MinimumSpanningTree.primsMST(graph.getDistanceMatrix()));
+        final double mstCost = currentInstance.getMinimumSpanningTreeCost();
 
-        Vector<Integer> representation = (testRepresentation != null) ?
-                (testRepresentation) : graph.getRandomRoute();
+        // each resample constructs its own starting route, so only fall back on the known representation.
+        Vector<Integer> representation = testRepresentation;
 
         AlgorithmTimer algorithmTimer = new AlgorithmTimer();
+        AlgorithmTimer constructionTimer = new AlgorithmTimer();
 
         for(int i = 0; i < resamplesToRun; i++) {
 
-            representation = graph.getRandomRoute();
+            XoroshiroRandom taskRandom = getTaskRandom("RMHC", i);
+
+            constructionTimer.start();
+            representation = constructStartingRoute(taskRandom);
+            constructionTimer.end();
+
+            final TaskResult completedRun = getCompletedRun("RMHC", i);
+            if (completedRun != null) {
+                replayRun(tspReportUtility, completedRun);
+                continue;
+            }
 
             algorithmTimer.start();
 
+            final XoroshiroRandom solutionRandom = taskRandom.split();
             TSPSolution tspSolution = new TSPSolution(
                 representation,
-                graph
+                graph,
+                solutionRandom
             );
 
             RandomMutatingHillClimber<TSPSolution, Double, Vector<Integer>> rmhc = new RandomMutatingHillClimber<>(
@@ -237,10 +719,16 @@ public class TSPSampleRunner {
                     solutionType
             );
 
+            rmhc.setMetrics(getAlgorithmMetrics("RMHC"));
+            final long resumedNanos = checkpointRun(rmhc, "RMHC", i, algorithmTimer, solutionRandom);
+            applyBudget(rmhc, resumedNanos, DeadlineTermination.DEFAULT_CHECK_INTERVAL);
             tspSolution = rmhc.runAlgorithm();
 
 
             algorithmTimer.end();
+            final long executionTime = resumedNanos + algorithmTimer.getDuration();
+
+            eliteTours.add(tspSolution.getTour());
 
             final double fitness = tspSolution.getFitness();
             final double solutionQuality = tspSolution.getSolutionQuality(fitness, mstCost);
@@ -248,8 +736,12 @@ public class TSPSampleRunner {
             tspReportUtility.appendRun(
                     fitness,
                     solutionQuality,
-                    algorithmTimer.getDuration()
+                    executionTime,
+                    constructionTimer.getDuration()
             );
+
+            recordRun("RMHC", i, fitness, solutionQuality, executionTime, constructionTimer.getDuration(),
+                    Double.NaN, tspSolution.getTour());
         }
 
         TSPSolution tspOptimal = new TSPSolution(
@@ -257,10 +749,10 @@ public class TSPSampleRunner {
             graph
         );
 
-        tspReportUtility.createLog(
+        publishSummary("RMHC", () -> tspReportUtility.createLog(
                 tspOptimal.getFitness(),
                 mstCost
-        );
+        ));
     }
 
     /**
@@ -268,52 +760,79 @@ public class TSPSampleRunner {
      */
     private void runRRHC() {
 
-        Graph graph = new Graph(testMatrix);
+        Graph graph = currentInstance.getGraph();
 
         TSPReportUtility tspReportUtility = new TSPReportUtility(
                 currentSample,
                 resamplesToRun,
                 algorithmIterations,
-                "RRHC_SUMMARY"
+                "RRHC_SUMMARY",
+                startingTourHeuristic.name(),
+                resultWriter
         );
 
-        Vector<Integer> representation = (testRepresentation != null) ?
-                (testRepresentation) : graph.getRandomRoute();
+        // each resample constructs its own starting route, so only fall back on the known representation.
+        Vector<Integer> representation = testRepresentation;
 
-        final double mstCost = MinimumSpanningTree.getMSTCost(MinimumSpanningTree.primsMST(graph.getDistanceMatrix()));
+        final double mstCost = currentInstance.getMinimumSpanningTreeCost();
 
         AlgorithmTimer algorithmTimer = new AlgorithmTimer();
+        AlgorithmTimer constructionTimer = new AlgorithmTimer();
 
         for(int i = 0; i < resamplesToRun; i++) {
 
-            representation = graph.getRandomRoute();
+            XoroshiroRandom taskRandom = getTaskRandom("RRHC", i);
+
+            constructionTimer.start();
+            representation = constructStartingRoute(taskRandom);
+            constructionTimer.end();
+
+            // restarts run concurrently, so resamples in flight are ran again rather than continued.
+            final TaskResult completedRun = getCompletedRun("RRHC", i);
+            if (completedRun != null) {
+                replayRun(tspReportUtility, completedRun);
+                continue;
+            }
 
             algorithmTimer.start();
             TSPSolution tspSolution = new TSPSolution(
                     representation,
-                    graph
+                    graph,
+                    taskRandom.split()
             );
 
             RandomRestartHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> rrhc = new RandomRestartHillClimbingAlgorithm<>(
-                    algorithmIterations/rrhcRMHCRepetitions,
+                    algorithmIterations/rrhcClimbIterations,
                     tspSolution,
                     solutionType,
-                    rrhcRMHCRepetitions
+                    rrhcClimbIterations,
+                    random -> new TSPSolution(constructStartingRoute(random), graph, random),
+                    rrhcParallelism,
+                    rrhcRestartPatience,
+                    taskRandom.split()
             );
 
+            rrhc.setMetrics(getAlgorithmMetrics("RRHC"));
+            applyBudget(rrhc, 0, DeadlineTermination.DEFAULT_CHECK_INTERVAL);
             tspSolution = rrhc.runAlgorithm();
 
 
             algorithmTimer.end();
 
+            eliteTours.add(tspSolution.getTour());
+
             final double fitness = tspSolution.getFitness();
             final double solutionQuality = tspSolution.getSolutionQuality(fitness, mstCost);
 
             tspReportUtility.appendRun(
                     fitness,
                     solutionQuality,
-                    algorithmTimer.getDuration()
+                    algorithmTimer.getDuration(),
+                    constructionTimer.getDuration()
             );
+
+            recordRun("RRHC", i, fitness, solutionQuality, algorithmTimer.getDuration(),
+                    constructionTimer.getDuration(), Double.NaN, tspSolution.getTour());
         }
 
         TSPSolution tspOptimal = new TSPSolution(
@@ -321,10 +840,10 @@ public class TSPSampleRunner {
                 graph
         );
 
-        tspReportUtility.createLog(
+        publishSummary("RRHC", () -> tspReportUtility.createLog(
                 tspOptimal.getFitness(),
-                tspOptimal.getMinimumSpanningTreeCost()
-        );
+                mstCost
+        ));
     }
 
     /**
@@ -332,45 +851,73 @@ public class TSPSampleRunner {
      */
     private void runSCA() {
 
-        Graph graph = new Graph(testMatrix);
+        Graph graph = currentInstance.getGraph();
 
         TSPReportUtility tspReportUtility = new TSPReportUtility(
                 currentSample,
                 resamplesToRun,
                 algorithmIterations,
-                "SCA_SUMMARY"
+                "SCA_SUMMARY",
+                startingTourHeuristic.name(),
+                resultWriter
         );
 
-        final double OPTIMISATION_CONSTANT = 0.0055;
-
-        final double mstCost = MinimumSpanningTree.getMSTCost(MinimumSpanningTree.primsMST(graph.getDistanceMatrix()));
-        scaConvergenceParameter = mstCost * OPTIMISATION_CONSTANT;
+        final double mstCost = currentInstance.getMinimumSpanningTreeCost();
+        scaConvergenceParameter = mstCost * scaConvergenceFactor;
 
-        Vector<Integer> representation = (testRepresentation != null) ?
-                (testRepresentation) : graph.getRandomRoute();
+        // each resample constructs its own starting route, so only fall back on the known representation.
+        Vector<Integer> representation = testRepresentation;
 
         AlgorithmTimer algorithmTimer = new AlgorithmTimer();
+        AlgorithmTimer constructionTimer = new AlgorithmTimer();
+
+        double totalFinalFitness = 0;
 
         for(int i = 0; i < resamplesToRun; i++) {
 
-            representation = graph.getRandomRoute();
+            XoroshiroRandom taskRandom = getTaskRandom("SCA", i);
+
+            constructionTimer.start();
+            representation = constructStartingRoute(taskRandom);
+            constructionTimer.end();
+
+            final TaskResult completedRun = getCompletedRun("SCA", i);
+            if (completedRun != null) {
+                replayRun(tspReportUtility, completedRun);
+                totalFinalFitness += completedRun.getAlgorithmStatistic();
+                continue;
+            }
 
             algorithmTimer.start();
+            final XoroshiroRandom solutionRandom = taskRandom.split();
             TSPSolution tspSolution = new TSPSolution(
                     representation,
-                    graph
+                    graph,
+                    solutionRandom
             );
 
+            final XoroshiroRandom searchRandom = taskRandom.split();
             StochasticHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> sca = new StochasticHillClimbingAlgorithm<>(
                     algorithmIterations,
                     tspSolution,
                     solutionType,
-                    scaConvergenceParameter
+                    scaConvergenceParameter,
+                    searchRandom
             );
 
+            sca.setMetrics(getAlgorithmMetrics("SCA"));
+            final long resumedNanos = checkpointRun(sca, "SCA", i, algorithmTimer, solutionRandom, searchRandom);
+            applyBudget(sca, resumedNanos, DeadlineTermination.DEFAULT_CHECK_INTERVAL);
             tspSolution = sca.runAlgorithm();
 
             algorithmTimer.end();
+            final long executionTime = resumedNanos + algorithmTimer.getDuration();
+
+            eliteTours.add(tspSolution.getTour());
+
+            // the algorithm returns the best tour visited, which its final tour may be worse than.
+            final double finalFitness = sca.getCurrentSolution().getFitness();
+            totalFinalFitness += finalFitness;
 
             final double fitness = tspSolution.getFitness();
             final double solutionQuality = tspSolution.getSolutionQuality(fitness, mstCost);
@@ -378,8 +925,12 @@ public class TSPSampleRunner {
             tspReportUtility.appendRun(
                     fitness,
                     solutionQuality,
-                    algorithmTimer.getDuration()
+                    executionTime,
+                    constructionTimer.getDuration()
             );
+
+            recordRun("SCA", i, fitness, solutionQuality, executionTime, constructionTimer.getDuration(),
+                    finalFitness, tspSolution.getTour());
         }
 
         TSPSolution tspOptimal = new TSPSolution(
@@ -388,19 +939,20 @@ public class TSPSampleRunner {
         );
 
         String[] addedHeaders = new String[] {
-                "paramT"
+                "paramT", "Average Final Fitness"
         };
 
         String[] addedData = new String[] {
-            String.valueOf(scaConvergenceParameter)
+            String.valueOf(scaConvergenceParameter),
+            String.valueOf(totalFinalFitness / resamplesToRun)
         };
 
-        tspReportUtility.createLog(
+        publishSummary("SCA", () -> tspReportUtility.createLog(
                 tspOptimal.getFitness(),
                 mstCost,
                 addedHeaders,
                 addedData
-        );
+        ));
     }
 
     /**
@@ -408,51 +960,90 @@ public class TSPSampleRunner {
      */
     private void runSA() {
 
-        Graph graph = new Graph(testMatrix);
+        Graph graph = currentInstance.getGraph();
 
         TSPReportUtility tspReportUtility = new TSPReportUtility(
                 currentSample,
                 resamplesToRun,
                 algorithmIterations,
-                "SA_SUMMARY"
+                "SA_SUMMARY",
+                startingTourHeuristic.name(),
+                resultWriter
         );
 
-        Vector<Integer> representation = (testRepresentation != null) ?
-                (testRepresentation) : graph.getRandomRoute();
+        // each resample constructs its own starting route, so only fall back on the known representation.
+        Vector<Integer> representation = testRepresentation;
 
 
-        final double OPTIMISATION_CONSTANT = 0.0000018;
+        final double mstCost = currentInstance.getMinimumSpanningTreeCost();
 
-        final double mstCost = MinimumSpanningTree.getMSTCost(MinimumSpanningTree.primsMST(graph.getDistanceMatrix()));
-        double tItter = mstCost * OPTIMISATION_CONSTANT;
-        double startingTemp = mstCost * 0.95;
+        // the temperatures are estimated once per instance, from the moves available to a random tour.
+        final XoroshiroRandom temperatureRandom = getTaskRandom("SA-temperature", 0);
+        final TSPSolution temperatureSample = new TSPSolution(
+                graph.getRandomTour(temperatureRandom),
+                graph,
+                temperatureRandom
+        );
+        saStartingTemperature = TemperatureEstimator.estimateTemperature(temperatureSample, solutionType,
+                TemperatureEstimator.DEFAULT_SAMPLES, saInitialAcceptance);
+        final double finalTemperature = TemperatureEstimator.estimateTemperature(temperatureSample, solutionType,
+                TemperatureEstimator.DEFAULT_SAMPLES, saFinalAcceptance);
 
-        saCoolingRate = Math.pow((tItter / startingTemp), (1.0 / algorithmIterations));
-        saStartingTemperature = startingTemp;
+        final GeometricCooling coolingSchedule = GeometricCooling.toFinalTemperature(finalTemperature);
+        coolingSchedule.start(saStartingTemperature, algorithmIterations);
+        saCoolingRate = coolingSchedule.getCoolingRate();
 
         AlgorithmTimer algorithmTimer = new AlgorithmTimer();
+        AlgorithmTimer constructionTimer = new AlgorithmTimer();
+
+        double totalFinalFitness = 0;
 
         for(int i = 0; i < resamplesToRun; i++) {
 
-            representation = graph.getRandomRoute();
+            XoroshiroRandom taskRandom = getTaskRandom("SA", i);
+
+            constructionTimer.start();
+            representation = constructStartingRoute(taskRandom);
+            constructionTimer.end();
+
+            final TaskResult completedRun = getCompletedRun("SA", i);
+            if (completedRun != null) {
+                replayRun(tspReportUtility, completedRun);
+                totalFinalFitness += completedRun.getAlgorithmStatistic();
+                continue;
+            }
 
             algorithmTimer.start();
+            final XoroshiroRandom solutionRandom = taskRandom.split();
             TSPSolution tspSolution = new TSPSolution(
                     representation,
-                    graph
+                    graph,
+                    solutionRandom
             );
 
+            final XoroshiroRandom searchRandom = taskRandom.split();
             SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> sa = new SimulatedAnnealingAlgorithm<>(
                     algorithmIterations,
                     tspSolution,
                     solutionType,
                     saStartingTemperature,
-                    saCoolingRate
+                    saCoolingRate,
+                    searchRandom
             );
 
+            sa.setMetrics(getAlgorithmMetrics("SA"));
+            final long resumedNanos = checkpointRun(sa, "SA", i, algorithmTimer, solutionRandom, searchRandom);
+            applyBudget(sa, resumedNanos, DeadlineTermination.DEFAULT_CHECK_INTERVAL);
             tspSolution = sa.runAlgorithm();
 
             algorithmTimer.end();
+            final long executionTime = resumedNanos + algorithmTimer.getDuration();
+
+            eliteTours.add(tspSolution.getTour());
+
+            // the algorithm returns the best tour visited, which its final tour may be worse than.
+            final double finalFitness = sa.getCurrentSolution().getFitness();
+            totalFinalFitness += finalFitness;
 
             final double fitness = tspSolution.getFitness();
             final double solutionQuality = tspSolution.getSolutionQuality(fitness, mstCost);
@@ -460,8 +1051,12 @@ public class TSPSampleRunner {
             tspReportUtility.appendRun(
                     fitness,
                     solutionQuality,
-                    algorithmTimer.getDuration()
+                    executionTime,
+                    constructionTimer.getDuration()
             );
+
+            recordRun("SA", i, fitness, solutionQuality, executionTime, constructionTimer.getDuration(),
+                    finalFitness, tspSolution.getTour());
         }
 
 
@@ -472,51 +1067,583 @@ public class TSPSampleRunner {
         );
 
         String[] addedHeaders = new String[] {
-                "Starting Temp", "Cooling Rate"
+                "Starting Temp", "Cooling Rate", "Average Final Fitness"
         };
 
         String[] addedData = new String[] {
                 String.valueOf(saStartingTemperature),
-                String.valueOf(saCoolingRate)
+                String.valueOf(saCoolingRate),
+                String.valueOf(totalFinalFitness / resamplesToRun)
+        };
+
+        publishSummary("SA", () -> tspReportUtility.createLog(
+                tspOptimal.getFitness(),
+                mstCost,
+                addedHeaders,
+                addedData
+        ));
+    }
+
+    /**
+     * Runs a number of samples of the Iterated Local Search algorithm, logging a general analysis.
+     */
+    private void runILS() {
+
+        Graph graph = currentInstance.getGraph();
+
+        final int ilsIterations = Math.max(1, algorithmIterations / ILS_MOVES_PER_ITERATION);
+
+        TSPReportUtility tspReportUtility = new TSPReportUtility(
+                currentSample,
+                resamplesToRun,
+                ilsIterations,
+                "ILS_SUMMARY",
+                startingTourHeuristic.name(),
+                resultWriter
+        );
+
+        final double mstCost = currentInstance.getMinimumSpanningTreeCost();
+
+        // each resample constructs its own starting route, so only fall back on the known representation.
+        Vector<Integer> representation = testRepresentation;
+
+        AlgorithmTimer algorithmTimer = new AlgorithmTimer();
+        AlgorithmTimer constructionTimer = new AlgorithmTimer();
+
+        long totalRestarts = 0;
+
+        for(int i = 0; i < resamplesToRun; i++) {
+
+            XoroshiroRandom taskRandom = getTaskRandom("ILS", i);
+
+            constructionTimer.start();
+            representation = constructStartingRoute(taskRandom);
+            constructionTimer.end();
+
+            // each iteration runs a whole local search, so resamples in flight are ran again rather than continued.
+            final TaskResult completedRun = getCompletedRun("ILS", i);
+            if (completedRun != null) {
+                replayRun(tspReportUtility, completedRun);
+                totalRestarts += (long) completedRun.getAlgorithmStatistic();
+                continue;
+            }
+
+            algorithmTimer.start();
+            TSPSolution tspSolution = new TSPSolution(
+                    representation,
+                    graph,
+                    taskRandom.split()
+            );
+
+            IteratedLocalSearchAlgorithm<TSPSolution> ils = new IteratedLocalSearchAlgorithm<>(
+                    ilsIterations,
+                    tspSolution,
+                    currentInstance.getCandidateList(),
+                    Perturbation.DOUBLE_BRIDGE,
+                    IteratedLocalSearchAlgorithm.DEFAULT_MAXIMUM_STRENGTH,
+                    new BetterAcceptance(ilsRestartPatience),
+                    taskRandom.split()
+            );
+
+            ils.setMetrics(getAlgorithmMetrics("ILS"));
+            applyBudget(ils, 0, 1);
+            tspSolution = ils.runAlgorithm();
+
+            algorithmTimer.end();
+
+            eliteTours.add(tspSolution.getTour());
+
+            totalRestarts += ils.getRestarts();
+
+            final double fitness = tspSolution.getFitness();
+            final double solutionQuality = tspSolution.getSolutionQuality(fitness, mstCost);
+
+            tspReportUtility.appendRun(
+                    fitness,
+                    solutionQuality,
+                    algorithmTimer.getDuration(),
+                    constructionTimer.getDuration()
+            );
+
+            recordRun("ILS", i, fitness, solutionQuality, algorithmTimer.getDuration(),
+                    constructionTimer.getDuration(), ils.getRestarts(), tspSolution.getTour());
+        }
+
+        TSPSolution tspOptimal = new TSPSolution(
+                representation,
+                graph
+        );
+
+        String[] addedHeaders = new String[] {
+                "Perturbation", "Restart Patience", "Average Restarts"
+        };
+
+        String[] addedData = new String[] {
+                Perturbation.DOUBLE_BRIDGE.name(),
+                String.valueOf(ilsRestartPatience),
+                String.valueOf((double) totalRestarts / resamplesToRun)
+        };
+
+        publishSummary("ILS", () -> tspReportUtility.createLog(
+                tspOptimal.getFitness(),
+                mstCost,
+                addedHeaders,
+                addedData
+        ));
+    }
+
+    /**
+     * Runs a number of samples of the decomposition algorithm, logging a general analysis. Each round solves
+     * every segment of the tour with a short ILS, so the rounds are sized for the whole run to evaluate about as
+     * many moves as the other algorithms' iteration budget.
+     */
+    private void runDecomposition() {
+
+        Graph graph = currentInstance.getGraph();
+
+        final int segments = Math.max(1, graph.getNumberOfNodes() / DecompositionAlgorithm.DEFAULT_SUBPROBLEM_SIZE);
+        final int rounds = Math.max(1,
+                algorithmIterations / (ILS_MOVES_PER_ITERATION * DECOMPOSITION_SEGMENT_ITERATIONS * segments));
+
+        TSPReportUtility tspReportUtility = new TSPReportUtility(
+                currentSample,
+                resamplesToRun,
+                rounds,
+                "DECOMPOSITION_SUMMARY",
+                startingTourHeuristic.name(),
+                resultWriter
+        );
+
+        final double mstCost = currentInstance.getMinimumSpanningTreeCost();
+
+        // each resample constructs its own starting route, so only fall back on the known representation.
+        Vector<Integer> representation = testRepresentation;
+
+        AlgorithmTimer algorithmTimer = new AlgorithmTimer();
+        AlgorithmTimer constructionTimer = new AlgorithmTimer();
+
+        for(int i = 0; i < resamplesToRun; i++) {
+
+            XoroshiroRandom taskRandom = getTaskRandom("DECOMPOSITION", i);
+
+            constructionTimer.start();
+            representation = constructStartingRoute(taskRandom);
+            constructionTimer.end();
+
+            // each round solves every segment afresh, so resamples in flight are ran again rather than continued.
+            final TaskResult completedRun = getCompletedRun("DECOMPOSITION", i);
+            if (completedRun != null) {
+                replayRun(tspReportUtility, completedRun);
+                continue;
+            }
+
+            algorithmTimer.start();
+            TSPSolution tspSolution = new TSPSolution(
+                    representation,
+                    graph,
+                    taskRandom.split()
+            );
+
+            DecompositionAlgorithm<TSPSolution> decomposition = new DecompositionAlgorithm<>(
+                    rounds,
+                    tspSolution,
+                    AlgorithmSubproblemSolver.iteratedLocalSearch(DECOMPOSITION_SEGMENT_ITERATIONS),
+                    DecompositionAlgorithm.DEFAULT_SUBPROBLEM_SIZE,
+                    decompositionParallelism,
+                    taskRandom.split()
+            );
+
+            decomposition.setMetrics(getAlgorithmMetrics("DECOMPOSITION"));
+            applyBudget(decomposition, 0, 1);
+            tspSolution = decomposition.runAlgorithm();
+
+            algorithmTimer.end();
+
+            eliteTours.add(tspSolution.getTour());
+
+            final double fitness = tspSolution.getFitness();
+            final double solutionQuality = tspSolution.getSolutionQuality(fitness, mstCost);
+
+            tspReportUtility.appendRun(
+                    fitness,
+                    solutionQuality,
+                    algorithmTimer.getDuration(),
+                    constructionTimer.getDuration()
+            );
+
+            recordRun("DECOMPOSITION", i, fitness, solutionQuality, algorithmTimer.getDuration(),
+                    constructionTimer.getDuration(), decomposition.getIterationsPerformed(), tspSolution.getTour());
+        }
+
+        TSPSolution tspOptimal = new TSPSolution(
+                representation,
+                graph
+        );
+
+        String[] addedHeaders = new String[] {
+                "Subproblem Size", "Segment Iterations", "Parallelism"
         };
 
-        tspReportUtility.createLog(
+        String[] addedData = new String[] {
+                String.valueOf(DecompositionAlgorithm.DEFAULT_SUBPROBLEM_SIZE),
+                String.valueOf(DECOMPOSITION_SEGMENT_ITERATIONS),
+                String.valueOf(decompositionParallelism)
+        };
+
+        publishSummary("DECOMPOSITION", () -> tspReportUtility.createLog(
                 tspOptimal.getFitness(),
                 mstCost,
                 addedHeaders,
                 addedData
+        ));
+    }
+
+    /**
+     * Constructs the starting solution of a resample of the current instance, using the selected heuristic.
+     *
+     * @param random the source of randomness of the resample.
+     * @return the starting representation.
+     */
+    private Vector<Integer> constructStartingRoute(Random random) {
+        return Tours.toVector(
+                startingTourHeuristic.getConstruction().constructTour(currentInstance, random)
+        );
+    }
+
+    /**
+     * Bounds a resample by the time budget and target fitness of the tests, on top of its iterations. A resumed
+     * resample is only given the time it had left.
+     *
+     * @param algorithm the algorithm about to run the resample.
+     * @param resumedNanos the time in nano seconds the resample had ran for before it was resumed.
+     * @param checkInterval the number of iterations between reads of the clock, fewer for costlier iterations.
+     */
+    private void applyBudget(HeuristicSearchAlgorithm<?, ?, ?> algorithm, long resumedNanos, int checkInterval) {
+
+        final List<TerminationPolicy> policies = new ArrayList<>();
+        policies.add(algorithm.getTerminationPolicy());
+        if (budgetMillis > 0) {
+            final long remainingNanos = Math.max(0, TimeUnit.MILLISECONDS.toNanos(budgetMillis) - resumedNanos);
+            policies.add(new DeadlineTermination(remainingNanos, checkInterval));
+        }
+        if (!Double.isNaN(budgetTargetFitness)) {
+            policies.add(new TargetFitnessTermination(budgetTargetFitness, solutionType));
+        }
+
+        if (policies.size() > 1) {
+            algorithm.setTerminationPolicy(CompositeTermination.anyOf(policies.toArray(new TerminationPolicy[0])));
+        }
+    }
+
+    /**
+     * Retrieves the metrics of an algorithm, creating and registering them over JMX on first use.
+     *
+     * @param algorithmName identifying name of the algorithm.
+     * @return the metrics of the algorithm.
+     */
+    private SearchMetricsRecorder getAlgorithmMetrics(String algorithmName) {
+        return algorithmMetrics.computeIfAbsent(algorithmName, name -> {
+            final SearchMetricsRecorder metrics = new SearchMetricsRecorder();
+            metrics.register(name);
+            return metrics;
+        });
+    }
+
+    /**
+     * Derives the source of randomness of a single resample from the master seed. The derivation depends only on
+     * the sample, algorithm and resample, never on scheduling, so any resample may be replayed in isolation.
+     *
+     * @param algorithmName identifying name of the algorithm being resampled.
+     * @param resample the index of the resample.
+     * @return the source of randomness of the resample.
+     */
+    private XoroshiroRandom getTaskRandom(String algorithmName, int resample) {
+        return XoroshiroRandom.forTask(masterSeed, currentSample.hashCode(), algorithmName.hashCode(), resample);
+    }
+
+    /**
+     * Appends the raw result of a resample of the current instance to the result store.
+     *
+     * @param algorithmName identifying name of the algorithm ran.
+     * @param resample the index of the resample.
+     * @param fitness the fitness of the best solution found.
+     * @param solutionQuality the quality of the best solution found.
+     * @param executionTime the time in nano seconds taken by the resample.
+     * @param constructionTime the time in nano seconds taken to construct the starting solution.
+     */
+    private void storeRun(String algorithmName, int resample, double fitness, double solutionQuality,
+                          long executionTime, long constructionTime) {
+        if (resultStore == null) {
+            return;
+        }
+
+        try {
+            resultStore.append(currentSample, algorithmName, resample, fitness, solutionQuality, executionTime,
+                    constructionTime);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to store result of " + algorithmName, e);
+        }
+    }
+
+    /**
+     * Records the result of a resample of the current instance, storing it and checkpointing its completion.
+     *
+     * @param algorithmName identifying name of the algorithm ran.
+     * @param resample the index of the resample.
+     * @param fitness the fitness of the best solution found.
+     * @param solutionQuality the quality of the best solution found.
+     * @param executionTime the time in nano seconds taken by the resample.
+     * @param constructionTime the time in nano seconds taken to construct the starting solution.
+     * @param algorithmStatistic the statistic the algorithm reports across resamples, or NaN if none.
+     * @param bestTour the best tour found.
+     */
+    private void recordRun(String algorithmName, int resample, double fitness, double solutionQuality,
+                           long executionTime, long constructionTime, double algorithmStatistic, int[] bestTour) {
+
+        if (campaignCheckpoint == null) {
+            storeRun(algorithmName, resample, fitness, solutionQuality, executionTime, constructionTime);
+            return;
+        }
+
+        // stored and completed together, so that every stored result is of a task the checkpoint completed.
+        synchronized (campaignCheckpoint) {
+            storeRun(algorithmName, resample, fitness, solutionQuality, executionTime, constructionTime);
+            campaignCheckpoint.completeTask(currentSample, algorithmName, resample, new TaskResult(
+                    fitness, solutionQuality, executionTime, constructionTime, algorithmStatistic, bestTour
+            ));
+        }
+        saveCheckpointIfDue();
+    }
+
+    /**
+     * Retrieves the result of a resample of the current instance completed before the tests were resumed.
+     *
+     * @param algorithmName identifying name of the algorithm.
+     * @param resample the index of the resample.
+     * @return the result, or null if the resample is yet to complete.
+     */
+    private TaskResult getCompletedRun(String algorithmName, int resample) {
+        return (campaignCheckpoint != null)
+                ? campaignCheckpoint.getTaskResult(currentSample, algorithmName, resample)
+                : null;
+    }
+
+    /**
+     * Reports a resample completed before the tests were resumed, as it was reported when it completed. The
+     * result is already stored, so is not stored again.
+     *
+     * @param tspReportUtility the report of the algorithm resampled.
+     * @param completedRun the result of the resample.
+     */
+    private void replayRun(TSPReportUtility tspReportUtility, TaskResult completedRun) {
+        eliteTours.add(completedRun.getBestTour());
+        tspReportUtility.appendRun(
+                completedRun.getFitness(),
+                completedRun.getSolutionQuality(),
+                completedRun.getExecutionNanos(),
+                completedRun.getConstructionNanos()
         );
     }
 
+    /**
+     * Resumes a resample of the current instance from its snapshot, if it was in flight when the tests were
+     * interrupted, and snapshots it periodically as it runs. The sources of randomness must be given in the
+     * same order each time the resample is ran.
+     *
+     * @param algorithm the algorithm about to run the resample.
+     * @param algorithmName identifying name of the algorithm.
+     * @param resample the index of the resample.
+     * @param algorithmTimer the timer of the resample, already started.
+     * @param randoms every source of randomness used by the resample.
+     * @return the time in nano seconds the resample had ran for before it was resumed.
+     */
+    private long checkpointRun(HeuristicSearchAlgorithm<TSPSolution, Double, Vector<Integer>> algorithm,
+                               String algorithmName, int resample, AlgorithmTimer algorithmTimer,
+                               XoroshiroRandom... randoms) {
+
+        if (campaignCheckpoint == null) {
+            return 0;
+        }
+
+        final String sample = currentSample;
+        final Graph graph = currentInstance.getGraph();
+        final SearchSnapshot searchSnapshot = campaignCheckpoint.getSnapshot(sample, algorithmName, resample);
+
+        final long resumedNanos;
+        if (searchSnapshot != null) {
+            final int[] currentTour = searchSnapshot.getCurrentTour();
+            algorithm.getCurrentSolution().setTour(currentTour, graph.getTourLength(currentTour));
+            algorithm.resumeFrom(
+                    searchSnapshot.getIterationsPerformed(),
+                    searchSnapshot.getControlParameter(),
+                    new TSPSolution(searchSnapshot.getBestTour(), graph, randoms[0])
+            );
+            for (int i = 0; i < randoms.length; i++) {
+                randoms[i].setState(searchSnapshot.getRandomState0(i), searchSnapshot.getRandomState1(i));
+            }
+            resumedNanos = searchSnapshot.getElapsedNanos();
+        }
+        else {
+            resumedNanos = 0;
+        }
+
+        algorithm.setCheckpointListener((iterationsPerformed, controlParameter) -> {
+            final long[] randomStates = new long[randoms.length * 2];
+            for (int i = 0; i < randoms.length; i++) {
+                randomStates[i * 2] = randoms[i].getState0();
+                randomStates[i * 2 + 1] = randoms[i].getState1();
+            }
+            campaignCheckpoint.recordSnapshot(sample, algorithmName, resample, new SearchSnapshot(
+                    iterationsPerformed,
+                    resumedNanos + System.nanoTime() - algorithmTimer.getStartTime(),
+                    controlParameter,
+                    algorithm.getCurrentSolution().getTour(),
+                    algorithm.getBestSolution().getTour(),
+                    randomStates
+            ));
+            saveCheckpointIfDue();
+        }, CHECKPOINT_INTERVAL_ITERATIONS);
+
+        return resumedNanos;
+    }
+
+    /**
+     * Determines whether the current sample was completed before the tests were resumed.
+     *
+     * @return whether the sample is complete.
+     */
+    private boolean isSampleComplete() {
+        return campaignCheckpoint != null && campaignCheckpoint.isInstanceComplete(currentSample);
+    }
+
+    /**
+     * Checkpoints the completion of the current sample, once every result it logged has been written.
+     */
+    private void completeSample() {
+
+        if (campaignCheckpoint == null) {
+            return;
+        }
+
+        try {
+            if (resultWriter != null) {
+                resultWriter.flush();
+            }
+            synchronized (campaignCheckpoint) {
+                campaignCheckpoint.completeInstance(currentSample);
+                saveCheckpoint();
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to checkpoint " + currentSample, e);
+        }
+    }
+
+    /**
+     * Logs a summary of the current sample, unless it was logged before the tests were resumed, checkpointing that
+     * it was once written so that resuming the sample never logs it twice.
+     *
+     * @param summaryName identifying name of the summary, unique within the sample.
+     * @param summary logs the summary.
+     */
+    private void publishSummary(String summaryName, Runnable summary) {
+
+        if (campaignCheckpoint == null) {
+            summary.run();
+            return;
+        }
+        if (campaignCheckpoint.isSummaryPublished(currentSample, summaryName)) {
+            return;
+        }
+
+        summary.run();
+        try {
+            if (resultWriter != null) {
+                resultWriter.flush();
+            }
+            synchronized (campaignCheckpoint) {
+                campaignCheckpoint.publishSummary(currentSample, summaryName);
+                saveCheckpoint();
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to checkpoint the " + summaryName + " summary of "
+                    + currentSample, e);
+        }
+    }
+
+    /**
+     * Saves the checkpoint if a save is due.
+     */
+    private void saveCheckpointIfDue() {
+        synchronized (campaignCheckpoint) {
+            if (!campaignCheckpoint.isSaveDue()) {
+                return;
+            }
+            try {
+                saveCheckpoint();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("Unable to save checkpoint " + checkpointFile, e);
+            }
+        }
+    }
+
+    /**
+     * Saves the checkpoint, first forcing the stored results to disk so that every resample the checkpoint
+     * records as complete is durably in the result store, along with the length of the store they fill. Results
+     * appended past that length are of resamples a resumed run repeats, so are discarded when it opens the store.
+     *
+     * @throws IOException if the results or checkpoint cannot be written.
+     */
+    private void saveCheckpoint() throws IOException {
+        synchronized (campaignCheckpoint) {
+            resultStore.force();
+            campaignCheckpoint.recordResultStoreLength(resultStore.getLength());
+            campaignCheckpoint.save();
+        }
+    }
+
+    /**
+     * Publishes a line to a summary log, if the summary logs are written.
+     *
+     * @param logName the name of the log.
+     * @param columnHeaders the headers of the log.
+     * @param logItems the columns of the line.
+     */
+    private void writeResult(String logName, String[] columnHeaders, String[] logItems) {
+        if (resultWriter != null) {
+            resultWriter.write(logName, columnHeaders, logItems);
+        }
+    }
+
     /**
      * Retrieves the statistics of the optimal representations if available.
      */
     private void getOptimal() {
 
         if(testRepresentation != null) {
-            Graph graph = new Graph(testMatrix);
-
-            AlgorithmAnalysisLogger algorithmAnalysisLogger = new AlgorithmAnalysisLogger(
-                    "SUMMARIES",
-                    new String[]{"Sample", "Optimal Fitness", "Optimal Solution Quality", "MST Cost"}
-            );
+            Graph graph = currentInstance.getGraph();
 
             TSPSolution tspSolution = new TSPSolution(
                     testRepresentation,
                     graph
             );
 
-
-            algorithmAnalysisLogger.insertLog(
+            writeResult(
+                    "SUMMARIES",
+                    new String[]{"Sample", "Optimal Fitness", "Optimal Solution Quality", "MST Cost"},
                     new String[] {
                             currentSample,
                             String.valueOf(tspSolution.getFitness()),
-                            String.valueOf(tspSolution.getSolutionQuality()),
-                            String.valueOf(tspSolution.getMinimumSpanningTreeCost())
+                            String.valueOf(tspSolution.getSolutionQuality(
+                                    tspSolution.getFitness(),
+                                    currentInstance.getMinimumSpanningTreeCost()
+                            )),
+                            String.valueOf(currentInstance.getMinimumSpanningTreeCost())
                     }
             );
-
-            algorithmAnalysisLogger.close();
         }
     }
 }
@@ -0,0 +1,210 @@
+package com.dominiccobo.bruneluni.cs2004tsp.solver;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.HeuristicSearchAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CancellationTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CancellationToken;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CompositeTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.NeverTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TerminationPolicy;
+
+import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs algorithms in the background, returning a handle from which the best tour found so far can be read, and
+ * through which the solve may be cancelled, at any moment.
+ *
+ * Copying a tour costs as much as evaluating it, so improvements made in quick succession are published at most
+ * once per publication interval. An improvement held back by the interval is published on the first iteration
+ * after the interval passes, even should the search find no further improvement, and the best tour is always
+ * published once the algorithm finishes.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class AnytimeSolver {
+
+    /**
+     * The default shortest time between publications of improvements, in nanoseconds.
+     */
+    public static final long DEFAULT_PUBLICATION_INTERVAL_NANOS = 1000000L;
+
+    /**
+     * The executor the algorithms are ran on.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * The shortest time between publications of improvements, in nanoseconds.
+     */
+    private final long publicationIntervalNanos;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private AnytimeSolver() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Constructor for a solver publishing improvements at the default interval.
+     *
+     * @param executorService the executor to run algorithms on.
+     */
+    public AnytimeSolver(ExecutorService executorService) {
+        this(executorService, DEFAULT_PUBLICATION_INTERVAL_NANOS);
+    }
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param executorService the executor to run algorithms on.
+     * @param publicationIntervalNanos the shortest time between publications of improvements, where zero
+     *                                 publishes every improvement.
+     */
+    public AnytimeSolver(ExecutorService executorService, long publicationIntervalNanos) {
+        this.executorService = executorService;
+        this.publicationIntervalNanos = publicationIntervalNanos;
+    }
+
+    /**
+     * Starts running an algorithm in the background. The algorithm's termination policy is extended so that the
+     * handle can cancel it, and must not be replaced once the solve has started.
+     *
+     * @param algorithm the algorithm to run, which must not have been ran already.
+     * @param <T> The type representing the whole solutions details.
+     * @return the handle to the solve.
+     */
+    public <T extends TSPSolution> SolverHandle solve(HeuristicSearchAlgorithm<T, Double, Vector<Integer>> algorithm) {
+
+        final CancellationToken cancellationToken = new CancellationToken();
+        final SolverHandle solverHandle = new SolverHandle(cancellationToken);
+        final ThrottledPublication publication = new ThrottledPublication(solverHandle, publicationIntervalNanos);
+
+        algorithm.setTerminationPolicy(CompositeTermination.anyOf(
+                algorithm.getTerminationPolicy(),
+                new CancellationTermination(cancellationToken),
+                publication
+        ));
+
+        executorService.execute(() -> {
+            try {
+                publication.start();
+                publish(solverHandle, algorithm.getCurrentSolution(), 0, publication.startTime);
+
+                final T finalSolution = algorithm.runAlgorithm();
+                publish(solverHandle, finalSolution, algorithm.getIterationsPerformed(), publication.startTime);
+                solverHandle.complete();
+            }
+            catch (RuntimeException | Error e) {
+                solverHandle.fail(e);
+                throw e;
+            }
+        });
+
+        return solverHandle;
+    }
+
+    private static boolean publish(SolverHandle solverHandle, TSPSolution solution, long iterationsPerformed,
+                                   long startTime) {
+        final double cost = solution.getTourLength();
+        final TourSnapshot currentSnapshot = solverHandle.getBestSnapshot();
+        if (currentSnapshot != null && !(cost < currentSnapshot.getCost())) {
+            return false;
+        }
+        return solverHandle.publish(new TourSnapshot(
+                solution.getTour(), cost, iterationsPerformed, System.nanoTime() - startTime
+        ));
+    }
+
+    /**
+     * Policy that never terminates the search, but is told of each improvement and consulted on each iteration,
+     * publishing improvements at most once per interval and holding back the latest improvement until the
+     * interval passes. The clock is only read on iterations while an improvement is held back, so that however
+     * much work an iteration stands for, such as a whole climb of a restarting search, the improvement is
+     * published on the first iteration after its interval. Only the algorithm's own iterations publish, so nested
+     * searches are left unobserved, but improvements may be recorded from the threads of parallel algorithms, so
+     * publication is synchronised.
+     */
+    private static final class ThrottledPublication implements TerminationPolicy {
+
+        private final SolverHandle solverHandle;
+
+        private final long publicationIntervalNanos;
+
+        private volatile long startTime;
+
+        private boolean started;
+
+        private volatile long lastPublicationTime;
+
+        /**
+         * The improved solution held back by the interval, or null if none is pending. The algorithm only
+         * modifies it between iterations, so it is consistent whenever the policy is consulted.
+         */
+        private volatile TSPSolution pendingSolution;
+
+        private long pendingIterations;
+
+        private ThrottledPublication(SolverHandle solverHandle, long publicationIntervalNanos) {
+            this.solverHandle = solverHandle;
+            this.publicationIntervalNanos = publicationIntervalNanos;
+        }
+
+        /**
+         * Starts the clock the first time the policy is started, whether by the solver or by the algorithm.
+         */
+        @Override
+        public synchronized void start() {
+            if (!started) {
+                started = true;
+                startTime = System.nanoTime();
+                lastPublicationTime = startTime;
+            }
+        }
+
+        @Override
+        public boolean shouldTerminate(long iterationsPerformed) {
+            if (pendingSolution != null && System.nanoTime() - lastPublicationTime >= publicationIntervalNanos) {
+                publishPendingIfDue();
+            }
+            return false;
+        }
+
+        @Override
+        public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+            publishIfDue((TSPSolution) solution, iterationsPerformed);
+        }
+
+        @Override
+        public double getElapsedFraction(long iterationsPerformed) {
+            return Double.NaN;
+        }
+
+        @Override
+        public TerminationPolicy forNestedSearch() {
+            return NeverTermination.INSTANCE;
+        }
+
+        private synchronized void publishPendingIfDue() {
+            if (pendingSolution != null) {
+                publishIfDue(pendingSolution, pendingIterations);
+            }
+        }
+
+        private synchronized void publishIfDue(TSPSolution solution, long iterationsPerformed) {
+            final long now = System.nanoTime();
+            if (now - lastPublicationTime < publicationIntervalNanos) {
+                pendingSolution = solution;
+                pendingIterations = iterationsPerformed;
+                return;
+            }
+            if (publish(solverHandle, solution, iterationsPerformed, startTime)) {
+                lastPublicationTime = now;
+            }
+            pendingSolution = null;
+        }
+    }
+}
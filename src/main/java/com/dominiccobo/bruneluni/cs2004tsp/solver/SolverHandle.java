@@ -0,0 +1,146 @@
+package com.dominiccobo.bruneluni.cs2004tsp.solver;
+
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CancellationToken;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Handle to a solve running in the background, from which the best tour found so far can be read at any moment.
+ *
+ * The search thread publishes each new best tour as an immutable snapshot through a volatile field, so reading
+ * the best tour never blocks or slows the search.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class SolverHandle {
+
+    /**
+     * The best tour published so far, null until the starting tour is published.
+     */
+    private volatile TourSnapshot bestSnapshot;
+
+    /**
+     * The subscribers notified of each newly published best tour.
+     */
+    private final CopyOnWriteArrayList<Consumer<TourSnapshot>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The token through which the solve is cancelled.
+     */
+    private final CancellationToken cancellationToken;
+
+    /**
+     * Completed with the final best tour once the solve finishes.
+     */
+    private final CompletableFuture<TourSnapshot> completion = new CompletableFuture<>();
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param cancellationToken the token observed by the solve for cancellation.
+     */
+    SolverHandle(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Retrieves the best tour found so far, without waiting for the solve.
+     *
+     * @return the best tour found so far, or null if the solve has yet to start.
+     */
+    public TourSnapshot getBestSnapshot() {
+        return bestSnapshot;
+    }
+
+    /**
+     * Subscribes to each new best tour. Subscribers are called on the search thread, so should return quickly.
+     *
+     * @param subscriber the subscriber to notify.
+     */
+    public void subscribe(Consumer<TourSnapshot> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Asks the solve to stop at its next iteration, after which it completes with the best tour found.
+     */
+    public void cancel() {
+        cancellationToken.cancel();
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Retrieves the future completed with the final best tour once the solve finishes.
+     *
+     * @return the future of the final best tour.
+     */
+    public CompletableFuture<TourSnapshot> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Waits for the solve to finish of its own accord for at most a timeout, cancelling it once the timeout
+     * passes, and returns the best tour found either way.
+     *
+     * @param timeout the longest time to wait before cancelling.
+     * @param unit the unit of the timeout.
+     * @return the best tour found.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws ExecutionException if the solve failed.
+     */
+    public TourSnapshot awaitOrCancel(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException {
+        try {
+            return completion.get(timeout, unit);
+        }
+        catch (TimeoutException e) {
+            cancel();
+            return completion.get();
+        }
+    }
+
+    /**
+     * Publishes a tour if it improves upon the best published so far.
+     *
+     * Only the search thread publishes, so the check and the write need not be atomic.
+     *
+     * @param snapshot the tour to publish.
+     * @return whether the tour was published.
+     */
+    boolean publish(TourSnapshot snapshot) {
+
+        final TourSnapshot currentSnapshot = bestSnapshot;
+        if (currentSnapshot != null && !(snapshot.getCost() < currentSnapshot.getCost())) {
+            return false;
+        }
+
+        bestSnapshot = snapshot;
+        for (Consumer<TourSnapshot> subscriber : subscribers) {
+            subscriber.accept(snapshot);
+        }
+        return true;
+    }
+
+    /**
+     * Completes the solve with the best tour published.
+     */
+    void complete() {
+        completion.complete(bestSnapshot);
+    }
+
+    /**
+     * Completes the solve with the failure that stopped it.
+     *
+     * @param failure the failure that stopped the solve.
+     */
+    void fail(Throwable failure) {
+        completion.completeExceptionally(failure);
+    }
+}
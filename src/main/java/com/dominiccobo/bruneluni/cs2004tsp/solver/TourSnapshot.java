@@ -0,0 +1,79 @@
+package com.dominiccobo.bruneluni.cs2004tsp.solver;
+
+/**
+ * Immutable record of the best tour found by a solve at a point in time, safe to share between threads.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public final class TourSnapshot {
+
+    /**
+     * The nodes of the tour, never exposed directly.
+     */
+    private final int[] tour;
+
+    /**
+     * The cost of the tour.
+     */
+    private final double cost;
+
+    /**
+     * The number of iterations performed when the tour was found.
+     */
+    private final long iterationsPerformed;
+
+    /**
+     * The time since the solve started when the tour was found, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param tour the nodes of the tour, copied.
+     * @param cost the cost of the tour.
+     * @param iterationsPerformed the number of iterations performed when the tour was found.
+     * @param elapsedNanos the time since the solve started when the tour was found, in nanoseconds.
+     */
+    public TourSnapshot(int[] tour, double cost, long iterationsPerformed, long elapsedNanos) {
+        this.tour = tour.clone();
+        this.cost = cost;
+        this.iterationsPerformed = iterationsPerformed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Retrieves a copy of the nodes of the tour.
+     *
+     * @return the nodes of the tour.
+     */
+    public int[] getTour() {
+        return tour.clone();
+    }
+
+    /**
+     * Retrieves the node at a position of the tour, without copying the tour.
+     *
+     * @param position the position in the tour.
+     * @return the node at the position.
+     */
+    public int getNode(int position) {
+        return tour[position];
+    }
+
+    public int getNumberOfNodes() {
+        return tour.length;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public long getIterationsPerformed() {
+        return iterationsPerformed;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
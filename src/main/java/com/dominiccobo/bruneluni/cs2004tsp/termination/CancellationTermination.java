@@ -0,0 +1,48 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * Termination once cancellation is requested through an external token.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class CancellationTermination implements TerminationPolicy {
+
+    /**
+     * The token observed for cancellation.
+     */
+    private final CancellationToken cancellationToken;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param cancellationToken the token observed for cancellation.
+     */
+    public CancellationTermination(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+        return cancellationToken.isCancelled();
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        return Double.NaN;
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        return this;
+    }
+}
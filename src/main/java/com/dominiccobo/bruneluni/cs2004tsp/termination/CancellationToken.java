@@ -0,0 +1,25 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+/**
+ * Token through which another thread may ask a running algorithm to stop.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class CancellationToken {
+
+    /**
+     * Whether cancellation has been requested.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Requests that any algorithm observing the token stops at its next iteration.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,86 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * Termination as soon as any one of several policies would terminate, e.g. after a number of iterations or at a
+ * deadline, whichever comes first.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class CompositeTermination implements TerminationPolicy {
+
+    /**
+     * The policies combined.
+     */
+    private final TerminationPolicy[] policies;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param policies the policies to combine.
+     */
+    public CompositeTermination(TerminationPolicy... policies) {
+
+        if (policies == null || policies.length == 0) {
+            throw new IllegalArgumentException("At least one policy must be combined");
+        }
+
+        this.policies = policies;
+    }
+
+    /**
+     * Combines policies, terminating as soon as any one of them would.
+     *
+     * @param policies the policies to combine.
+     * @return the combined policy.
+     */
+    public static TerminationPolicy anyOf(TerminationPolicy... policies) {
+        return policies.length == 1 ? policies[0] : new CompositeTermination(policies);
+    }
+
+    @Override
+    public void start() {
+        for (TerminationPolicy policy : policies) {
+            policy.start();
+        }
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+        // every policy is consulted, as some only update their state when consulted.
+        boolean shouldTerminate = false;
+        for (TerminationPolicy policy : policies) {
+            shouldTerminate |= policy.shouldTerminate(iterationsPerformed);
+        }
+        return shouldTerminate;
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+        for (TerminationPolicy policy : policies) {
+            policy.recordImprovement(iterationsPerformed, solution);
+        }
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        double elapsedFraction = Double.NaN;
+        for (TerminationPolicy policy : policies) {
+            final double policyFraction = policy.getElapsedFraction(iterationsPerformed);
+            if (!Double.isNaN(policyFraction) && !(policyFraction <= elapsedFraction)) {
+                elapsedFraction = policyFraction;
+            }
+        }
+        return elapsedFraction;
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        final TerminationPolicy[] nestedPolicies = new TerminationPolicy[policies.length];
+        for (int i = 0; i < policies.length; i++) {
+            nestedPolicies[i] = policies[i].forNestedSearch();
+        }
+        return new CompositeTermination(nestedPolicies);
+    }
+}
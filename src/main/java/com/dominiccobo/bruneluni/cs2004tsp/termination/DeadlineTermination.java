@@ -0,0 +1,100 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * Termination once a wall-clock time budget has elapsed.
+ *
+ * Reading the clock costs far more than an iteration, so the clock is only read once every check interval
+ * iterations, and the elapsed fraction is held from the most recent read. The budget is shared with any nested
+ * searches, which may run on other threads.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class DeadlineTermination implements TerminationPolicy {
+
+    /**
+     * The default number of iterations between reads of the clock.
+     */
+    public static final int DEFAULT_CHECK_INTERVAL = 1024;
+
+    /**
+     * The time budget in nanoseconds.
+     */
+    private final long budgetNanos;
+
+    /**
+     * The number of iterations between reads of the clock, less one, as a power of two mask.
+     */
+    private final long checkMask;
+
+    /**
+     * The time at which the budget started.
+     */
+    private volatile long startNanos;
+
+    /**
+     * The fraction of the budget elapsed at the most recent read of the clock.
+     */
+    private volatile double elapsedFraction;
+
+    /**
+     * Constructor for a deadline reading the clock at the default interval.
+     *
+     * @param budgetNanos the time budget in nanoseconds.
+     */
+    public DeadlineTermination(long budgetNanos) {
+        this(budgetNanos, DEFAULT_CHECK_INTERVAL);
+    }
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param budgetNanos the time budget in nanoseconds.
+     * @param checkInterval the number of iterations between reads of the clock, rounded up to a power of two.
+     */
+    public DeadlineTermination(long budgetNanos, int checkInterval) {
+
+        if (budgetNanos < 0 || checkInterval < 1) {
+            throw new IllegalArgumentException("Budget cannot be negative and the check interval must be positive");
+        }
+
+        this.budgetNanos = budgetNanos;
+        this.checkMask = Long.highestOneBit(checkInterval * 2L - 1) - 1;
+    }
+
+    @Override
+    public void start() {
+        this.startNanos = System.nanoTime();
+        this.elapsedFraction = 0;
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+
+        if ((iterationsPerformed & checkMask) == 0) {
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            elapsedFraction = (budgetNanos == 0) ? 1.0 : Math.min(1.0, (double) elapsedNanos / budgetNanos);
+        }
+
+        return elapsedFraction >= 1.0;
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        return elapsedFraction;
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        return new NestedView(this);
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+}
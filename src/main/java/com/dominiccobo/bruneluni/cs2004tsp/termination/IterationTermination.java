@@ -0,0 +1,52 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * Termination after a fixed number of iterations, the behaviour of every algorithm when no policy is given.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class IterationTermination implements TerminationPolicy {
+
+    /**
+     * The number of iterations to perform.
+     */
+    private final long iterationsToPerform;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param iterationsToPerform the number of iterations to perform.
+     */
+    public IterationTermination(long iterationsToPerform) {
+        this.iterationsToPerform = iterationsToPerform;
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+        return iterationsPerformed >= iterationsToPerform;
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        return Double.NaN;
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        return NeverTermination.INSTANCE;
+    }
+
+    public long getIterationsToPerform() {
+        return iterationsToPerform;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * View of a shared policy given to nested searches, which consults the shared policy but leaves starting it to
+ * the enclosing algorithm, so that a nested search never restarts a budget it does not own.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+class NestedView implements TerminationPolicy {
+
+    /**
+     * The shared policy.
+     */
+    private final TerminationPolicy sharedPolicy;
+
+    NestedView(TerminationPolicy sharedPolicy) {
+        this.sharedPolicy = sharedPolicy;
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+        return sharedPolicy.shouldTerminate(iterationsPerformed);
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+        sharedPolicy.recordImprovement(iterationsPerformed, solution);
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        return sharedPolicy.getElapsedFraction(iterationsPerformed);
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        return this;
+    }
+}
@@ -0,0 +1,42 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * Policy that never terminates, standing in for the parts of a policy that do not apply to nested searches.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class NeverTermination implements TerminationPolicy {
+
+    /**
+     * The single stateless instance.
+     */
+    public static final NeverTermination INSTANCE = new NeverTermination();
+
+    private NeverTermination() {
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+        return false;
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        return Double.NaN;
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        return this;
+    }
+}
@@ -0,0 +1,60 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * Termination once the algorithm has gone a window of iterations without improving.
+ *
+ * Improvements may be recorded from several threads, and out of order, by algorithms running iterations
+ * concurrently, so only the latest improving iteration is kept.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class StagnationTermination implements TerminationPolicy {
+
+    /**
+     * The number of iterations without improvement permitted.
+     */
+    private final long stagnationWindow;
+
+    /**
+     * The iteration at which the last improvement was made.
+     */
+    private volatile long lastImprovementIteration;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param stagnationWindow the number of iterations without improvement permitted.
+     */
+    public StagnationTermination(long stagnationWindow) {
+        this.stagnationWindow = stagnationWindow;
+    }
+
+    @Override
+    public void start() {
+        lastImprovementIteration = 0;
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+        return iterationsPerformed - lastImprovementIteration >= stagnationWindow;
+    }
+
+    @Override
+    public synchronized void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+        if (iterationsPerformed > lastImprovementIteration) {
+            lastImprovementIteration = iterationsPerformed;
+        }
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        return Double.NaN;
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        return NeverTermination.INSTANCE;
+    }
+}
@@ -0,0 +1,61 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * View of a policy given to searches of a sub-problem, such as a segment of a decomposed tour, which stop with the
+ * enclosing algorithm but optimise an objective of their own.
+ *
+ * Only the budgets shared with the enclosing algorithm are consulted. Improvements are never passed on, as the
+ * fitness of a sub-problem is not comparable with the enclosing algorithm's, so that a fitness target of the whole
+ * tour is only ever judged against whole tours.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class SubproblemTermination implements TerminationPolicy {
+
+    /**
+     * The part of the enclosing algorithm's policy applying to nested searches.
+     */
+    private final TerminationPolicy nestedPolicy;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private SubproblemTermination() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param enclosingPolicy the policy of the enclosing algorithm.
+     */
+    public SubproblemTermination(TerminationPolicy enclosingPolicy) {
+        this.nestedPolicy = enclosingPolicy.forNestedSearch();
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+        return nestedPolicy.shouldTerminate(iterationsPerformed);
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        return nestedPolicy.getElapsedFraction(iterationsPerformed);
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        return this;
+    }
+}
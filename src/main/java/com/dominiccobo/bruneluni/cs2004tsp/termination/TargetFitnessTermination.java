@@ -0,0 +1,68 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+
+/**
+ * Termination once a solution at least as good as a target fitness has been found.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class TargetFitnessTermination implements TerminationPolicy {
+
+    /**
+     * The fitness to reach.
+     */
+    private final double targetFitness;
+
+    /**
+     * Whether the target is reached by minimising or maximising fitness.
+     */
+    private final SolutionType solutionType;
+
+    /**
+     * Whether the target has been reached.
+     */
+    private volatile boolean targetReached;
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param targetFitness the fitness to reach.
+     * @param solutionType whether the target is reached by minimising or maximising fitness.
+     */
+    public TargetFitnessTermination(double targetFitness, SolutionType solutionType) {
+        this.targetFitness = targetFitness;
+        this.solutionType = solutionType;
+    }
+
+    @Override
+    public void start() {
+        targetReached = false;
+    }
+
+    @Override
+    public boolean shouldTerminate(long iterationsPerformed) {
+        return targetReached;
+    }
+
+    @Override
+    public void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution) {
+
+        final double fitness = solution.getFitness().doubleValue();
+
+        if (solutionType == SolutionType.MINIMISATION ? fitness <= targetFitness : fitness >= targetFitness) {
+            targetReached = true;
+        }
+    }
+
+    @Override
+    public double getElapsedFraction(long iterationsPerformed) {
+        return Double.NaN;
+    }
+
+    @Override
+    public TerminationPolicy forNestedSearch() {
+        return new NestedView(this);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionAdapter;
+
+/**
+ * Policy deciding when a search algorithm stops iterating, consulted by the algorithm once per iteration.
+ *
+ * Policies are stateful, so a new policy should be created for each run of an algorithm.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public interface TerminationPolicy {
+
+    /**
+     * Notifies the policy that the algorithm is starting, e.g. to start any clock the policy is timed by.
+     */
+    void start();
+
+    /**
+     * Determines whether the algorithm should stop before performing another iteration. Called on every
+     * iteration, so implementations must be cheap.
+     *
+     * @param iterationsPerformed the number of iterations performed so far.
+     * @return whether the algorithm should stop.
+     */
+    boolean shouldTerminate(long iterationsPerformed);
+
+    /**
+     * Notifies the policy that the algorithm has improved upon its solution.
+     *
+     * The solution is passed rather than its fitness so that only policies requiring the fitness evaluate it.
+     *
+     * @param iterationsPerformed the number of iterations performed when the improvement was made.
+     * @param solution the improved solution.
+     */
+    void recordImprovement(long iterationsPerformed, SolutionAdapter<?, ?> solution);
+
+    /**
+     * Retrieves the fraction of the time budget that has elapsed, used to rescale schedules such as cooling to the
+     * time available rather than to a number of iterations.
+     *
+     * @param iterationsPerformed the number of iterations performed so far.
+     * @return the elapsed fraction in [0, 1], or NaN when the policy has no time budget.
+     */
+    double getElapsedFraction(long iterationsPerformed);
+
+    /**
+     * Retrieves the part of the policy that applies to a search nested within the algorithm, such as the hill
+     * climbs of a restarting algorithm. Budgets shared with the enclosing algorithm, such as deadlines, targets and
+     * cancellation, carry over, whereas limits counted in the enclosing algorithm's own iterations do not.
+     *
+     * @return the policy applying to nested searches.
+     */
+    TerminationPolicy forNestedSearch();
+}
@@ -0,0 +1,465 @@
+package com.dominiccobo.bruneluni.cs2004tsp.tuning;
+
+import com.dominiccobo.bruneluni.cs2004tsp.results.ResultSummary;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Iterated race of parameter configurations, after the iterated F-race of Balaprakash, Birattari and Stuetzle.
+ *
+ * Each iteration races a population of candidate configurations over a sequence of training instances. Every
+ * surviving candidate is evaluated against one instance at a time, concurrently, and once enough instances have
+ * been seen the candidates are ranked on each instance and compared with the Friedman test, eliminating those
+ * the post hoc comparison finds significantly worse than the best, so that no further evaluations are spent on
+ * them. The survivors of each race are kept as elites, and the next population is sampled around them with a
+ * spread that shrinks from one iteration to the next, concentrating the budget on the most promising region.
+ *
+ * Elites keep the costs of the instances they have already been evaluated against, as every race draws from the
+ * same sequence of instances, so only new candidates spend the budget catching up with them.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class IteratedRace {
+
+    /**
+     * The number of instances every candidate is evaluated against before the first elimination.
+     */
+    public static final int FIRST_TEST = 5;
+
+    /**
+     * The 95% quantiles of the chi-squared distribution for one to ten degrees of freedom, where the
+     * Wilson-Hilferty approximation is least accurate.
+     */
+    private static final double[] CHI_SQUARED_QUANTILES_95 = new double[]{
+            3.841458821, 5.991464547, 7.814727903, 9.487729037, 11.070497694,
+            12.591587244, 14.067140449, 15.507313056, 16.918977605, 18.307038054
+    };
+
+    /**
+     * The one sided 95% quantile of the standard normal distribution.
+     */
+    private static final double NORMAL_QUANTILE_95 = 1.644853626951472;
+
+    private final List<TunedParameter> parameters;
+
+    private final RaceEvaluator evaluator;
+
+    private final int evaluationBudget;
+
+    private final ExecutorService executorService;
+
+    private final XoroshiroRandom random;
+
+    /**
+     * The number of races, and the number of elites each race keeps, growing with the number of parameters.
+     */
+    private final int iterations;
+
+    private final int minimumSurvivors;
+
+    /**
+     * The configuration raced among the first population, such as the one currently in use, if any.
+     */
+    private double[] initialValues;
+
+    private int evaluations;
+
+    private int candidatesSampled;
+
+    private int candidatesEliminated;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private IteratedRace() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param parameters the parameters to race.
+     * @param evaluator the evaluation of a candidate against a training instance.
+     * @param evaluationBudget the number of evaluations the race may spend across every iteration.
+     * @param executorService the executor evaluations run concurrently on.
+     * @param seed the seed of the candidates sampled.
+     */
+    public IteratedRace(List<TunedParameter> parameters, RaceEvaluator evaluator, int evaluationBudget,
+                        ExecutorService executorService, long seed) {
+
+        if (parameters.isEmpty()) {
+            throw new IllegalArgumentException("At least one parameter must be raced");
+        }
+
+        this.parameters = new ArrayList<>(parameters);
+        this.evaluator = evaluator;
+        this.executorService = executorService;
+        this.random = new XoroshiroRandom(seed);
+
+        final int logParameters = 31 - Integer.numberOfLeadingZeros(parameters.size());
+        this.iterations = 2 + logParameters;
+        this.minimumSurvivors = 2 + logParameters;
+
+        if (evaluationBudget < getMinimumBudget(parameters.size())) {
+            throw new IllegalArgumentException("Budget must allow every race an elimination test, at least "
+                    + getMinimumBudget(parameters.size()) + " evaluations");
+        }
+        this.evaluationBudget = evaluationBudget;
+    }
+
+    /**
+     * Retrieves the smallest budget allowing every race of a number of parameters to reach its first test.
+     *
+     * @param parameterCount the number of parameters raced.
+     * @return the minimum budget.
+     */
+    public static int getMinimumBudget(int parameterCount) {
+        final int logParameters = 31 - Integer.numberOfLeadingZeros(Math.max(1, parameterCount));
+        return (2 + logParameters) * (FIRST_TEST + 1) * (3 + logParameters);
+    }
+
+    /**
+     * Sets a configuration to race among the first population, so that the winner is never significantly worse
+     * than it.
+     *
+     * @param initialValues the value of each parameter.
+     */
+    public void setInitialValues(double[] initialValues) {
+
+        if (initialValues.length != parameters.size()) {
+            throw new IllegalArgumentException("Initial configuration must give a value for each parameter");
+        }
+        this.initialValues = initialValues.clone();
+    }
+
+    /**
+     * Runs the iterated race until its budget is spent.
+     *
+     * @return the winning configuration.
+     */
+    public RaceResult race() {
+
+        List<Candidate> elites = new ArrayList<>();
+
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+
+            final int iterationBudget = (evaluationBudget - evaluations) / (iterations - iteration + 1);
+            final int populationSize = Math.max(minimumSurvivors + 1,
+                    iterationBudget / (FIRST_TEST + Math.min(5, iteration)));
+
+            // the spread shrinks geometrically, faster with a larger population and slower with more parameters.
+            final double spread = 0.5 * Math.pow(1.0 / populationSize, (iteration - 1.0) / parameters.size());
+
+            final List<Candidate> population = new ArrayList<>(elites);
+            if (iteration == 1 && initialValues != null) {
+                population.add(new Candidate(initialValues));
+            }
+            while (population.size() < populationSize) {
+                population.add(elites.isEmpty() ? sampleUniformly() : sampleAround(selectParent(elites), spread));
+            }
+            candidatesSampled += population.size() - elites.size();
+
+            elites = raceCandidates(population, iterationBudget);
+        }
+
+        final Candidate winner = elites.get(0);
+        double totalCost = 0;
+        for (int i = 0; i < winner.evaluated; i++) {
+            totalCost += winner.costs[i];
+        }
+
+        return new RaceResult(parameters, winner.values, totalCost / winner.evaluated, winner.evaluated,
+                evaluations, candidatesSampled, candidatesEliminated);
+    }
+
+    /**
+     * Races a population over the training instances until the budget is spent or no more than the minimum
+     * number of survivors remain.
+     *
+     * @param population the candidates to race.
+     * @param budget the number of evaluations the race may spend.
+     * @return the survivors to keep as elites, best first.
+     */
+    private List<Candidate> raceCandidates(List<Candidate> population, int budget) {
+
+        List<Candidate> survivors = new ArrayList<>(population);
+        int instances = 0;
+        int spent = 0;
+
+        while (survivors.size() > minimumSurvivors) {
+
+            final List<Candidate> pending = new ArrayList<>();
+            for (Candidate candidate : survivors) {
+                if (candidate.evaluated <= instances) {
+                    pending.add(candidate);
+                }
+            }
+
+            if (spent + pending.size() > budget) {
+                break;
+            }
+
+            evaluateConcurrently(pending, instances);
+            spent += pending.size();
+            instances++;
+
+            if (instances >= FIRST_TEST) {
+                survivors = eliminateInferior(survivors, instances);
+            }
+        }
+
+        evaluations += spent;
+
+        final double[] rankSums = getRankSums(survivors, instances);
+        final Integer[] order = new Integer[survivors.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> rankSums[i]));
+
+        final List<Candidate> elites = new ArrayList<>();
+        for (int i = 0; i < Math.min(minimumSurvivors, order.length); i++) {
+            elites.add(survivors.get(order[i]));
+        }
+        return elites;
+    }
+
+    /**
+     * Evaluates candidates against a training instance, each on its own task.
+     *
+     * @param pending the candidates to evaluate.
+     * @param instance the position of the instance in the sequence of training instances.
+     */
+    private void evaluateConcurrently(List<Candidate> pending, int instance) {
+
+        final List<Future<Double>> costs = new ArrayList<>(pending.size());
+        for (Candidate candidate : pending) {
+            costs.add(executorService.submit(() -> evaluator.evaluate(candidate.values.clone(), instance)));
+        }
+
+        try {
+            for (int i = 0; i < pending.size(); i++) {
+                pending.get(i).addCost(costs.get(i).get());
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Race interrupted", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Evaluation failed", e.getCause());
+        }
+        finally {
+            for (Future<Double> cost : costs) {
+                cost.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Eliminates the candidates significantly worse than the best, should the Friedman test find any difference
+     * between them at the 5% level, using Conover's post hoc comparison of rank sums.
+     *
+     * @param survivors the candidates racing.
+     * @param instances the number of instances every candidate has been evaluated against.
+     * @return the candidates not eliminated.
+     */
+    private List<Candidate> eliminateInferior(List<Candidate> survivors, int instances) {
+
+        final List<Candidate> superior = selectSuperior(survivors, instances);
+        candidatesEliminated += survivors.size() - superior.size();
+        return superior;
+    }
+
+    /**
+     * Selects the candidates not found significantly worse than the best.
+     *
+     * @param candidates the candidates compared.
+     * @param instances the number of instances every candidate has been evaluated against.
+     * @return the candidates not significantly worse than the best, in their original order.
+     */
+    static List<Candidate> selectSuperior(List<Candidate> candidates, int instances) {
+
+        final int k = candidates.size();
+        final double n = instances;
+        if (k < 2 || instances < 2) {
+            return candidates;
+        }
+
+        final double[] rankSums = getRankSums(candidates, instances);
+
+        double sumOfSquaredRanks = 0;
+        for (int instance = 0; instance < instances; instance++) {
+            for (double rank : rankInstance(candidates, instance)) {
+                sumOfSquaredRanks += rank * rank;
+            }
+        }
+
+        // the ranks every candidate would have without any difference between them, and their spread.
+        final double tiedSquaredRanks = n * k * (k + 1) * (k + 1) / 4;
+        final double rankVariance = sumOfSquaredRanks - tiedSquaredRanks;
+        if (!(rankVariance > 0)) {
+            return candidates;
+        }
+
+        double deviation = 0;
+        double sumOfSquaredRankSums = 0;
+        double bestRankSum = Double.POSITIVE_INFINITY;
+        for (double rankSum : rankSums) {
+            deviation += (rankSum - n * (k + 1) / 2) * (rankSum - n * (k + 1) / 2);
+            sumOfSquaredRankSums += rankSum * rankSum;
+            bestRankSum = Math.min(bestRankSum, rankSum);
+        }
+
+        final double statistic = (k - 1) * deviation / rankVariance;
+        if (statistic <= getChiSquaredQuantile95(k - 1)) {
+            return candidates;
+        }
+
+        final int degreesOfFreedom = (instances - 1) * (k - 1);
+        final double criticalDifference = ResultSummary.getStudentQuantile95(degreesOfFreedom)
+                * Math.sqrt(2 * (n * sumOfSquaredRanks - sumOfSquaredRankSums) / degreesOfFreedom);
+
+        final List<Candidate> superior = new ArrayList<>();
+        for (int i = 0; i < k; i++) {
+            if (rankSums[i] - bestRankSum <= criticalDifference) {
+                superior.add(candidates.get(i));
+            }
+        }
+        return superior;
+    }
+
+    /**
+     * Sums the ranks of each candidate across the instances every candidate has been evaluated against.
+     */
+    private static double[] getRankSums(List<Candidate> candidates, int instances) {
+        final double[] rankSums = new double[candidates.size()];
+        for (int instance = 0; instance < instances; instance++) {
+            final double[] ranks = rankInstance(candidates, instance);
+            for (int i = 0; i < ranks.length; i++) {
+                rankSums[i] += ranks[i];
+            }
+        }
+        return rankSums;
+    }
+
+    /**
+     * Ranks candidates by their cost on an instance, from 1 for the lowest, giving tied candidates their mean rank.
+     */
+    private static double[] rankInstance(List<Candidate> candidates, int instance) {
+
+        final Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> candidates.get(i).costs[instance]));
+
+        final double[] ranks = new double[order.length];
+        int first = 0;
+        while (first < order.length) {
+            int last = first;
+            final double cost = candidates.get(order[first]).costs[instance];
+            while (last + 1 < order.length && candidates.get(order[last + 1]).costs[instance] == cost) {
+                last++;
+            }
+            for (int i = first; i <= last; i++) {
+                ranks[order[i]] = (first + last) / 2.0 + 1;
+            }
+            first = last + 1;
+        }
+        return ranks;
+    }
+
+    /**
+     * Retrieves the 95% quantile of the chi-squared distribution, tabulated up to ten degrees of freedom and
+     * approximated beyond with the Wilson-Hilferty transformation, which is then accurate to within 0.1%.
+     *
+     * @param degreesOfFreedom the degrees of freedom.
+     * @return the quantile.
+     */
+    static double getChiSquaredQuantile95(int degreesOfFreedom) {
+
+        if (degreesOfFreedom <= CHI_SQUARED_QUANTILES_95.length) {
+            return CHI_SQUARED_QUANTILES_95[degreesOfFreedom - 1];
+        }
+
+        final double v = degreesOfFreedom;
+        final double cubeRoot = 1 - 2 / (9 * v) + NORMAL_QUANTILE_95 * Math.sqrt(2 / (9 * v));
+        return v * cubeRoot * cubeRoot * cubeRoot;
+    }
+
+    private Candidate sampleUniformly() {
+        final double[] values = new double[parameters.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = parameters.get(i).fromUnit(random.nextDouble());
+        }
+        return new Candidate(values);
+    }
+
+    /**
+     * Samples a candidate from a normal distribution about a parent on the unit scale of each parameter,
+     * resampling values falling outside the range before settling for its bound.
+     */
+    private Candidate sampleAround(Candidate parent, double spread) {
+
+        final double[] values = new double[parameters.size()];
+        for (int i = 0; i < values.length; i++) {
+            final TunedParameter parameter = parameters.get(i);
+            final double centre = parameter.toUnit(parent.values[i]);
+
+            double position = centre + spread * random.nextGaussian();
+            for (int attempt = 0; attempt < 10 && (position < 0 || position > 1); attempt++) {
+                position = centre + spread * random.nextGaussian();
+            }
+            values[i] = parameter.fromUnit(position);
+        }
+        return new Candidate(values);
+    }
+
+    /**
+     * Selects the parent of a new candidate, the better elites being proportionally more likely.
+     */
+    private Candidate selectParent(List<Candidate> elites) {
+
+        final int size = elites.size();
+        int weight = random.nextInt(size * (size + 1) / 2);
+        for (int rank = 0; rank < size; rank++) {
+            weight -= size - rank;
+            if (weight < 0) {
+                return elites.get(rank);
+            }
+        }
+        return elites.get(0);
+    }
+
+    /**
+     * A candidate configuration with its costs on the instances it has been evaluated against, in order.
+     */
+    static final class Candidate {
+
+        private final double[] values;
+
+        private double[] costs = new double[FIRST_TEST];
+
+        private int evaluated;
+
+        Candidate(double[] values) {
+            this.values = values.clone();
+        }
+
+        void addCost(double cost) {
+            if (evaluated == costs.length) {
+                costs = Arrays.copyOf(costs, evaluated * 2);
+            }
+            costs[evaluated++] = cost;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.dominiccobo.bruneluni.cs2004tsp.tuning;
+
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentConfiguration;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentProperty;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import com.dominiccobo.bruneluni.cs2004tsp.samples.SampleAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.InstanceRepository;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tuner of the parameters of the sample algorithms, racing candidate configurations of each configured algorithm
+ * over the configured instances with {@link IteratedRace}, separately for each band of instance sizes.
+ *
+ * The instances of a band are its training set, drawn from in a shuffled order that is cycled through with a
+ * new seed each time, and every candidate runs with the configured iteration budget and construction heuristic,
+ * so that the winners suit the experiment they are tuned for. The winning configurations of each band are written
+ * to the output directory as an experiment configuration running the instances of that band, to be passed back
+ * with --config.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ParameterTuner {
+
+    /**
+     * The prefix of the tuned configuration of each band, followed by the band's range of node counts.
+     */
+    public static final String TUNED_CONFIGURATION_PREFIX = "TUNED_";
+
+    private final ExperimentConfiguration configuration;
+
+    private final InstanceRepository instanceRepository;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ParameterTuner() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param configuration the configuration of the experiment to tune, whose tuning properties size the races.
+     */
+    public ParameterTuner(ExperimentConfiguration configuration) {
+
+        for (SampleAlgorithm sampleAlgorithm : configuration.getAlgorithms()) {
+            final TunableAlgorithm algorithm = TunableAlgorithm.forSampleAlgorithm(sampleAlgorithm);
+            if (algorithm != null && configuration.getTuningEvaluations()
+                    < IteratedRace.getMinimumBudget(algorithm.getParameters().size())) {
+                throw new IllegalArgumentException(ExperimentProperty.TUNING_EVALUATIONS.getKey()
+                        + " must be at least " + IteratedRace.getMinimumBudget(algorithm.getParameters().size())
+                        + " to race " + algorithm);
+            }
+        }
+
+        this.configuration = configuration;
+        this.instanceRepository = new InstanceRepository(
+                InstanceRepository.DEFAULT_MAXIMUM_CACHED_BYTES,
+                configuration.isPersistSidecars(),
+                InstanceRepository.DEFAULT_CANDIDATES_PER_NODE
+        );
+    }
+
+    /**
+     * Races the configurations of each configured algorithm with parameters, for each band of instance sizes
+     * with instances, writing the winners of each band to the output directory.
+     *
+     * @return the winner of each algorithm, by the name of each band.
+     */
+    public Map<String, Map<TunableAlgorithm, RaceResult>> tune() {
+
+        final Map<String, List<File>> bands = groupByBand();
+        final Map<String, Map<TunableAlgorithm, RaceResult>> winners = new LinkedHashMap<>();
+
+        System.out.println("Master seed: " + configuration.getMasterSeed());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(configuration.getTuningThreads());
+
+        try {
+            int bandIndex = 0;
+            for (Map.Entry<String, List<File>> band : bands.entrySet()) {
+
+                final Map<TunableAlgorithm, RaceResult> bandWinners = new EnumMap<>(TunableAlgorithm.class);
+
+                for (SampleAlgorithm sampleAlgorithm : configuration.getAlgorithms()) {
+                    final TunableAlgorithm algorithm = TunableAlgorithm.forSampleAlgorithm(sampleAlgorithm);
+                    if (algorithm == null) {
+                        continue;
+                    }
+
+                    System.out.println("Racing " + algorithm + " over " + band.getValue().size()
+                            + " instances of " + band.getKey() + " nodes");
+
+                    final RaceResult winner = race(algorithm, band.getValue(), bandIndex, executorService);
+                    bandWinners.put(algorithm, winner);
+                    System.out.println("  " + winner);
+                }
+
+                winners.put(band.getKey(), bandWinners);
+                writeTunedConfiguration(band.getKey(), band.getValue(), bandWinners);
+                bandIndex++;
+            }
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+
+        return winners;
+    }
+
+    /**
+     * Races the configurations of an algorithm over the instances of a band.
+     *
+     * @param algorithm the algorithm to tune.
+     * @param instanceFiles the training instances.
+     * @param bandIndex the index of the band, distinguishing the seeds of each band.
+     * @param executorService the executor evaluations run on.
+     * @return the winning configuration.
+     */
+    private RaceResult race(TunableAlgorithm algorithm, List<File> instanceFiles, int bandIndex,
+                            ExecutorService executorService) {
+
+        final long masterSeed = configuration.getMasterSeed();
+        final long algorithmId = algorithm.name().hashCode();
+
+        final List<File> trainingOrder = new ArrayList<>(instanceFiles);
+        Collections.shuffle(trainingOrder, XoroshiroRandom.forTask(masterSeed, algorithmId, bandIndex));
+
+        final RaceEvaluator evaluator = (values, instance) -> {
+            final TSPInstance trainingInstance = instanceRepository.getInstance(
+                    trainingOrder.get(instance % trainingOrder.size()).getPath());
+            return algorithm.evaluate(trainingInstance, values, configuration,
+                    XoroshiroRandom.forTask(masterSeed, algorithmId, bandIndex, instance));
+        };
+
+        final IteratedRace iteratedRace = new IteratedRace(
+                algorithm.getParameters(),
+                evaluator,
+                configuration.getTuningEvaluations(),
+                executorService,
+                XoroshiroRandom.forTask(masterSeed, algorithmId, bandIndex, -1).nextLong()
+        );
+        iteratedRace.setInitialValues(algorithm.getConfiguredValues(configuration));
+
+        return iteratedRace.race();
+    }
+
+    /**
+     * Groups the configured instances into the bands of their node count, dropping bands without instances.
+     *
+     * @return the instances of each band, by its name, smallest first.
+     */
+    private Map<String, List<File>> groupByBand() {
+
+        final List<Integer> bounds = configuration.getTuningBands();
+        final List<List<File>> bandFiles = new ArrayList<>();
+        for (int i = 0; i <= bounds.size(); i++) {
+            bandFiles.add(new ArrayList<>());
+        }
+
+        for (File instanceFile : configuration.getInstanceFiles()) {
+            final int nodes = instanceRepository.getInstance(instanceFile.getPath()).getGraph().getNumberOfNodes();
+            int band = 0;
+            while (band < bounds.size() && nodes >= bounds.get(band)) {
+                band++;
+            }
+            bandFiles.get(band).add(instanceFile);
+        }
+
+        final Map<String, List<File>> bands = new LinkedHashMap<>();
+        for (int band = 0; band < bandFiles.size(); band++) {
+            if (!bandFiles.get(band).isEmpty()) {
+                bands.put(getBandName(bounds, band), bandFiles.get(band));
+            }
+        }
+        return bands;
+    }
+
+    /**
+     * Writes the configuration of the experiment restricted to the instances of a band, with the winning
+     * configuration of each algorithm in place of the configured one.
+     *
+     * @param bandName the name of the band.
+     * @param instanceFiles the instances of the band.
+     * @param bandWinners the winning configuration of each algorithm.
+     */
+    private void writeTunedConfiguration(String bandName, List<File> instanceFiles,
+                                         Map<TunableAlgorithm, RaceResult> bandWinners) {
+
+        final List<String> instanceNames = new ArrayList<>();
+        for (File instanceFile : instanceFiles) {
+            instanceNames.add(instanceFile.getName());
+        }
+
+        final Properties properties = configuration.toProperties();
+        properties.setProperty(ExperimentProperty.INSTANCES_INCLUDE.getKey(), String.join(",", instanceNames));
+        properties.setProperty(ExperimentProperty.INSTANCES_EXCLUDE.getKey(), "");
+        for (RaceResult winner : bandWinners.values()) {
+            properties.putAll(winner.toProperties());
+        }
+
+        final File outputDirectory = configuration.getOutputDirectory();
+        final File tunedConfiguration = new File(outputDirectory,
+                TUNED_CONFIGURATION_PREFIX + bandName + ".properties");
+
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new UncheckedIOException(new IOException("Unable to create " + outputDirectory));
+        }
+
+        try (OutputStream output = new FileOutputStream(tunedConfiguration)) {
+            properties.store(output, "Tuned configuration of the instances of " + bandName
+                    + " nodes, which may be passed back with --config");
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to write " + tunedConfiguration, e);
+        }
+
+        System.out.println("Tuned configuration written to " + tunedConfiguration);
+    }
+
+    /**
+     * Names a band by its range of node counts, such as 100-199, or 200+ for the last band.
+     */
+    private static String getBandName(List<Integer> bounds, int band) {
+        final int lowest = (band == 0) ? 1 : bounds.get(band - 1);
+        return (band == bounds.size()) ? lowest + "+" : lowest + "-" + (bounds.get(band) - 1);
+    }
+}
@@ -0,0 +1,23 @@
+package com.dominiccobo.bruneluni.cs2004tsp.tuning;
+
+/**
+ * Representation of the evaluation of a candidate configuration against a training instance of a race.
+ *
+ * Every candidate is evaluated against the same sequence of training instances, so that candidates are compared
+ * on identical instances and seeds. Evaluations run concurrently, so implementations must be thread safe.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+@FunctionalInterface
+public interface RaceEvaluator {
+
+    /**
+     * Evaluates a candidate configuration.
+     *
+     * @param values the value of each raced parameter, in the order the parameters were given to the race.
+     * @param instance the position of the training instance in the sequence the race draws from, which must
+     *                 always denote the same instance and seed.
+     * @return the cost of the candidate on the instance, lower being better.
+     */
+    double evaluate(double[] values, int instance);
+}
@@ -0,0 +1,108 @@
+package com.dominiccobo.bruneluni.cs2004tsp.tuning;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Result of a race, giving the winning configuration and what the race spent finding it.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class RaceResult {
+
+    private final List<TunedParameter> parameters;
+
+    private final double[] values;
+
+    /**
+     * The mean cost of the winning configuration over every training instance it was evaluated against.
+     */
+    private final double meanCost;
+
+    private final int instancesEvaluated;
+
+    private final int evaluations;
+
+    private final int candidatesSampled;
+
+    private final int candidatesEliminated;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private RaceResult() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    RaceResult(List<TunedParameter> parameters, double[] values, double meanCost, int instancesEvaluated,
+               int evaluations, int candidatesSampled, int candidatesEliminated) {
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+        this.values = values.clone();
+        this.meanCost = meanCost;
+        this.instancesEvaluated = instancesEvaluated;
+        this.evaluations = evaluations;
+        this.candidatesSampled = candidatesSampled;
+        this.candidatesEliminated = candidatesEliminated;
+    }
+
+    /**
+     * Describes the winning configuration as experiment properties.
+     *
+     * @return the value of each raced parameter, keyed by its property.
+     */
+    public Properties toProperties() {
+        final Properties properties = new Properties();
+        for (int i = 0; i < parameters.size(); i++) {
+            properties.setProperty(parameters.get(i).getKey(), parameters.get(i).format(values[i]));
+        }
+        return properties;
+    }
+
+    public List<TunedParameter> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Retrieves the winning value of each raced parameter.
+     *
+     * @return the values, in the order the parameters were given to the race.
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    public double getMeanCost() {
+        return meanCost;
+    }
+
+    public int getInstancesEvaluated() {
+        return instancesEvaluated;
+    }
+
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    public int getCandidatesSampled() {
+        return candidatesSampled;
+    }
+
+    public int getCandidatesEliminated() {
+        return candidatesEliminated;
+    }
+
+    @Override
+    public String toString() {
+        return "RaceResult{" +
+                "configuration=" + toProperties() +
+                ", meanCost=" + meanCost +
+                ", instancesEvaluated=" + instancesEvaluated +
+                ", evaluations=" + evaluations +
+                ", candidatesSampled=" + candidatesSampled +
+                ", candidatesEliminated=" + candidatesEliminated +
+                '}';
+    }
+}
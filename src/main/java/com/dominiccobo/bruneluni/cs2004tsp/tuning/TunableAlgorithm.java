@@ -0,0 +1,182 @@
+package com.dominiccobo.bruneluni.cs2004tsp.tuning;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.IteratedLocalSearchAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.SimulatedAnnealingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.StochasticHillClimbingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentConfiguration;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentProperty;
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.GeometricCooling;
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.TemperatureEstimator;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.BetterAcceptance;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.Perturbation;
+import com.dominiccobo.bruneluni.cs2004tsp.samples.SampleAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.samples.TSPSampleRunner;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * Representation of the sample algorithms with parameters the tuner may race, each searching as the sample runner
+ * would with a candidate configuration in place of the configured one.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public enum TunableAlgorithm {
+
+    SCA(SampleAlgorithm.SCA,
+            new TunedParameter(ExperimentProperty.SCA_CONVERGENCE_FACTOR.getKey(), 1e-5, 1e-1, true, false)) {
+
+        @Override
+        double[] getConfiguredValues(ExperimentConfiguration configuration) {
+            return new double[]{configuration.getScaConvergenceFactor()};
+        }
+
+        @Override
+        TSPSolution search(TSPInstance instance, TSPSolution startingSolution, double[] values, int iterations,
+                           SolutionType solutionType, XoroshiroRandom random) {
+            return new StochasticHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>>(
+                    iterations,
+                    startingSolution,
+                    solutionType,
+                    instance.getMinimumSpanningTreeCost() * values[0],
+                    random
+            ).runAlgorithm();
+        }
+    },
+
+    SA(SampleAlgorithm.SA,
+            new TunedParameter(ExperimentProperty.SA_INITIAL_ACCEPTANCE.getKey(), 0.05, 0.99, false, false),
+            new TunedParameter(ExperimentProperty.SA_FINAL_ACCEPTANCE.getKey(), 1e-30, 1e-2, true, false)) {
+
+        @Override
+        double[] getConfiguredValues(ExperimentConfiguration configuration) {
+            return new double[]{configuration.getSaInitialAcceptance(), configuration.getSaFinalAcceptance()};
+        }
+
+        @Override
+        TSPSolution search(TSPInstance instance, TSPSolution startingSolution, double[] values, int iterations,
+                           SolutionType solutionType, XoroshiroRandom random) {
+
+            final TSPSolution temperatureSample = startingSolution.createRandomSolution(random.split());
+            final double startingTemperature = TemperatureEstimator.estimateTemperature(temperatureSample,
+                    solutionType, TemperatureEstimator.DEFAULT_SAMPLES, values[0]);
+            final double finalTemperature = TemperatureEstimator.estimateTemperature(temperatureSample,
+                    solutionType, TemperatureEstimator.DEFAULT_SAMPLES, values[1]);
+
+            return new SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>>(
+                    iterations,
+                    startingSolution,
+                    solutionType,
+                    startingTemperature,
+                    GeometricCooling.toFinalTemperature(finalTemperature),
+                    random
+            ).runAlgorithm();
+        }
+    },
+
+    ILS(SampleAlgorithm.ILS,
+            new TunedParameter(ExperimentProperty.ILS_RESTART_PATIENCE.getKey(), 10, 10_000, true, true)) {
+
+        @Override
+        double[] getConfiguredValues(ExperimentConfiguration configuration) {
+            return new double[]{configuration.getIlsRestartPatience()};
+        }
+
+        @Override
+        TSPSolution search(TSPInstance instance, TSPSolution startingSolution, double[] values, int iterations,
+                           SolutionType solutionType, XoroshiroRandom random) {
+            return new IteratedLocalSearchAlgorithm<>(
+                    Math.max(1, iterations / TSPSampleRunner.ILS_MOVES_PER_ITERATION),
+                    startingSolution,
+                    instance.getCandidateList(),
+                    Perturbation.DOUBLE_BRIDGE,
+                    IteratedLocalSearchAlgorithm.DEFAULT_MAXIMUM_STRENGTH,
+                    new BetterAcceptance((int) values[0]),
+                    random
+            ).runAlgorithm();
+        }
+    };
+
+    private final SampleAlgorithm sampleAlgorithm;
+
+    private final List<TunedParameter> parameters;
+
+    TunableAlgorithm(SampleAlgorithm sampleAlgorithm, TunedParameter... parameters) {
+        this.sampleAlgorithm = sampleAlgorithm;
+        this.parameters = Collections.unmodifiableList(Arrays.asList(parameters));
+    }
+
+    /**
+     * Retrieves the tunable algorithm of a sample algorithm.
+     *
+     * @param sampleAlgorithm the sample algorithm.
+     * @return the tunable algorithm, or null if the sample algorithm has no parameters to tune.
+     */
+    public static TunableAlgorithm forSampleAlgorithm(SampleAlgorithm sampleAlgorithm) {
+        for (TunableAlgorithm algorithm : values()) {
+            if (algorithm.sampleAlgorithm == sampleAlgorithm) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates a configuration of the algorithm against an instance, from a starting tour constructed as
+     * configured, with the configured iteration budget.
+     *
+     * @param instance the instance.
+     * @param values the value of each parameter.
+     * @param configuration the configuration of the experiment.
+     * @param random the source of randomness of the evaluation.
+     * @return the length of the best tour found relative to the instance's MST cost, lower being better.
+     */
+    public double evaluate(TSPInstance instance, double[] values, ExperimentConfiguration configuration,
+                           XoroshiroRandom random) {
+
+        final int[] startingTour = configuration.getConstruction().getConstruction().constructTour(instance, random);
+        final TSPSolution startingSolution = new TSPSolution(startingTour, instance.getGraph(), random.split());
+
+        final TSPSolution bestSolution = search(instance, startingSolution, values, configuration.getIterations(),
+                configuration.getSolutionType(), random.split());
+
+        final double relativeLength = bestSolution.getTourLength() / instance.getMinimumSpanningTreeCost();
+        return (configuration.getSolutionType() == SolutionType.MINIMISATION) ? relativeLength : -relativeLength;
+    }
+
+    /**
+     * Retrieves the configured value of each parameter, raced among the first candidates.
+     *
+     * @param configuration the configuration of the experiment.
+     * @return the values, in the order of the parameters.
+     */
+    abstract double[] getConfiguredValues(ExperimentConfiguration configuration);
+
+    /**
+     * Runs the algorithm with a configuration.
+     *
+     * @param instance the instance searched.
+     * @param startingSolution the starting solution.
+     * @param values the value of each parameter.
+     * @param iterations the iteration budget of the sample runner.
+     * @param solutionType the direction of the search.
+     * @param random the source of randomness of the search.
+     * @return the best solution found.
+     */
+    abstract TSPSolution search(TSPInstance instance, TSPSolution startingSolution, double[] values, int iterations,
+                                SolutionType solutionType, XoroshiroRandom random);
+
+    public SampleAlgorithm getSampleAlgorithm() {
+        return sampleAlgorithm;
+    }
+
+    public List<TunedParameter> getParameters() {
+        return parameters;
+    }
+}
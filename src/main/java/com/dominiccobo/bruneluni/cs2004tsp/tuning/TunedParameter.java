@@ -0,0 +1,119 @@
+package com.dominiccobo.bruneluni.cs2004tsp.tuning;
+
+/**
+ * Representation of a numeric parameter raced by the tuner, within a closed range. Candidates are sampled in the
+ * unit interval and mapped onto the range, logarithmically for parameters spanning orders of magnitude, so that
+ * each order of magnitude is sampled as often as any other.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class TunedParameter {
+
+    /**
+     * The key of the experiment property the parameter configures.
+     */
+    private final String key;
+
+    private final double lowerBound;
+
+    private final double upperBound;
+
+    private final boolean logarithmic;
+
+    private final boolean integral;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private TunedParameter() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor.
+     *
+     * @param key the key of the experiment property the parameter configures.
+     * @param lowerBound the lowest value of the parameter.
+     * @param upperBound the highest value of the parameter.
+     * @param logarithmic whether to sample the range on a logarithmic scale, requiring a positive range.
+     * @param integral whether the parameter only takes whole values.
+     */
+    public TunedParameter(String key, double lowerBound, double upperBound, boolean logarithmic, boolean integral) {
+
+        if (!(lowerBound < upperBound) || (logarithmic && !(lowerBound > 0))) {
+            throw new IllegalArgumentException("Range must be ascending, and positive on a logarithmic scale");
+        }
+
+        this.key = key;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.logarithmic = logarithmic;
+        this.integral = integral;
+    }
+
+    /**
+     * Maps a position in the unit interval onto the range of the parameter.
+     *
+     * @param position the position, clamped to the unit interval.
+     * @return the value of the parameter.
+     */
+    public double fromUnit(double position) {
+
+        final double clamped = Math.max(0, Math.min(1, position));
+        final double value = logarithmic
+                ? lowerBound * Math.pow(upperBound / lowerBound, clamped)
+                : lowerBound + clamped * (upperBound - lowerBound);
+
+        return integral ? Math.round(value) : Math.max(lowerBound, Math.min(upperBound, value));
+    }
+
+    /**
+     * Maps a value of the parameter onto the unit interval.
+     *
+     * @param value the value, clamped to the range of the parameter.
+     * @return the position of the value.
+     */
+    public double toUnit(double value) {
+
+        final double clamped = Math.max(lowerBound, Math.min(upperBound, value));
+        return logarithmic
+                ? Math.log(clamped / lowerBound) / Math.log(upperBound / lowerBound)
+                : (clamped - lowerBound) / (upperBound - lowerBound);
+    }
+
+    /**
+     * Formats a value of the parameter as an experiment property value.
+     *
+     * @param value the value.
+     * @return the formatted value.
+     */
+    public String format(double value) {
+        return integral ? String.valueOf(Math.round(value)) : String.valueOf((float) value);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    public boolean isLogarithmic() {
+        return logarithmic;
+    }
+
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    @Override
+    public String toString() {
+        return key + " [" + format(lowerBound) + ", " + format(upperBound) + "]";
+    }
+}
@@ -41,7 +41,6 @@ public class AlgorithmTimer {
     }
 
 
-    @SuppressWarnings("unused")
     public long getStartTime() {
         return startTime;
     }
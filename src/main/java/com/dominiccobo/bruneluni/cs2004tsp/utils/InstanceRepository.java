@@ -0,0 +1,468 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.MinimumSpanningTree;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.EdgeWeightType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import com.dominiccobo.bruneluni.cs2004tsp.jfr.InstanceLoadEvent;
+import com.dominiccobo.bruneluni.cs2004tsp.jfr.PrecomputationEvent;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Repository loading problem instances once and sharing them between every phase and thread that requires them.
+ *
+ * Loaded instances are held in a least recently used cache bounded by their estimated size. When sidecars are
+ * enabled, the parsed graph and its derived data are also persisted in a compact binary file alongside the source
+ * file, keyed by a hash of the source content and the number of candidates kept for each node, so that subsequent
+ * processes preprocessing alike skip parsing and preprocessing.
+ *
+ * Instances are loaded outside of the lock guarding the cache, so that threads requiring different instances load
+ * them concurrently, while threads requiring the same instance wait on its single load.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class InstanceRepository {
+
+    /**
+     * The default bound on the estimated size of all cached instances.
+     */
+    public static final long DEFAULT_MAXIMUM_CACHED_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * The default number of nearest neighbours kept for each node.
+     */
+    public static final int DEFAULT_CANDIDATES_PER_NODE = 10;
+
+    /**
+     * The extension appended to source files to name their sidecar.
+     */
+    public static final String SIDECAR_EXTENSION = ".bin";
+
+    /**
+     * Identifying header of sidecar files.
+     */
+    private static final int SIDECAR_MAGIC = 0x54535043;
+
+    /**
+     * Version of the sidecar layout, incremented whenever the layout changes.
+     */
+    private static final int SIDECAR_VERSION = 2;
+
+    /**
+     * The cached instances, ordered from least to most recently used.
+     */
+    private final LinkedHashMap<String, TSPInstance> cachedInstances = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The loads in progress, by filename.
+     */
+    private final ConcurrentMap<String, CompletableFuture<TSPInstance>> pendingLoads = new ConcurrentHashMap<>();
+
+    /**
+     * The bound on the estimated size of all cached instances.
+     */
+    private final long maximumCachedBytes;
+
+    /**
+     * Whether binary sidecars are read and written.
+     */
+    private final boolean persistSidecars;
+
+    /**
+     * The number of nearest neighbours kept for each node.
+     */
+    private final int candidatesPerNode;
+
+    /**
+     * The current estimated size of all cached instances.
+     */
+    private long cachedBytes;
+
+    /**
+     * Constructor for a repository using the default bounds, without sidecars.
+     */
+    public InstanceRepository() {
+        this(DEFAULT_MAXIMUM_CACHED_BYTES, false, DEFAULT_CANDIDATES_PER_NODE);
+    }
+
+    /**
+     * Default instantiation constructor, specifies the bounds of the repository.
+     *
+     * @param maximumCachedBytes the bound on the estimated size of all cached instances.
+     * @param persistSidecars whether binary sidecars are read and written alongside source files.
+     * @param candidatesPerNode the number of nearest neighbours to keep for each node.
+     */
+    public InstanceRepository(long maximumCachedBytes, boolean persistSidecars, int candidatesPerNode) {
+
+        if(maximumCachedBytes < 0 || candidatesPerNode < 0) {
+            throw new IllegalArgumentException("Repository bounds cannot be negative");
+        }
+
+        this.maximumCachedBytes = maximumCachedBytes;
+        this.persistSidecars = persistSidecars;
+        this.candidatesPerNode = candidatesPerNode;
+    }
+
+    /**
+     * Retrieves an instance, loading it on first use.
+     *
+     * TSPLIB files are recognised by their .tsp extension, anything else is read as a whitespace separated matrix.
+     *
+     * @param filename the filename, including path, of the instance to retrieve.
+     * @return the loaded instance.
+     */
+    public TSPInstance getInstance(String filename) {
+
+        TSPInstance instance = getCachedInstance(filename);
+        if(instance != null) {
+            return instance;
+        }
+
+        final CompletableFuture<TSPInstance> load = new CompletableFuture<>();
+        final CompletableFuture<TSPInstance> pendingLoad = pendingLoads.putIfAbsent(filename, load);
+        if(pendingLoad != null) {
+            return awaitLoad(pendingLoad);
+        }
+
+        try {
+            // another thread may have completed its load between the cache lookup and registering this one.
+            instance = getCachedInstance(filename);
+            if(instance == null) {
+                instance = loadInstance(filename);
+                synchronized (this) {
+                    cacheInstance(filename, instance);
+                }
+            }
+            load.complete(instance);
+            return instance;
+        }
+        catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            pendingLoads.remove(filename, load);
+        }
+    }
+
+    /**
+     * Retrieves an instance from the cache, marking it as most recently used.
+     *
+     * @param filename the filename of the instance.
+     * @return the instance, or null if not cached.
+     */
+    private synchronized TSPInstance getCachedInstance(String filename) {
+        return cachedInstances.get(filename);
+    }
+
+    /**
+     * Waits for another thread's load of an instance, failing as that load failed.
+     *
+     * @param pendingLoad the load to wait for.
+     * @return the loaded instance.
+     */
+    private static TSPInstance awaitLoad(CompletableFuture<TSPInstance> pendingLoad) {
+        try {
+            return pendingLoad.join();
+        }
+        catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Instance load failed", e.getCause());
+        }
+    }
+
+    /**
+     * Determines whether an instance is currently held in the cache.
+     *
+     * @param filename the filename of the instance.
+     * @return whether the instance is cached.
+     */
+    public synchronized boolean isCached(String filename) {
+        return cachedInstances.containsKey(filename);
+    }
+
+    /**
+     * Empties the in-memory cache, leaving any sidecars in place.
+     */
+    public synchronized void clear() {
+        cachedInstances.clear();
+        cachedBytes = 0;
+    }
+
+    /**
+     * Inserts an instance into the cache, evicting the least recently used instances until within bounds.
+     *
+     * Instances larger than the bound on their own are returned to the caller without being cached.
+     *
+     * @param filename the filename identifying the instance.
+     * @param instance the instance to cache.
+     */
+    private void cacheInstance(String filename, TSPInstance instance) {
+
+        final long instanceSize = instance.getEstimatedSizeInBytes();
+
+        if(instanceSize > maximumCachedBytes) {
+            return;
+        }
+
+        final Iterator<Map.Entry<String, TSPInstance>> eldestEntries = cachedInstances.entrySet().iterator();
+        while(cachedBytes + instanceSize > maximumCachedBytes && eldestEntries.hasNext()) {
+            cachedBytes -= eldestEntries.next().getValue().getEstimatedSizeInBytes();
+            eldestEntries.remove();
+        }
+
+        cachedInstances.put(filename, instance);
+        cachedBytes += instanceSize;
+    }
+
+    /**
+     * Loads an instance, from its sidecar if a valid one exists, otherwise by parsing and preprocessing the source.
+     *
+     * @param filename the filename of the instance.
+     * @return the loaded instance.
+     */
+    private TSPInstance loadInstance(String filename) {
+
+        final File sourceFile = new File(filename);
+        final String name = sourceFile.getName();
+
+        final InstanceLoadEvent loadEvent = new InstanceLoadEvent();
+        loadEvent.begin();
+
+        byte[] contentHash = null;
+
+        if(persistSidecars) {
+            contentHash = hashFile(sourceFile);
+            final TSPInstance sidecarInstance = readSidecar(name, getSidecarFile(sourceFile), contentHash,
+                    candidatesPerNode);
+            if(sidecarInstance != null) {
+                loadEvent.complete(name, sidecarInstance.getGraph().getNumberOfNodes(), true);
+                return sidecarInstance;
+            }
+        }
+
+        final Graph graph;
+        if(filename.endsWith(".tsp")) {
+            graph = TSPLibReader.readGraph(filename);
+        }
+        else {
+            final double[][] distanceMatrix = Utilities.readArrayFile(filename, " ");
+            graph = (distanceMatrix != null) ? new Graph(distanceMatrix) : null;
+        }
+
+        if(graph == null) {
+            throw new IllegalArgumentException("Unable to read instance " + filename);
+        }
+
+        final PrecomputationEvent precomputationEvent = new PrecomputationEvent();
+        precomputationEvent.begin();
+
+        final TSPInstance instance = new TSPInstance(
+                name,
+                graph,
+                MinimumSpanningTree.getMSTCost(graph),
+                CandidateList.build(graph, candidatesPerNode)
+        );
+
+        precomputationEvent.complete(name, graph.getNumberOfNodes(), instance.getMinimumSpanningTreeCost(), candidatesPerNode);
+
+        if(persistSidecars && contentHash != null) {
+            writeSidecar(instance, getSidecarFile(sourceFile), contentHash, candidatesPerNode);
+        }
+
+        loadEvent.complete(name, graph.getNumberOfNodes(), false);
+        return instance;
+    }
+
+    /**
+     * Retrieves the sidecar file of a source file.
+     *
+     * @param sourceFile the source file.
+     * @return the sidecar file.
+     */
+    private static File getSidecarFile(File sourceFile) {
+        return new File(sourceFile.getPath() + SIDECAR_EXTENSION);
+    }
+
+    /**
+     * Hashes the content of a file with SHA-256, streaming it through a fixed buffer.
+     *
+     * @param file the file to hash.
+     * @return the hash, or null if the file could not be read.
+     */
+    private static byte[] hashFile(File file) {
+
+        try (InputStream inputStream = new FileInputStream(file)) {
+
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[64 * 1024];
+
+            int bytesRead;
+            while((bytesRead = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, bytesRead);
+            }
+
+            return messageDigest.digest();
+        }
+        catch (IOException | NoSuchAlgorithmException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Reads an instance from its sidecar, provided the sidecar was produced from the same source content with the
+     * same number of candidates for each node.
+     *
+     * @param name identifying name of the instance.
+     * @param sidecarFile the sidecar file to read.
+     * @param contentHash the hash of the current source content.
+     * @param candidatesPerNode the number of nearest neighbours requested for each node.
+     * @return the instance, or null if the sidecar is missing, stale or unreadable.
+     */
+    private static TSPInstance readSidecar(String name, File sidecarFile, byte[] contentHash,
+                                           int candidatesPerNode) {
+
+        if(contentHash == null || !sidecarFile.exists()) {
+            return null;
+        }
+
+        try (DataInputStream inputStream = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(sidecarFile), 64 * 1024))) {
+
+            if(inputStream.readInt() != SIDECAR_MAGIC || inputStream.readInt() != SIDECAR_VERSION) {
+                return null;
+            }
+
+            final byte[] storedHash = new byte[contentHash.length];
+            inputStream.readFully(storedHash);
+            if(!Arrays.equals(storedHash, contentHash) || inputStream.readInt() != candidatesPerNode) {
+                return null;
+            }
+
+            final int numberOfNodes = inputStream.readInt();
+            final EdgeWeightType edgeWeightType = EdgeWeightType.values()[inputStream.readInt()];
+
+            final Graph graph;
+            if(!edgeWeightType.isCoordinateBased()) {
+                final double[][] distanceMatrix = new double[numberOfNodes][numberOfNodes];
+                for(double[] row: distanceMatrix) {
+                    for(int colIdx = 0; colIdx < numberOfNodes; colIdx++) {
+                        row[colIdx] = inputStream.readDouble();
+                    }
+                }
+                graph = new Graph(distanceMatrix);
+            }
+            else {
+                final double[] xCoordinates = new double[numberOfNodes];
+                final double[] yCoordinates = new double[numberOfNodes];
+                for(int node = 0; node < numberOfNodes; node++) {
+                    xCoordinates[node] = inputStream.readDouble();
+                    yCoordinates[node] = inputStream.readDouble();
+                }
+                graph = new Graph(xCoordinates, yCoordinates, edgeWeightType);
+            }
+
+            final double minimumSpanningTreeCost = inputStream.readDouble();
+
+            final int storedCandidatesPerNode = inputStream.readInt();
+            final int[] neighbours = new int[inputStream.readInt()];
+            for(int i = 0; i < neighbours.length; i++) {
+                neighbours[i] = inputStream.readInt();
+            }
+
+            return new TSPInstance(
+                    name,
+                    graph,
+                    minimumSpanningTreeCost,
+                    new CandidateList(neighbours, storedCandidatesPerNode)
+            );
+        }
+        catch (IOException | RuntimeException e) {
+            // a corrupt or truncated sidecar is simply rebuilt from the source.
+            return null;
+        }
+    }
+
+    /**
+     * Writes an instance to its sidecar, via a temporary file so concurrent processes never read a partial sidecar.
+     *
+     * @param instance the instance to write.
+     * @param sidecarFile the sidecar file to write.
+     * @param contentHash the hash of the source content the instance was produced from.
+     * @param candidatesPerNode the number of nearest neighbours requested for each node.
+     */
+    private static void writeSidecar(TSPInstance instance, File sidecarFile, byte[] contentHash,
+                                     int candidatesPerNode) {
+
+        final Graph graph = instance.getGraph();
+        final int numberOfNodes = graph.getNumberOfNodes();
+        final File temporaryFile = new File(sidecarFile.getPath() + ".tmp" + Thread.currentThread().getId());
+
+        try (DataOutputStream outputStream = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporaryFile), 64 * 1024))) {
+
+            outputStream.writeInt(SIDECAR_MAGIC);
+            outputStream.writeInt(SIDECAR_VERSION);
+            outputStream.write(contentHash);
+            outputStream.writeInt(candidatesPerNode);
+            outputStream.writeInt(numberOfNodes);
+            outputStream.writeInt(graph.getEdgeWeightType().ordinal());
+
+            if(graph.hasCoordinates()) {
+                final double[] xCoordinates = graph.getXCoordinates();
+                final double[] yCoordinates = graph.getYCoordinates();
+                for(int node = 0; node < numberOfNodes; node++) {
+                    outputStream.writeDouble(xCoordinates[node]);
+                    outputStream.writeDouble(yCoordinates[node]);
+                }
+            }
+            else {
+                for(double[] row: graph.getDistanceMatrix()) {
+                    for(double distance: row) {
+                        outputStream.writeDouble(distance);
+                    }
+                }
+            }
+
+            outputStream.writeDouble(instance.getMinimumSpanningTreeCost());
+
+            final CandidateList candidateList = instance.getCandidateList();
+            outputStream.writeInt(candidateList.getCandidatesPerNode());
+            outputStream.writeInt(candidateList.getNeighbours().length);
+            for(int neighbour: candidateList.getNeighbours()) {
+                outputStream.writeInt(neighbour);
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            temporaryFile.delete();
+            return;
+        }
+
+        try {
+            Files.move(temporaryFile.toPath(), sidecarFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            temporaryFile.delete();
+        }
+    }
+}
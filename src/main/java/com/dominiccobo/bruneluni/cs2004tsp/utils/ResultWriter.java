@@ -0,0 +1,410 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sink of CSV result lines published by any number of threads, and written to a file per log by a single
+ * background thread, so that threads running algorithms never wait on the file system and lines of concurrent
+ * publishers never interleave.
+ *
+ * Lines are queued on a bounded queue, published lines only waiting when the writer has fallen a whole queue
+ * behind. The writer takes lines in batches, keeping each log file open across batches and flushing once per
+ * batch. A log file is created with its column headers, or appended to if it already exists. Should the writer
+ * thread stop unexpectedly, every flush waiting on it, and every later flush or close, fails rather than hangs.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class ResultWriter implements Closeable {
+
+    /**
+     * The default number of lines queued before publishers wait.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    /**
+     * The default maximum number of lines written between flushes.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * Line queued by close, telling the writer thread to finish.
+     */
+    private static final ResultLine END_OF_RESULTS = new ResultLine(null, null, null, null);
+
+    /**
+     * The interval at which threads waiting on the writer check whether it has stopped.
+     */
+    private static final long STOPPED_CHECK_MILLIS = 100;
+
+    /**
+     * The directory log files are written to.
+     */
+    private final File outputDirectory;
+
+    /**
+     * The lines published but not yet written.
+     */
+    private final BlockingQueue<ResultLine> resultQueue;
+
+    /**
+     * The maximum number of lines written between flushes.
+     */
+    private final int batchSize;
+
+    /**
+     * The open writer of each log, only touched by the writer thread.
+     */
+    private final Map<String, Writer> logWriters = new HashMap<>();
+
+    /**
+     * The thread writing the queued lines.
+     */
+    private final Thread writerThread;
+
+    /**
+     * Whether the sink has been closed to further lines.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Whether the writer thread has stopped taking lines, whether closed or failed.
+     */
+    private volatile boolean writerStopped;
+
+    /**
+     * The first failure to write, reported on close.
+     */
+    private volatile IOException writeFailure;
+
+    /**
+     * No argument constructor, hidden, to prevent non parameterised instantiation.
+     */
+    @SuppressWarnings("unused")
+    private ResultWriter() {
+        throw new IllegalArgumentException("No non-parameterised constructor permitted");
+    }
+
+    /**
+     * Default instantiation constructor, with the default queue capacity and batch size.
+     *
+     * @param outputDirectory the directory to write log files to, created if missing.
+     * @throws IOException if the directory cannot be created.
+     */
+    public ResultWriter(File outputDirectory) throws IOException {
+        this(outputDirectory, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor specifying how many lines may be queued and written at once, starting the writer thread.
+     *
+     * @param outputDirectory the directory to write log files to, created if missing.
+     * @param queueCapacity the number of lines queued before publishers wait.
+     * @param batchSize the maximum number of lines written between flushes.
+     * @throws IOException if the directory cannot be created.
+     */
+    public ResultWriter(File outputDirectory, int queueCapacity, int batchSize) throws IOException {
+
+        if (outputDirectory == null || queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Output directory required, capacity and batch size must be positive");
+        }
+
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new IOException("Unable to create output directory " + outputDirectory);
+        }
+
+        this.outputDirectory = outputDirectory;
+        this.resultQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+
+        this.writerThread = new Thread(this::writeResults, "result-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Publishes a line to a log, to be written in the background.
+     *
+     * @param logName the name of the log, written to a CSV file of the same name.
+     * @param columnHeaders the headers of the log, written if the log file is created.
+     * @param logItems the columns of the line.
+     */
+    public void write(String logName, String[] columnHeaders, String[] logItems) {
+
+        if (logItems.length != columnHeaders.length) {
+            throw new IllegalArgumentException(
+                    "The number of items logged, must match the expected " + columnHeaders.length + " items"
+            );
+        }
+
+        if (closed) {
+            throw new IllegalStateException("Result writer already closed");
+        }
+
+        try {
+            if (!enqueue(new ResultLine(
+                    logName, String.join(",", columnHeaders), String.join(",", logItems), null
+            ))) {
+                throw new IllegalStateException("Result writer stopped", writeFailure);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted publishing to " + logName, e);
+        }
+    }
+
+    /**
+     * Waits for every line published before the call to be written and flushed to its log file.
+     *
+     * @throws IOException if a line could not be written at any point.
+     */
+    public void flush() throws IOException {
+
+        if (closed) {
+            throw new IllegalStateException("Result writer already closed");
+        }
+
+        final CountDownLatch flushed = new CountDownLatch(1);
+        try {
+            if (!enqueue(new ResultLine(null, null, null, flushed))) {
+                throw stoppedFailure();
+            }
+            // the writer releases every flush it takes, but one queued as it stops may never be taken.
+            while (!flushed.await(STOPPED_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (writerStopped && flushed.getCount() > 0) {
+                    throw stoppedFailure();
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for results to be written", e);
+        }
+
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    /**
+     * Queues a line for the writer thread, waiting while the queue is full for as long as the writer runs.
+     *
+     * @param resultLine the line to queue.
+     * @return whether the line was queued, false if the writer stopped.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private boolean enqueue(ResultLine resultLine) throws InterruptedException {
+        while (!resultQueue.offer(resultLine, STOPPED_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (writerStopped) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Describes the writer thread having stopped, along with its first failure to write.
+     *
+     * @return the failure to report.
+     */
+    private IOException stoppedFailure() {
+        return (writeFailure != null) ? writeFailure : new IOException("Result writer stopped");
+    }
+
+    /**
+     * Stops accepting lines, waits for every line published to be written and closes the log files.
+     *
+     * @throws IOException if a line could not be written at any point.
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            enqueue(END_OF_RESULTS);
+            writerThread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for results to be written", e);
+        }
+
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+    }
+
+    /**
+     * Body of the writer thread, writing batches of lines until the end of the results is taken.
+     */
+    private void writeResults() {
+
+        final List<ResultLine> batch = new ArrayList<>(batchSize);
+        boolean finished = false;
+
+        try {
+            while (!finished) {
+                batch.add(resultQueue.take());
+                resultQueue.drainTo(batch, batchSize - 1);
+
+                for (ResultLine resultLine : batch) {
+                    if (resultLine == END_OF_RESULTS) {
+                        finished = true;
+                    }
+                    else if (resultLine.flushed != null) {
+                        flushLogs();
+                        resultLine.flushed.countDown();
+                    }
+                    else {
+                        writeLine(resultLine);
+                    }
+                }
+                batch.clear();
+                flushLogs();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordFailure(new IOException("Result writer interrupted", e));
+        }
+        catch (RuntimeException | Error e) {
+            recordFailure(new IOException("Result writer failed", e));
+            throw e;
+        }
+        finally {
+            writerStopped = true;
+            closeLogs();
+
+            // release the flushes the writer will never take, which then report the failure.
+            resultQueue.drainTo(batch);
+            for (ResultLine resultLine : batch) {
+                if (resultLine.flushed != null) {
+                    resultLine.flushed.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a line to its log, keeping the first failure for close rather than killing the writer, so that
+     * publishers are never left waiting on a full queue.
+     *
+     * @param resultLine the line to write.
+     */
+    private void writeLine(ResultLine resultLine) {
+        try {
+            final Writer logWriter = getLogWriter(resultLine.logName, resultLine.headerLine);
+            logWriter.write(resultLine.itemLine);
+            logWriter.write('\n');
+        }
+        catch (IOException e) {
+            recordFailure(e);
+        }
+    }
+
+    /**
+     * Retrieves the writer of a log, opening its file on first use and writing the headers if the file is new.
+     *
+     * @param logName the name of the log.
+     * @param headerLine the joined headers of the log.
+     * @return the writer of the log.
+     * @throws IOException if the log file cannot be opened.
+     */
+    private Writer getLogWriter(String logName, String headerLine) throws IOException {
+
+        Writer logWriter = logWriters.get(logName);
+
+        if (logWriter == null) {
+            final File logFile = new File(outputDirectory, logName + ".csv");
+            final boolean writeHeaders = logFile.length() == 0;
+
+            logWriter = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(logFile, true),
+                    StandardCharsets.UTF_8
+            ));
+            if (writeHeaders) {
+                logWriter.write(headerLine);
+                logWriter.write('\n');
+            }
+            logWriters.put(logName, logWriter);
+        }
+
+        return logWriter;
+    }
+
+    private void flushLogs() {
+        for (Writer logWriter : logWriters.values()) {
+            try {
+                logWriter.flush();
+            }
+            catch (IOException e) {
+                recordFailure(e);
+            }
+        }
+    }
+
+    private void closeLogs() {
+        for (Writer logWriter : logWriters.values()) {
+            try {
+                logWriter.close();
+            }
+            catch (IOException e) {
+                recordFailure(e);
+            }
+        }
+        logWriters.clear();
+    }
+
+    private void recordFailure(IOException e) {
+        if (writeFailure == null) {
+            writeFailure = e;
+        }
+    }
+
+    /**
+     * A line published to a log, joined by the publishing thread, or a request to flush the lines before it.
+     */
+    private static final class ResultLine {
+
+        private final String logName;
+
+        private final String headerLine;
+
+        private final String itemLine;
+
+        /**
+         * Latch released once the lines before a flush request are flushed, or null if a line.
+         */
+        private final CountDownLatch flushed;
+
+        private ResultLine(String logName, String headerLine, String itemLine, CountDownLatch flushed) {
+            this.logName = logName;
+            this.headerLine = headerLine;
+            this.itemLine = itemLine;
+            this.flushed = flushed;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Accumulator of the statistics of a stream of values in constant memory, without keeping or boxing the values.
+ *
+ * The mean and variance are accumulated with Welford's algorithm, and quantiles are estimated from a sketch
+ * counting values in logarithmically sized buckets, so that every estimate lies within a fixed relative error of
+ * a value of the stream at the requested rank. Accumulators are not thread safe, but may be merged exactly, so
+ * that each thread accumulates its own values and the accumulators are combined once all finish.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class StreamingStatistics implements DoubleConsumer {
+
+    /**
+     * The default relative error of quantile estimates.
+     */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.005;
+
+    /**
+     * The default maximum number of buckets per sign, beyond which the lowest buckets are collapsed.
+     */
+    public static final int DEFAULT_MAXIMUM_BUCKETS = 2048;
+
+    private final double relativeAccuracy;
+
+    /**
+     * The ratio between the bounds of each bucket.
+     */
+    private final double gamma;
+
+    private final double logGamma;
+
+    /**
+     * The counts of the positive values, and of the magnitudes of the negative values.
+     */
+    private final LogBuckets positiveBuckets;
+
+    private final LogBuckets negativeBuckets;
+
+    private long zeroCount;
+
+    private long count;
+
+    private double mean;
+
+    /**
+     * The sum of squared differences from the mean.
+     */
+    private double sumOfSquares;
+
+    private double minimum = Double.POSITIVE_INFINITY;
+
+    private double maximum = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Default instantiation constructor, with the default accuracy and bucket limit.
+     */
+    public StreamingStatistics() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAXIMUM_BUCKETS);
+    }
+
+    /**
+     * Constructor specifying the accuracy of quantile estimates and the memory they may use.
+     *
+     * @param relativeAccuracy the relative error of quantile estimates, between 0 and 1.
+     * @param maximumBuckets the maximum number of buckets per sign, beyond which the lowest buckets are collapsed,
+     *                       losing accuracy only on the lowest quantiles.
+     */
+    public StreamingStatistics(double relativeAccuracy, int maximumBuckets) {
+
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1) || maximumBuckets < 1) {
+            throw new IllegalArgumentException("Accuracy must be between 0 and 1, buckets must be positive");
+        }
+
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.positiveBuckets = new LogBuckets(maximumBuckets);
+        this.negativeBuckets = new LogBuckets(maximumBuckets);
+    }
+
+    /**
+     * Accumulates a value.
+     *
+     * @param value the value, which must be finite.
+     */
+    @Override
+    public void accept(double value) {
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Cannot accumulate a value that is not finite");
+        }
+
+        count++;
+        final double delta = value - mean;
+        mean += delta / count;
+        sumOfSquares += delta * (value - mean);
+
+        minimum = Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+
+        if (value > 0) {
+            positiveBuckets.add(getBucketIndex(value), 1);
+        }
+        else if (value < 0) {
+            negativeBuckets.add(getBucketIndex(-value), 1);
+        }
+        else {
+            zeroCount++;
+        }
+    }
+
+    /**
+     * Combines the values accumulated by another accumulator into this one, as if this had accumulated them.
+     *
+     * @param other the accumulator to merge, which must have the same relative accuracy.
+     */
+    public void merge(StreamingStatistics other) {
+
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge statistics of differing accuracy");
+        }
+
+        if (other.count == 0) {
+            return;
+        }
+
+        final long combinedCount = count + other.count;
+        final double delta = other.mean - mean;
+        mean += delta * other.count / combinedCount;
+        sumOfSquares += other.sumOfSquares + delta * delta * ((double) count * other.count / combinedCount);
+        count = combinedCount;
+
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+
+        positiveBuckets.merge(other.positiveBuckets);
+        negativeBuckets.merge(other.negativeBuckets);
+        zeroCount += other.zeroCount;
+    }
+
+    /**
+     * Estimates a quantile of the values accumulated.
+     *
+     * @param probability the probability of the quantile, between 0 and 1.
+     * @return the estimate, or NaN if no values were accumulated.
+     */
+    public double getQuantile(double probability) {
+
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1");
+        }
+
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        // the rank of the value sought, counted from the lowest value.
+        final long rank = (long) (probability * (count - 1));
+
+        final double estimate;
+        if (rank < negativeBuckets.getCount()) {
+            // negative values are ranked from the largest magnitude down.
+            estimate = -getBucketValue(negativeBuckets.getIndexAtRank(negativeBuckets.getCount() - 1 - rank));
+        }
+        else if (rank < negativeBuckets.getCount() + zeroCount) {
+            estimate = 0;
+        }
+        else {
+            estimate = getBucketValue(positiveBuckets.getIndexAtRank(rank - negativeBuckets.getCount() - zeroCount));
+        }
+
+        return Math.max(minimum, Math.min(maximum, estimate));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return (count > 0) ? mean : Double.NaN;
+    }
+
+    /**
+     * Retrieves the sample variance of the values accumulated.
+     *
+     * @return the variance, or NaN if fewer than two values were accumulated.
+     */
+    public double getVariance() {
+        return (count > 1) ? sumOfSquares / (count - 1) : Double.NaN;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getMinimum() {
+        return (count > 0) ? minimum : Double.NaN;
+    }
+
+    public double getMaximum() {
+        return (count > 0) ? maximum : Double.NaN;
+    }
+
+    public double getRange() {
+        return getMaximum() - getMinimum();
+    }
+
+    public double getMedian() {
+        return getQuantile(0.5);
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingStatistics{" +
+                "count=" + count +
+                ", mean=" + getMean() +
+                ", sd=" + getStandardDeviation() +
+                ", min=" + getMinimum() +
+                ", median=" + getMedian() +
+                ", max=" + getMaximum() +
+                '}';
+    }
+
+    /**
+     * Retrieves the bucket of a positive value, which covers (gamma^(i - 1), gamma^i].
+     *
+     * @param value the value.
+     * @return the index of the bucket.
+     */
+    private int getBucketIndex(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Retrieves the value representing a bucket, within the relative accuracy of every value it covers.
+     *
+     * @param index the index of the bucket.
+     * @return the value.
+     */
+    private double getBucketValue(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /**
+     * Counts of values in contiguous logarithmic buckets, held in a primitive array offset by the lowest index.
+     */
+    private static final class LogBuckets {
+
+        private final int maximumBuckets;
+
+        private long[] counts = new long[0];
+
+        /**
+         * The bucket index of the first count.
+         */
+        private int offset;
+
+        private long total;
+
+        private LogBuckets(int maximumBuckets) {
+            this.maximumBuckets = maximumBuckets;
+        }
+
+        private void add(int index, long bucketCount) {
+
+            if (counts.length == 0) {
+                counts = new long[Math.min(16, maximumBuckets)];
+                offset = index - counts.length / 2;
+            }
+
+            // once the range is at its maximum, indices below it are collapsed into its lowest bucket.
+            if (index >= offset + counts.length || (index < offset && counts.length < maximumBuckets)) {
+                extendTo(index);
+            }
+
+            counts[Math.max(index, offset) - offset] += bucketCount;
+            total += bucketCount;
+        }
+
+        private void merge(LogBuckets other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        /**
+         * Grows the range of the buckets to include an index, collapsing the lowest buckets should the range
+         * exceed the maximum number of buckets.
+         *
+         * @param index the index to include.
+         */
+        private void extendTo(int index) {
+
+            final int lowest = Math.min(offset, index);
+            final int highest = Math.max(offset + counts.length - 1, index);
+            final int span = highest - lowest + 1;
+
+            final int length;
+            final int newOffset;
+            if (span >= maximumBuckets) {
+                length = maximumBuckets;
+                newOffset = highest - maximumBuckets + 1;
+            }
+            else {
+                // spare buckets are left on the side the range grew towards.
+                length = Math.min(maximumBuckets, Math.max(span, counts.length * 2));
+                newOffset = (index > offset) ? lowest : highest - length + 1;
+            }
+
+            final long[] newCounts = new long[length];
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    newCounts[Math.max(offset + i, newOffset) - newOffset] += counts[i];
+                }
+            }
+
+            counts = newCounts;
+            offset = newOffset;
+        }
+
+        /**
+         * Finds the bucket holding the value of a rank, counted from the lowest value.
+         *
+         * @param rank the rank.
+         * @return the index of the bucket.
+         */
+        private int getIndexAtRank(long rank) {
+            long cumulativeCount = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulativeCount += counts[i];
+                if (cumulativeCount > rank) {
+                    return offset + i;
+                }
+            }
+            return offset + counts.length - 1;
+        }
+
+        private long getCount() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.EdgeWeightType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Vector;
+
+/**
+ * Reader for the TSPLIB problem (.tsp) and tour (.opt.tour) file formats.
+ *
+ * Files are parsed token by token from a buffered stream, so that instances with tens of thousands of nodes are
+ * never held in memory as text. Coordinate based instances produce coordinate backed graphs, whereas explicit
+ * instances produce matrix backed graphs.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class TSPLibReader {
+
+    @SuppressWarnings("unused")
+    private TSPLibReader() {
+        throw new IllegalArgumentException("No constructor permitted");
+    }
+
+    /**
+     * Reads in a TSPLIB problem file, returning the graph it describes.
+     *
+     * @param filename the filename, including path, to read in.
+     * @return the graph described by the file, or null if the file could not be read.
+     */
+    public static Graph readGraph(String filename) {
+
+        try (Reader reader = new BufferedReader(new FileReader(filename))) {
+            return readGraph(reader);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Reads in a TSPLIB problem from a stream, returning the graph it describes.
+     *
+     * @param reader the stream to read the problem from.
+     * @return the graph described by the stream.
+     * @throws IOException if the stream could not be read.
+     */
+    public static Graph readGraph(Reader reader) throws IOException {
+
+        final TSPLibTokenizer tokenizer = new TSPLibTokenizer(reader);
+
+        int dimension = -1;
+        EdgeWeightType edgeWeightType = null;
+        String edgeWeightFormat = "FUNCTION";
+        double[] xCoordinates = null;
+        double[] yCoordinates = null;
+        double[][] distanceMatrix = null;
+
+        String keyword;
+        while ((keyword = tokenizer.nextKeyword()) != null && !keyword.equals("EOF")) {
+
+            switch (keyword) {
+                case "TYPE":
+                    final String type = tokenizer.nextValue();
+                    if (!type.equals("TSP")) {
+                        throw new IllegalArgumentException("Unsupported problem type: " + type);
+                    }
+                    break;
+                case "DIMENSION":
+                    dimension = Integer.parseInt(tokenizer.nextValue());
+                    break;
+                case "EDGE_WEIGHT_TYPE":
+                    edgeWeightType = parseEdgeWeightType(tokenizer.nextValue());
+                    break;
+                case "EDGE_WEIGHT_FORMAT":
+                    edgeWeightFormat = tokenizer.nextValue();
+                    break;
+                case "NODE_COORD_SECTION":
+                    requireDimension(dimension);
+                    xCoordinates = new double[dimension];
+                    yCoordinates = new double[dimension];
+                    for (int i = 0; i < dimension; i++) {
+                        final int node = tokenizer.nextInt() - 1;
+                        if (node < 0 || node >= dimension) {
+                            throw new IllegalArgumentException("Node identifier out of range: " + (node + 1));
+                        }
+                        xCoordinates[node] = tokenizer.nextDouble();
+                        yCoordinates[node] = tokenizer.nextDouble();
+                    }
+                    break;
+                case "EDGE_WEIGHT_SECTION":
+                    requireDimension(dimension);
+                    distanceMatrix = readEdgeWeights(tokenizer, dimension, edgeWeightFormat);
+                    break;
+                case "DISPLAY_DATA_SECTION":
+                    requireDimension(dimension);
+                    for (int i = 0; i < dimension * 3; i++) {
+                        tokenizer.nextDouble();
+                    }
+                    break;
+                case "FIXED_EDGES_SECTION":
+                    while (tokenizer.nextInt() != -1) {
+                        tokenizer.nextInt();
+                    }
+                    break;
+                default:
+                    // NAME, COMMENT, NODE_COORD_TYPE, DISPLAY_DATA_TYPE and the like carry no distance information.
+                    tokenizer.nextValue();
+            }
+        }
+
+        if (edgeWeightType == null) {
+            throw new IllegalArgumentException("Missing EDGE_WEIGHT_TYPE specification");
+        }
+
+        if (!edgeWeightType.isCoordinateBased()) {
+            if (distanceMatrix == null) {
+                throw new IllegalArgumentException("Missing EDGE_WEIGHT_SECTION for explicit instance");
+            }
+            return new Graph(distanceMatrix);
+        }
+
+        if (xCoordinates == null) {
+            throw new IllegalArgumentException("Missing NODE_COORD_SECTION for coordinate instance");
+        }
+        return new Graph(xCoordinates, yCoordinates, edgeWeightType);
+    }
+
+    /**
+     * Reads only the specification part of a TSPLIB problem, determining whether its distances are computed from
+     * node coordinates, without reading any of its data sections.
+     *
+     * @param reader the stream to read the problem from.
+     * @return whether the problem is given by node coordinates.
+     * @throws IOException if the stream could not be read.
+     */
+    public static boolean isCoordinateProblem(Reader reader) throws IOException {
+
+        final TSPLibTokenizer tokenizer = new TSPLibTokenizer(reader);
+
+        String keyword;
+        while ((keyword = tokenizer.nextKeyword()) != null && !keyword.endsWith("_SECTION")
+                && !keyword.equals("EOF")) {
+            final String value = tokenizer.nextValue();
+            if (keyword.equals("EDGE_WEIGHT_TYPE")) {
+                return parseEdgeWeightType(value).isCoordinateBased();
+            }
+        }
+        throw new IllegalArgumentException("Missing EDGE_WEIGHT_TYPE specification");
+    }
+
+    /**
+     * Reads in a TSPLIB tour file, returning the zero indexed tour it describes.
+     *
+     * @param filename the filename, including path, to read in.
+     * @return the nodes of the tour in order of visit, or null if the file could not be read.
+     */
+    public static Vector<Integer> readTour(String filename) {
+
+        try (Reader reader = new BufferedReader(new FileReader(filename))) {
+            return readTour(reader);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Reads in a TSPLIB tour from a stream, returning the zero indexed tour it describes.
+     *
+     * @param reader the stream to read the tour from.
+     * @return the nodes of the tour in order of visit.
+     * @throws IOException if the stream could not be read.
+     */
+    public static Vector<Integer> readTour(Reader reader) throws IOException {
+
+        final TSPLibTokenizer tokenizer = new TSPLibTokenizer(reader);
+        Vector<Integer> tour = null;
+        int dimension = -1;
+
+        String keyword;
+        while ((keyword = tokenizer.nextKeyword()) != null && !keyword.equals("EOF")) {
+
+            switch (keyword) {
+                case "TYPE":
+                    final String type = tokenizer.nextValue();
+                    if (!type.equals("TOUR")) {
+                        throw new IllegalArgumentException("Unsupported file type: " + type);
+                    }
+                    break;
+                case "DIMENSION":
+                    dimension = Integer.parseInt(tokenizer.nextValue());
+                    break;
+                case "TOUR_SECTION":
+                    tour = (dimension > 0) ? new Vector<>(dimension) : new Vector<>();
+                    int node;
+                    while (tokenizer.hasMoreTokens() && (node = tokenizer.nextInt()) != -1) {
+                        tour.add(node - 1);
+                    }
+                    break;
+                default:
+                    tokenizer.nextValue();
+            }
+        }
+
+        if (tour == null) {
+            throw new IllegalArgumentException("Missing TOUR_SECTION");
+        }
+        if (dimension > 0 && tour.size() != dimension) {
+            throw new IllegalArgumentException(
+                    "Tour describes " + tour.size() + " nodes, expected " + dimension
+            );
+        }
+        return tour;
+    }
+
+    /**
+     * Reads in the explicit edge weights of a problem, given in any of the TSPLIB matrix layouts.
+     *
+     * @param tokenizer the tokenizer positioned at the start of the weights.
+     * @param dimension the number of nodes in the problem.
+     * @param edgeWeightFormat the layout in which the weights are given.
+     * @return the full square distance matrix.
+     * @throws IOException if the stream could not be read.
+     */
+    private static double[][] readEdgeWeights(TSPLibTokenizer tokenizer, int dimension, String edgeWeightFormat)
+            throws IOException {
+
+        final double[][] distanceMatrix = new double[dimension][dimension];
+
+        // column wise layouts of one triangle are read in the same order as row wise layouts of the other.
+        switch (edgeWeightFormat) {
+            case "FULL_MATRIX":
+                for (int rowIdx = 0; rowIdx < dimension; rowIdx++) {
+                    for (int colIdx = 0; colIdx < dimension; colIdx++) {
+                        distanceMatrix[rowIdx][colIdx] = tokenizer.nextDouble();
+                    }
+                }
+                break;
+            case "UPPER_ROW":
+            case "LOWER_COL":
+                readTriangle(tokenizer, distanceMatrix, true, false);
+                break;
+            case "UPPER_DIAG_ROW":
+            case "LOWER_DIAG_COL":
+                readTriangle(tokenizer, distanceMatrix, true, true);
+                break;
+            case "LOWER_ROW":
+            case "UPPER_COL":
+                readTriangle(tokenizer, distanceMatrix, false, false);
+                break;
+            case "LOWER_DIAG_ROW":
+            case "UPPER_DIAG_COL":
+                readTriangle(tokenizer, distanceMatrix, false, true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported edge weight format: " + edgeWeightFormat);
+        }
+
+        return distanceMatrix;
+    }
+
+    /**
+     * Reads in a triangle of a symmetric matrix row by row, mirroring each value into the opposing triangle.
+     *
+     * @param tokenizer the tokenizer positioned at the start of the weights.
+     * @param distanceMatrix the matrix to populate.
+     * @param upper whether the upper triangle is given, otherwise the lower triangle.
+     * @param includesDiagonal whether the diagonal is included with the triangle.
+     * @throws IOException if the stream could not be read.
+     */
+    private static void readTriangle(TSPLibTokenizer tokenizer, double[][] distanceMatrix, boolean upper,
+                                     boolean includesDiagonal) throws IOException {
+
+        final int dimension = distanceMatrix.length;
+        final int diagonalOffset = includesDiagonal ? 0 : 1;
+
+        for (int rowIdx = 0; rowIdx < dimension; rowIdx++) {
+
+            final int firstColumn = upper ? rowIdx + diagonalOffset : 0;
+            final int lastColumn = upper ? dimension - 1 : rowIdx - diagonalOffset;
+
+            for (int colIdx = firstColumn; colIdx <= lastColumn; colIdx++) {
+                final double weight = tokenizer.nextDouble();
+                distanceMatrix[rowIdx][colIdx] = weight;
+                distanceMatrix[colIdx][rowIdx] = weight;
+            }
+        }
+    }
+
+    /**
+     * Maps a TSPLIB edge weight type specification onto the supported types.
+     *
+     * @param specification the edge weight type specification.
+     * @return the matching edge weight type.
+     */
+    private static EdgeWeightType parseEdgeWeightType(String specification) {
+        try {
+            return EdgeWeightType.valueOf(specification);
+        }
+        catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported edge weight type: " + specification);
+        }
+    }
+
+    /**
+     * Ensures a dimension has been specified before any sections sized by it are read.
+     *
+     * @param dimension the specified dimension.
+     */
+    private static void requireDimension(int dimension) {
+        if (dimension < 1) {
+            throw new IllegalArgumentException("DIMENSION must be specified before data sections");
+        }
+    }
+
+    /**
+     * Minimal whitespace tokenizer over a character stream, reusing a single buffer for each token read.
+     */
+    private static class TSPLibTokenizer {
+
+        /**
+         * The stream being tokenized.
+         */
+        private final Reader reader;
+
+        /**
+         * Buffer holding the characters of the current token.
+         */
+        private final StringBuilder tokenBuffer = new StringBuilder(32);
+
+        /**
+         * The character read ahead of the current position, or -2 when nothing has been read ahead.
+         */
+        private int peekedCharacter = -2;
+
+        /**
+         * Any part of a value that was read alongside its keyword.
+         */
+        private String pendingValuePrefix;
+
+        TSPLibTokenizer(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the next keyword, stripping any trailing colon.
+         *
+         * @return the keyword, or null at the end of the stream.
+         * @throws IOException if the stream could not be read.
+         */
+        String nextKeyword() throws IOException {
+            final String token = nextToken();
+            if (token == null) {
+                return null;
+            }
+            final int separatorIdx = token.indexOf(':');
+            if (separatorIdx >= 0) {
+                // keyword and separator given without whitespace, any value glued on must be read as the value.
+                if (separatorIdx + 1 < token.length()) {
+                    pendingValuePrefix = token.substring(separatorIdx + 1);
+                }
+                return token.substring(0, separatorIdx);
+            }
+            return token;
+        }
+
+        /**
+         * Reads the remainder of the current line as the value of a keyword, without its separating colon.
+         *
+         * @return the trimmed value.
+         * @throws IOException if the stream could not be read.
+         */
+        String nextValue() throws IOException {
+            tokenBuffer.setLength(0);
+            if (pendingValuePrefix != null) {
+                tokenBuffer.append(pendingValuePrefix);
+                pendingValuePrefix = null;
+            }
+
+            int character;
+            while ((character = read()) != -1 && character != '\n' && character != '\r') {
+                tokenBuffer.append((char) character);
+            }
+
+            String value = tokenBuffer.toString().trim();
+            if (value.startsWith(":")) {
+                value = value.substring(1).trim();
+            }
+            return value;
+        }
+
+        /**
+         * Determines whether any further tokens remain in the stream.
+         *
+         * @return whether another token is available.
+         * @throws IOException if the stream could not be read.
+         */
+        boolean hasMoreTokens() throws IOException {
+            skipWhitespace();
+            return peek() != -1;
+        }
+
+        /**
+         * Reads the next token as an integer.
+         *
+         * @return the integer read.
+         * @throws IOException if the stream could not be read.
+         */
+        int nextInt() throws IOException {
+            final String token = requireToken();
+            try {
+                return Integer.parseInt(token);
+            }
+            catch (NumberFormatException e) {
+                // some generators write integral identifiers in floating point notation.
+                return (int) Double.parseDouble(token);
+            }
+        }
+
+        /**
+         * Reads the next token as a double.
+         *
+         * @return the double read.
+         * @throws IOException if the stream could not be read.
+         */
+        double nextDouble() throws IOException {
+            return Double.parseDouble(requireToken());
+        }
+
+        /**
+         * Reads the next token, failing at the end of the stream.
+         *
+         * @return the token read.
+         * @throws IOException if the stream could not be read.
+         */
+        private String requireToken() throws IOException {
+            final String token = nextToken();
+            if (token == null) {
+                throw new IllegalArgumentException("Unexpected end of file");
+            }
+            return token;
+        }
+
+        /**
+         * Reads the next whitespace separated token.
+         *
+         * @return the token, or null at the end of the stream.
+         * @throws IOException if the stream could not be read.
+         */
+        private String nextToken() throws IOException {
+            skipWhitespace();
+
+            tokenBuffer.setLength(0);
+            int character;
+            while ((character = peek()) != -1 && !Character.isWhitespace(character)) {
+                tokenBuffer.append((char) read());
+            }
+
+            return tokenBuffer.length() == 0 ? null : tokenBuffer.toString();
+        }
+
+        /**
+         * Advances the stream past any whitespace.
+         *
+         * @throws IOException if the stream could not be read.
+         */
+        private void skipWhitespace() throws IOException {
+            int character;
+            while ((character = peek()) != -1 && Character.isWhitespace(character)) {
+                read();
+            }
+        }
+
+        private int peek() throws IOException {
+            if (peekedCharacter == -2) {
+                peekedCharacter = reader.read();
+            }
+            return peekedCharacter;
+        }
+
+        private int read() throws IOException {
+            final int character = peek();
+            peekedCharacter = -2;
+            return character;
+        }
+    }
+}
@@ -2,13 +2,12 @@ package com.dominiccobo.bruneluni.cs2004tsp.utils;
 
 import org.apache.commons.lang3.ArrayUtils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * Quick utility class thrown together for easing aggregated report generation for the TSP problem applied
  * with Solution-Optimisation Search Algorithms.
+ *
+ * Runs are accumulated as they are appended into streaming statistics, in constant memory, so reports of
+ * utilities accumulating resamples on separate threads may be merged before the log is created.
  */
 public class TSPReportUtility {
 
@@ -18,19 +17,29 @@ public class TSPReportUtility {
     private int iterations;
 
     /**
-     * List of finesses logged.
+     * Statistics of the fitnesses logged.
      */
-    private List<Double> fitnessesLogged;
+    private StreamingStatistics fitnessesLogged;
 
     /**
-     * List of solution qualities logged.
+     * Statistics of the solution qualities logged.
      */
-    private List<Double> solutionQualitiesLogged;
+    private StreamingStatistics solutionQualitiesLogged;
 
     /**
-     * The time taken for each algorithm to be executed.
+     * Statistics of the time taken for each algorithm to be executed.
      */
-    private List<Long> executionTimes;
+    private StreamingStatistics executionTimes;
+
+    /**
+     * Statistics of the time taken to construct the starting solution of each run.
+     */
+    private StreamingStatistics constructionTimes;
+
+    /**
+     * Identifying name of the heuristic used to construct starting solutions.
+     */
+    private String startingTourName;
 
     /**
      * Initial Fitness, Can be used to represent optimal solution as well.
@@ -53,6 +62,11 @@ public class TSPReportUtility {
      */
     private String sampleName;
 
+    /**
+     * Sink the summary is published to.
+     */
+    private ResultWriter resultWriter;
+
     /**
      * Error prevention zero argument class.
      */
@@ -69,16 +83,37 @@ public class TSPReportUtility {
      * @param iterations Number of iterations being ran.
      * @param solutionsEvaluated the number of solutions to be evaluated.
      * @param logName the named instance identifier.
+     * @param resultWriter the sink to publish the summary to, or null if the summary is not published.
+     */
+    public TSPReportUtility(String sampleName, long solutionsEvaluated, int iterations, String logName,
+                            ResultWriter resultWriter) {
+        this(sampleName, solutionsEvaluated, iterations, logName, "RANDOM", resultWriter);
+    }
+
+    /**
+     * Constructor for the TSP report utility class, additionally identifying the heuristic used to construct the
+     * starting solution of each run.
+     *
+     * @param sampleName Identifying name of the sample.
+     * @param iterations Number of iterations being ran.
+     * @param solutionsEvaluated the number of solutions to be evaluated.
+     * @param logName the named instance identifier.
+     * @param startingTourName identifying name of the heuristic constructing starting solutions.
+     * @param resultWriter the sink to publish the summary to, or null if the summary is not published.
      */
-    public TSPReportUtility(String sampleName, long solutionsEvaluated, int iterations, String logName) {
+    public TSPReportUtility(String sampleName, long solutionsEvaluated, int iterations, String logName,
+                            String startingTourName, ResultWriter resultWriter) {
+        this.resultWriter = resultWriter;
         this.solutionsEvaluated = solutionsEvaluated;
+        this.startingTourName = startingTourName;
         this.logName = logName;
         this.iterations = iterations;
         this.sampleName = sampleName;
 
-        this.fitnessesLogged = new ArrayList<>();
-        this.solutionQualitiesLogged = new ArrayList<>();
-        this.executionTimes = new ArrayList<>();
+        this.fitnessesLogged = new StreamingStatistics();
+        this.solutionQualitiesLogged = new StreamingStatistics();
+        this.executionTimes = new StreamingStatistics();
+        this.constructionTimes = new StreamingStatistics();
     }
 
     /**
@@ -88,10 +123,37 @@ public class TSPReportUtility {
      * @param solutionQuality the solution quality for the current run to log.
      * @param executionTimeForRun the time in nano seconds taken for the current run.
      */
-    public void appendRun(Double fitnessValue, Double solutionQuality, Long executionTimeForRun) {
-        fitnessesLogged.add(fitnessValue);
-        solutionQualitiesLogged.add(solutionQuality);
-        executionTimes.add(executionTimeForRun);
+    public void appendRun(double fitnessValue, double solutionQuality, long executionTimeForRun) {
+        appendRun(fitnessValue, solutionQuality, executionTimeForRun, 0L);
+    }
+
+    /**
+     * Appends a logged fitness value and solution quality to the log, alongside the time taken to construct the
+     * starting solution, which is timed separately from the run itself.
+     *
+     * @param fitnessValue the fitness value for the current run to log.
+     * @param solutionQuality the solution quality for the current run to log.
+     * @param executionTimeForRun the time in nano seconds taken for the current run.
+     * @param constructionTimeForRun the time in nano seconds taken to construct the starting solution.
+     */
+    public void appendRun(double fitnessValue, double solutionQuality, long executionTimeForRun,
+                          long constructionTimeForRun) {
+        fitnessesLogged.accept(fitnessValue);
+        solutionQualitiesLogged.accept(solutionQuality);
+        executionTimes.accept(executionTimeForRun);
+        constructionTimes.accept(constructionTimeForRun);
+    }
+
+    /**
+     * Appends the runs logged by another utility, typically one accumulating resamples on another thread.
+     *
+     * @param other the utility whose runs to append.
+     */
+    public void appendRuns(TSPReportUtility other) {
+        fitnessesLogged.merge(other.fitnessesLogged);
+        solutionQualitiesLogged.merge(other.solutionQualitiesLogged);
+        executionTimes.merge(other.executionTimes);
+        constructionTimes.merge(other.constructionTimes);
     }
 
     /**
@@ -113,7 +175,7 @@ public class TSPReportUtility {
      */
     public void createLog(double initialFitness, double mst, String[] additionalHeaders, String[] additionalLog) {
 
-        if(solutionsEvaluated != fitnessesLogged.size() || solutionsEvaluated != solutionQualitiesLogged.size()) {
+        if(solutionsEvaluated != fitnessesLogged.getCount()) {
             //throw new Exception("Not all solutions were logged");
             return;
         }
@@ -127,8 +189,11 @@ public class TSPReportUtility {
             "Algorithm Name", "Resamples", "Fitness (min)", "Fitness (max)", "Fitness (range)",
             "Fitness (mean)", "Sol Quality (min)", "Sol Quality (max)", "Sol Quality (range)", "Sol Quality (mean)",
                 "Initial Fitness", "Iterations", "Quickest Run (ns)", "Slowest Run (ns)", "Run Range (ns)",
-                "Average Run (ns)", "MST"
+                "Average Run (ns)", "MST", "Starting Tour", "Average Construction (ns)", "Fitness (sd)",
+                "Fitness (median)", "Sol Quality (sd)", "Sol Quality (median)", "Run (sd ns)", "Median Run (ns)",
+                "P95 Run (ns)", "P99 Run (ns)"
         };
+        final int standardColumns = logHeaders.length;
 
         // resize the array - #ApacheCommons FTW :)
         if(additionalHeaders != null) {
@@ -138,36 +203,42 @@ public class TSPReportUtility {
         String logContent[] = new String[logHeaders.length];
         logContent[0] = sampleName;
         logContent[1] = String.valueOf(solutionsEvaluated);
-        logContent[2] = Collections.min(fitnessesLogged).toString();
-        logContent[3] = Collections.max(fitnessesLogged).toString();
-        logContent[4] = String.valueOf(Double.valueOf(logContent[3]) - Double.valueOf(logContent[2]));
-        logContent[5] = String.valueOf(fitnessesLogged.stream().mapToDouble(dbl -> dbl).average().getAsDouble());
-        logContent[6] = Collections.min(solutionQualitiesLogged).toString();
-        logContent[7] = Collections.max(solutionQualitiesLogged).toString();
-        logContent[8] = String.valueOf(Double.valueOf(logContent[7]) - Double.valueOf(logContent[6]));
-        logContent[9] = String.valueOf(solutionQualitiesLogged.stream().mapToDouble(dbl -> dbl).average().getAsDouble());
+        logContent[2] = String.valueOf(fitnessesLogged.getMinimum());
+        logContent[3] = String.valueOf(fitnessesLogged.getMaximum());
+        logContent[4] = String.valueOf(fitnessesLogged.getRange());
+        logContent[5] = String.valueOf(fitnessesLogged.getMean());
+        logContent[6] = String.valueOf(solutionQualitiesLogged.getMinimum());
+        logContent[7] = String.valueOf(solutionQualitiesLogged.getMaximum());
+        logContent[8] = String.valueOf(solutionQualitiesLogged.getRange());
+        logContent[9] = String.valueOf(solutionQualitiesLogged.getMean());
         logContent[10] = String.valueOf(initialFitness);
         logContent[11] = String.valueOf(iterations);
-        logContent[12] = String.valueOf(Collections.min(executionTimes));
-        logContent[13] = String.valueOf(Collections.max(executionTimes));
-        logContent[14] = String.valueOf(Double.valueOf(logContent[13]) - Double.valueOf(logContent[12]));
-        logContent[15] = String.valueOf(executionTimes.stream().mapToDouble(dbl -> dbl).average().getAsDouble());
+        logContent[12] = String.valueOf((long) executionTimes.getMinimum());
+        logContent[13] = String.valueOf((long) executionTimes.getMaximum());
+        logContent[14] = String.valueOf(executionTimes.getRange());
+        logContent[15] = String.valueOf(executionTimes.getMean());
         logContent[16] = String.valueOf(mst);
+        logContent[17] = startingTourName;
+        logContent[18] = String.valueOf(constructionTimes.getMean());
+        logContent[19] = String.valueOf(fitnessesLogged.getStandardDeviation());
+        logContent[20] = String.valueOf(fitnessesLogged.getMedian());
+        logContent[21] = String.valueOf(solutionQualitiesLogged.getStandardDeviation());
+        logContent[22] = String.valueOf(solutionQualitiesLogged.getMedian());
+        logContent[23] = String.valueOf(executionTimes.getStandardDeviation());
+        logContent[24] = String.valueOf((long) executionTimes.getMedian());
+        logContent[25] = String.valueOf((long) executionTimes.getQuantile(0.95));
+        logContent[26] = String.valueOf((long) executionTimes.getQuantile(0.99));
 
         // append the new content to the predefined content.
         if(additionalLog != null) {
-            for(int i = 17, j = 0; i < logContent.length && j < additionalLog.length; i++, j++) {
+            for(int i = standardColumns, j = 0; i < logContent.length && j < additionalLog.length; i++, j++) {
                 logContent[i] = additionalLog[j];
             }
         }
 
-        // log the summaries
-        AlgorithmAnalysisLogger summaryLogger = new AlgorithmAnalysisLogger(
-                logName,
-                logHeaders
-        );
-
-        summaryLogger.insertLog(logContent);
-        summaryLogger.close();
+        // publish the summary, written in the background alongside those of the other algorithms.
+        if(resultWriter != null) {
+            resultWriter.write(logName, logHeaders, logContent);
+        }
     }
 }
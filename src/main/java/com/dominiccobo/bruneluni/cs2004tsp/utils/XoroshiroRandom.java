@@ -0,0 +1,204 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seedable and splittable pseudo random number generator, implementing the xoroshiro128++ algorithm.
+ *
+ * Extends {@link Random} so it may be injected anywhere a Random is accepted, but is considerably faster and,
+ * unlike ThreadLocalRandom, reproduces the same sequence for the same seed. Instances are not thread safe; each
+ * task should split or derive its own generator.
+ *
+ * Seeds for independent tasks are derived deterministically from a master seed using {@link #forTask}, so that a
+ * task produces the same results regardless of which thread runs it or in which order tasks are scheduled.
+ *
+ * @author Dominic Cobo (contact@dominiccobo.com)
+ */
+public class XoroshiroRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The golden ratio increment used by SplitMix64.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Sequence distinguishing generators created without a seed in quick succession.
+     */
+    private static final AtomicLong SEED_SEQUENCE = new AtomicLong(System.nanoTime());
+
+    /**
+     * The first half of the 128 bit generator state.
+     */
+    private long state0;
+
+    /**
+     * The second half of the 128 bit generator state.
+     */
+    private long state1;
+
+    /**
+     * Constructor for a generator with a unique, non reproducible seed.
+     */
+    public XoroshiroRandom() {
+        this(System.nanoTime() ^ SEED_SEQUENCE.getAndAdd(GOLDEN_GAMMA));
+    }
+
+    /**
+     * Constructor for a generator reproducing the sequence of the given seed.
+     *
+     * @param seed the seed of the generator.
+     */
+    public XoroshiroRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Constructor for a generator restored from a previously captured state.
+     *
+     * @param state0 the first half of the state.
+     * @param state1 the second half of the state.
+     */
+    public XoroshiroRandom(long state0, long state1) {
+        super(0L);
+        setState(state0, state1);
+    }
+
+    /**
+     * Derives the generator of a task from a master seed and the path identifying the task, for example the
+     * instance, algorithm and resample being ran.
+     *
+     * @param masterSeed the master seed of the whole campaign.
+     * @param taskPath the identifiers of the task, from the outermost to the innermost.
+     * @return the generator of the task.
+     */
+    public static XoroshiroRandom forTask(long masterSeed, long... taskPath) {
+
+        long seed = mix(masterSeed);
+        for (long identifier : taskPath) {
+            seed = mix(seed ^ mix(identifier + GOLDEN_GAMMA));
+        }
+
+        return new XoroshiroRandom(seed);
+    }
+
+    /**
+     * Splits off a new generator, statistically independent of this one, advancing this generator's state.
+     *
+     * @return the new generator.
+     */
+    public XoroshiroRandom split() {
+        return new XoroshiroRandom(nextLong());
+    }
+
+    /**
+     * Seeds the generator, expanding the seed into the full state with SplitMix64.
+     *
+     * @param seed the seed of the generator.
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        final long firstState = mix(seed + GOLDEN_GAMMA);
+        final long secondState = mix(seed + 2 * GOLDEN_GAMMA);
+        setState(firstState, secondState);
+    }
+
+    /**
+     * Restores the generator to a previously captured state.
+     *
+     * @param state0 the first half of the state.
+     * @param state1 the second half of the state.
+     */
+    public void setState(long state0, long state1) {
+        // the all zero state is the single fixed point of the generator.
+        if (state0 == 0 && state1 == 0) {
+            state1 = GOLDEN_GAMMA;
+        }
+        this.state0 = state0;
+        this.state1 = state1;
+    }
+
+    public long getState0() {
+        return state0;
+    }
+
+    public long getState1() {
+        return state1;
+    }
+
+    @Override
+    public long nextLong() {
+        final long s0 = state0;
+        long s1 = state1;
+        final long result = Long.rotateLeft(s0 + s1, 17) + s0;
+
+        s1 ^= s0;
+        state0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+        state1 = Long.rotateLeft(s1, 28);
+
+        return result;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a uniformly distributed int in [0, bound), using Lemire's multiply and reject method so that
+     * the common case needs no division.
+     *
+     * @param bound the exclusive upper bound, which must be positive.
+     * @return the random int.
+     */
+    @Override
+    public int nextInt(int bound) {
+
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        long product = (nextLong() >>> 32) * bound;
+        int low = (int) product;
+
+        if (Integer.compareUnsigned(low, bound) < 0) {
+            final int threshold = Integer.remainderUnsigned(-bound, bound);
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = (nextLong() >>> 32) * bound;
+                low = (int) product;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * SplitMix64 finaliser, scrambling a value into a well distributed 64 bit value.
+     *
+     * @param value the value to scramble.
+     * @return the scrambled value.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,33 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for verifying the accuracy of the looked up acceptance probabilities.
+ */
+public class AcceptanceTableTest {
+
+    @Test
+    public void givenWorsening_LooksUpProbabilitiesWithinTolerance() {
+
+        double temperature = 250.0;
+
+        for (double worsening = 0; worsening < temperature * 40; worsening += 0.37) {
+
+            double metropolis = Math.exp(-worsening / temperature);
+            double logistic = 1 / (1 + Math.exp(worsening / temperature));
+
+            assertEquals(metropolis, AcceptanceTable.METROPOLIS.getProbability(worsening, temperature),
+                    Math.max(metropolis * 1e-4, 1.2e-16));
+            assertEquals(logistic, AcceptanceTable.LOGISTIC.getProbability(worsening, temperature),
+                    Math.max(logistic * 1e-4, 1.2e-16));
+        }
+    }
+
+    @Test
+    public void givenZeroTemperature_RejectsEveryWorsening() {
+        assertEquals(0.0, AcceptanceTable.METROPOLIS.getProbability(1.0, 0.0), 0.0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.ConvergenceTracer;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GreatDelugeAlgorithmTest {
+
+    @Test
+    public void givenTargetFitness_LevelFallsFromStartingFitnessAndBoundsWorseTours() throws IOException {
+
+        Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+        XoroshiroRandom random = new XoroshiroRandom(5L);
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+
+        int iterations = 20000;
+        double targetFitness = 34000.0;
+        double startingLength = tspSolution.getTourLength();
+
+        GreatDelugeAlgorithm<TSPSolution, Double, Vector<Integer>> gd = new GreatDelugeAlgorithm<>(
+                iterations,
+                tspSolution,
+                SolutionType.MINIMISATION,
+                targetFitness
+        );
+        ConvergenceTracer convergenceTracer = new ConvergenceTracer(iterations, 1, false);
+        gd.setConvergenceTracer(convergenceTracer);
+        gd.runAlgorithm();
+
+        List<double[]> records = new ArrayList<>();
+        convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness, temperature) ->
+                records.add(new double[]{currentFitness, temperature}));
+        assertEquals(iterations, records.size());
+
+        double previousLength = startingLength;
+        double level = startingLength;
+        int worseningsAccepted = 0;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double length = records.get(iteration)[0];
+            if (length > previousLength + 1e-6) {
+                worseningsAccepted++;
+                assertTrue(length <= level + 1e-6);
+            }
+
+            // the level falls linearly from the starting fitness to the target over the planned iterations.
+            double nextLevel = records.get(iteration)[1];
+            assertTrue(nextLevel < level);
+            assertEquals(startingLength + (targetFitness - startingLength) * (iteration + 1.0) / iterations,
+                    nextLevel, 1e-6);
+            level = nextLevel;
+            previousLength = length;
+        }
+
+        assertTrue(worseningsAccepted > 0);
+        assertEquals(targetFitness, gd.getLevel(), 1e-6);
+    }
+}
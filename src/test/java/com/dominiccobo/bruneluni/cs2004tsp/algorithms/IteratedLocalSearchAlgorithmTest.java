@@ -0,0 +1,86 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.cooling.GeometricCooling;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.AcceptanceCriterion;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.AnnealingAcceptance;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.BetterAcceptance;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.Perturbation;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.InstanceRepository;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IteratedLocalSearchAlgorithmTest {
+
+    private static final TSPInstance INSTANCE = new InstanceRepository().getInstance(
+            Utilities.getResourcePath("data/TSP_48.txt")
+    );
+
+    @Test
+    public void givenEachPerturbationAndAcceptance_ApproachesOptimalTour() {
+
+        Graph graph = INSTANCE.getGraph();
+        double optimalLength = new TSPSolution(
+                Utilities.readIntegerFile(Utilities.getResourcePath("data/TSP_48_OPT.txt")),
+                graph
+        ).getTourLength();
+
+        for (Perturbation perturbation : Perturbation.values()) {
+
+            AcceptanceCriterion[] acceptanceCriteria = new AcceptanceCriterion[]{
+                    new BetterAcceptance(),
+                    new BetterAcceptance(200),
+                    new AnnealingAcceptance(optimalLength * 0.001, GeometricCooling.toFinalTemperature(1e-3))
+            };
+
+            for (AcceptanceCriterion acceptanceCriterion : acceptanceCriteria) {
+
+                XoroshiroRandom random = new XoroshiroRandom(5L);
+                TSPSolution tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+
+                IteratedLocalSearchAlgorithm<TSPSolution> ils = new IteratedLocalSearchAlgorithm<>(
+                        2000,
+                        tspSolution,
+                        INSTANCE.getCandidateList(),
+                        perturbation,
+                        IteratedLocalSearchAlgorithm.DEFAULT_MAXIMUM_STRENGTH,
+                        acceptanceCriterion,
+                        random.split()
+                );
+
+                TSPSolution bestSolution = ils.runAlgorithm();
+
+                assertEquals(graph.getTourLength(bestSolution.getTour()), bestSolution.getTourLength(), 1e-6);
+                assertTrue(perturbation + " " + acceptanceCriterion.getClass().getSimpleName(),
+                        bestSolution.getTourLength() < optimalLength * 1.05);
+            }
+        }
+    }
+
+    @Test
+    public void givenRestartPatience_RestartsOnceStuck() {
+
+        Graph graph = INSTANCE.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(6L);
+
+        IteratedLocalSearchAlgorithm<TSPSolution> ils = new IteratedLocalSearchAlgorithm<>(
+                1000,
+                new TSPSolution(graph.getRandomTour(random), graph, random),
+                INSTANCE.getCandidateList(),
+                Perturbation.SEGMENT_REVERSAL,
+                1,
+                new BetterAcceptance(10),
+                random.split()
+        );
+
+        ils.runAlgorithm();
+
+        assertTrue(ils.getRestarts() > 0);
+    }
+}
@@ -0,0 +1,103 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.ConvergenceTracer;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LateAcceptanceHillClimbingAlgorithmTest {
+
+    @Test
+    public void givenHistory_AcceptsOnlyWorseningsNoWorseThanTheCostHistoryLengthIterationsAgo() throws IOException {
+
+        Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+        XoroshiroRandom random = new XoroshiroRandom(5L);
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+
+        int iterations = 20000;
+        int historyLength = 50;
+        double startingLength = tspSolution.getTourLength();
+
+        LateAcceptanceHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> lahc =
+                new LateAcceptanceHillClimbingAlgorithm<>(
+                        iterations,
+                        tspSolution,
+                        SolutionType.MINIMISATION,
+                        historyLength
+                );
+        ConvergenceTracer convergenceTracer = new ConvergenceTracer(iterations, 1, false);
+        lahc.setConvergenceTracer(convergenceTracer);
+        lahc.runAlgorithm();
+
+        List<Double> lengths = new ArrayList<>();
+        convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness, temperature) ->
+                lengths.add(currentFitness));
+        assertEquals(iterations, lengths.size());
+
+        double[] costHistory = new double[historyLength];
+        Arrays.fill(costHistory, startingLength);
+        double previousLength = startingLength;
+        int worseningsAccepted = 0;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double length = lengths.get(iteration);
+            if (length > previousLength + 1e-6) {
+                worseningsAccepted++;
+                assertTrue(length <= costHistory[iteration % historyLength] + 1e-6);
+            }
+
+            // whether or not the proposal was accepted, the entry compared against now holds the current cost.
+            costHistory[iteration % historyLength] = length;
+            previousLength = length;
+        }
+
+        assertTrue(worseningsAccepted > 0);
+    }
+
+    @Test
+    public void givenHistoryOfOne_NeverAcceptsAWorseTour() throws IOException {
+
+        Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+        XoroshiroRandom random = new XoroshiroRandom(6L);
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+
+        LateAcceptanceHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> lahc =
+                new LateAcceptanceHillClimbingAlgorithm<>(
+                        5000,
+                        tspSolution,
+                        SolutionType.MINIMISATION,
+                        1
+                );
+        ConvergenceTracer convergenceTracer = new ConvergenceTracer(5000, 1, false);
+        lahc.setConvergenceTracer(convergenceTracer);
+        lahc.runAlgorithm();
+
+        List<Double> lengths = new ArrayList<>();
+        convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness, temperature) ->
+                lengths.add(currentFitness));
+
+        // the only entry is always the cost of the current tour, so late acceptance is plain hill climbing.
+        for (int iteration = 1; iteration < lengths.size(); iteration++) {
+            assertTrue(lengths.get(iteration) <= lengths.get(iteration - 1) + 1e-6);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenEmptyHistory_Throws() {
+        Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+        XoroshiroRandom random = new XoroshiroRandom(1L);
+        new LateAcceptanceHillClimbingAlgorithm<>(10, new TSPSolution(graph.getRandomTour(random), graph, random),
+                SolutionType.MINIMISATION, 0);
+    }
+}
@@ -0,0 +1,157 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Tours;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.BetterAcceptance;
+import com.dominiccobo.bruneluni.cs2004tsp.localsearch.Perturbation;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.InstanceRepository;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying partition crossover recombines tours into valid tours no longer than their parents.
+ */
+public class PartitionCrossoverTest {
+
+    private static final TSPInstance INSTANCE = new InstanceRepository().getInstance(
+            Utilities.getResourcePath("data/TSP_48.txt")
+    );
+
+    @Test
+    public void givenParentsEachWorseInOneRegion_RecombinesTheirBetterRegions() {
+
+        Graph graph = INSTANCE.getGraph();
+        int[] optimalTour = Tours.toArray(Utilities.readIntegerFile(Utilities.getResourcePath("data/TSP_48_OPT.txt")));
+
+        int[] firstTour = optimalTour.clone();
+        reverse(firstTour, 5, 8);
+        int[] secondTour = optimalTour.clone();
+        reverse(secondTour, 30, 35);
+
+        int[] childTour = PartitionCrossover.crossover(graph, firstTour, secondTour);
+
+        assertValidTour(childTour);
+        assertEquals(graph.getTourLength(optimalTour), graph.getTourLength(childTour), 1e-6);
+    }
+
+    @Test
+    public void givenIdenticalParents_ReturnsTheSameTour() {
+
+        Graph graph = INSTANCE.getGraph();
+        int[] tour = graph.getRandomTour(new XoroshiroRandom(1L));
+
+        assertArrayEquals(tour, PartitionCrossover.crossover(graph, tour, tour.clone()));
+    }
+
+    @Test
+    public void givenRandomParents_ChildIsNoLongerThanEitherParent() {
+
+        Graph graph = INSTANCE.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(2L);
+
+        for (int i = 0; i < 100; i++) {
+            int[] firstTour = graph.getRandomTour(random);
+            int[] secondTour = graph.getRandomTour(random);
+
+            int[] childTour = PartitionCrossover.crossover(graph, firstTour, secondTour);
+
+            assertValidTour(childTour);
+            assertTrue(graph.getTourLength(childTour)
+                    <= Math.min(graph.getTourLength(firstTour), graph.getTourLength(secondTour)) + 1e-6);
+        }
+    }
+
+    @Test
+    public void givenPartlySharedParents_ChildOnlyUsesParentEdges() {
+
+        Graph graph = INSTANCE.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(3L);
+
+        for (int i = 0; i < 200; i++) {
+            int[] firstTour = graph.getRandomTour(random);
+            int[] secondTour = firstTour.clone();
+            for (int reversals = 1 + random.nextInt(6); reversals > 0; reversals--) {
+                int fromPosition = random.nextInt(secondTour.length);
+                int toPosition = random.nextInt(secondTour.length);
+                reverse(secondTour, Math.min(fromPosition, toPosition), Math.max(fromPosition, toPosition));
+            }
+
+            int[] childTour = PartitionCrossover.crossover(graph, firstTour, secondTour);
+
+            assertValidTour(childTour);
+            for (int position = 0; position < childTour.length; position++) {
+                int node = childTour[position];
+                int nextNode = childTour[(position + 1) % childTour.length];
+                assertTrue(hasEdge(firstTour, node, nextNode) || hasEdge(secondTour, node, nextNode));
+            }
+            assertTrue(graph.getTourLength(childTour)
+                    <= Math.min(graph.getTourLength(firstTour), graph.getTourLength(secondTour)) + 1e-6);
+        }
+    }
+
+    @Test
+    public void givenEliteTours_MergesIntoTourNoLongerThanBest() {
+
+        Graph graph = INSTANCE.getGraph();
+        List<int[]> eliteTours = new ArrayList<>();
+        double bestLength = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < 10; i++) {
+            XoroshiroRandom random = new XoroshiroRandom(i);
+            IteratedLocalSearchAlgorithm<TSPSolution> ils = new IteratedLocalSearchAlgorithm<>(
+                    20,
+                    new TSPSolution(graph.getRandomTour(random), graph, random),
+                    INSTANCE.getCandidateList(),
+                    Perturbation.DOUBLE_BRIDGE,
+                    1,
+                    new BetterAcceptance(),
+                    random.split()
+            );
+            TSPSolution eliteSolution = ils.runAlgorithm();
+            eliteTours.add(eliteSolution.getTour());
+            bestLength = Math.min(bestLength, eliteSolution.getTourLength());
+        }
+
+        int[] mergedTour = PartitionCrossover.mergeTours(graph, eliteTours);
+
+        assertValidTour(mergedTour);
+        assertTrue(graph.getTourLength(mergedTour) <= bestLength + 1e-6);
+    }
+
+    private static void reverse(int[] tour, int fromPosition, int toPosition) {
+        while (fromPosition < toPosition) {
+            int node = tour[fromPosition];
+            tour[fromPosition++] = tour[toPosition];
+            tour[toPosition--] = node;
+        }
+    }
+
+    private static boolean hasEdge(int[] tour, int node, int otherNode) {
+        for (int position = 0; position < tour.length; position++) {
+            int nextNode = tour[(position + 1) % tour.length];
+            if ((tour[position] == node && nextNode == otherNode) || (tour[position] == otherNode && nextNode == node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertValidTour(int[] tour) {
+        int[] sorted = tour.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+    }
+}
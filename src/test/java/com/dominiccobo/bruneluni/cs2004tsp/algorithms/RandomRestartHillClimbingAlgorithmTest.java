@@ -4,11 +4,16 @@ import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
 import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Vector;
 
+import static org.junit.Assert.assertEquals;
+
 public class RandomRestartHillClimbingAlgorithmTest {
 
     @Test
@@ -119,4 +124,78 @@ public class RandomRestartHillClimbingAlgorithmTest {
         System.out.println(tspSolution.getFitness());
         System.out.println(tspSolution.getSolutionQuality());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenParallelRestarts_FindsSameBestAsSequentialRestarts() {
+
+        double[][] matrix = Utilities.readArrayFile(
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                " "
+        );
+
+        Graph graph = new Graph(matrix);
+        Vector<Integer> representation = graph.getRandomRoute(new XoroshiroRandom(48L));
+
+        List<Double> bestFitnesses = new ArrayList<>();
+
+        for (int parallelism : new int[]{1, 4}) {
+
+            TSPSolution tspSolution = new TSPSolution(
+                    new Vector<>(representation),
+                    graph,
+                    new XoroshiroRandom(1L)
+            );
+
+            RandomRestartHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> rrhc = new RandomRestartHillClimbingAlgorithm<>(
+                    16,
+                    tspSolution,
+                    SolutionType.MINIMISATION,
+                    1000,
+                    random -> new TSPSolution(graph.getRandomRoute(random), graph, random),
+                    parallelism,
+                    0,
+                    new XoroshiroRandom(2018L)
+            );
+
+            TSPSolution bestSolution = rrhc.runAlgorithm();
+
+            assertEquals(16, rrhc.getIterationsPerformed());
+            bestFitnesses.add(bestSolution.getFitness());
+        }
+
+        // each restart derives its randomness from its index, so scheduling cannot change the outcome.
+        assertEquals(bestFitnesses.get(0), bestFitnesses.get(1), 0.0);
+    }
+
+    @Test
+    public void givenRestartPatience_StopsOnceRestartsStopImproving() {
+
+        double[][] matrix = Utilities.readArrayFile(
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                " "
+        );
+
+        Graph graph = new Graph(matrix);
+
+        // the optimal tour cannot be improved upon by any restart.
+        TSPSolution tspSolution = new TSPSolution(
+                Utilities.readIntegerFile(Utilities.getResourcePath("data/TSP_48_OPT.txt")),
+                graph
+        );
+
+        RandomRestartHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> rrhc = new RandomRestartHillClimbingAlgorithm<>(
+                1000,
+                tspSolution,
+                SolutionType.MINIMISATION,
+                100,
+                random -> new TSPSolution(graph.getRandomRoute(random), graph, random),
+                1,
+                5,
+                new XoroshiroRandom(2018L)
+        );
+
+        rrhc.runAlgorithm();
+
+        assertEquals(5, rrhc.getIterationsPerformed());
+    }
+}
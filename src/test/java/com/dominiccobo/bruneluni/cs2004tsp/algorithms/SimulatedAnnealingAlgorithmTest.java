@@ -3,13 +3,23 @@ package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CompositeTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.DeadlineTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.IterationTermination;
 import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Vector;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
 public class SimulatedAnnealingAlgorithmTest {
 
     @Test
@@ -126,4 +136,113 @@ public class SimulatedAnnealingAlgorithmTest {
         System.out.println(tspSolution.getFitness());
         System.out.println(tspSolution.getSolutionQuality());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenSameSeeds_ReproducesRun() {
+
+        double[][] matrix = Utilities.readArrayFile(
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                " "
+        );
+
+        Graph graph = new Graph(matrix);
+
+        List<Vector<Integer>> results = new ArrayList<>();
+
+        for(int run = 0; run < 2; run++) {
+
+            // both runs derive their randomness from the same master seed and task.
+            XoroshiroRandom taskRandom = XoroshiroRandom.forTask(2018L, 48, 0);
+
+            TSPSolution tspSolution = new TSPSolution(
+                    graph.getRandomRoute(taskRandom),
+                    graph,
+                    taskRandom.split()
+            );
+
+            SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> sa = new SimulatedAnnealingAlgorithm<>(
+                    10000,
+                    tspSolution,
+                    SolutionType.MINIMISATION,
+                    100.0,
+                    0.999,
+                    taskRandom.split()
+            );
+
+            results.add(sa.runAlgorithm().getRepresentation());
+        }
+
+        assertEquals(results.get(0), results.get(1));
+    }
+
+    @Test
+    public void givenTimeBudget_StopsAtDeadlineBeforeIterationLimit() {
+
+        double[][] matrix = Utilities.readArrayFile(
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                " "
+        );
+
+        Graph graph = new Graph(matrix);
+
+        int iterationsToPerform = Integer.MAX_VALUE;
+
+        TSPSolution tspSolution = new TSPSolution(
+                graph.getRandomRoute(),
+                graph
+        );
+
+        SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> sa = new SimulatedAnnealingAlgorithm<>(
+                iterationsToPerform,
+                tspSolution,
+                SolutionType.MINIMISATION,
+                100.0,
+                0.999
+        );
+
+        long budgetNanos = 50000000L;
+        sa.setTerminationPolicy(CompositeTermination.anyOf(
+                new IterationTermination(iterationsToPerform),
+                new DeadlineTermination(budgetNanos)
+        ));
+
+        long startTime = System.nanoTime();
+        sa.runAlgorithm();
+        long elapsedTime = System.nanoTime() - startTime;
+
+        assertTrue(sa.getIterationsPerformed() < iterationsToPerform);
+        assertTrue(elapsedTime >= budgetNanos);
+    }
+
+    @Test
+    public void givenHotSearch_ReturnsBestVisitedRatherThanFinalSolution() {
+
+        double[][] matrix = Utilities.readArrayFile(
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                " "
+        );
+
+        Graph graph = new Graph(matrix);
+
+        TSPSolution tspSolution = new TSPSolution(
+                graph.getRandomRoute(),
+                graph
+        );
+        double startingFitness = tspSolution.getFitness();
+
+        // a temperature that never cools accepts almost every worse proposal.
+        SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> sa = new SimulatedAnnealingAlgorithm<>(
+                10000,
+                tspSolution,
+                SolutionType.MINIMISATION,
+                1e9,
+                1.0
+        );
+
+        TSPSolution bestSolution = sa.runAlgorithm();
+
+        assertNotSame(bestSolution, sa.getCurrentSolution());
+        assertTrue(bestSolution.getFitness() <= startingFitness);
+        assertTrue(bestSolution.getFitness() <= sa.getCurrentSolution().getFitness());
+    }
+}
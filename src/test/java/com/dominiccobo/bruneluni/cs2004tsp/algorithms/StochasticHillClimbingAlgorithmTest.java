@@ -3,7 +3,6 @@ package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
 import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
-import com.dominiccobo.bruneluni.cs2004tsp.utils.AlgorithmAnalysisLogger;
 import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
 import org.junit.Test;
 
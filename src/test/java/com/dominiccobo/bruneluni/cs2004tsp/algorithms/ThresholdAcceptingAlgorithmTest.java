@@ -0,0 +1,92 @@
+package com.dominiccobo.bruneluni.cs2004tsp.algorithms;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.ConvergenceTracer;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ThresholdAcceptingAlgorithmTest {
+
+    @Test
+    public void givenThresholdSchedule_AcceptsOnlyWorseningsBelowTheCurrentThreshold() throws IOException {
+
+        Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+        XoroshiroRandom random = new XoroshiroRandom(5L);
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+
+        int iterations = 20000;
+        double initialThreshold = 2000.0;
+        double startingLength = tspSolution.getTourLength();
+
+        ThresholdAcceptingAlgorithm<TSPSolution, Double, Vector<Integer>> ta = new ThresholdAcceptingAlgorithm<>(
+                iterations,
+                tspSolution,
+                SolutionType.MINIMISATION,
+                initialThreshold
+        );
+        ConvergenceTracer convergenceTracer = new ConvergenceTracer(iterations, 1, false);
+        ta.setConvergenceTracer(convergenceTracer);
+        ta.runAlgorithm();
+
+        List<double[]> records = new ArrayList<>();
+        convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness, temperature) ->
+                records.add(new double[]{currentFitness, temperature}));
+        assertEquals(iterations, records.size());
+
+        double previousLength = startingLength;
+        double threshold = initialThreshold;
+        int worseningsAccepted = 0;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double length = records.get(iteration)[0];
+            if (length > previousLength + 1e-6) {
+                worseningsAccepted++;
+                assertTrue(length - previousLength < threshold);
+            }
+
+            // the threshold falls linearly to zero over the planned iterations.
+            threshold = records.get(iteration)[1];
+            assertEquals(initialThreshold * (1.0 - (iteration + 1.0) / iterations), threshold, 1e-6);
+            previousLength = length;
+        }
+
+        assertTrue(worseningsAccepted > 0);
+        assertEquals(0, ta.getThreshold(), 1e-6);
+    }
+
+    @Test
+    public void givenZeroThreshold_NeverAcceptsAWorseTour() throws IOException {
+
+        Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+        XoroshiroRandom random = new XoroshiroRandom(6L);
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+
+        ThresholdAcceptingAlgorithm<TSPSolution, Double, Vector<Integer>> ta = new ThresholdAcceptingAlgorithm<>(
+                5000,
+                tspSolution,
+                SolutionType.MINIMISATION,
+                0
+        );
+        ConvergenceTracer convergenceTracer = new ConvergenceTracer(5000, 1, false);
+        ta.setConvergenceTracer(convergenceTracer);
+        ta.runAlgorithm();
+
+        List<Double> lengths = new ArrayList<>();
+        convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness, temperature) ->
+                lengths.add(currentFitness));
+
+        for (int iteration = 1; iteration < lengths.size(); iteration++) {
+            assertTrue(lengths.get(iteration) <= lengths.get(iteration - 1) + 1e-6);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.dominiccobo.bruneluni.cs2004tsp.checkpoint;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.SimulatedAnnealingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentConfiguration;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentProperty;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.Vector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CampaignCheckpointTest {
+
+    private static final int ITERATIONS = 20000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void givenSavedCheckpoint_ResumesItsProgressAndSeed() throws IOException {
+
+        final File checkpointFile = new File(temporaryFolder.getRoot(), "campaign.ckpt");
+
+        final CampaignCheckpoint checkpoint = CampaignCheckpoint.resumeOrCreate(checkpointFile, 42L, "25,100", 0);
+        assertFalse(checkpoint.isResumed());
+
+        checkpoint.completeInstance("48");
+        checkpoint.completeTask("51", "SA", 3, new TaskResult(430.5, 1.2, 1000L, 20L, 440.0, new int[]{2, 0, 1}));
+        checkpoint.recordSnapshot("51", "SA", 4, new SearchSnapshot(
+                50000L, 12345L, 17.5, new int[]{0, 2, 1}, new int[]{1, 2, 0}, new long[]{1L, 2L, 3L, 4L}
+        ));
+        checkpoint.publishSummary("51", "SA");
+        checkpoint.recordResultStoreLength(1234L);
+        assertTrue(checkpoint.isSaveDue());
+        checkpoint.save();
+        assertFalse(checkpoint.isSaveDue());
+
+        final CampaignCheckpoint resumed = CampaignCheckpoint.resumeOrCreate(checkpointFile, 7L, "25,100", 0);
+
+        assertTrue(resumed.isResumed());
+        assertEquals(42L, resumed.getMasterSeed());
+        assertEquals(1234L, resumed.getResultStoreLength());
+        assertTrue(resumed.isInstanceComplete("48"));
+        assertFalse(resumed.isInstanceComplete("51"));
+
+        final TaskResult taskResult = resumed.getTaskResult("51", "SA", 3);
+        assertNotNull(taskResult);
+        assertEquals(430.5, taskResult.getFitness(), 0);
+        assertEquals(1000L, taskResult.getExecutionNanos());
+        assertEquals(440.0, taskResult.getAlgorithmStatistic(), 0);
+        assertArrayEquals(new int[]{2, 0, 1}, taskResult.getBestTour());
+        assertNull(resumed.getTaskResult("51", "SA", 4));
+        assertTrue(resumed.isSummaryPublished("51", "SA"));
+        assertFalse(resumed.isSummaryPublished("51", "RMHC"));
+
+        final SearchSnapshot snapshot = resumed.getSnapshot("51", "SA", 4);
+        assertNotNull(snapshot);
+        assertEquals(50000L, snapshot.getIterationsPerformed());
+        assertEquals(17.5, snapshot.getControlParameter(), 0);
+        assertArrayEquals(new int[]{0, 2, 1}, snapshot.getCurrentTour());
+        assertEquals(3L, snapshot.getRandomState0(1));
+        assertEquals(4L, snapshot.getRandomState1(1));
+
+        resumed.completeInstance("51");
+        assertNull(resumed.getTaskResult("51", "SA", 3));
+        assertNull(resumed.getSnapshot("51", "SA", 4));
+    }
+
+    @Test
+    public void givenFingerprintBeyondSixtyFourKilobytes_SavesAndResumes() throws IOException {
+
+        final StringBuilder fingerprint = new StringBuilder("instances=");
+        for (int i = 0; i < 20000; i++) {
+            fingerprint.append("TSP_").append(i).append(".tsp,");
+        }
+
+        final File checkpointFile = new File(temporaryFolder.getRoot(), "campaign.ckpt");
+        CampaignCheckpoint.resumeOrCreate(checkpointFile, 42L, fingerprint.toString(), 0).save();
+
+        assertTrue(CampaignCheckpoint.resumeOrCreate(checkpointFile, 42L, fingerprint.toString(), 0).isResumed());
+    }
+
+    @Test
+    public void givenCheckpointOfOtherParameters_RefusesToResume() throws IOException {
+
+        final File checkpointFile = new File(temporaryFolder.getRoot(), "campaign.ckpt");
+        CampaignCheckpoint.resumeOrCreate(checkpointFile, 42L, "25,100", 0).save();
+
+        try {
+            CampaignCheckpoint.resumeOrCreate(checkpointFile, 42L, "25,200", 0);
+            fail("Checkpoint of other parameters resumed");
+        }
+        catch (IllegalArgumentException expected) {
+            // refused.
+        }
+
+        // the experiment configured as tuned differs only in a constant of one algorithm.
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.INSTANCES_INCLUDE.getKey(), "TSP_48.txt");
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.getRoot().getPath());
+        final ExperimentConfiguration configured = ExperimentConfiguration.fromProperties(properties);
+
+        properties.setProperty(ExperimentProperty.SA_INITIAL_ACCEPTANCE.getKey(), "0.5");
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.newFolder().getPath());
+        final ExperimentConfiguration tuned = ExperimentConfiguration.fromProperties(properties);
+
+        // thread counts default to the processors of the machine, so a campaign may resume on another machine.
+        properties.setProperty(ExperimentProperty.THREADS.getKey(), "1");
+        properties.setProperty(ExperimentProperty.RRHC_PARALLELISM.getKey(), "3");
+        properties.setProperty(ExperimentProperty.DECOMPOSITION_PARALLELISM.getKey(), "7");
+        assertEquals(tuned.getFingerprint(), ExperimentConfiguration.fromProperties(properties).getFingerprint());
+
+        final File experimentCheckpoint = new File(temporaryFolder.getRoot(), "experiment.ckpt");
+        CampaignCheckpoint.resumeOrCreate(experimentCheckpoint, 42L, configured.getFingerprint(), 0).save();
+        assertTrue(CampaignCheckpoint.resumeOrCreate(experimentCheckpoint, 42L, configured.getFingerprint(), 0)
+                .isResumed());
+
+        try {
+            CampaignCheckpoint.resumeOrCreate(experimentCheckpoint, 42L, tuned.getFingerprint(), 0);
+            fail("Checkpoint of other algorithm constants resumed");
+        }
+        catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains("sa.initialAcceptance=0.8"));
+        }
+    }
+
+    @Test
+    public void givenSnapshotOfAnnealing_ResumedRunMatchesUninterruptedRun() {
+
+        final Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+
+        final SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> uninterrupted = createAnnealing(graph,
+                new XoroshiroRandom(11L), new XoroshiroRandom(12L));
+        final TSPSolution uninterruptedBest = uninterrupted.runAlgorithm();
+
+        // capture the state half way through an identical run.
+        final XoroshiroRandom solutionRandom = new XoroshiroRandom(11L);
+        final XoroshiroRandom searchRandom = new XoroshiroRandom(12L);
+        final SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> interrupted = createAnnealing(graph,
+                solutionRandom, searchRandom);
+        final SearchSnapshot[] snapshot = new SearchSnapshot[1];
+        interrupted.setCheckpointListener((iterationsPerformed, controlParameter) -> {
+            if (snapshot[0] == null) {
+                snapshot[0] = new SearchSnapshot(iterationsPerformed, 0L, controlParameter,
+                        interrupted.getCurrentSolution().getTour(), interrupted.getBestSolution().getTour(),
+                        new long[]{solutionRandom.getState0(), solutionRandom.getState1(),
+                                searchRandom.getState0(), searchRandom.getState1()});
+            }
+        }, ITERATIONS / 2);
+        interrupted.runAlgorithm();
+
+        final XoroshiroRandom resumedSolutionRandom = new XoroshiroRandom(11L);
+        final XoroshiroRandom resumedSearchRandom = new XoroshiroRandom(12L);
+        final SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> resumed = createAnnealing(graph,
+                resumedSolutionRandom, resumedSearchRandom);
+        final int[] currentTour = snapshot[0].getCurrentTour();
+        resumed.getCurrentSolution().setTour(currentTour, graph.getTourLength(currentTour));
+        resumedSolutionRandom.setState(snapshot[0].getRandomState0(0), snapshot[0].getRandomState1(0));
+        resumedSearchRandom.setState(snapshot[0].getRandomState0(1), snapshot[0].getRandomState1(1));
+        resumed.resumeFrom(snapshot[0].getIterationsPerformed(), snapshot[0].getControlParameter(),
+                new TSPSolution(snapshot[0].getBestTour(), graph, resumedSolutionRandom));
+
+        final TSPSolution resumedBest = resumed.runAlgorithm();
+
+        assertEquals(ITERATIONS, resumed.getIterationsPerformed());
+        assertArrayEquals(uninterruptedBest.getTour(), resumedBest.getTour());
+        assertArrayEquals(uninterrupted.getCurrentSolution().getTour(), resumed.getCurrentSolution().getTour());
+    }
+
+    private static SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> createAnnealing(
+            Graph graph, XoroshiroRandom solutionRandom, XoroshiroRandom searchRandom) {
+
+        final TSPSolution startingSolution = new TSPSolution(
+                graph.getRandomTour(new XoroshiroRandom(10L)),
+                graph,
+                solutionRandom
+        );
+
+        return new SimulatedAnnealingAlgorithm<>(
+                ITERATIONS,
+                startingSolution,
+                SolutionType.MINIMISATION,
+                1000.0,
+                0.9995,
+                searchRandom
+        );
+    }
+}
@@ -0,0 +1,229 @@
+package com.dominiccobo.bruneluni.cs2004tsp.config;
+
+import com.dominiccobo.bruneluni.cs2004tsp.samples.SampleAlgorithm;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExperimentConfigurationTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void givenDefaults_FindsEveryBundledInstanceInSizeOrder() {
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.getRoot().getPath());
+
+        final ExperimentConfiguration configuration = ExperimentConfiguration.fromProperties(properties);
+
+        final List<String> names = new ArrayList<>();
+        int optimalTours = 0;
+        for (File instanceFile : configuration.getInstanceFiles()) {
+            names.add(ExperimentConfiguration.getInstanceName(instanceFile));
+            if (ExperimentConfiguration.findOptimalTour(instanceFile) != null) {
+                optimalTours++;
+            }
+        }
+
+        assertEquals(Arrays.asList("48", "51", "52", "70", "76", "100", "101", "105", "107", "124", "125", "130",
+                "136", "144", "150", "152", "159", "198", "200", "226", "262", "264", "299", "318", "400", "417",
+                "439", "442"), names);
+        assertEquals(8, optimalTours);
+        assertEquals(EnumSet.complementOf(EnumSet.of(SampleAlgorithm.DECOMPOSITION)), configuration.getAlgorithms());
+        assertEquals(25, configuration.getResamples());
+        assertTrue(configuration.isCheckpointed());
+    }
+
+    @Test
+    public void givenInvalidProperties_ReportsEveryProblemAtOnce() {
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.getRoot().getPath());
+        properties.setProperty(ExperimentProperty.RESAMPLES.getKey(), "0");
+        properties.setProperty(ExperimentProperty.ALGORITHMS.getKey(), "SA,TABU");
+        properties.setProperty(ExperimentProperty.SA_FINAL_ACCEPTANCE.getKey(), "0.9");
+        properties.setProperty(ExperimentProperty.TUNING_BANDS.getKey(), "200,100");
+        properties.setProperty("iteration", "1000");
+
+        try {
+            ExperimentConfiguration.fromProperties(properties);
+            fail("Invalid configuration accepted");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("resamples"));
+            assertTrue(e.getMessage().contains("TABU"));
+            assertTrue(e.getMessage().contains("sa.finalAcceptance"));
+            assertTrue(e.getMessage().contains("tuning.bands"));
+            assertTrue(e.getMessage().contains("Unknown property iteration"));
+        }
+    }
+
+    @Test
+    public void givenInstanceDirectory_GlobsItsInstances() throws IOException {
+
+        final File instanceDirectory = temporaryFolder.newFolder("instances");
+        writeFile(new File(instanceDirectory, "small.tsp"), "NAME: small\n");
+        writeFile(new File(instanceDirectory, "small.opt.tour"), "TOUR_SECTION\n");
+        writeFile(new File(instanceDirectory, "notes.txt"), "not an instance\n");
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.INSTANCES_DIRECTORY.getKey(), instanceDirectory.getPath());
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.getRoot().getPath());
+
+        final ExperimentConfiguration configuration = ExperimentConfiguration.fromProperties(properties);
+
+        assertEquals(1, configuration.getInstanceFiles().size());
+        final File instanceFile = configuration.getInstanceFiles().get(0);
+        assertEquals("small", ExperimentConfiguration.getInstanceName(instanceFile));
+        assertEquals("small.opt.tour", ExperimentConfiguration.findOptimalTour(instanceFile).getName());
+        assertNull(ExperimentConfiguration.findOptimalTour(new File(instanceDirectory, "notes.txt")));
+    }
+
+    @Test
+    public void givenSpaceFillingCurveOverInstancesWithoutCoordinates_RejectsOnlyThoseInstances() throws IOException {
+
+        final File instanceDirectory = temporaryFolder.newFolder("instances");
+        writeFile(new File(instanceDirectory, "matrix.txt"), "0 1\n1 0\n");
+        writeFile(new File(instanceDirectory, "explicit.tsp"), "NAME: explicit\nEDGE_WEIGHT_TYPE: EXPLICIT\n"
+                + "EDGE_WEIGHT_SECTION\n0 1\n1 0\nEOF\n");
+        writeFile(new File(instanceDirectory, "coordinates.tsp"), "NAME: coordinates\nEDGE_WEIGHT_TYPE : EUC_2D\n"
+                + "NODE_COORD_SECTION\n1 0 0\n2 3 4\nEOF\n");
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.INSTANCES_DIRECTORY.getKey(), instanceDirectory.getPath());
+        properties.setProperty(ExperimentProperty.INSTANCES_INCLUDE.getKey(), "*.txt,*.tsp");
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.getRoot().getPath());
+        properties.setProperty(ExperimentProperty.CONSTRUCTION.getKey(), "SPACE_FILLING_CURVE");
+
+        try {
+            ExperimentConfiguration.fromProperties(properties);
+            fail("Space filling curve construction accepted over instances without coordinates");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("matrix.txt"));
+            assertTrue(e.getMessage().contains("explicit.tsp"));
+            assertFalse(e.getMessage().contains("coordinates.tsp"));
+        }
+
+        properties.setProperty(ExperimentProperty.INSTANCES_INCLUDE.getKey(), "coordinates.tsp");
+        assertEquals(1, ExperimentConfiguration.fromProperties(properties).getInstanceFiles().size());
+    }
+
+    @Test
+    public void givenZeroRestartPatience_AcceptsItAsNeverRestarting() {
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.getRoot().getPath());
+        properties.setProperty(ExperimentProperty.ILS_RESTART_PATIENCE.getKey(), "0");
+
+        assertEquals(0, ExperimentConfiguration.fromProperties(properties).getIlsRestartPatience());
+
+        properties.setProperty(ExperimentProperty.ILS_RESTART_PATIENCE.getKey(), "-1");
+        try {
+            ExperimentConfiguration.fromProperties(properties);
+            fail("Negative restart patience accepted");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(ExperimentProperty.ILS_RESTART_PATIENCE.getKey()));
+        }
+    }
+
+    @Test
+    public void givenRrhcSettings_ParsesClimbIterationsAndRestartPatience() {
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.getRoot().getPath());
+        properties.setProperty(ExperimentProperty.RRHC_CLIMB_ITERATIONS.getKey(), "500");
+        properties.setProperty(ExperimentProperty.RRHC_RESTART_PATIENCE.getKey(), "3");
+
+        final ExperimentConfiguration configuration = ExperimentConfiguration.fromProperties(properties);
+
+        assertEquals(500, configuration.getRrhcClimbIterations());
+        assertEquals(3, configuration.getRrhcRestartPatience());
+        assertEquals("3", configuration.toProperties()
+                .getProperty(ExperimentProperty.RRHC_RESTART_PATIENCE.getKey()));
+
+        properties.remove(ExperimentProperty.RRHC_RESTART_PATIENCE.getKey());
+        assertEquals(0, ExperimentConfiguration.fromProperties(properties).getRrhcRestartPatience());
+    }
+
+    @Test
+    public void givenBudget_ParsesAndFingerprintsIt() {
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), temporaryFolder.getRoot().getPath());
+        properties.setProperty(ExperimentProperty.SEED.getKey(), "1");
+
+        final ExperimentConfiguration unbudgeted = ExperimentConfiguration.fromProperties(properties);
+        assertEquals(0, unbudgeted.getBudgetMillis());
+        assertTrue(Double.isNaN(unbudgeted.getBudgetTargetFitness()));
+        assertEquals("", unbudgeted.toProperties().getProperty(ExperimentProperty.BUDGET_TARGET_FITNESS.getKey()));
+
+        properties.setProperty(ExperimentProperty.BUDGET_MILLIS.getKey(), "250");
+        final ExperimentConfiguration timed = ExperimentConfiguration.fromProperties(properties);
+        properties.setProperty(ExperimentProperty.BUDGET_TARGET_FITNESS.getKey(), "34000");
+        final ExperimentConfiguration targeted = ExperimentConfiguration.fromProperties(properties);
+
+        assertEquals(250, targeted.getBudgetMillis());
+        assertEquals(34000, targeted.getBudgetTargetFitness(), 0);
+        assertEquals(targeted.getFingerprint(),
+                ExperimentConfiguration.fromProperties(targeted.toProperties()).getFingerprint());
+        assertNotEquals(unbudgeted.getFingerprint(), timed.getFingerprint());
+        assertNotEquals(timed.getFingerprint(), targeted.getFingerprint());
+
+        properties.setProperty(ExperimentProperty.BUDGET_MILLIS.getKey(), "-1");
+        properties.setProperty(ExperimentProperty.BUDGET_TARGET_FITNESS.getKey(), "short");
+        try {
+            ExperimentConfiguration.fromProperties(properties);
+            fail("Invalid budget accepted");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(ExperimentProperty.BUDGET_MILLIS.getKey()));
+            assertTrue(e.getMessage().contains(ExperimentProperty.BUDGET_TARGET_FITNESS.getKey()));
+        }
+    }
+
+    @Test
+    public void givenConfigurationFileAndOverrides_OverridesTakePrecedence() throws IOException {
+
+        final File configurationFile = temporaryFolder.newFile("experiment.properties");
+        writeFile(configurationFile, "resamples=5\niterations=1000\nrrhc.climbIterations=10\nalgorithms=SA,ILS\n"
+                + "output.directory=" + temporaryFolder.getRoot().getPath().replace("\\", "/") + "\n");
+
+        final ExperimentCommandLine commandLine = ExperimentCommandLine.parse(new String[]{
+                "iterations=2000", "--config", configurationFile.getPath(), "--validate"
+        });
+        final ExperimentConfiguration configuration = commandLine.getConfiguration();
+
+        assertTrue(commandLine.isValidateOnly());
+        assertFalse(commandLine.isHelpRequested());
+        assertEquals(5, configuration.getResamples());
+        assertEquals(2000, configuration.getIterations());
+        assertEquals(EnumSet.of(SampleAlgorithm.SA, SampleAlgorithm.ILS), configuration.getAlgorithms());
+    }
+
+    private static void writeFile(File file, String content) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+    }
+}
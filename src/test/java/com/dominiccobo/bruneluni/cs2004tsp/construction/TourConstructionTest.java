@@ -0,0 +1,96 @@
+package com.dominiccobo.bruneluni.cs2004tsp.construction;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.MinimumSpanningTree;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.EdgeWeightType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Tours;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.InstanceRepository;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying the constructive start heuristics.
+ */
+public class TourConstructionTest {
+
+    @Test
+    public void givenMatrixInstance_EveryHeuristicProducesAPermutation() {
+
+        TSPInstance instance = new InstanceRepository().getInstance(Utilities.getResourcePath("data/TSP_48.txt"));
+
+        for (ConstructionHeuristic heuristic : ConstructionHeuristic.values()) {
+
+            if (heuristic == ConstructionHeuristic.SPACE_FILLING_CURVE) {
+                continue;
+            }
+
+            int[] tour = heuristic.getConstruction().constructTour(instance, new Random(1));
+            assertPermutation(tour, 48);
+        }
+    }
+
+    @Test
+    public void givenMatrixInstance_ConstructedToursBeatRandomTours() {
+
+        TSPInstance instance = new InstanceRepository().getInstance(Utilities.getResourcePath("data/TSP_48.txt"));
+        Graph graph = instance.getGraph();
+
+        double randomFitness = graph.getDistanceGivenRoute(Tours.toVector(
+                ConstructionHeuristic.RANDOM.getConstruction().constructTour(instance, new Random(1))
+        ));
+
+        ConstructionHeuristic[] heuristics = new ConstructionHeuristic[]{
+                ConstructionHeuristic.NEAREST_NEIGHBOUR,
+                ConstructionHeuristic.GREEDY_EDGE,
+                ConstructionHeuristic.CHRISTOFIDES
+        };
+
+        for (ConstructionHeuristic heuristic : heuristics) {
+
+            double fitness = graph.getDistanceGivenRoute(Tours.toVector(
+                    heuristic.getConstruction().constructTour(instance, new Random(1))
+            ));
+
+            assertTrue(fitness < randomFitness);
+            assertTrue(fitness >= instance.getMinimumSpanningTreeCost());
+        }
+    }
+
+    @Test
+    public void givenCoordinateGrid_SpaceFillingCurveVisitsNeighbouringCells() {
+
+        // an 8x8 grid of nodes, which a Hilbert curve tours optimally with unit steps.
+        double[] xCoordinates = new double[64];
+        double[] yCoordinates = new double[64];
+        for (int node = 0; node < 64; node++) {
+            xCoordinates[node] = node % 8;
+            yCoordinates[node] = node / 8;
+        }
+
+        Graph graph = new Graph(xCoordinates, yCoordinates, EdgeWeightType.EUC_2D);
+        TSPInstance instance = new TSPInstance(
+                "grid", graph, MinimumSpanningTree.getMSTCost(graph), CandidateList.build(graph, 4)
+        );
+
+        int[] tour = ConstructionHeuristic.SPACE_FILLING_CURVE.getConstruction().constructTour(instance, new Random(1));
+
+        assertPermutation(tour, 64);
+        for (int position = 0; position < tour.length - 1; position++) {
+            assertTrue(graph.getDistanceBetweenNodes(tour[position], tour[position + 1]) == 1.0);
+        }
+    }
+
+    private static void assertPermutation(int[] tour, int numberOfNodes) {
+        int[] sortedTour = tour.clone();
+        Arrays.sort(sortedTour);
+        assertArrayEquals(Tours.fillIdentity(new int[numberOfNodes]), sortedTour);
+    }
+}
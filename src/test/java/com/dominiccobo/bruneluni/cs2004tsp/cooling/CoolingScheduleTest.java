@@ -0,0 +1,175 @@
+package com.dominiccobo.bruneluni.cs2004tsp.cooling;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.SimulatedAnnealingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying the cooling schedules and the estimation of temperatures.
+ */
+public class CoolingScheduleTest {
+
+    private static final double INITIAL_TEMPERATURE = 1000.0;
+
+    private static final double FINAL_TEMPERATURE = 0.5;
+
+    private static final long PLANNED_ITERATIONS = 10000;
+
+    @Test
+    public void givenPlannedSchedules_ReachFinalTemperatureAtEndOfPlan() {
+
+        CoolingSchedule[] schedules = new CoolingSchedule[]{
+                GeometricCooling.toFinalTemperature(FINAL_TEMPERATURE),
+                new LinearCooling(FINAL_TEMPERATURE),
+                new LogarithmicCooling(FINAL_TEMPERATURE),
+                new LundyMeesCooling(FINAL_TEMPERATURE)
+        };
+
+        for (CoolingSchedule schedule : schedules) {
+
+            schedule.start(INITIAL_TEMPERATURE, PLANNED_ITERATIONS);
+
+            double previousTemperature = INITIAL_TEMPERATURE;
+            double temperature = INITIAL_TEMPERATURE;
+            for (long k = 1; k <= PLANNED_ITERATIONS; k++) {
+                temperature = schedule.getTemperature(k, Double.NaN);
+                assertTrue(temperature <= previousTemperature);
+                previousTemperature = temperature;
+            }
+
+            assertEquals(schedule.getClass().getSimpleName(), FINAL_TEMPERATURE, temperature,
+                    FINAL_TEMPERATURE * 1e-6);
+        }
+    }
+
+    @Test
+    public void givenElapsedFraction_FollowsSameCurveAsIterations() {
+
+        CoolingSchedule[] schedules = new CoolingSchedule[]{
+                GeometricCooling.toFinalTemperature(FINAL_TEMPERATURE),
+                new LinearCooling(FINAL_TEMPERATURE),
+                new LogarithmicCooling(FINAL_TEMPERATURE),
+                new LundyMeesCooling(FINAL_TEMPERATURE)
+        };
+
+        for (CoolingSchedule schedule : schedules) {
+
+            schedule.start(INITIAL_TEMPERATURE, PLANNED_ITERATIONS);
+            double halfwayTemperature = 0;
+            for (long k = 1; k <= PLANNED_ITERATIONS / 2; k++) {
+                halfwayTemperature = schedule.getTemperature(k, Double.NaN);
+            }
+
+            schedule.start(INITIAL_TEMPERATURE, PLANNED_ITERATIONS);
+            assertEquals(schedule.getClass().getSimpleName(), halfwayTemperature,
+                    schedule.getTemperature(1, 0.5), halfwayTemperature * 1e-6);
+        }
+    }
+
+    @Test
+    public void givenCoolingRate_MatchesFixedRateDecay() {
+
+        GeometricCooling schedule = GeometricCooling.withCoolingRate(0.99);
+        schedule.start(INITIAL_TEMPERATURE, PLANNED_ITERATIONS);
+
+        assertEquals(INITIAL_TEMPERATURE * 0.99, schedule.getTemperature(1, Double.NaN), 1e-9);
+        assertEquals(INITIAL_TEMPERATURE * 0.99 * 0.99, schedule.getTemperature(2, Double.NaN), 1e-9);
+    }
+
+    @Test
+    public void givenFrequentAcceptances_AdaptiveScheduleCools() {
+
+        AdaptiveCooling schedule = new AdaptiveCooling(0.5, 0.01, 100);
+        schedule.start(INITIAL_TEMPERATURE, PLANNED_ITERATIONS);
+        schedule.getTemperature(1, Double.NaN);
+
+        for (int i = 0; i < 100; i++) {
+            schedule.recordWorseProposal(true);
+        }
+        assertTrue(schedule.getTemperature(2, Double.NaN) < INITIAL_TEMPERATURE);
+
+        schedule.start(INITIAL_TEMPERATURE, PLANNED_ITERATIONS);
+        schedule.getTemperature(1, Double.NaN);
+
+        for (int i = 0; i < 100; i++) {
+            schedule.recordWorseProposal(false);
+        }
+        assertTrue(schedule.getTemperature(2, Double.NaN) > INITIAL_TEMPERATURE);
+    }
+
+    @Test
+    public void givenStagnation_ReheatsToTemperatureOfLastImprovement() {
+
+        ReheatingCooling schedule = new ReheatingCooling(GeometricCooling.toFinalTemperature(FINAL_TEMPERATURE), 100);
+        schedule.start(INITIAL_TEMPERATURE, PLANNED_ITERATIONS);
+
+        double improvementTemperature = 0;
+        for (long k = 1; k <= 50; k++) {
+            improvementTemperature = schedule.getTemperature(k, Double.NaN);
+        }
+        schedule.recordImprovement(50);
+
+        double temperature = improvementTemperature;
+        for (long k = 51; k < 150; k++) {
+            temperature = schedule.getTemperature(k, Double.NaN);
+        }
+        assertTrue(temperature < improvementTemperature);
+        assertEquals(0, schedule.getReheats());
+
+        assertEquals(improvementTemperature, schedule.getTemperature(150, Double.NaN), 0.0);
+        assertEquals(1, schedule.getReheats());
+    }
+
+    @Test
+    public void givenRandomTour_EstimatesTemperatureAcceptingAverageWorsening() {
+
+        Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+        XoroshiroRandom random = new XoroshiroRandom(7L);
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+        double tourLength = tspSolution.getTourLength();
+
+        double hotTemperature = TemperatureEstimator.estimateTemperature(tspSolution, SolutionType.MINIMISATION,
+                1000, 0.8);
+        double coldTemperature = TemperatureEstimator.estimateTemperature(tspSolution, SolutionType.MINIMISATION,
+                1000, 0.01);
+
+        assertTrue(coldTemperature > 0);
+        assertTrue(hotTemperature > coldTemperature);
+        // sampling proposes moves without accepting them.
+        assertEquals(tourLength, tspSolution.getTourLength(), 0.0);
+    }
+
+    @Test
+    public void givenCoolingSchedule_AnnealsToShortTour() {
+
+        Graph graph = new Graph(Utilities.readArrayFile(Utilities.getResourcePath("data/TSP_48.txt"), " "));
+        XoroshiroRandom random = new XoroshiroRandom(11L);
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomTour(random), graph, random.split());
+        double startingLength = tspSolution.getTourLength();
+
+        double initialTemperature = TemperatureEstimator.estimateTemperature(tspSolution, SolutionType.MINIMISATION,
+                1000, 0.8);
+
+        SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> sa = new SimulatedAnnealingAlgorithm<>(
+                100000,
+                tspSolution,
+                SolutionType.MINIMISATION,
+                initialTemperature,
+                new ReheatingCooling(new LundyMeesCooling(initialTemperature * 1e-4), 5000),
+                random.split()
+        );
+
+        TSPSolution bestSolution = sa.runAlgorithm();
+
+        assertTrue(bestSolution.getTourLength() < startingLength / 2);
+    }
+}
@@ -0,0 +1,175 @@
+package com.dominiccobo.bruneluni.cs2004tsp.decomposition;
+
+import com.dominiccobo.bruneluni.cs2004tsp.construction.SpaceFillingCurveConstruction;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.CandidateList;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.EdgeWeightType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.metrics.SearchMetricsRecorder;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.CompositeTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.termination.TargetFitnessTermination;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying the decomposition solver.
+ */
+public class DecompositionAlgorithmTest {
+
+    private static final int NUMBER_OF_NODES = 2000;
+
+    private static final TSPInstance INSTANCE = createRandomInstance(NUMBER_OF_NODES, 7L);
+
+    @Test
+    public void givenSpaceFillingCurveTour_ImprovesAndKeepsAPermutation() {
+
+        int[] startingTour = new SpaceFillingCurveConstruction().constructTour(INSTANCE, new XoroshiroRandom(1L));
+        double startingLength = INSTANCE.getGraph().getTourLength(startingTour);
+
+        TSPSolution bestSolution = runDecomposition(startingTour, 1);
+
+        assertPermutation(bestSolution.getTour(), NUMBER_OF_NODES);
+        assertEquals(INSTANCE.getGraph().getTourLength(bestSolution.getTour()), bestSolution.getTourLength(), 1e-6);
+        assertTrue(bestSolution.getTourLength() < startingLength * 0.85);
+    }
+
+    @Test
+    public void givenSameSeed_ParallelRoundsMatchSequentialRounds() {
+
+        int[] startingTour = new SpaceFillingCurveConstruction().constructTour(INSTANCE, new XoroshiroRandom(2L));
+
+        TSPSolution sequentialSolution = runDecomposition(startingTour.clone(), 1);
+        TSPSolution parallelSolution = runDecomposition(startingTour.clone(), 4);
+
+        assertArrayEquals(sequentialSolution.getTour(), parallelSolution.getTour());
+    }
+
+    @Test
+    public void givenInstanceNoLargerThanSubproblem_SolvesItWhole() {
+
+        TSPInstance instance = createRandomInstance(50, 3L);
+        Graph graph = instance.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(4L);
+        TSPSolution startingSolution = new TSPSolution(graph.getRandomTour(random), graph, random);
+        double startingLength = startingSolution.getTourLength();
+
+        DecompositionAlgorithm<TSPSolution> decomposition = new DecompositionAlgorithm<>(
+                1,
+                startingSolution,
+                AlgorithmSubproblemSolver.iteratedLocalSearch(100)
+        );
+
+        TSPSolution bestSolution = decomposition.runAlgorithm();
+
+        assertPermutation(bestSolution.getTour(), 50);
+        assertTrue(bestSolution.getTourLength() < startingLength * 0.5);
+    }
+
+    @Test
+    public void givenTargetFitness_SegmentImprovementsDoNotReachIt() {
+
+        int[] startingTour = new SpaceFillingCurveConstruction().constructTour(INSTANCE, new XoroshiroRandom(5L));
+        Graph graph = INSTANCE.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(9L);
+
+        DecompositionAlgorithm<TSPSolution> decomposition = new DecompositionAlgorithm<>(
+                3,
+                new TSPSolution(startingTour.clone(), graph, random),
+                AlgorithmSubproblemSolver.iteratedLocalSearch(50),
+                DecompositionAlgorithm.DEFAULT_SUBPROBLEM_SIZE,
+                2,
+                random.split()
+        );
+
+        // segment tours close with a negative edge, so their fitness is below any target of a whole tour.
+        decomposition.setTerminationPolicy(CompositeTermination.anyOf(
+                decomposition.getTerminationPolicy(),
+                new TargetFitnessTermination(1, SolutionType.MINIMISATION)
+        ));
+
+        TSPSolution targetedSolution = decomposition.runAlgorithm();
+
+        assertEquals(3, decomposition.getIterationsPerformed());
+        assertArrayEquals(runDecomposition(startingTour, 2).getTour(), targetedSolution.getTour());
+    }
+
+    @Test
+    public void givenMetricsRecorder_CountsTheMovesOfEachSubproblem() {
+
+        int[] startingTour = new SpaceFillingCurveConstruction().constructTour(INSTANCE, new XoroshiroRandom(6L));
+        Graph graph = INSTANCE.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(9L);
+        SearchMetricsRecorder metrics = new SearchMetricsRecorder();
+
+        DecompositionAlgorithm<TSPSolution> decomposition = new DecompositionAlgorithm<>(
+                2,
+                new TSPSolution(startingTour, graph, random),
+                AlgorithmSubproblemSolver.iteratedLocalSearch(50),
+                DecompositionAlgorithm.DEFAULT_SUBPROBLEM_SIZE,
+                2,
+                random.split()
+        );
+        decomposition.setMetrics(metrics);
+
+        TSPSolution bestSolution = decomposition.runAlgorithm();
+
+        // every segment of both rounds descends once, then proposes a move in each of its other 49 iterations.
+        int segmentsPerRound = NUMBER_OF_NODES / DecompositionAlgorithm.DEFAULT_SUBPROBLEM_SIZE;
+        assertEquals(2L * segmentsPerRound * 49, metrics.getProposals());
+        assertTrue(metrics.getIterationsPerSecond() > 0);
+        assertEquals(bestSolution.getTourLength(), metrics.getBestFitness(), 1e-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenTinySubproblems_Throws() {
+        Graph graph = INSTANCE.getGraph();
+        new DecompositionAlgorithm<>(1, new TSPSolution(graph.getRandomTour(new XoroshiroRandom(1L)), graph, null),
+                AlgorithmSubproblemSolver.iteratedLocalSearch(10), 3, 1, new XoroshiroRandom(1L));
+    }
+
+    private static TSPSolution runDecomposition(int[] startingTour, int parallelism) {
+
+        Graph graph = INSTANCE.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(9L);
+
+        DecompositionAlgorithm<TSPSolution> decomposition = new DecompositionAlgorithm<>(
+                3,
+                new TSPSolution(startingTour, graph, random),
+                AlgorithmSubproblemSolver.iteratedLocalSearch(50),
+                DecompositionAlgorithm.DEFAULT_SUBPROBLEM_SIZE,
+                parallelism,
+                random.split()
+        );
+
+        return decomposition.runAlgorithm();
+    }
+
+    private static TSPInstance createRandomInstance(int numberOfNodes, long seed) {
+
+        XoroshiroRandom random = new XoroshiroRandom(seed);
+        double[] xCoordinates = new double[numberOfNodes];
+        double[] yCoordinates = new double[numberOfNodes];
+        for (int node = 0; node < numberOfNodes; node++) {
+            xCoordinates[node] = random.nextDouble() * 10000;
+            yCoordinates[node] = random.nextDouble() * 10000;
+        }
+
+        Graph graph = new Graph(xCoordinates, yCoordinates, EdgeWeightType.EUC_2D);
+        return new TSPInstance("random" + numberOfNodes, graph, 0, CandidateList.build(graph, 8));
+    }
+
+    private static void assertPermutation(int[] tour, int numberOfNodes) {
+        assertEquals(numberOfNodes, tour.length);
+        boolean[] seen = new boolean[numberOfNodes];
+        for (int node : tour) {
+            assertTrue(!seen[node]);
+            seen[node] = true;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.dominiccobo.bruneluni.cs2004tsp.domain;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for verifying the nearest neighbour candidate lists.
+ */
+public class CandidateListTest {
+
+    @Test
+    public void givenMatrix_ProducesNeighboursOrderedByDistance() {
+
+        double[][] testMatrix = new double[][]{
+                {0.0000,  4726.0,   1204.0,  6362.0},
+                {4726.0,  0.0000,   3587.0,  2011.0},
+                {1204.0,  3587.0,   0.0000,  5162.0},
+                {6362.0,  2011.0,   5162.0,  0.0000}
+        };
+
+        CandidateList candidateList = CandidateList.build(new Graph(testMatrix), 2);
+
+        assertEquals(2, candidateList.getCandidatesPerNode());
+        assertArrayEquals(new int[]{2, 1, 3, 2, 0, 1, 1, 2}, candidateList.getNeighbours());
+    }
+
+    @Test
+    public void givenMoreCandidatesThanNodes_ClampsToRemainingNodes() {
+
+        double[][] testMatrix = new double[][]{
+                {0.0, 1.0},
+                {1.0, 0.0}
+        };
+
+        CandidateList candidateList = CandidateList.build(new Graph(testMatrix), 10);
+
+        assertEquals(1, candidateList.getCandidatesPerNode());
+        assertEquals(1, candidateList.getNeighbour(0, 0));
+        assertEquals(0, candidateList.getNeighbour(1, 0));
+    }
+}
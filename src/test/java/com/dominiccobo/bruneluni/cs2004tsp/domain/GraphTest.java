@@ -2,9 +2,17 @@ package com.dominiccobo.bruneluni.cs2004tsp.domain;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
@@ -182,4 +190,98 @@ public class GraphTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void givenCoordinates_MaterialisesMatchingDistanceMatrix() {
+
+        double[] xCoordinates = new double[]{0, 3, 3, 0};
+        double[] yCoordinates = new double[]{0, 0, 4, 4};
+
+        Graph graph = new Graph(xCoordinates, yCoordinates, EdgeWeightType.EUC_2D);
+
+        double[][] expected = new double[][]{
+                {0, 3, 5, 4},
+                {3, 0, 4, 5},
+                {5, 4, 0, 3},
+                {4, 5, 3, 0}
+        };
+
+        assertEquals(Arrays.deepToString(expected), Arrays.deepToString(graph.getDistanceMatrix()));
+    }
+
+    @Test
+    public void givenConcurrentFirstCalls_MaterialisesOneMatrixSharedByEveryThread() throws Exception {
+
+        Random random = new Random(3L);
+        double[] xCoordinates = new double[300];
+        double[] yCoordinates = new double[300];
+        for (int node = 0; node < 300; node++) {
+            xCoordinates[node] = random.nextDouble() * 1000;
+            yCoordinates[node] = random.nextDouble() * 1000;
+        }
+        Graph graph = new Graph(xCoordinates, yCoordinates, EdgeWeightType.EUC_2D);
+
+        int threads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<double[][]>> matrices = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < threads; thread++) {
+                matrices.add(executorService.submit(() -> {
+                    startGate.await();
+                    return graph.getDistanceMatrix();
+                }));
+            }
+            startGate.countDown();
+
+            double[][] matrix = matrices.get(0).get();
+            for (Future<double[][]> otherMatrix : matrices) {
+                assertSame(matrix, otherMatrix.get());
+            }
+            assertEquals(Math.hypot(xCoordinates[7] - xCoordinates[250], yCoordinates[7] - yCoordinates[250]),
+                    graph.getDistanceBetweenNodes(7, 250), 0.5);
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenMismatchedCoordinates_ProducesError() {
+
+        Graph graph = new Graph(new double[]{0, 1}, new double[]{0}, EdgeWeightType.EUC_2D);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenExplicitEdgeWeightTypeWithCoordinates_ProducesError() {
+
+        Graph graph = new Graph(new double[]{0, 1}, new double[]{0, 1}, EdgeWeightType.EXPLICIT);
+    }
+
+    @Test
+    public void givenEdgeWeightTypes_OnlyCoordinateTypesComputeDistances() {
+
+        for (EdgeWeightType edgeWeightType : EdgeWeightType.values()) {
+            assertEquals(edgeWeightType != EdgeWeightType.EXPLICIT, edgeWeightType.isCoordinateBased());
+            assertEquals(edgeWeightType.isCoordinateBased(), edgeWeightType.getCoordinateDistance() != null);
+        }
+        assertEquals(5, EdgeWeightType.EUC_2D.getCoordinateDistance().getDistance(0, 0, 3, 4), 0);
+    }
+
+    @Test
+    public void givenSeededRandom_ProducesReproduciblePermutation() {
+
+        double[] xCoordinates = new double[100];
+        double[] yCoordinates = new double[100];
+
+        Graph graph = new Graph(xCoordinates, yCoordinates, EdgeWeightType.EUC_2D);
+
+        int[] firstTour = graph.getRandomTour(new Random(42));
+        int[] secondTour = graph.getRandomTour(new Random(42));
+
+        assertArrayEquals(firstTour, secondTour);
+
+        int[] sortedTour = firstTour.clone();
+        Arrays.sort(sortedTour);
+        assertArrayEquals(Tours.fillIdentity(new int[100]), sortedTour);
+    }
+}
@@ -0,0 +1,85 @@
+package com.dominiccobo.bruneluni.cs2004tsp.domain;
+
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for verifying the incremental evaluation of changes to tours.
+ */
+public class TSPSolutionTest {
+
+    @Test
+    public void givenProposedSwaps_DeltaMatchesFullEvaluation() {
+
+        double[][] matrix = Utilities.readArrayFile(
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                " "
+        );
+
+        Graph graph = new Graph(matrix);
+        XoroshiroRandom random = new XoroshiroRandom(48L);
+
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomRoute(random), graph, random);
+
+        for (int i = 0; i < 10000; i++) {
+
+            double lengthBefore = tspSolution.getTourLength();
+            double delta = tspSolution.proposeChangeDelta();
+            tspSolution.acceptProposedChange();
+
+            assertEquals(lengthBefore + delta, graph.getDistanceGivenRoute(tspSolution.getRepresentation()), 1e-6);
+        }
+    }
+
+    @Test
+    public void givenSmallestTours_DeltaMatchesFullEvaluation() {
+
+        double[][] matrix = new double[][]{
+                {0, 4, 1},
+                {4, 0, 3},
+                {1, 3, 0}
+        };
+
+        Graph graph = new Graph(matrix);
+        XoroshiroRandom random = new XoroshiroRandom(3L);
+
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomRoute(random), graph, random);
+
+        for (int i = 0; i < 100; i++) {
+
+            double lengthBefore = tspSolution.getTourLength();
+            double delta = tspSolution.proposeChangeDelta();
+            tspSolution.acceptProposedChange();
+
+            assertEquals(lengthBefore + delta, graph.getDistanceGivenRoute(tspSolution.getRepresentation()), 1e-9);
+        }
+    }
+
+    @Test
+    public void givenCopiedSolution_CopyIsUnaffectedByChangesToOriginal() {
+
+        double[][] matrix = Utilities.readArrayFile(
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                " "
+        );
+
+        Graph graph = new Graph(matrix);
+        XoroshiroRandom random = new XoroshiroRandom(1L);
+
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomRoute(random), graph, random);
+        TSPSolution elite = tspSolution.copy();
+
+        tspSolution.proposeChangeDelta();
+        tspSolution.acceptProposedChange();
+
+        assertEquals(graph.getDistanceGivenRoute(elite.getRepresentation()), elite.getFitness(), 1e-6);
+
+        elite.copyFrom(tspSolution);
+
+        assertEquals(tspSolution.getRepresentation(), elite.getRepresentation());
+        assertEquals(tspSolution.getFitness(), elite.getFitness(), 0.0);
+    }
+}
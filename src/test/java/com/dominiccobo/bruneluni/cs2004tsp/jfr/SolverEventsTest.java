@@ -0,0 +1,98 @@
+package com.dominiccobo.bruneluni.cs2004tsp.jfr;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomMutatingHillClimber;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomRestartHillClimbingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Vector;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying the flight recorder events emitted by the algorithms.
+ */
+public class SolverEventsTest {
+
+    private static final Graph GRAPH = new Graph(Utilities.readArrayFile(
+            Utilities.getResourcePath("data/TSP_48.txt"),
+            " "
+    ));
+
+    @Test
+    public void givenRecording_EmitsRunAndNewBestEvents() throws Exception {
+
+        XoroshiroRandom random = new XoroshiroRandom(1L);
+        RandomMutatingHillClimber<TSPSolution, Double, Vector<Integer>> rmhc = new RandomMutatingHillClimber<>(
+                5000, new TSPSolution(GRAPH.getRandomTour(random), GRAPH, random), SolutionType.MINIMISATION
+        );
+
+        List<RecordedEvent> events = record(rmhc::runAlgorithm, NewBestEvent.class, SearchRunEvent.class);
+
+        List<RecordedEvent> runEvents = ofType(events, SearchRunEvent.class);
+        List<RecordedEvent> newBestEvents = ofType(events, NewBestEvent.class);
+
+        assertEquals(1, runEvents.size());
+        assertEquals(5000L, runEvents.get(0).getLong("iterations"));
+        assertEquals(rmhc.getBestSolution().getFitness(), runEvents.get(0).getDouble("bestFitness"), 0);
+        assertTrue(newBestEvents.size() > 1);
+        for (int i = 1; i < newBestEvents.size(); i++) {
+            assertTrue(newBestEvents.get(i).getDouble("fitness") < newBestEvents.get(i - 1).getDouble("fitness"));
+        }
+    }
+
+    @Test
+    public void givenRestartingAlgorithm_EmitsRestartEvents() throws Exception {
+
+        XoroshiroRandom random = new XoroshiroRandom(2L);
+        RandomRestartHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> rrhc =
+                new RandomRestartHillClimbingAlgorithm<>(
+                        5, new TSPSolution(GRAPH.getRandomTour(random), GRAPH, random), SolutionType.MINIMISATION,
+                        200
+                );
+
+        List<RecordedEvent> events = record(rrhc::runAlgorithm, RestartEvent.class, SearchRunEvent.class);
+
+        assertEquals(4, ofType(events, RestartEvent.class).size());
+        // the outer run and one nested run per restart.
+        assertEquals(6, ofType(events, SearchRunEvent.class).size());
+    }
+
+    private static List<RecordedEvent> record(Runnable task, Class<?>... eventTypes) throws Exception {
+
+        Path recordingFile = Files.createTempFile("solver-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (Class<?> eventType : eventTypes) {
+                recording.enable(eventType.asSubclass(jdk.jfr.Event.class)).withoutThreshold();
+            }
+            recording.start();
+            task.run();
+            recording.stop();
+            recording.dump(recordingFile);
+            return RecordingFile.readAllEvents(recordingFile);
+        }
+        finally {
+            new File(recordingFile.toString()).delete();
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, Class<?> eventType) {
+        String name = eventType.getAnnotation(jdk.jfr.Name.class).value();
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+}
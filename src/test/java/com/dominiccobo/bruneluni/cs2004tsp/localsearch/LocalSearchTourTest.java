@@ -0,0 +1,100 @@
+package com.dominiccobo.bruneluni.cs2004tsp.localsearch;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.InstanceRepository;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying the local search tour keeps its tour, positions and length consistent.
+ */
+public class LocalSearchTourTest {
+
+    private static final TSPInstance INSTANCE = new InstanceRepository().getInstance(
+            Utilities.getResourcePath("data/TSP_48.txt")
+    );
+
+    @Test
+    public void givenRandomTour_OptimisesToShorterValidTour() {
+
+        Graph graph = INSTANCE.getGraph();
+        int[] startingTour = graph.getRandomTour(new XoroshiroRandom(1L));
+        LocalSearchTour localSearchTour = new LocalSearchTour(startingTour, graph, INSTANCE.getCandidateList());
+
+        localSearchTour.activateAll();
+        localSearchTour.optimise();
+
+        int[] tour = localSearchTour.copyTour(new int[graph.getNumberOfNodes()]);
+        assertValidTour(localSearchTour, tour);
+        assertEquals(graph.getTourLength(tour), localSearchTour.getLength(), 1e-6);
+        assertTrue(localSearchTour.getLength() < graph.getTourLength(startingTour) / 2);
+    }
+
+    @Test
+    public void givenPerturbations_KeepLengthConsistentAndRollBack() {
+
+        Graph graph = INSTANCE.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(2L);
+        LocalSearchTour localSearchTour = new LocalSearchTour(graph.getRandomTour(random), graph,
+                INSTANCE.getCandidateList());
+
+        localSearchTour.activateAll();
+        localSearchTour.optimise();
+        localSearchTour.commit();
+
+        int[] committedTour = localSearchTour.copyTour(new int[graph.getNumberOfNodes()]);
+        double committedLength = localSearchTour.getLength();
+
+        for (Perturbation perturbation : Perturbation.values()) {
+            for (int strength = 1; strength <= 5; strength++) {
+
+                perturbation.perturb(localSearchTour, strength, random);
+                int[] tour = localSearchTour.copyTour(new int[graph.getNumberOfNodes()]);
+                assertValidTour(localSearchTour, tour);
+                assertEquals(perturbation.name(), graph.getTourLength(tour), localSearchTour.getLength(), 1e-6);
+
+                localSearchTour.optimise();
+                localSearchTour.rollback();
+
+                assertArrayEquals(committedTour, localSearchTour.copyTour(new int[graph.getNumberOfNodes()]));
+                assertEquals(committedLength, localSearchTour.getLength(), 0.0);
+                assertValidTour(localSearchTour, committedTour);
+            }
+        }
+    }
+
+    @Test
+    public void givenCommit_KeepsChangesThroughLaterRollback() {
+
+        Graph graph = INSTANCE.getGraph();
+        XoroshiroRandom random = new XoroshiroRandom(3L);
+        LocalSearchTour localSearchTour = new LocalSearchTour(graph.getRandomTour(random), graph,
+                INSTANCE.getCandidateList());
+
+        Perturbation.DOUBLE_BRIDGE.perturb(localSearchTour, 2, random);
+        localSearchTour.commit();
+        int[] committedTour = localSearchTour.copyTour(new int[graph.getNumberOfNodes()]);
+
+        Perturbation.RANDOM_SWAPS.perturb(localSearchTour, 3, random);
+        localSearchTour.rollback();
+
+        assertArrayEquals(committedTour, localSearchTour.copyTour(new int[graph.getNumberOfNodes()]));
+    }
+
+    private static void assertValidTour(LocalSearchTour localSearchTour, int[] tour) {
+        int[] sorted = tour.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+            assertEquals(i, localSearchTour.getPosition(tour[i]));
+        }
+    }
+}
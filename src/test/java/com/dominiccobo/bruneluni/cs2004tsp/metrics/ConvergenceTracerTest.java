@@ -0,0 +1,152 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomMutatingHillClimber;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.SimulatedAnnealingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying the convergence tracer and its writer.
+ */
+public class ConvergenceTracerTest {
+
+    private static final Graph GRAPH = new Graph(Utilities.readArrayFile(
+            Utilities.getResourcePath("data/TSP_48.txt"),
+            " "
+    ));
+
+    @Test
+    public void givenStride_RecordsEverySampledIteration() throws Exception {
+
+        XoroshiroRandom random = new XoroshiroRandom(1L);
+        ConvergenceTracer convergenceTracer = ConvergenceTracer.everyIterations(100);
+
+        SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> sa = new SimulatedAnnealingAlgorithm<>(
+                10000, new TSPSolution(GRAPH.getRandomTour(random), GRAPH, random), SolutionType.MINIMISATION,
+                1000, 0.999, random.split()
+        );
+        sa.setConvergenceTracer(convergenceTracer);
+        TSPSolution bestSolution = sa.runAlgorithm();
+
+        List<double[]> records = new ArrayList<>();
+        convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness, temperature) ->
+                records.add(new double[]{iteration, elapsedNanos, currentFitness, bestFitness, temperature}));
+
+        assertEquals(100, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            double[] record = records.get(i);
+            assertEquals(i * 100, (long) record[0]);
+            assertTrue(record[3] <= record[2]);
+            assertTrue(i == 0 || record[1] >= records.get(i - 1)[1]);
+            assertTrue(i == 0 || record[4] < records.get(i - 1)[4]);
+        }
+        assertTrue(records.get(99)[3] >= bestSolution.getFitness());
+        assertEquals(0, convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness,
+                                                 temperature) -> { }));
+    }
+
+    @Test
+    public void givenImprovementsOnly_RecordsEachImprovement() throws Exception {
+
+        XoroshiroRandom random = new XoroshiroRandom(2L);
+        ConvergenceTracer convergenceTracer = ConvergenceTracer.onImprovement();
+        SearchMetricsRecorder metrics = new SearchMetricsRecorder();
+
+        RandomMutatingHillClimber<TSPSolution, Double, Vector<Integer>> rmhc = new RandomMutatingHillClimber<>(
+                5000, new TSPSolution(GRAPH.getRandomTour(random), GRAPH, random), SolutionType.MINIMISATION
+        );
+        rmhc.setMetrics(metrics);
+        rmhc.setConvergenceTracer(convergenceTracer);
+        rmhc.runAlgorithm();
+
+        double[] lastBest = new double[]{Double.POSITIVE_INFINITY};
+        int drained = convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness, temperature) -> {
+            assertTrue(bestFitness < lastBest[0]);
+            assertTrue(Double.isNaN(temperature));
+            lastBest[0] = bestFitness;
+        });
+
+        assertEquals(metrics.getImprovingAcceptances(), drained);
+    }
+
+    @Test
+    public void givenFullBuffer_DropsOldestRecords() throws Exception {
+
+        ConvergenceTracer convergenceTracer = new ConvergenceTracer(6, 1, false);
+        assertEquals(8, convergenceTracer.getCapacity());
+
+        for (int iteration = 0; iteration < 20; iteration++) {
+            convergenceTracer.record(iteration, iteration, iteration, Double.NaN);
+        }
+
+        List<Long> iterations = new ArrayList<>();
+        convergenceTracer.drain((iteration, elapsedNanos, currentFitness, bestFitness, temperature) ->
+                iterations.add(iteration));
+
+        assertEquals(13, convergenceTracer.getDropped());
+        assertEquals(7, iterations.size());
+        assertEquals(13L, (long) iterations.get(0));
+        assertEquals(19L, (long) iterations.get(6));
+    }
+
+    @Test
+    public void givenWriter_WritesCsvAndBinaryTraces() throws Exception {
+
+        ConvergenceTracer csvTracer = new ConvergenceTracer(16, 1, false);
+        ConvergenceTracer binaryTracer = new ConvergenceTracer(16, 1, false);
+        File csvFile = File.createTempFile("trace", ".csv");
+        File binaryFile = File.createTempFile("trace", ".bin");
+        csvFile.deleteOnExit();
+        binaryFile.deleteOnExit();
+
+        try (ConvergenceTraceWriter csvWriter = new ConvergenceTraceWriter(csvTracer, csvFile, TraceFormat.CSV, 1);
+             ConvergenceTraceWriter binaryWriter = new ConvergenceTraceWriter(binaryTracer, binaryFile,
+                     TraceFormat.BINARY, 0)) {
+            for (int iteration = 0; iteration < 10; iteration++) {
+                csvTracer.record(iteration, 20 - iteration, 10, 0.5);
+                binaryTracer.record(iteration, 20 - iteration, 10, 0.5);
+                if (iteration == 4) {
+                    // without a drain interval the binary writer only writes what it is asked to drain.
+                    assertEquals(5, binaryWriter.drain());
+                }
+            }
+            assertEquals(5, binaryWriter.drain());
+            csvWriter.drain();
+        }
+
+        List<String> lines = Files.readAllLines(csvFile.toPath(), StandardCharsets.US_ASCII);
+        assertEquals(11, lines.size());
+        assertEquals("Iteration,Elapsed Nanos,Current Fitness,Best Fitness,Temperature", lines.get(0));
+        assertTrue(lines.get(10).startsWith("9,"));
+        assertTrue(lines.get(10).endsWith(",11.0,10.0,0.5"));
+
+        try (DataInputStream inputStream = new DataInputStream(new FileInputStream(binaryFile))) {
+            assertEquals(TraceFormat.BINARY_MAGIC, inputStream.readInt());
+            assertEquals(TraceFormat.BINARY_VERSION, inputStream.readInt());
+            for (int iteration = 0; iteration < 10; iteration++) {
+                assertEquals(iteration, inputStream.readLong());
+                inputStream.readLong();
+                assertEquals(20 - iteration, inputStream.readDouble(), 0);
+                assertEquals(10, inputStream.readDouble(), 0);
+                assertEquals(0.5, inputStream.readDouble(), 0);
+            }
+            assertEquals(-1, inputStream.read());
+        }
+    }
+}
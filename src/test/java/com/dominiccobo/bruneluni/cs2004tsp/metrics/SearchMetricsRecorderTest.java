@@ -0,0 +1,114 @@
+package com.dominiccobo.bruneluni.cs2004tsp.metrics;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomMutatingHillClimber;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomRestartHillClimbingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.SimulatedAnnealingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying the metrics recorded by the algorithms.
+ */
+public class SearchMetricsRecorderTest {
+
+    private static final Graph GRAPH = new Graph(Utilities.readArrayFile(
+            Utilities.getResourcePath("data/TSP_48.txt"),
+            " "
+    ));
+
+    @Test
+    public void givenHillClimber_CountsEveryProposal() {
+
+        XoroshiroRandom random = new XoroshiroRandom(1L);
+        TSPSolution tspSolution = new TSPSolution(GRAPH.getRandomTour(random), GRAPH, random);
+        SearchMetricsRecorder metrics = new SearchMetricsRecorder();
+
+        RandomMutatingHillClimber<TSPSolution, Double, Vector<Integer>> rmhc = new RandomMutatingHillClimber<>(
+                10000, tspSolution, SolutionType.MINIMISATION
+        );
+        rmhc.setMetrics(metrics);
+        TSPSolution bestSolution = rmhc.runAlgorithm();
+
+        assertEquals(10000, metrics.getProposals());
+        assertEquals(0, metrics.getWorseningAcceptances());
+        assertEquals(metrics.getProposals(), metrics.getImprovingAcceptances() + metrics.getRejections());
+        assertTrue(metrics.getImprovingAcceptances() > 0);
+        assertEquals(bestSolution.getFitness(), metrics.getBestFitness(), 1e-6);
+    }
+
+    @Test
+    public void givenAnnealing_RecordsWorseningAcceptancesAndTemperature() {
+
+        XoroshiroRandom random = new XoroshiroRandom(2L);
+        TSPSolution tspSolution = new TSPSolution(GRAPH.getRandomTour(random), GRAPH, random);
+        SearchMetricsRecorder metrics = new SearchMetricsRecorder();
+
+        SimulatedAnnealingAlgorithm<TSPSolution, Double, Vector<Integer>> sa = new SimulatedAnnealingAlgorithm<>(
+                10000, tspSolution, SolutionType.MINIMISATION, 1000, 0.999, random.split()
+        );
+        sa.setMetrics(metrics);
+        sa.runAlgorithm();
+
+        assertEquals(10000, metrics.getProposals());
+        assertTrue(metrics.getWorseningAcceptances() > 0);
+        assertTrue(metrics.getTemperature() > 0 && metrics.getTemperature() < 1000);
+        assertTrue(metrics.getAcceptanceRate() > 0 && metrics.getAcceptanceRate() < 1);
+    }
+
+    @Test
+    public void givenRestarts_CountsNestedProposalsAndRestarts() {
+
+        XoroshiroRandom random = new XoroshiroRandom(3L);
+        TSPSolution tspSolution = new TSPSolution(GRAPH.getRandomTour(random), GRAPH, random);
+        SearchMetricsRecorder metrics = new SearchMetricsRecorder();
+
+        RandomRestartHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> rrhc =
+                new RandomRestartHillClimbingAlgorithm<>(5, tspSolution, SolutionType.MINIMISATION, 1000);
+        rrhc.setMetrics(metrics);
+        TSPSolution bestSolution = rrhc.runAlgorithm();
+
+        assertEquals(5000, metrics.getProposals());
+        assertEquals(4, metrics.getRestarts());
+        assertEquals(bestSolution.getFitness(), metrics.getBestFitness(), 1e-6);
+    }
+
+    @Test
+    public void givenRegisteredRecorder_ExposesCountersOverJmx() throws Exception {
+
+        SearchMetricsRecorder metrics = new SearchMetricsRecorder();
+        metrics.recordProposal(-1, true);
+        metrics.recordProposal(1, false);
+        metrics.recordRestart();
+        metrics.register("test");
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(SearchMetricsRecorder.JMX_DOMAIN + ":type=SearchMetrics,name=\"test\"");
+
+        try {
+            assertEquals(2L, mBeanServer.getAttribute(objectName, "Proposals"));
+            assertEquals(1L, mBeanServer.getAttribute(objectName, "Rejections"));
+            assertEquals(0.5, (Double) mBeanServer.getAttribute(objectName, "AcceptanceRate"), 1e-9);
+
+            mBeanServer.invoke(objectName, "reset", null, null);
+            assertEquals(0L, metrics.getRestarts());
+        }
+        finally {
+            metrics.unregister();
+        }
+
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+}
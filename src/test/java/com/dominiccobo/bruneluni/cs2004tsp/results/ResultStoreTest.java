@@ -0,0 +1,173 @@
+package com.dominiccobo.bruneluni.cs2004tsp.results;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for verifying the writing and querying of the columnar result store.
+ */
+public class ResultStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void givenRunsAcrossBlocks_SelectsEveryColumn() throws Exception {
+
+        File storeFile = new File(temporaryFolder.getRoot(), "results.crs");
+
+        try (ResultStore resultStore = new ResultStore(storeFile, 7)) {
+            for (int resample = 0; resample < 50; resample++) {
+                resultStore.append("48", "RMHC", resample, 100 + resample, 1.5, 1000L + resample, 10L);
+                resultStore.append("48", "SA", resample, 50 + resample, 1.2, 2000L + resample, 20L);
+                resultStore.append("51", "SA", resample, 10 + resample, 1.1, 3000L + resample, 30L);
+            }
+        }
+
+        try (ResultStoreReader reader = new ResultStoreReader(storeFile)) {
+            assertEquals(150, reader.getRunCount());
+
+            double[] fitnesses = reader.select(ResultColumn.FITNESS, "48", "SA");
+            double[] executionTimes = reader.select(ResultColumn.EXECUTION_NANOS, "48", "SA");
+            assertEquals(50, fitnesses.length);
+            for (int resample = 0; resample < 50; resample++) {
+                assertEquals(50 + resample, fitnesses[resample], 0);
+                assertEquals(2000 + resample, executionTimes[resample], 0);
+            }
+
+            assertEquals(100, reader.select(ResultColumn.SOLUTION_QUALITY, null, "SA").length);
+            assertEquals(100, reader.select(ResultColumn.CONSTRUCTION_NANOS, "48", null).length);
+            assertEquals(0, reader.select(ResultColumn.FITNESS, "51", "RMHC").length);
+            assertEquals(0, reader.select(ResultColumn.FITNESS, "unknown", null).length);
+
+            Map<String, ResultSummary> byInstance = reader.summariseByInstance(ResultColumn.FITNESS, "SA");
+            assertEquals(2, byInstance.size());
+            assertEquals(74.5, byInstance.get("48").getMean(), 1e-9);
+            assertEquals(34.5, byInstance.get("51").getMean(), 1e-9);
+            assertEquals(59.0, byInstance.get("51").getMaximum(), 0);
+        }
+    }
+
+    @Test
+    public void givenReopenedStore_AppendsAfterIncompleteBlock() throws Exception {
+
+        File storeFile = new File(temporaryFolder.getRoot(), "results.crs");
+
+        try (ResultStore resultStore = new ResultStore(storeFile)) {
+            resultStore.append("48", "RMHC", 0, 1, 1, 1, 1);
+        }
+
+        // a crashed process leaves the start of a block behind.
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.seek(file.length());
+            file.writeInt(ResultStore.RUNS_BLOCK);
+            file.writeInt(1000);
+            file.writeInt(0);
+        }
+
+        try (ResultStore resultStore = new ResultStore(storeFile)) {
+            resultStore.append("100", "RMHC", 0, 2, 1, 1, 1);
+        }
+
+        try (ResultStoreReader reader = new ResultStoreReader(storeFile)) {
+            assertEquals(2, reader.getRunCount());
+            assertArrayEquals(new double[]{1, 2}, reader.select(ResultColumn.FITNESS, null, "RMHC"), 0);
+            assertEquals(storeFile.length(), reader.getValidLength());
+        }
+    }
+
+    @Test
+    public void givenStoreForcedAfterEveryRun_ReadsEveryFragment() throws Exception {
+
+        File storeFile = new File(temporaryFolder.getRoot(), "results.crs");
+
+        // as a checkpointed campaign does, each force ending a block of a single run.
+        try (ResultStore resultStore = new ResultStore(storeFile)) {
+            for (int resample = 0; resample < 1000; resample++) {
+                resultStore.append(String.valueOf(resample / 100), "RMHC", resample, resample, 1, 1, 1);
+                resultStore.force();
+            }
+        }
+        long closedLength = storeFile.length();
+
+        // a crashed process leaves the start of a dictionary block behind.
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.seek(file.length());
+            file.writeInt(ResultStore.DICTIONARY_BLOCK);
+            file.writeInt(1);
+            file.writeInt(100);
+        }
+
+        try (ResultStoreReader reader = new ResultStoreReader(storeFile)) {
+            assertEquals(1000, reader.getRunCount());
+            assertEquals(11, reader.getDictionary().size());
+            assertEquals(closedLength, reader.getValidLength());
+
+            double[] fitnesses = reader.select(ResultColumn.FITNESS, null, "RMHC");
+            for (int resample = 0; resample < 1000; resample++) {
+                assertEquals(resample, fitnesses[resample], 0);
+            }
+            assertEquals(949.5, reader.summarise(ResultColumn.FITNESS, "9", null).getMean(), 1e-9);
+        }
+    }
+
+    @Test
+    public void givenMaximumLength_DiscardsRunsAppendedAfterIt() throws Exception {
+
+        File storeFile = new File(temporaryFolder.getRoot(), "results.crs");
+
+        long checkpointedLength;
+        try (ResultStore resultStore = new ResultStore(storeFile, 2)) {
+            resultStore.append("48", "RMHC", 0, 1, 1, 1, 1);
+            resultStore.force();
+            checkpointedLength = resultStore.getLength();
+
+            // a full block is written before the checkpoint records the runs in it.
+            resultStore.append("100", "RMHC", 0, 2, 1, 1, 1);
+            resultStore.append("100", "RMHC", 1, 3, 1, 1, 1);
+        }
+
+        try (ResultStore resultStore = new ResultStore(storeFile, 2, checkpointedLength)) {
+            resultStore.append("100", "SA", 0, 4, 1, 1, 1);
+        }
+
+        try (ResultStoreReader reader = new ResultStoreReader(storeFile)) {
+            assertEquals(2, reader.getRunCount());
+            assertArrayEquals(new double[]{1}, reader.select(ResultColumn.FITNESS, null, "RMHC"), 0);
+            assertArrayEquals(new double[]{4}, reader.select(ResultColumn.FITNESS, "100", null), 0);
+        }
+    }
+
+    @Test
+    public void givenKnownValues_SummarisesQuantilesAndConfidence() {
+
+        ResultSummary summary = new ResultSummary(new double[]{5, 1, 4, 2, 3});
+
+        assertEquals(5, summary.getCount());
+        assertEquals(3, summary.getMean(), 0);
+        assertEquals(Math.sqrt(2.5), summary.getStandardDeviation(), 1e-12);
+        assertEquals(3, summary.getMedian(), 0);
+        assertEquals(1.4, summary.getQuantile(0.1), 1e-12);
+        assertEquals(5, summary.getQuantile(1), 0);
+        assertEquals(2.776445105 * Math.sqrt(2.5) / Math.sqrt(5), summary.getConfidenceHalfWidth(), 1e-9);
+
+        assertEquals(2.042272456, ResultSummary.getStudentQuantile95(30), 2e-3);
+        assertEquals(1.983971519, ResultSummary.getStudentQuantile95(100), 1e-4);
+    }
+
+    @Test(expected = IOException.class)
+    public void givenForeignFile_ThrowsException() throws Exception {
+        File foreignFile = temporaryFolder.newFile("foreign.csv");
+        Files.write(foreignFile.toPath(), "Sample,Fitness\n".getBytes());
+        new ResultStoreReader(foreignFile).close();
+    }
+}
@@ -0,0 +1,93 @@
+package com.dominiccobo.bruneluni.cs2004tsp.samples;
+
+import com.dominiccobo.bruneluni.cs2004tsp.checkpoint.CampaignCheckpoint;
+import com.dominiccobo.bruneluni.cs2004tsp.checkpoint.TaskResult;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentConfiguration;
+import com.dominiccobo.bruneluni.cs2004tsp.config.ExperimentProperty;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Tours;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TSPSampleRunnerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void givenSampleInterruptedAfterASummary_ResumeLogsEachSummaryOnce() throws IOException {
+
+        final File outputDirectory = temporaryFolder.getRoot();
+
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.INSTANCES_INCLUDE.getKey(), "TSP_48.txt");
+        properties.setProperty(ExperimentProperty.ALGORITHMS.getKey(), "RMHC,SCA");
+        properties.setProperty(ExperimentProperty.RESAMPLES.getKey(), "2");
+        properties.setProperty(ExperimentProperty.ITERATIONS.getKey(), "2000");
+        properties.setProperty(ExperimentProperty.RRHC_CLIMB_ITERATIONS.getKey(), "100");
+        properties.setProperty(ExperimentProperty.THREADS.getKey(), "1");
+        properties.setProperty(ExperimentProperty.SEED.getKey(), "1");
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), outputDirectory.getPath());
+        final ExperimentConfiguration configuration = ExperimentConfiguration.fromProperties(properties);
+
+        // interrupted once every RMHC resample of the instance completed and its summary was logged.
+        final CampaignCheckpoint checkpoint = CampaignCheckpoint.resumeOrCreate(
+                new File(outputDirectory, TSPSampleRunner.CHECKPOINT_NAME), 1L, configuration.getFingerprint(), 0
+        );
+        for (int resample = 0; resample < 2; resample++) {
+            checkpoint.completeTask("48", "RMHC", resample, new TaskResult(
+                    40000.0, 1.5, 1000L, 10L, Double.NaN, Tours.fillIdentity(new int[48])
+            ));
+        }
+        checkpoint.publishSummary("48", "RMHC");
+        checkpoint.save();
+        Files.write(new File(outputDirectory, "RMHC_SUMMARY.csv").toPath(),
+                "Algorithm Name\n48,logged before the interruption\n".getBytes(StandardCharsets.UTF_8));
+
+        new TSPSampleRunner(configuration).runTests();
+
+        for (String summary : new String[]{"RMHC_SUMMARY", "SCA_SUMMARY", "MERGE_SUMMARY"}) {
+            assertEquals(summary, 1, countLines(new File(outputDirectory, summary + ".csv"), "48,"));
+        }
+        assertEquals(1, countLines(new File(outputDirectory, "SUMMARIES.csv"), "48_OPT,"));
+        assertFalse(new File(outputDirectory, TSPSampleRunner.CHECKPOINT_NAME).exists());
+    }
+
+    @Test(timeout = 60000)
+    public void givenTimeBudget_StopsEachRunOnceItIsSpent() throws IOException {
+
+        final File outputDirectory = temporaryFolder.getRoot();
+
+        // far more iterations than either algorithm could perform within the test's timeout.
+        final Properties properties = new Properties();
+        properties.setProperty(ExperimentProperty.INSTANCES_INCLUDE.getKey(), "TSP_48.txt");
+        properties.setProperty(ExperimentProperty.ALGORITHMS.getKey(), "RMHC,ILS");
+        properties.setProperty(ExperimentProperty.RESAMPLES.getKey(), "2");
+        properties.setProperty(ExperimentProperty.ITERATIONS.getKey(), String.valueOf(Integer.MAX_VALUE));
+        properties.setProperty(ExperimentProperty.BUDGET_MILLIS.getKey(), "200");
+        properties.setProperty(ExperimentProperty.THREADS.getKey(), "2");
+        properties.setProperty(ExperimentProperty.SEED.getKey(), "1");
+        properties.setProperty(ExperimentProperty.OUTPUT_DIRECTORY.getKey(), outputDirectory.getPath());
+
+        new TSPSampleRunner(ExperimentConfiguration.fromProperties(properties)).runTests();
+
+        for (String summary : new String[]{"RMHC_SUMMARY", "ILS_SUMMARY"}) {
+            assertEquals(summary, 1, countLines(new File(outputDirectory, summary + ".csv"), "48,"));
+        }
+    }
+
+    private static long countLines(File logFile, String prefix) throws IOException {
+        return Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8).stream()
+                .filter(line -> line.startsWith(prefix))
+                .count();
+    }
+}
@@ -0,0 +1,151 @@
+package com.dominiccobo.bruneluni.cs2004tsp.solver;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomMutatingHillClimber;
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.RandomRestartHillClimbingAlgorithm;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Tours;
+import com.dominiccobo.bruneluni.cs2004tsp.utils.Utilities;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for verifying the publication of best tours from background solves.
+ */
+public class AnytimeSolverTest {
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void givenCancelledSolve_CompletesWithBestPublishedTour() throws InterruptedException, ExecutionException {
+
+        double[][] matrix = Utilities.readArrayFile(
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                " "
+        );
+
+        Graph graph = new Graph(matrix);
+        TSPSolution tspSolution = new TSPSolution(graph.getRandomRoute(), graph);
+        double startingCost = tspSolution.getFitness();
+
+        RandomMutatingHillClimber<TSPSolution, Double, Vector<Integer>> rmhc = new RandomMutatingHillClimber<>(
+                Integer.MAX_VALUE,
+                tspSolution,
+                SolutionType.MINIMISATION
+        );
+
+        List<Double> publishedCosts = Collections.synchronizedList(new ArrayList<>());
+
+        SolverHandle solverHandle = new AnytimeSolver(executorService, 0).solve(rmhc);
+        solverHandle.subscribe(snapshot -> publishedCosts.add(snapshot.getCost()));
+
+        TourSnapshot finalSnapshot = solverHandle.awaitOrCancel(100, TimeUnit.MILLISECONDS);
+
+        assertTrue(solverHandle.isDone());
+        assertSame(finalSnapshot, solverHandle.getBestSnapshot());
+        assertTrue(finalSnapshot.getCost() < startingCost);
+        assertEquals(graph.getDistanceGivenRoute(Tours.toVector(finalSnapshot.getTour())), finalSnapshot.getCost(), 1e-6);
+
+        int[] sortedTour = finalSnapshot.getTour();
+        Arrays.sort(sortedTour);
+        for (int i = 0; i < sortedTour.length; i++) {
+            assertEquals(i, sortedTour[i]);
+        }
+
+        // each published tour improves upon the last.
+        synchronized (publishedCosts) {
+            for (int i = 1; i < publishedCosts.size(); i++) {
+                assertTrue(publishedCosts.get(i) < publishedCosts.get(i - 1));
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void givenImprovementHeldBackByInterval_PublishesItOnPlateauBeforeFinishing()
+            throws InterruptedException, ExecutionException {
+
+        double[][] testMatrix = new double[][]{
+                {0.0000,  4726.0,   1204.0,  6362.0},
+                {4726.0,  0.0000,   3587.0,  2011.0},
+                {1204.0,  3587.0,   0.0000,  5162.0},
+                {6362.0,  2011.0,   5162.0,  0.0000}
+        };
+
+        Graph graph = new Graph(testMatrix);
+        TSPSolution tspSolution = new TSPSolution(new Vector<>(Arrays.asList(0, 1, 2, 3)), graph);
+
+        // the optimum is found within the first interval, after which the search never improves again.
+        RandomMutatingHillClimber<TSPSolution, Double, Vector<Integer>> rmhc = new RandomMutatingHillClimber<>(
+                Integer.MAX_VALUE,
+                tspSolution,
+                SolutionType.MINIMISATION
+        );
+
+        SolverHandle solverHandle = new AnytimeSolver(executorService, TimeUnit.SECONDS.toNanos(1))
+                .solve(rmhc);
+
+        while (solverHandle.getBestSnapshot() == null || solverHandle.getBestSnapshot().getCost() > 13103.0) {
+            Thread.sleep(10);
+        }
+
+        assertFalse(solverHandle.isDone());
+        assertEquals(13103.0, solverHandle.getBestSnapshot().getCost(), 1e-6);
+
+        solverHandle.awaitOrCancel(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(timeout = 5000)
+    public void givenImprovementHeldBackDuringRestarts_PublishesItOnTheNextRestartAfterTheInterval()
+            throws InterruptedException, ExecutionException {
+
+        double[][] testMatrix = new double[][]{
+                {0.0000,  4726.0,   1204.0,  6362.0},
+                {4726.0,  0.0000,   3587.0,  2011.0},
+                {1204.0,  3587.0,   0.0000,  5162.0},
+                {6362.0,  2011.0,   5162.0,  0.0000}
+        };
+
+        Graph graph = new Graph(testMatrix);
+        TSPSolution tspSolution = new TSPSolution(new Vector<>(Arrays.asList(0, 1, 2, 3)), graph);
+
+        // each iteration is a whole climb of a few milliseconds, the first finding the optimum within the interval.
+        RandomRestartHillClimbingAlgorithm<TSPSolution, Double, Vector<Integer>> rrhc =
+                new RandomRestartHillClimbingAlgorithm<>(
+                        Integer.MAX_VALUE,
+                        tspSolution,
+                        SolutionType.MINIMISATION,
+                        50000
+                );
+
+        SolverHandle solverHandle = new AnytimeSolver(executorService, TimeUnit.MILLISECONDS.toNanos(200))
+                .solve(rrhc);
+
+        while (solverHandle.getBestSnapshot() == null || solverHandle.getBestSnapshot().getCost() > 13103.0) {
+            Thread.sleep(10);
+        }
+
+        assertFalse(solverHandle.isDone());
+        // published a climb or so after the interval, rather than after as many climbs as iterations are batched.
+        assertTrue(solverHandle.getBestSnapshot().getElapsedNanos() < TimeUnit.SECONDS.toNanos(1));
+
+        solverHandle.awaitOrCancel(0, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.dominiccobo.bruneluni.cs2004tsp.termination;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.SolutionType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPSolution;
+import org.junit.Test;
+
+import java.util.Vector;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for verifying the decisions of the termination policies.
+ */
+public class TerminationPolicyTest {
+
+    @Test
+    public void givenIterationLimit_TerminatesOnReachingIt() {
+
+        TerminationPolicy policy = new IterationTermination(10);
+        policy.start();
+
+        assertFalse(policy.shouldTerminate(9));
+        assertTrue(policy.shouldTerminate(10));
+        assertTrue(Double.isNaN(policy.getElapsedFraction(5)));
+    }
+
+    @Test
+    public void givenElapsedBudget_TerminatesOnlyWhenClockIsRead() throws InterruptedException {
+
+        TerminationPolicy policy = new DeadlineTermination(1000000L, 4);
+        policy.start();
+
+        assertFalse(policy.shouldTerminate(0));
+        Thread.sleep(5);
+
+        // the clock is only read every four iterations.
+        assertFalse(policy.shouldTerminate(1));
+        assertTrue(policy.shouldTerminate(4));
+        assertEquals(1.0, policy.getElapsedFraction(4), 0.0);
+    }
+
+    @Test
+    public void givenTargetFitness_TerminatesOnceReached() {
+
+        Graph graph = new Graph(new double[][]{
+                {0, 1, 2},
+                {1, 0, 3},
+                {2, 3, 0}
+        });
+        Vector<Integer> tour = new Vector<>();
+        tour.add(0);
+        tour.add(1);
+        tour.add(2);
+
+        TerminationPolicy unreached = new TargetFitnessTermination(5.0, SolutionType.MINIMISATION);
+        unreached.recordImprovement(1, new TSPSolution(tour, graph));
+        assertFalse(unreached.shouldTerminate(1));
+
+        TerminationPolicy reached = new TargetFitnessTermination(6.0, SolutionType.MINIMISATION);
+        reached.recordImprovement(1, new TSPSolution(tour, graph));
+        assertTrue(reached.shouldTerminate(1));
+    }
+
+    @Test
+    public void givenStagnation_TerminatesAfterWindowWithoutImprovement() {
+
+        TerminationPolicy policy = new StagnationTermination(100);
+        policy.start();
+
+        policy.recordImprovement(50, null);
+
+        assertFalse(policy.shouldTerminate(149));
+        assertTrue(policy.shouldTerminate(150));
+    }
+
+    @Test
+    public void givenCombinedPolicies_TerminatesOnFirstAndNestsSharedBudgets() {
+
+        CancellationToken cancellationToken = new CancellationToken();
+        TerminationPolicy policy = CompositeTermination.anyOf(
+                new IterationTermination(10),
+                new CancellationTermination(cancellationToken)
+        );
+        policy.start();
+
+        TerminationPolicy nestedPolicy = policy.forNestedSearch();
+
+        // the nested search ignores the iteration limit counted in the enclosing algorithm's iterations.
+        assertTrue(policy.shouldTerminate(10));
+        assertFalse(nestedPolicy.shouldTerminate(10));
+
+        cancellationToken.cancel();
+
+        assertTrue(policy.shouldTerminate(0));
+        assertTrue(nestedPolicy.shouldTerminate(0));
+    }
+}
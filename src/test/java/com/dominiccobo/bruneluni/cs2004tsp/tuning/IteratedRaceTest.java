@@ -0,0 +1,126 @@
+package com.dominiccobo.bruneluni.cs2004tsp.tuning;
+
+import com.dominiccobo.bruneluni.cs2004tsp.utils.XoroshiroRandom;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for verifying the iterated race of parameter configurations.
+ */
+public class IteratedRaceTest {
+
+    private static final int BUDGET = 600;
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void givenNoisyCost_RaceFindsOptimumWithinBudget() {
+
+        final List<TunedParameter> parameters = Arrays.asList(
+                new TunedParameter("x", 0, 1, false, false),
+                new TunedParameter("y", 1e-6, 1, true, false)
+        );
+
+        final AtomicInteger evaluations = new AtomicInteger();
+
+        // each instance shifts every cost alike, and each evaluation adds a little noise of its own.
+        final RaceEvaluator evaluator = (values, instance) -> {
+            evaluations.incrementAndGet();
+            final XoroshiroRandom noise = XoroshiroRandom.forTask(7L, instance,
+                    Double.hashCode(values[0]), Double.hashCode(values[1]));
+            final double logY = Math.log10(values[1]);
+            return 10 * instance
+                    + (values[0] - 0.3) * (values[0] - 0.3)
+                    + 0.01 * (logY + 3) * (logY + 3)
+                    + 0.001 * noise.nextGaussian();
+        };
+
+        final IteratedRace iteratedRace = new IteratedRace(parameters, evaluator, BUDGET, executorService, 42L);
+        iteratedRace.setInitialValues(new double[]{0.9, 0.5});
+        final RaceResult result = iteratedRace.race();
+
+        assertEquals(0.3, result.getValues()[0], 0.1);
+        assertEquals(1e-3, result.getValues()[1], 1e-3 * 9);
+        assertTrue(result.getEvaluations() <= BUDGET);
+        assertEquals(result.getEvaluations(), evaluations.get());
+        assertTrue(result.getCandidatesEliminated() > 0);
+        assertEquals(parameters.get(1).format(result.getValues()[1]), result.toProperties().getProperty("y"));
+    }
+
+    @Test
+    public void givenConsistentlyWorseCandidate_EliminatesOnlyIt() {
+
+        final List<IteratedRace.Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            candidates.add(new IteratedRace.Candidate(new double[]{i}));
+        }
+
+        final XoroshiroRandom random = new XoroshiroRandom(3L);
+        for (int instance = 0; instance < 10; instance++) {
+            for (int i = 0; i < 3; i++) {
+                candidates.get(i).addCost(random.nextDouble());
+            }
+            candidates.get(3).addCost(2 + random.nextDouble());
+        }
+
+        final List<IteratedRace.Candidate> superior = IteratedRace.selectSuperior(candidates, 10);
+        assertEquals(candidates.subList(0, 3), superior);
+    }
+
+    @Test
+    public void givenTiedCandidates_EliminatesNone() {
+
+        final List<IteratedRace.Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final IteratedRace.Candidate candidate = new IteratedRace.Candidate(new double[]{i});
+            for (int instance = 0; instance < 10; instance++) {
+                candidate.addCost(instance);
+            }
+            candidates.add(candidate);
+        }
+
+        assertEquals(candidates, IteratedRace.selectSuperior(candidates, 10));
+        assertEquals(Collections.singletonList(candidates.get(0)),
+                IteratedRace.selectSuperior(candidates.subList(0, 1), 10));
+    }
+
+    @Test
+    public void givenDegreesOfFreedom_ChiSquaredQuantileMatchesTables() {
+        assertEquals(3.841, IteratedRace.getChiSquaredQuantile95(1), 1e-3);
+        assertEquals(31.410, IteratedRace.getChiSquaredQuantile95(20), 0.03);
+        assertEquals(124.342, IteratedRace.getChiSquaredQuantile95(100), 0.1);
+    }
+
+    @Test
+    public void givenLogarithmicParameter_MapsUnitIntervalOntoOrdersOfMagnitude() {
+
+        final TunedParameter parameter = new TunedParameter("patience", 10, 10_000, true, true);
+
+        assertEquals(10, parameter.fromUnit(0), 0);
+        assertEquals(100, parameter.fromUnit(1.0 / 3), 0);
+        assertEquals(10_000, parameter.fromUnit(2), 0);
+        assertEquals(2.0 / 3, parameter.toUnit(1000), 1e-12);
+        assertEquals("1000", parameter.format(1000.4));
+    }
+}
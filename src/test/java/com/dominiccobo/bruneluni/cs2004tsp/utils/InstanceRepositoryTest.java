@@ -0,0 +1,181 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import com.dominiccobo.bruneluni.cs2004tsp.algorithms.MinimumSpanningTree;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.TSPInstance;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for verifying the caching and persistence of problem instances.
+ */
+public class InstanceRepositoryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void givenRepeatedRetrieval_LoadsInstanceOnce() {
+
+        InstanceRepository instanceRepository = new InstanceRepository();
+        String filename = Utilities.getResourcePath("data/TSP_48.txt");
+
+        TSPInstance first = instanceRepository.getInstance(filename);
+        TSPInstance second = instanceRepository.getInstance(filename);
+
+        assertSame(first, second);
+        assertEquals(48, first.getGraph().getNumberOfNodes());
+    }
+
+    @Test
+    public void givenConcurrentRetrieval_SharesOneInstancePerFile() throws Exception {
+
+        InstanceRepository instanceRepository = new InstanceRepository();
+        String[] filenames = new String[]{
+                Utilities.getResourcePath("data/TSP_48.txt"),
+                Utilities.getResourcePath("data/TSP_51.txt")
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<TSPInstance>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            String filename = filenames[i % filenames.length];
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                return instanceRepository.getInstance(filename);
+            }));
+        }
+        startLatch.countDown();
+
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                assertSame(instanceRepository.getInstance(filenames[i % filenames.length]), futures.get(i).get());
+            }
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenMissingInstance_FailsEveryRetrieval() {
+
+        InstanceRepository instanceRepository = new InstanceRepository();
+        String filename = new File(temporaryFolder.getRoot(), "missing.txt").getPath();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                instanceRepository.getInstance(filename);
+                fail("Missing instance loaded");
+            }
+            catch (IllegalArgumentException e) {
+                assertFalse(instanceRepository.isCached(filename));
+            }
+        }
+    }
+
+    @Test
+    public void givenLoadedInstance_DerivesMatchingMinimumSpanningTreeCost() {
+
+        InstanceRepository instanceRepository = new InstanceRepository();
+        TSPInstance instance = instanceRepository.getInstance(Utilities.getResourcePath("data/TSP_48.txt"));
+
+        double expected = MinimumSpanningTree.getMSTCost(
+                MinimumSpanningTree.primsMST(instance.getGraph().getDistanceMatrix())
+        );
+
+        assertEquals(expected, instance.getMinimumSpanningTreeCost(), 1e-6);
+    }
+
+    @Test
+    public void givenCacheBound_EvictsLeastRecentlyUsedInstance() {
+
+        String first = Utilities.getResourcePath("data/TSP_48.txt");
+        String second = Utilities.getResourcePath("data/TSP_51.txt");
+        String third = Utilities.getResourcePath("data/TSP_52.txt");
+
+        // room for two of the three instances.
+        InstanceRepository instanceRepository = new InstanceRepository(60000, false, 5);
+
+        instanceRepository.getInstance(first);
+        instanceRepository.getInstance(second);
+        instanceRepository.getInstance(first);
+        instanceRepository.getInstance(third);
+
+        assertTrue(instanceRepository.isCached(first));
+        assertFalse(instanceRepository.isCached(second));
+        assertTrue(instanceRepository.isCached(third));
+    }
+
+    @Test
+    public void givenPersistedSidecar_RestoresIdenticalInstance() throws IOException {
+
+        File source = temporaryFolder.newFile("TSP_48.txt");
+        Files.copy(new File(Utilities.getResourcePath("data/TSP_48.txt")).toPath(), source.toPath(),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+
+        TSPInstance parsed = new InstanceRepository(InstanceRepository.DEFAULT_MAXIMUM_CACHED_BYTES, true, 5)
+                .getInstance(source.getPath());
+
+        assertTrue(new File(source.getPath() + InstanceRepository.SIDECAR_EXTENSION).exists());
+
+        TSPInstance restored = new InstanceRepository(InstanceRepository.DEFAULT_MAXIMUM_CACHED_BYTES, true, 5)
+                .getInstance(source.getPath());
+
+        assertNotSame(parsed, restored);
+        assertEquals(parsed.getMinimumSpanningTreeCost(), restored.getMinimumSpanningTreeCost(), 0.0);
+        assertArrayEquals(parsed.getCandidateList().getNeighbours(), restored.getCandidateList().getNeighbours());
+        assertEquals(
+                Arrays.deepToString(parsed.getGraph().getDistanceMatrix()),
+                Arrays.deepToString(restored.getGraph().getDistanceMatrix())
+        );
+    }
+
+    @Test
+    public void givenModifiedSource_IgnoresStaleSidecar() throws IOException {
+
+        File source = temporaryFolder.newFile("TSP_3.txt");
+        Files.write(source.toPath(), "0 1 2\n1 0 3\n2 3 0\n".getBytes());
+
+        new InstanceRepository(InstanceRepository.DEFAULT_MAXIMUM_CACHED_BYTES, true, 2)
+                .getInstance(source.getPath());
+
+        Files.write(source.toPath(), "0 5 6\n5 0 7\n6 7 0\n".getBytes());
+
+        TSPInstance reloaded = new InstanceRepository(InstanceRepository.DEFAULT_MAXIMUM_CACHED_BYTES, true, 2)
+                .getInstance(source.getPath());
+
+        assertEquals(11.0, reloaded.getMinimumSpanningTreeCost(), 0.0);
+    }
+
+    @Test
+    public void givenOtherCandidatesPerNode_IgnoresStaleSidecar() throws IOException {
+
+        File source = temporaryFolder.newFile("TSP_48.txt");
+        Files.copy(new File(Utilities.getResourcePath("data/TSP_48.txt")).toPath(), source.toPath(),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+
+        new InstanceRepository(InstanceRepository.DEFAULT_MAXIMUM_CACHED_BYTES, true, 5)
+                .getInstance(source.getPath());
+
+        TSPInstance reloaded = new InstanceRepository(InstanceRepository.DEFAULT_MAXIMUM_CACHED_BYTES, true, 8)
+                .getInstance(source.getPath());
+
+        assertEquals(8, reloaded.getCandidateList().getCandidatesPerNode());
+        assertEquals(48 * 8, reloaded.getCandidateList().getNeighbours().length);
+    }
+}
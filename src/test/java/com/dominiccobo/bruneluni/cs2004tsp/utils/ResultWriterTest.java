@@ -0,0 +1,149 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for verifying the asynchronous writing of result logs.
+ */
+public class ResultWriterTest {
+
+    private static final String[] HEADERS = new String[]{"Thread", "Line", "Padding"};
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void givenConcurrentPublishers_WritesEveryLineWhole() throws Exception {
+
+        File outputDirectory = new File(temporaryFolder.getRoot(), "results");
+        final int threads = 4;
+        final int linesPerThread = 2000;
+        final String padding = new String(new char[200]).replace('\0', 'x');
+
+        try (ResultWriter resultWriter = new ResultWriter(outputDirectory, 16, 8)) {
+            List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final String thread = String.valueOf(t);
+                publishers.add(new Thread(() -> {
+                    for (int line = 0; line < linesPerThread; line++) {
+                        resultWriter.write("SUMMARY", HEADERS, new String[]{thread, String.valueOf(line), padding});
+                    }
+                }));
+            }
+            for (Thread publisher : publishers) {
+                publisher.start();
+            }
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+        }
+
+        List<String> lines = Files.readAllLines(new File(outputDirectory, "SUMMARY.csv").toPath(),
+                StandardCharsets.UTF_8);
+
+        assertEquals(threads * linesPerThread + 1, lines.size());
+        assertEquals("Thread,Line,Padding", lines.get(0));
+
+        Set<String> distinctLines = new HashSet<>();
+        int[] nextLine = new int[threads];
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",");
+            assertEquals(3, columns.length);
+            assertEquals(padding, columns[2]);
+            // lines of the same publisher keep their order.
+            int thread = Integer.parseInt(columns[0]);
+            assertEquals(nextLine[thread]++, Integer.parseInt(columns[1]));
+            distinctLines.add(line);
+        }
+        assertEquals(threads * linesPerThread, distinctLines.size());
+    }
+
+    @Test
+    public void givenExistingLog_AppendsWithoutRepeatingHeaders() throws Exception {
+
+        File outputDirectory = temporaryFolder.getRoot();
+
+        try (ResultWriter resultWriter = new ResultWriter(outputDirectory)) {
+            resultWriter.write("SUMMARY", HEADERS, new String[]{"0", "0", "a"});
+        }
+        try (ResultWriter resultWriter = new ResultWriter(outputDirectory)) {
+            resultWriter.write("SUMMARY", HEADERS, new String[]{"0", "1", "b"});
+            resultWriter.write("OTHER", HEADERS, new String[]{"1", "0", "c"});
+        }
+
+        assertEquals(
+                Arrays.asList("Thread,Line,Padding", "0,0,a", "0,1,b"),
+                Files.readAllLines(new File(outputDirectory, "SUMMARY.csv").toPath(), StandardCharsets.UTF_8)
+        );
+        assertEquals(
+                Arrays.asList("Thread,Line,Padding", "1,0,c"),
+                Files.readAllLines(new File(outputDirectory, "OTHER.csv").toPath(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenMismatchedColumns_ThrowsException() throws Exception {
+        try (ResultWriter resultWriter = new ResultWriter(temporaryFolder.getRoot())) {
+            resultWriter.write("SUMMARY", HEADERS, new String[]{"0", "0"});
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void givenStoppedWriterThread_FlushAndCloseFailRatherThanHang() throws Exception {
+
+        ResultWriter resultWriter = new ResultWriter(temporaryFolder.getRoot(), 1, 1);
+        resultWriter.write("SUMMARY", HEADERS, new String[]{"0", "0", "a"});
+        resultWriter.flush();
+
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("result-writer")) {
+                thread.interrupt();
+                thread.join();
+            }
+        }
+
+        try {
+            resultWriter.flush();
+            fail("Flush succeeded without a writer");
+        }
+        catch (IOException expected) {
+            // reported.
+        }
+        try {
+            resultWriter.write("SUMMARY", HEADERS, new String[]{"0", "1", "b"});
+            resultWriter.write("SUMMARY", HEADERS, new String[]{"0", "2", "c"});
+            fail("Lines accepted without a writer");
+        }
+        catch (IllegalStateException expected) {
+            // rejected once the queue is full.
+        }
+        try {
+            resultWriter.close();
+            fail("Close succeeded without a writer");
+        }
+        catch (IOException expected) {
+            // reported.
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenClosedWriter_RejectsLines() throws Exception {
+        ResultWriter resultWriter = new ResultWriter(temporaryFolder.getRoot());
+        resultWriter.close();
+        resultWriter.write("SUMMARY", HEADERS, new String[]{"0", "0", "a"});
+    }
+}
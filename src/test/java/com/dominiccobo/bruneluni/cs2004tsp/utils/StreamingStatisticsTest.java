@@ -0,0 +1,101 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for verifying the streaming statistics accumulator.
+ */
+public class StreamingStatisticsTest {
+
+    @Test
+    public void givenValues_MatchesExactStatistics() {
+
+        XoroshiroRandom random = new XoroshiroRandom(1L);
+        double[] values = new double[100000];
+        StreamingStatistics statistics = new StreamingStatistics();
+
+        for (int i = 0; i < values.length; i++) {
+            // log normal, spanning several orders of magnitude like run times.
+            values[i] = 1e6 * Math.exp(2 * random.nextGaussian());
+            statistics.accept(values[i]);
+        }
+
+        double mean = Arrays.stream(values).average().getAsDouble();
+        double variance = Arrays.stream(values).map(value -> (value - mean) * (value - mean)).sum()
+                / (values.length - 1);
+        Arrays.sort(values);
+
+        assertEquals(values.length, statistics.getCount());
+        assertEquals(mean, statistics.getMean(), mean * 1e-9);
+        assertEquals(variance, statistics.getVariance(), variance * 1e-9);
+        assertEquals(values[0], statistics.getMinimum(), 0);
+        assertEquals(values[values.length - 1], statistics.getMaximum(), 0);
+
+        for (double probability : new double[]{0.01, 0.25, 0.5, 0.95, 0.99}) {
+            double exact = values[(int) (probability * (values.length - 1))];
+            assertEquals(exact, statistics.getQuantile(probability),
+                    exact * StreamingStatistics.DEFAULT_RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    public void givenAccumulatorsMerged_MatchesSingleAccumulator() {
+
+        XoroshiroRandom random = new XoroshiroRandom(2L);
+        StreamingStatistics whole = new StreamingStatistics();
+        StreamingStatistics[] parts = new StreamingStatistics[]{
+                new StreamingStatistics(), new StreamingStatistics(), new StreamingStatistics()
+        };
+
+        for (int i = 0; i < 30000; i++) {
+            // mixes negative, zero and positive values.
+            double value = (i % 100 == 0) ? 0 : random.nextGaussian() * 1000;
+            whole.accept(value);
+            parts[i % parts.length].accept(value);
+        }
+
+        StreamingStatistics merged = new StreamingStatistics();
+        for (StreamingStatistics part : parts) {
+            merged.merge(part);
+        }
+
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getMean(), merged.getMean(), 1e-9);
+        assertEquals(whole.getVariance(), merged.getVariance(), whole.getVariance() * 1e-9);
+        assertEquals(whole.getMinimum(), merged.getMinimum(), 0);
+        assertEquals(whole.getMaximum(), merged.getMaximum(), 0);
+        for (double probability = 0; probability <= 1; probability += 0.05) {
+            assertEquals(whole.getQuantile(probability), merged.getQuantile(probability), 0);
+        }
+    }
+
+    @Test
+    public void givenLimitedBuckets_KeepsHighQuantilesAccurate() {
+
+        StreamingStatistics statistics = new StreamingStatistics(0.01, 64);
+        for (int i = 1; i <= 10000; i++) {
+            statistics.accept(i);
+        }
+
+        assertEquals(9900, statistics.getQuantile(0.99), 9900 * 0.01);
+        assertEquals(5000, statistics.getMedian(), 5000 * 0.01);
+        assertEquals(1, statistics.getMinimum(), 0);
+    }
+
+    @Test
+    public void givenNoValues_ReturnsNaN() {
+        StreamingStatistics statistics = new StreamingStatistics();
+        assertEquals(0, statistics.getCount());
+        assertTrue(Double.isNaN(statistics.getMean()));
+        assertTrue(Double.isNaN(statistics.getQuantile(0.5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenNaN_ThrowsException() {
+        new StreamingStatistics().accept(Double.NaN);
+    }
+}
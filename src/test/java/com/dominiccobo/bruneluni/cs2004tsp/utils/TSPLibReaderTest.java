@@ -0,0 +1,179 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import com.dominiccobo.bruneluni.cs2004tsp.domain.EdgeWeightType;
+import com.dominiccobo.bruneluni.cs2004tsp.domain.Graph;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying correct parsing of TSPLIB problems and tours.
+ */
+public class TSPLibReaderTest {
+
+    @Test
+    public void givenEuclideanProblem_ProducesCoordinateBackedGraph() throws IOException {
+
+        String problem = "NAME : square4\n" +
+                "COMMENT : four nodes on a square\n" +
+                "TYPE : TSP\n" +
+                "DIMENSION : 4\n" +
+                "EDGE_WEIGHT_TYPE : EUC_2D\n" +
+                "NODE_COORD_SECTION\n" +
+                "1 0 0\n" +
+                "2 3 0\n" +
+                "3 3 4\n" +
+                "4 0 4\n" +
+                "EOF\n";
+
+        Graph graph = TSPLibReader.readGraph(new StringReader(problem));
+
+        assertTrue(graph.hasCoordinates());
+        assertEquals(EdgeWeightType.EUC_2D, graph.getEdgeWeightType());
+        assertEquals(4, graph.getNumberOfNodes());
+        assertEquals(5.0, graph.getDistanceBetweenNodes(0, 2), 0.0);
+        assertEquals(14.0, graph.getDistanceGivenRoute(new Vector<>(Arrays.asList(0, 1, 2, 3))), 0.0);
+    }
+
+    @Test
+    public void givenCeilingProblem_RoundsDistancesUp() throws IOException {
+
+        String problem = "NAME: ceil2\n" +
+                "TYPE: TSP\n" +
+                "DIMENSION: 2\n" +
+                "EDGE_WEIGHT_TYPE: CEIL_2D\n" +
+                "NODE_COORD_SECTION\n" +
+                "1 0.0 0.0\n" +
+                "2 1.0 1.0\n" +
+                "EOF\n";
+
+        Graph graph = TSPLibReader.readGraph(new StringReader(problem));
+
+        assertEquals(2.0, graph.getDistanceBetweenNodes(0, 1), 0.0);
+    }
+
+    @Test
+    public void givenAttProblem_ProducesPseudoEuclideanDistances() throws IOException {
+
+        String problem = "NAME : att2\n" +
+                "TYPE : TSP\n" +
+                "DIMENSION : 2\n" +
+                "EDGE_WEIGHT_TYPE : ATT\n" +
+                "NODE_COORD_SECTION\n" +
+                "1 6734 1453\n" +
+                "2 2233 10\n" +
+                "EOF\n";
+
+        Graph graph = TSPLibReader.readGraph(new StringReader(problem));
+
+        // sqrt((4501^2 + 1443^2) / 10) = 1494.67, which is rounded up.
+        assertEquals(1495.0, graph.getDistanceBetweenNodes(0, 1), 0.0);
+    }
+
+    @Test
+    public void givenGeographicalProblem_ProducesGreatCircleDistances() throws IOException {
+
+        // first two nodes of burma14.
+        String problem = "NAME : burma2\n" +
+                "TYPE : TSP\n" +
+                "DIMENSION : 2\n" +
+                "EDGE_WEIGHT_TYPE : GEO\n" +
+                "NODE_COORD_SECTION\n" +
+                "   1  16.47       96.10\n" +
+                "   2  16.47       94.44\n" +
+                "EOF\n";
+
+        Graph graph = TSPLibReader.readGraph(new StringReader(problem));
+
+        assertEquals(153.0, graph.getDistanceBetweenNodes(0, 1), 0.0);
+    }
+
+    @Test
+    public void givenUpperRowProblem_ProducesSymmetricMatrix() throws IOException {
+
+        String problem = "NAME : upper3\n" +
+                "TYPE : TSP\n" +
+                "DIMENSION : 3\n" +
+                "EDGE_WEIGHT_TYPE : EXPLICIT\n" +
+                "EDGE_WEIGHT_FORMAT : UPPER_ROW\n" +
+                "EDGE_WEIGHT_SECTION\n" +
+                "1 2\n" +
+                "3\n" +
+                "EOF\n";
+
+        Graph graph = TSPLibReader.readGraph(new StringReader(problem));
+
+        double[][] expected = new double[][]{
+                {0, 1, 2},
+                {1, 0, 3},
+                {2, 3, 0}
+        };
+
+        assertEquals(Arrays.deepToString(expected), Arrays.deepToString(graph.getDistanceMatrix()));
+    }
+
+    @Test
+    public void givenLowerDiagonalRowProblem_ProducesSymmetricMatrix() throws IOException {
+
+        String problem = "NAME : lower3\n" +
+                "TYPE : TSP\n" +
+                "DIMENSION : 3\n" +
+                "EDGE_WEIGHT_TYPE : EXPLICIT\n" +
+                "EDGE_WEIGHT_FORMAT : LOWER_DIAG_ROW\n" +
+                "DISPLAY_DATA_TYPE : TWOD_DISPLAY\n" +
+                "EDGE_WEIGHT_SECTION\n" +
+                "0 1 0 2 3 0\n" +
+                "DISPLAY_DATA_SECTION\n" +
+                "1 0 0\n" +
+                "2 1 0\n" +
+                "3 0 1\n" +
+                "EOF\n";
+
+        Graph graph = TSPLibReader.readGraph(new StringReader(problem));
+
+        double[][] expected = new double[][]{
+                {0, 1, 2},
+                {1, 0, 3},
+                {2, 3, 0}
+        };
+
+        assertEquals(Arrays.deepToString(expected), Arrays.deepToString(graph.getDistanceMatrix()));
+    }
+
+    @Test
+    public void givenOptimalTour_ProducesZeroIndexedTour() throws IOException {
+
+        String tour = "NAME : square4.opt.tour\n" +
+                "TYPE : TOUR\n" +
+                "DIMENSION : 4\n" +
+                "TOUR_SECTION\n" +
+                "1\n" +
+                "3\n" +
+                "2\n" +
+                "4\n" +
+                "-1\n" +
+                "EOF\n";
+
+        Vector<Integer> result = TSPLibReader.readTour(new StringReader(tour));
+
+        assertEquals(Arrays.asList(0, 2, 1, 3), result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenUnsupportedEdgeWeightType_ProducesError() throws IOException {
+
+        String problem = "NAME : unsupported\n" +
+                "TYPE : TSP\n" +
+                "DIMENSION : 1\n" +
+                "EDGE_WEIGHT_TYPE : XRAY1\n" +
+                "EOF\n";
+
+        TSPLibReader.readGraph(new StringReader(problem));
+    }
+}
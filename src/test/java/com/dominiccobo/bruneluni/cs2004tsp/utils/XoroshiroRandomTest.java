@@ -0,0 +1,69 @@
+package com.dominiccobo.bruneluni.cs2004tsp.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for verifying the seedable, splittable random number generator.
+ */
+public class XoroshiroRandomTest {
+
+    @Test
+    public void givenSameSeed_ProducesSameSequence() {
+
+        XoroshiroRandom first = new XoroshiroRandom(1234L);
+        XoroshiroRandom second = new XoroshiroRandom(1234L);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+    }
+
+    @Test
+    public void givenTaskPath_DerivesSameGeneratorRegardlessOfOrder() {
+
+        XoroshiroRandom laterTask = XoroshiroRandom.forTask(99L, 3, 1, 24);
+        XoroshiroRandom.forTask(99L, 3, 1, 0).nextLong();
+        XoroshiroRandom replayedTask = XoroshiroRandom.forTask(99L, 3, 1, 24);
+
+        assertEquals(laterTask.nextLong(), replayedTask.nextLong());
+        assertNotEquals(
+                XoroshiroRandom.forTask(99L, 3, 1, 24).nextLong(),
+                XoroshiroRandom.forTask(99L, 3, 1, 23).nextLong()
+        );
+    }
+
+    @Test
+    public void givenCapturedState_ResumesSequence() {
+
+        XoroshiroRandom original = new XoroshiroRandom(5L);
+        original.nextLong();
+
+        XoroshiroRandom restored = new XoroshiroRandom(original.getState0(), original.getState1());
+
+        assertEquals(original.nextLong(), restored.nextLong());
+    }
+
+    @Test
+    public void givenBound_ProducesUniformValuesWithinBound() {
+
+        XoroshiroRandom random = new XoroshiroRandom(42L);
+        int[] counts = new int[7];
+
+        for (int i = 0; i < 70000; i++) {
+            counts[random.nextInt(7)]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(count > 9000 && count < 11000);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextDouble();
+            assertTrue(value >= 0.0 && value < 1.0);
+        }
+    }
+}